@@ -0,0 +1,122 @@
+package io.northstar.behavior.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded thread pools for background and fan-out work.
+ * Each pool has a fixed size and a bounded queue. When both are full, pools fed by request
+ * threads that can afford to wait run the task on the submitting thread, which slows the
+ * producer instead of dropping work; the incident pipeline, fed from post-commit callbacks,
+ * parks the task instead (see {@link OverflowHandOffPolicy}).
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /** District sweeps: one task per school, each in its own read-only transaction. */
+    @Bean(name = "escalationSweepExecutor")
+    public ThreadPoolTaskExecutor escalationSweepExecutor(
+            @Value("${app.escalation.sweep.threads:4}") int threads,
+            @Value("${app.escalation.sweep.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(threads);
+        ex.setMaxPoolSize(threads);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setThreadNamePrefix("escalation-sweep-");
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        ex.setWaitForTasksToCompleteOnShutdown(true);
+        ex.setAwaitTerminationSeconds(30);
+        ex.initialize();
+        return ex;
+    }
+
+    /**
+     * Post-commit incident work (escalation checks, admin notifications). Drains queued
+     * incidents on shutdown so nothing recorded before a deploy is silently skipped. Never
+     * runs on the submitting request thread: its transaction has already committed, and the
+     * retry backoff would land on the teacher's request. Overflow is parked and counted as
+     * {@code northstar.incidents.pipeline{outcome=deferred}}.
+     */
+    @Bean(name = "incidentPipelineExecutor")
+    public ThreadPoolTaskExecutor incidentPipelineExecutor(
+            @Value("${app.incidents.pipeline.threads:2}") int threads,
+            @Value("${app.incidents.pipeline.queue-capacity:1000}") int queueCapacity,
+            MeterRegistry meters) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(threads);
+        ex.setMaxPoolSize(threads);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setThreadNamePrefix("incident-pipeline-");
+        ex.setRejectedExecutionHandler(new OverflowHandOffPolicy("incident-pipeline-overflow",
+                meters.counter("northstar.incidents.pipeline", "outcome", "deferred")));
+        ex.setWaitForTasksToCompleteOnShutdown(true);
+        ex.setAwaitTerminationSeconds(60);
+        ex.initialize();
+        return ex;
+    }
+
+    /**
+     * Live SSE pushes to admin notification streams. Keeps socket writes off the incident
+     * pipeline workers that commit the notifications, so a slow or stalled client never holds
+     * one up. When the queue is full the push is dropped: the stream's periodic catch-up re-reads
+     * unread rows from the database and delivers it a few seconds later.
+     */
+    @Bean(name = "notificationStreamExecutor")
+    public ThreadPoolTaskExecutor notificationStreamExecutor(
+            @Value("${app.notifications.stream.threads:2}") int threads,
+            @Value("${app.notifications.stream.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(threads);
+        ex.setMaxPoolSize(threads);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setThreadNamePrefix("notification-stream-");
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        ex.setWaitForTasksToCompleteOnShutdown(false);
+        ex.initialize();
+        return ex;
+    }
+
+    /**
+     * Background job workers. Never runs work on the caller: the job table is the queue, so the
+     * dispatcher only hands over as many jobs as there are threads, and an interrupted job is
+     * resumed from its checkpoint after a restart rather than drained on shutdown.
+     */
+    @Bean(name = "jobWorkerExecutor")
+    public ThreadPoolTaskExecutor jobWorkerExecutor(@Value("${app.jobs.threads:2}") int threads) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(threads);
+        ex.setMaxPoolSize(threads);
+        ex.setQueueCapacity(threads);
+        ex.setThreadNamePrefix("job-worker-");
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        ex.setWaitForTasksToCompleteOnShutdown(false);
+        ex.initialize();
+        return ex;
+    }
+
+    /**
+     * Batch report rendering. PDF layout is CPU-bound, so one thread per core by default; the
+     * small queue makes the streaming request render some documents itself when the pool is busy
+     * instead of buffering a whole school's worth of work.
+     */
+    @Bean(name = "reportRenderExecutor")
+    public ThreadPoolTaskExecutor reportRenderExecutor(
+            @Value("${app.reports.render.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${app.reports.render.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(threads);
+        ex.setMaxPoolSize(threads);
+        ex.setQueueCapacity(queueCapacity);
+        ex.setThreadNamePrefix("report-render-");
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        ex.setWaitForTasksToCompleteOnShutdown(true);
+        ex.setAwaitTerminationSeconds(30);
+        ex.initialize();
+        return ex;
+    }
+}
@@ -0,0 +1,179 @@
+package io.northstar.behavior.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.northstar.behavior.service.IdempotencyStore;
+import io.northstar.behavior.tenant.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Makes incident and intervention creates safe to retry: a POST carrying an
+ * {@code Idempotency-Key} header runs once per district and key, and every retry gets the
+ * first response back (marked {@code Idempotent-Replayed: true}) without reaching the controller.
+ * Runs after {@link io.northstar.behavior.tenant.TenantFilter} so the district is known.
+ */
+@Component
+@Order(2)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final List<String> PATHS = List.of(
+            "/api/incidents",
+            "/api/incidents/batch",
+            "/api/students/*/incidents",
+            "/api/students/*/interventions"
+    );
+
+    private final IdempotencyStore store;
+    private final ObjectMapper mapper;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper mapper) {
+        this.store = store;
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equalsIgnoreCase(request.getMethod()) || request.getHeader(HEADER) == null) return true;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return PATHS.stream().noneMatch(p -> matcher.match(p, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        Long districtId = TenantContext.getDistrictId();
+        if (districtId == null) {
+            chain.doFilter(req, res); // the controller answers 401
+            return;
+        }
+        String key = req.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            error(res, HttpStatus.BAD_REQUEST, "idempotency key must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = req.getInputStream().readAllBytes();
+        String fingerprint = fingerprint(req, body);
+        IdempotencyStore.Begin begin;
+        try {
+            begin = store.begin(districtId, key, fingerprint);
+        } catch (ResponseStatusException e) {
+            error(res, HttpStatus.valueOf(e.getStatusCode().value()), e.getReason());
+            return;
+        }
+
+        if (begin.replay() != null) {
+            IdempotencyStore.Stored s = begin.replay();
+            res.setStatus(s.status());
+            res.setHeader(REPLAYED, "true");
+            if (s.contentType() != null) res.setContentType(s.contentType());
+            if (s.body() != null) res.getOutputStream().write(s.body().getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(res);
+        boolean completed = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(req, body), captured);
+            int status = captured.getStatus();
+            if (status >= 200 && status < 300) {
+                // Even if the claim was taken over meanwhile, the write happened: nothing to release
+                store.complete(districtId, key, begin.claim(), fingerprint, status, captured.getContentType(),
+                        new String(captured.getContentAsByteArray(), StandardCharsets.UTF_8));
+                completed = true;
+            }
+        } finally {
+            // Errors are not remembered: the client fixes the request or retries it for real
+            if (!completed) store.release(begin.claim());
+            captured.copyBodyToResponse();
+        }
+    }
+
+    private void error(HttpServletResponse res, HttpStatus status, String reason) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("error", reason);
+        res.setStatus(status.value());
+        res.setContentType("application/json");
+        mapper.writeValue(res.getOutputStream(), body);
+    }
+
+    private static String fingerprint(HttpServletRequest req, byte[] body) {
+        try {
+            MessageDigest d = MessageDigest.getInstance("SHA-256");
+            // The query string is part of the request: ?dryRun=true under a reused key is another request
+            String query = (req.getQueryString() != null) ? "?" + req.getQueryString() : "";
+            d.update((req.getMethod() + " " + req.getRequestURI() + query + "\n").getBytes(StandardCharsets.UTF_8));
+            d.update(body);
+            return HexFormat.of().formatHex(d.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The body has already been read for the fingerprint; hand the controller a fresh copy
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest req, byte[] body) {
+            super(req);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override public boolean isFinished() { return in.available() == 0; }
+                @Override public boolean isReady() { return true; }
+                @Override public int read() { return in.read(); }
+                @Override public int read(byte[] b, int off, int len) { return in.read(b, off, len); }
+
+                // Non-blocking readers: the whole body is in memory, so it is all available right away
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) listener.onDataAvailable();
+                        if (isFinished()) listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.northstar.behavior.config;
+
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejection policy for pools fed from post-commit callbacks, where the submitting thread is a
+ * request thread that must never run the task itself.
+ *
+ * A rejected task is parked in an unbounded overflow queue and returns at once; a single
+ * hand-off thread moves parked tasks into the pool's queue as workers free up room, blocking
+ * only itself. Once the pool shuts down the hand-off thread runs what is still parked, so a
+ * graceful shutdown skips nothing. Parked tasks live in memory only and are lost if the
+ * process dies, the same as tasks already in the pool's queue.
+ */
+final class OverflowHandOffPolicy implements RejectedExecutionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(OverflowHandOffPolicy.class);
+
+    private final LinkedBlockingQueue<Runnable> overflow = new LinkedBlockingQueue<>();
+    private final String threadName;
+    private final Counter deferred;
+    private Thread handOff; // guarded by this
+
+    OverflowHandOffPolicy(String threadName, Counter deferred) {
+        this.threadName = threadName;
+        this.deferred = deferred;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor pool) {
+        deferred.increment();
+        overflow.add(task);
+        startHandOff(pool);
+    }
+
+    int parked() {
+        return overflow.size();
+    }
+
+    private synchronized void startHandOff(ThreadPoolExecutor pool) {
+        if (handOff != null) return;
+        handOff = new Thread(() -> handOff(pool), threadName);
+        handOff.setDaemon(true);
+        handOff.start();
+    }
+
+    private void handOff(ThreadPoolExecutor pool) {
+        try {
+            while (!pool.isShutdown()) {
+                Runnable task = overflow.poll(1, TimeUnit.SECONDS);
+                if (task == null) continue;
+                while (!pool.getQueue().offer(task, 1, TimeUnit.SECONDS)) {
+                    if (pool.isShutdown()) {
+                        runQuietly(task);
+                        break;
+                    }
+                }
+            }
+            // Workers stop taking new work at shutdown; finish what was parked here instead
+            for (Runnable task; (task = overflow.poll()) != null; ) runQuietly(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!overflow.isEmpty()) log.warn("{} interrupted with {} parked tasks", threadName, overflow.size());
+        }
+    }
+
+    private void runQuietly(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("{} task failed", threadName, e);
+        }
+    }
+}
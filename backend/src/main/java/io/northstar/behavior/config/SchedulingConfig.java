@@ -0,0 +1,10 @@
+package io.northstar.behavior.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Enables {@code @Scheduled} housekeeping (stream heartbeats and the like). */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,9 +1,13 @@
 package io.northstar.behavior.controller;
 
 import io.northstar.behavior.dto.AdminNotificationDTO;
+import io.northstar.behavior.dto.UnreadCountDTO;
 import io.northstar.behavior.service.NotificationService;
+import io.northstar.behavior.service.NotificationStreamRegistry;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -12,9 +16,19 @@ import java.util.List;
 public class AdminNotificationController {
 
     private final NotificationService notifications;
+    private final NotificationStreamRegistry streams;
 
-    public AdminNotificationController(NotificationService notifications) {
+    public AdminNotificationController(NotificationService notifications,
+                                       NotificationStreamRegistry streams) {
         this.notifications = notifications;
+        this.streams = streams;
+    }
+
+    // Push channel: unread backlog (or everything after Last-Event-ID), then live notifications
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Long adminId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return streams.subscribe(adminId, lastEventId);
     }
 
 
@@ -23,6 +37,12 @@ public class AdminNotificationController {
         return notifications.unreadForAdmin(adminId);
     }
 
+    // Badge: a single primary-key read of the admin's unread counter
+    @GetMapping("/unread/count")
+    public UnreadCountDTO unreadCount(@PathVariable Long adminId) {
+        return notifications.unreadCount(adminId);
+    }
+
 
     @PostMapping("/{notificationId}/read")
     @ResponseStatus(HttpStatus.NO_CONTENT)
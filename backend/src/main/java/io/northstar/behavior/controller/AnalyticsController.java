@@ -1,5 +1,6 @@
 package io.northstar.behavior.controller;
 
+import io.northstar.behavior.dto.RollupRebuildDTO;
 import io.northstar.behavior.service.AnalyticsService;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,8 +21,15 @@ public class AnalyticsController {
     public Map<String, Object> incidentsSummary(@PathVariable Long schoolId,
                                                 @RequestParam(required=false) String startDate,
                                                 @RequestParam(required=false) String endDate) {
-        LocalDate start = (startDate != null) ? LocalDate.parse(startDate) : LocalDate.now().minusDays(30);
-        LocalDate end   = (endDate   != null) ? LocalDate.parse(endDate)   : LocalDate.now();
+        // Missing bounds default to the last 30 days in the district's zone (service side)
+        LocalDate start = (startDate != null) ? LocalDate.parse(startDate) : null;
+        LocalDate end   = (endDate   != null) ? LocalDate.parse(endDate)   : null;
         return analytics.incidentSummary(schoolId, start, end);
     }
+
+    // Recompute this school's daily rollups from the incidents table
+    @PostMapping("/rollups/rebuild")
+    public RollupRebuildDTO rebuildRollups(@PathVariable Long schoolId) {
+        return analytics.rebuildRollups(schoolId);
+    }
 }
@@ -0,0 +1,55 @@
+package io.northstar.behavior.controller;
+
+import io.northstar.behavior.dto.CubeFilter;
+import io.northstar.behavior.dto.CubeRebuildDTO;
+import io.northstar.behavior.dto.CubeSliceDTO;
+import io.northstar.behavior.service.DistrictAnalyticsService;
+import io.northstar.behavior.tenant.TenantContext;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/districts/{districtId}/analytics")
+public class DistrictAnalyticsController {
+
+    private final DistrictAnalyticsService analytics;
+
+    public DistrictAnalyticsController(DistrictAnalyticsService analytics) {
+        this.analytics = analytics;
+    }
+
+    // ==== incident cube — slice and drill down across the whole district ====
+
+    // e.g. ?groupBy=school,week  then drill in with  ?schoolId=12&groupBy=grade,category
+    @GetMapping("/cube")
+    public ResponseEntity<CubeSliceDTO> cube(@PathVariable Long districtId,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                             @RequestParam(required = false) List<String> groupBy,
+                                             @RequestParam(required = false) Long schoolId,
+                                             @RequestParam(required = false) String grade,
+                                             @RequestParam(required = false) String category,
+                                             @RequestParam(required = false) String severity,
+                                             @RequestParam(required = false) String teacher) {
+        if (!inTenant(districtId)) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        CubeFilter filter = new CubeFilter(schoolId, grade, category, severity, teacher);
+        return ResponseEntity.ok(analytics.slice(districtId, from, to, groupBy, filter));
+    }
+
+    // Recompute the district cube from the incidents table
+    @PostMapping("/cube/rebuild")
+    public ResponseEntity<CubeRebuildDTO> rebuild(@PathVariable Long districtId) {
+        if (!inTenant(districtId)) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        return ResponseEntity.ok(analytics.rebuildCube(districtId));
+    }
+
+    private static boolean inTenant(Long districtId) {
+        Long ctx = TenantContext.getDistrictId();
+        return ctx != null && ctx.equals(districtId);
+    }
+}
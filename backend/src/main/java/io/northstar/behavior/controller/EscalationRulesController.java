@@ -1,8 +1,10 @@
 // src/main/java/io/northstar/behavior/controller/EscalationRulesController.java
 package io.northstar.behavior.controller;
 
+import io.northstar.behavior.dto.DistrictEscalationAlertDTO;
 import io.northstar.behavior.dto.EscalationRulesDTO;
 import io.northstar.behavior.dto.StudentEscalationStatusDTO;
+import io.northstar.behavior.service.DistrictEscalationService;
 import io.northstar.behavior.service.EscalationEvaluationService;
 import io.northstar.behavior.service.EscalationRulesService;
 import io.northstar.behavior.tenant.TenantContext;
@@ -17,11 +19,14 @@ public class EscalationRulesController {
 
   private final EscalationRulesService service;
   private final EscalationEvaluationService evaluationService;
+  private final DistrictEscalationService districtEscalationService;
 
   public EscalationRulesController(EscalationRulesService service,
-                                    EscalationEvaluationService evaluationService) {
+                                    EscalationEvaluationService evaluationService,
+                                    DistrictEscalationService districtEscalationService) {
     this.service = service;
     this.evaluationService = evaluationService;
+    this.districtEscalationService = districtEscalationService;
   }
 
   // ==== ALERTS endpoint ====
@@ -31,6 +36,14 @@ public class EscalationRulesController {
     return evaluationService.evaluateStudents(schoolId);
   }
 
+  // All schools in the district, evaluated concurrently and ranked together
+  @GetMapping("/api/districts/{districtId}/escalation-alerts")
+  public ResponseEntity<List<DistrictEscalationAlertDTO>> districtAlerts(@PathVariable Long districtId) {
+    Long ctx = TenantContext.getDistrictId();
+    if (ctx == null || !ctx.equals(districtId)) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    return ResponseEntity.ok(districtEscalationService.evaluateDistrict(districtId));
+  }
+
   // ==== A) CURRENT ROUTE (no path params), expects X-District-Id header + ?schoolId= ====
 
   @GetMapping("/api/escalation-rules")
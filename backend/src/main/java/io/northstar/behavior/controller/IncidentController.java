@@ -1,5 +1,6 @@
 package io.northstar.behavior.controller;
 
+import io.northstar.behavior.dto.CreateIncidentBatchRequest;
 import io.northstar.behavior.dto.CreateIncidentRequest;
 import io.northstar.behavior.dto.IncidentDTO;
 import io.northstar.behavior.dto.IncidentSummaryDTO;
@@ -26,6 +27,13 @@ public class IncidentController {
         return service.create(req);
     }
 
+    // Same incident for many students (assembly, field trip); one transaction, all or nothing
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<IncidentDTO> createBatch(@RequestBody CreateIncidentBatchRequest req) {
+        return service.createBatch(req);
+    }
+
     @GetMapping
     public List<IncidentDTO> findAll() { return service.findAll(); }
 
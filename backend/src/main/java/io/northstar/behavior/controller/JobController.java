@@ -0,0 +1,59 @@
+package io.northstar.behavior.controller;
+
+import io.northstar.behavior.dto.JobDTO;
+import io.northstar.behavior.service.JobService;
+import io.northstar.behavior.service.StudentImportJobHandler;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private final JobService jobs;
+
+    public JobController(JobService jobs) {
+        this.jobs = jobs;
+    }
+
+    // ==== status & cancellation (current district only) ====
+
+    @GetMapping
+    public List<JobDTO> recent(@RequestParam(defaultValue = "50") int limit) {
+        return jobs.findRecent(limit);
+    }
+
+    @GetMapping("/{id}")
+    public JobDTO getOne(@PathVariable Long id) {
+        return jobs.findById(id);
+    }
+
+    @PostMapping("/{id}/cancel")
+    public JobDTO cancel(@PathVariable Long id) {
+        return jobs.cancel(id);
+    }
+
+    // ==== submissions — 202 with the queued job; poll its Location for progress ====
+
+    @PostMapping(value = "/student-import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<JobDTO> importStudentsJson(InputStream body) {
+        return accepted(jobs.submit(StudentImportJobHandler.TYPE, "{\"format\":\"json\"}", body));
+    }
+
+    @PostMapping(value = "/student-import", consumes = "text/csv")
+    public ResponseEntity<JobDTO> importStudentsCsv(InputStream body) {
+        return accepted(jobs.submit(StudentImportJobHandler.TYPE, "{\"format\":\"csv\"}", body));
+    }
+
+    private static ResponseEntity<JobDTO> accepted(JobDTO job) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/jobs/" + job.id()))
+                .body(job);
+    }
+}
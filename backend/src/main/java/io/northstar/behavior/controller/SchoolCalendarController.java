@@ -0,0 +1,54 @@
+package io.northstar.behavior.controller;
+
+import io.northstar.behavior.dto.CalendarClosureDTO;
+import io.northstar.behavior.dto.CreateCalendarClosureRequest;
+import io.northstar.behavior.service.SchoolCalendarService;
+import io.northstar.behavior.tenant.TenantContext;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/districts/{districtId}/calendar/closures")
+public class SchoolCalendarController {
+
+    private final SchoolCalendarService service;
+
+    public SchoolCalendarController(SchoolCalendarService service) {
+        this.service = service;
+    }
+
+    // ==== closures (holidays, breaks) — scoped to the caller's district ====
+
+    @GetMapping
+    public ResponseEntity<List<CalendarClosureDTO>> list(@PathVariable Long districtId) {
+        if (!inTenant(districtId)) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        return ResponseEntity.ok(service.listClosures(districtId));
+    }
+
+    @PostMapping
+    public ResponseEntity<CalendarClosureDTO> create(@PathVariable Long districtId,
+                                                     @Valid @RequestBody CreateCalendarClosureRequest req) {
+        if (!inTenant(districtId)) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        CalendarClosureDTO saved = service.addClosure(districtId, req);
+        return ResponseEntity
+                .created(URI.create("/api/districts/" + districtId + "/calendar/closures/" + saved.id()))
+                .body(saved);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long districtId, @PathVariable Long id) {
+        if (!inTenant(districtId)) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        service.deleteClosure(districtId, id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static boolean inTenant(Long districtId) {
+        Long ctx = TenantContext.getDistrictId();
+        return ctx != null && ctx.equals(districtId);
+    }
+}
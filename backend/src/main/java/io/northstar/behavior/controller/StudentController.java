@@ -5,16 +5,26 @@ import io.northstar.behavior.dto.CreateIncidentRequest;
 import io.northstar.behavior.dto.CreateStudentRequest;
 import io.northstar.behavior.dto.IncidentDTO;
 import io.northstar.behavior.dto.StudentDTO;
+import io.northstar.behavior.dto.StudentImportReportDTO;
+import io.northstar.behavior.dto.StudentPageDTO;
 import io.northstar.behavior.service.IncidentService;
+import io.northstar.behavior.service.StudentImportService;
+import io.northstar.behavior.service.StudentReportCache;
+import io.northstar.behavior.service.StudentReportService;
 import io.northstar.behavior.service.StudentService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -24,11 +34,16 @@ public class StudentController {
 
     private final StudentService students;
     private final IncidentService incidents;
+    private final StudentImportService imports;
+    private final StudentReportService reports;
 
 
-    public StudentController(StudentService students, IncidentService incidents) {
+    public StudentController(StudentService students, IncidentService incidents, StudentImportService imports,
+                             StudentReportService reports) {
         this.students = students;
         this.incidents=incidents;
+        this.imports = imports;
+        this.reports = reports;
     }
 
     // Now takes CreateStudentRequest with schoolId
@@ -38,23 +53,69 @@ public class StudentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    // Bulk roster import; the body is read as a stream, never bound as a whole
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public StudentImportReportDTO importJson(InputStream body) {
+        return imports.importJson(body);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public StudentImportReportDTO importCsv(InputStream body) {
+        return imports.importCsv(body);
+    }
+
     @GetMapping
     public List<StudentDTO> list() {
         return students.findAll();
     }
+
+    // Roster page, keyset-ordered by (lastName, id): ?limit=50&after=<nextCursor>&expand=history
+    @GetMapping("/page")
+    public StudentPageDTO<?> page(@RequestParam(required = false) String after,
+                                  @RequestParam(required = false) Integer limit,
+                                  @RequestParam(required = false) String expand) {
+        return "history".equalsIgnoreCase(expand)
+                ? students.pageWithHistory(after, limit)
+                : students.page(after, limit);
+    }
     @GetMapping("/{id}/report")
-    public ResponseEntity<byte[]> report(
+    public ResponseEntity<StreamingResponseBody> report(
             @PathVariable Long id,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
-            @RequestHeader("X-District-Id") Long districtId
+            @RequestHeader("X-District-Id") Long districtId,
+            WebRequest request
     ) {
-        byte[] pdf = students.generateReportForStudent(id, districtId, from, to);
+        // The current version is known (and a missing student rejected) before any PDF bytes go out
+        StudentReportCache.Key key = reports.reportKey(id, districtId, from, to);
+        if (request.checkNotModified(key.etag())) {
+            return null; // 304 with the ETag already set
+        }
         return ResponseEntity.ok()
+                .eTag(key.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
                 .header(HttpHeaders.CONTENT_TYPE, "application/pdf")
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"student_" + id + "_report.pdf\"")
-                .body(pdf);
+                .body(out -> reports.writeReport(key, out));
+    }
+
+    // One PDF per student of a school and/or grade, streamed as a ZIP while the PDFs render
+    @GetMapping("/reports")
+    public ResponseEntity<StreamingResponseBody> batchReport(
+            @RequestParam(required = false) Long schoolId,
+            @RequestParam(required = false) String grade,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        StudentReportService.Batch batch = reports.prepareBatch(schoolId, grade, from, to);
+        String name = (schoolId != null ? "school_" + schoolId : "district")
+                + (batch.grade() != null ? "_grade_" + batch.grade().replaceAll("[^A-Za-z0-9]+", "-") : "");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, "application/zip")
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "_reports.zip\"")
+                .body(out -> reports.writeZip(batch, out));
     }
 
 
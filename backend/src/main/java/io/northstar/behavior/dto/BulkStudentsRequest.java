@@ -6,7 +6,8 @@ import java.util.List;
 
 public class BulkStudentsRequest {
     @NotEmpty
-     List students;
+    @Valid
+    List<CreateStudentRequest> students;
 
     public BulkStudentsRequest() {}
 
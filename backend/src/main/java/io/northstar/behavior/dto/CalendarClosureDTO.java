@@ -0,0 +1,11 @@
+package io.northstar.behavior.dto;
+
+import java.time.LocalDate;
+
+public record CalendarClosureDTO(
+        Long id,
+        Long districtId,
+        LocalDate startDate,
+        LocalDate endDate,
+        String label
+) {}
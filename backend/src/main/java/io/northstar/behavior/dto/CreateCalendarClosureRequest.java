@@ -0,0 +1,12 @@
+package io.northstar.behavior.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record CreateCalendarClosureRequest(
+        @NotNull LocalDate startDate,
+        LocalDate endDate,          // null = single day
+        @NotBlank String label
+) {}
@@ -0,0 +1,14 @@
+package io.northstar.behavior.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/** One incident logged for many students at once (an assembly, a field trip). */
+public record CreateIncidentBatchRequest(
+        List<Long> studentIds,
+        String category,
+        String description,
+        String severity,
+        String reportedBy,
+        OffsetDateTime occurredAt
+) {}
@@ -0,0 +1,14 @@
+package io.northstar.behavior.dto;
+
+/** Optional slice filters for the district cube; null means "all". */
+public record CubeFilter(
+        Long schoolId,
+        String grade,
+        String category,
+        String severity,
+        String reportedBy
+) {
+    public static CubeFilter none() {
+        return new CubeFilter(null, null, null, null, null);
+    }
+}
@@ -0,0 +1,11 @@
+package io.northstar.behavior.dto;
+
+import java.time.OffsetDateTime;
+
+public record CubeRebuildDTO(
+        Long districtId,
+        long incidents,
+        int cells,
+        String zoneId,
+        OffsetDateTime rebuiltAt
+) {}
@@ -0,0 +1,15 @@
+package io.northstar.behavior.dto;
+
+import java.time.LocalDate;
+
+/** One aggregated row of a cube slice. Dimensions that were not grouped by are null. */
+public record CubeRowDTO(
+        Long schoolId,
+        String schoolName,
+        String grade,
+        String category,
+        String severity,
+        String reportedBy,
+        LocalDate weekStart,
+        long count
+) {}
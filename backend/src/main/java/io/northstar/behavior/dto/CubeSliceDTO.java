@@ -0,0 +1,15 @@
+package io.northstar.behavior.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record CubeSliceDTO(
+        Long districtId,
+        LocalDate fromWeek,
+        LocalDate toWeek,
+        String zoneId,
+        List<String> groupBy,
+        CubeFilter filter,
+        long total,
+        List<CubeRowDTO> rows
+) {}
@@ -1,6 +1,7 @@
 package io.northstar.behavior.dto;
 
 public record DistrictDTO (Long id,
-                          String districtName)
+                          String districtName,
+                          String timeZone)
 
 {}
@@ -0,0 +1,10 @@
+package io.northstar.behavior.dto;
+
+public record DistrictEscalationAlertDTO(
+        Long schoolId,
+        String schoolName,
+        Long studentId,
+        String studentName,
+        int effectiveCautionCount,
+        String status  // "CAUTION" or "ESCALATED"
+) {}
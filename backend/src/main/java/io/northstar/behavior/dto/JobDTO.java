@@ -0,0 +1,20 @@
+package io.northstar.behavior.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.OffsetDateTime;
+
+public record JobDTO(
+        Long id,
+        String type,
+        String status,          // QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+        long processed,
+        Long total,             // null while the size of the work is unknown
+        String message,
+        boolean cancelRequested,
+        int attempts,
+        OffsetDateTime createdAt,
+        OffsetDateTime startedAt,
+        OffsetDateTime finishedAt,
+        @JsonRawValue String result   // handler output (JSON) once SUCCEEDED
+) {}
@@ -0,0 +1,13 @@
+package io.northstar.behavior.dto;
+
+import java.time.OffsetDateTime;
+
+/** An incident as the student report prints it: only the columns on the page. */
+public record ReportIncidentLineDTO(
+        Long studentId,
+        OffsetDateTime occurredAt,
+        String category,
+        String severity,
+        String reportedBy,
+        String description
+) {}
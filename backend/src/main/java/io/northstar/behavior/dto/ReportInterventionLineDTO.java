@@ -0,0 +1,13 @@
+package io.northstar.behavior.dto;
+
+import java.time.LocalDate;
+
+/** An intervention as the student report prints it: only the columns on the page. */
+public record ReportInterventionLineDTO(
+        Long studentId,
+        String tier,
+        String strategy,
+        String assignedBy,
+        LocalDate startDate,
+        LocalDate endDate
+) {}
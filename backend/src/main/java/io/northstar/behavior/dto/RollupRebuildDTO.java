@@ -0,0 +1,11 @@
+package io.northstar.behavior.dto;
+
+import java.time.OffsetDateTime;
+
+public record RollupRebuildDTO(
+        Long schoolId,
+        long incidents,
+        int buckets,
+        String zoneId,
+        OffsetDateTime rebuiltAt
+) {}
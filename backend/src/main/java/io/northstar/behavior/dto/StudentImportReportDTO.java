@@ -0,0 +1,11 @@
+package io.northstar.behavior.dto;
+
+import java.util.List;
+
+public record StudentImportReportDTO(
+        int total,
+        int created,
+        int skipped,        // already in the district, or repeated earlier in the same file
+        int failed,         // invalid rows, and rows of a chunk the database rejected
+        List<StudentImportRowDTO> rows
+) {}
@@ -0,0 +1,9 @@
+package io.northstar.behavior.dto;
+
+// One input row of a bulk import; row is 1-based and counts data rows only (not the CSV header)
+public record StudentImportRowDTO(
+        int row,
+        String studentId,
+        String status,      // CREATED, EXISTS, DUPLICATE, INVALID, FAILED
+        String message
+) {}
@@ -0,0 +1,15 @@
+package io.northstar.behavior.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of the roster, ordered by (lastName, id). Pass {@code nextCursor} back as
+ * {@code after} for the next page; it is null on the last page. Items are {@link StudentRowDTO}s,
+ * or full {@link StudentDTO}s with histories when the page was requested with {@code expand=history}.
+ */
+public record StudentPageDTO<T>(
+        List<T> items,
+        String nextCursor,
+        int limit,
+        boolean expanded
+) {}
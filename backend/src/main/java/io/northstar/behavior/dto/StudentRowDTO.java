@@ -0,0 +1,12 @@
+package io.northstar.behavior.dto;
+
+/** Slim roster row: the student without incident/intervention histories. */
+public record StudentRowDTO(
+        Long id,
+        String firstName,
+        String lastName,
+        String studentId,
+        String grade,
+        Long districtId,
+        Long schoolId
+) {}
@@ -0,0 +1,6 @@
+package io.northstar.behavior.dto;
+
+public record UnreadCountDTO(
+        Long adminId,
+        long unread
+) {}
@@ -0,0 +1,12 @@
+package io.northstar.behavior.event;
+
+import io.northstar.behavior.dto.AdminNotificationDTO;
+
+import java.util.List;
+
+/** One escalation's fan-out, already mapped, so listeners never touch the entities after commit. */
+public record AdminNotificationsCreatedEvent(
+        List<Delivery> deliveries
+) {
+    public record Delivery(Long adminId, AdminNotificationDTO notification) {}
+}
@@ -0,0 +1,31 @@
+package io.northstar.behavior.event;
+
+import io.northstar.behavior.model.Incident;
+
+import java.time.OffsetDateTime;
+
+public record IncidentDeletedEvent(
+        Long incidentId,
+        Long districtId,
+        Long schoolId,
+        Long studentId,
+        String grade,
+        String category,
+        String severity,
+        String reportedBy,
+        OffsetDateTime occurredAt
+) {
+    public static IncidentDeletedEvent of(Incident i) {
+        return new IncidentDeletedEvent(
+                i.getId(),
+                (i.getDistrict() != null) ? i.getDistrict().getDistrictId() : null,
+                (i.getSchool() != null) ? i.getSchool().getSchoolId() : null,
+                i.getStudentId(),
+                (i.getStudent() != null) ? i.getStudent().getGrade() : null,
+                i.getCategory(),
+                i.getSeverity(),
+                i.getReportedBy(),
+                i.getOccurredAt()
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package io.northstar.behavior.event;
+
+import io.northstar.behavior.model.Incident;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Published once an incident has been written. Listeners that only care about
+ * committed data should use {@code @TransactionalEventListener}.
+ */
+public record IncidentRecordedEvent(
+        Long incidentId,
+        Long districtId,
+        Long schoolId,
+        Long studentId,
+        String grade,
+        String category,
+        String severity,
+        String reportedBy,
+        OffsetDateTime occurredAt
+) {
+    public static IncidentRecordedEvent of(Incident i) {
+        return new IncidentRecordedEvent(
+                i.getId(),
+                (i.getDistrict() != null) ? i.getDistrict().getDistrictId() : null,
+                (i.getSchool() != null) ? i.getSchool().getSchoolId() : null,
+                i.getStudentId(),
+                (i.getStudent() != null) ? i.getStudent().getGrade() : null,
+                i.getCategory(),
+                i.getSeverity(),
+                i.getReportedBy(),
+                i.getOccurredAt()
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package io.northstar.behavior.event;
+
+import java.util.List;
+
+/**
+ * Published once for a batch of incidents written together (one incident for many students).
+ * Listeners that keep aggregates should apply the batch as one summed change rather than
+ * replaying {@link IncidentRecordedEvent} per row.
+ */
+public record IncidentsRecordedEvent(List<IncidentRecordedEvent> incidents) {}
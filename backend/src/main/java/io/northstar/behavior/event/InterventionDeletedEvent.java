@@ -0,0 +1,23 @@
+package io.northstar.behavior.event;
+
+import io.northstar.behavior.model.Intervention;
+
+import java.time.LocalDate;
+
+public record InterventionDeletedEvent(
+        Long interventionId,
+        Long districtId,
+        Long studentId,
+        String tier,
+        LocalDate startDate
+) {
+    public static InterventionDeletedEvent of(Intervention iv) {
+        return new InterventionDeletedEvent(
+                iv.getId(),
+                (iv.getDistrict() != null) ? iv.getDistrict().getDistrictId() : null,
+                (iv.getStudent() != null) ? iv.getStudent().getId() : null,
+                iv.getTier(),
+                iv.getStartDate()
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package io.northstar.behavior.event;
+
+import io.northstar.behavior.model.Intervention;
+
+import java.time.LocalDate;
+
+/**
+ * Published once an intervention has been written. Listeners that only care about
+ * committed data should use {@code @TransactionalEventListener}.
+ */
+public record InterventionRecordedEvent(
+        Long interventionId,
+        Long districtId,
+        Long studentId,
+        String tier,
+        LocalDate startDate
+) {
+    public static InterventionRecordedEvent of(Intervention iv) {
+        return new InterventionRecordedEvent(
+                iv.getId(),
+                (iv.getDistrict() != null) ? iv.getDistrict().getDistrictId() : null,
+                (iv.getStudent() != null) ? iv.getStudent().getId() : null,
+                iv.getTier(),
+                iv.getStartDate()
+        );
+    }
+}
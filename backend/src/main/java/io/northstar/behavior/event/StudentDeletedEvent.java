@@ -0,0 +1,8 @@
+package io.northstar.behavior.event;
+
+/** Student rows cascade-delete their incidents and interventions, so listeners should drop everything keyed by the student. */
+public record StudentDeletedEvent(
+        Long studentId,
+        Long districtId,
+        Long schoolId
+) {}
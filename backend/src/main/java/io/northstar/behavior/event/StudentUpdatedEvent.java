@@ -0,0 +1,10 @@
+package io.northstar.behavior.event;
+
+public record StudentUpdatedEvent(
+        Long studentId,
+        Long districtId,
+        Long schoolId,
+        String firstName,
+        String lastName,
+        boolean gradeChanged
+) {}
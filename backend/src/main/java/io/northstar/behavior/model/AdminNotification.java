@@ -7,23 +7,30 @@ import java.time.OffsetDateTime;
 @Entity
 public class AdminNotification {
 
+    // Sequence ids (pooled) so a school's fan-out is inserted as one JDBC batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admin_notification_seq")
+    @SequenceGenerator(name = "admin_notification_seq", sequenceName = "admin_notification_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private Admin admin;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private Student student;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private Incident incident;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "escalation_rules_id")
     private EscalationRules rule;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "message_id")
+    private NotificationMessage payload;
+
+    // Inline text from before messages were shared; new rows leave it null
     private String message;
 
     private OffsetDateTime createdAt;
@@ -36,12 +43,12 @@ public class AdminNotification {
                              Student student,
                              Incident incident,
                              EscalationRules rule,
-                             String message) {
+                             NotificationMessage payload) {
         this.admin = admin;
         this.student = student;
         this.incident = incident;
         this.rule = rule;
-        this.message = message;
+        this.payload = payload;
         this.createdAt = OffsetDateTime.now();
         this.read = false;
     }
@@ -86,8 +93,16 @@ public class AdminNotification {
         this.rule = rule;
     }
 
+    public NotificationMessage getPayload() {
+        return payload;
+    }
+
+    public void setPayload(NotificationMessage payload) {
+        this.payload = payload;
+    }
+
     public String getMessage() {
-        return message;
+        return (payload != null) ? payload.getBody() : message;
     }
 
     public void setMessage(String message) {
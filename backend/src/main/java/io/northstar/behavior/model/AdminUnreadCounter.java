@@ -0,0 +1,24 @@
+package io.northstar.behavior.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Unread admin notifications, kept per admin so the badge count is a primary-key read.
+ * Only ever changed through the atomic update queries on its repository.
+ */
+@Entity
+@Table(name = "admin_unread_counters")
+public class AdminUnreadCounter {
+
+    @Id
+    @Column(name = "admin_id")
+    private Long adminId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    protected AdminUnreadCounter() {}
+
+    public Long getAdminId() { return adminId; }
+    public long getUnreadCount() { return unreadCount; }
+}
@@ -0,0 +1,114 @@
+package io.northstar.behavior.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * A unit of long-running work (bulk import, batch reports, exports) run off the request thread.
+ *
+ * The row is the source of truth: workers claim QUEUED rows, hold them with a heartbeat while
+ * RUNNING, and save handler checkpoints as they go. A RUNNING row whose heartbeat goes stale
+ * (the node died or was redeployed) is put back to QUEUED and resumes from its checkpoint.
+ * Uploaded input is kept in {@link BackgroundJobInput} until the job ends, so any node can run it.
+ */
+@Entity
+@Table(
+        name = "background_jobs",
+        indexes = {
+                @Index(name = "idx_jobs_status", columnList = "status, id"),
+                @Index(name = "idx_jobs_district", columnList = "district_id, id")
+        }
+)
+public class BackgroundJob {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isTerminal() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "district_id", nullable = false)
+    private Long districtId;
+
+    @Column(nullable = false, length = 64)
+    private String type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.QUEUED;
+
+    // Handler parameters (JSON)
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    // Handler-defined resume state from the last committed checkpoint (JSON)
+    @Column(columnDefinition = "text")
+    private String checkpoint;
+
+    @Column(nullable = false)
+    private long processed;
+
+    private Long total;
+
+    @Column(length = 1000)
+    private String message;
+
+    // Handler output on success (JSON)
+    @Column(columnDefinition = "text")
+    private String result;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Worker instance holding the job while RUNNING; progress writes are fenced on it
+    @Column(length = 64)
+    private String owner;
+
+    @Column(name = "heartbeat_at")
+    private OffsetDateTime heartbeatAt;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "started_at")
+    private OffsetDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private OffsetDateTime finishedAt;
+
+    protected BackgroundJob() {}
+
+    public BackgroundJob(Long districtId, String type, String payload) {
+        this.districtId = districtId;
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = OffsetDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public Long getDistrictId() { return districtId; }
+    public String getType() { return type; }
+    public Status getStatus() { return status; }
+    public String getPayload() { return payload; }
+    public String getCheckpoint() { return checkpoint; }
+    public long getProcessed() { return processed; }
+    public Long getTotal() { return total; }
+    public String getMessage() { return message; }
+    public String getResult() { return result; }
+    public boolean isCancelRequested() { return cancelRequested; }
+    public int getAttempts() { return attempts; }
+    public String getOwner() { return owner; }
+    public OffsetDateTime getHeartbeatAt() { return heartbeatAt; }
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public OffsetDateTime getStartedAt() { return startedAt; }
+    public OffsetDateTime getFinishedAt() { return finishedAt; }
+}
@@ -0,0 +1,29 @@
+package io.northstar.behavior.model;
+
+import jakarta.persistence.*;
+
+/**
+ * The upload a {@link BackgroundJob} reads, stored with the job so that whichever node claims
+ * it (or the same node after a restart) can read it. Deleted when the job ends.
+ */
+@Entity
+@Table(name = "background_job_inputs")
+public class BackgroundJobInput {
+
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] content;
+
+    protected BackgroundJobInput() {}
+
+    public BackgroundJobInput(Long jobId, byte[] content) {
+        this.jobId = jobId;
+        this.content = content;
+    }
+
+    public Long getJobId() { return jobId; }
+    public byte[] getContent() { return content; }
+}
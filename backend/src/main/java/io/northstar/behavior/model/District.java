@@ -4,6 +4,7 @@ package io.northstar.behavior.model;
 import jakarta.persistence.*;
 import java.text.Normalizer;
 import java.time.Instant;
+import java.time.ZoneId;
 
 @Entity
 @Table(name = "district")
@@ -40,6 +41,10 @@ public class District {
     @Column(name = "max_schools", nullable = false)
     private int maxSchools = 100;
 
+    // IANA zone (e.g. "America/Chicago") that school days are counted in; null = server zone
+    @Column(name = "time_zone")
+    private String timeZone;
+
     // ---- lifecycle hooks to guarantee slug ----
     @PrePersist
     @PreUpdate
@@ -89,4 +94,11 @@ public class District {
 
     public int getMaxSchools() { return maxSchools; }
     public void setMaxSchools(int maxSchools) { this.maxSchools = maxSchools; }
+
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+
+    public ZoneId zoneOrDefault() {
+        return (timeZone == null || timeZone.isBlank()) ? ZoneId.systemDefault() : ZoneId.of(timeZone);
+    }
 }
@@ -0,0 +1,82 @@
+package io.northstar.behavior.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * The outcome of a create request sent with an {@code Idempotency-Key} header.
+ *
+ * The row is inserted as a claim (no status yet) before the request runs; the unique key on
+ * district + key means only one node executes it. On a 2xx the response is stored and replayed
+ * to every retry until {@link #expiresAt}; any other outcome deletes the claim so the client
+ * can retry for real. A claim whose request never finished (the node died) can be taken over
+ * once it is older than {@code app.idempotency.lock-seconds}.
+ *
+ * Every claim, including a take-over, gets a fresh {@link #claimToken}. Completing, releasing
+ * and taking over all match on it, so a request that was slow rather than dead can't store its
+ * response over, or delete, the claim that replaced it.
+ */
+@Entity
+@Table(
+        name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_district_key", columnNames = {"district_id", "idem_key"}),
+        indexes = @Index(name = "idx_idempotency_expires", columnList = "expires_at")
+)
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "district_id", nullable = false)
+    private Long districtId;
+
+    @Column(name = "idem_key", nullable = false, length = 255)
+    private String idemKey;
+
+    // SHA-256 of method, path and body: the same key with a different request is rejected
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    // Null while the request is in flight
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    @Column(name = "content_type", length = 255)
+    private String contentType;
+
+    @Column(columnDefinition = "text")
+    private String body;
+
+    @Column(name = "claim_token", nullable = false, length = 36)
+    private String claimToken;
+
+    @Column(name = "claimed_at", nullable = false)
+    private OffsetDateTime claimedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    protected IdempotencyRecord() {}
+
+    public IdempotencyRecord(Long districtId, String idemKey, String fingerprint, String claimToken,
+                             OffsetDateTime claimedAt, OffsetDateTime expiresAt) {
+        this.districtId = districtId;
+        this.idemKey = idemKey;
+        this.fingerprint = fingerprint;
+        this.claimToken = claimToken;
+        this.claimedAt = claimedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() { return id; }
+    public Long getDistrictId() { return districtId; }
+    public String getIdemKey() { return idemKey; }
+    public String getFingerprint() { return fingerprint; }
+    public Integer getStatusCode() { return statusCode; }
+    public String getContentType() { return contentType; }
+    public String getBody() { return body; }
+    public String getClaimToken() { return claimToken; }
+    public OffsetDateTime getClaimedAt() { return claimedAt; }
+    public OffsetDateTime getExpiresAt() { return expiresAt; }
+}
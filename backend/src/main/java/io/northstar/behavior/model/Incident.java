@@ -8,10 +8,18 @@ import java.time.OffsetDateTime;
         name = "incidents",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_incident_id_per_district", columnNames = {"district_id", "id"})
+        },
+        indexes = {
+                // per-student windowed lookups (escalation thresholds)
+                @Index(name = "idx_incidents_student_occurred", columnList = "student_id, occurred_at")
         }
 )
 public class Incident {
 
+    // IDENTITY rather than a pooled sequence like AdminNotification: incidents already hold rows in
+    // every environment, and the aws schema is maintained by hand and only validated (there are no
+    // migrations), so the switch needs a sequence created past max(id) first. The JDBC batch insert
+    // and the benchmark seeders also rely on the column assigning the id.
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -0,0 +1,59 @@
+package io.northstar.behavior.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Incident count for one district cell: school × grade × category × severity × teacher × week.
+ * Weeks start on Monday in the district's zone. Maintained alongside incident writes and
+ * rebuildable from the incidents table; see IncidentCubeServiceImpl.
+ */
+@Entity
+@Table(
+        name = "incident_cube_cells",
+        uniqueConstraints = @UniqueConstraint(name = "uk_cube_cell",
+                columnNames = {"district_id", "week_start", "school_id", "grade", "category", "severity", "reported_by"}),
+        indexes = @Index(name = "idx_cube_district_week", columnList = "district_id, week_start")
+)
+public class IncidentCubeCell {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "district_id", nullable = false)
+    private Long districtId;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "school_id", nullable = false)
+    private Long schoolId;
+
+    @Column(nullable = false)
+    private String grade;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private String severity;
+
+    @Column(name = "reported_by", nullable = false)
+    private String reportedBy;
+
+    @Column(name = "incident_count", nullable = false)
+    private long incidentCount;
+
+    protected IncidentCubeCell() {}
+
+    public Long getId() { return id; }
+    public Long getDistrictId() { return districtId; }
+    public LocalDate getWeekStart() { return weekStart; }
+    public Long getSchoolId() { return schoolId; }
+    public String getGrade() { return grade; }
+    public String getCategory() { return category; }
+    public String getSeverity() { return severity; }
+    public String getReportedBy() { return reportedBy; }
+    public long getIncidentCount() { return incidentCount; }
+}
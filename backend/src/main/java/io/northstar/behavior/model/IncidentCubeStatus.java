@@ -0,0 +1,39 @@
+package io.northstar.behavior.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Marks a district's incident cube as built, and the zone its weeks were cut in.
+ * No row (or a different zone) means the cube must be rebuilt before it is read.
+ */
+@Entity
+@Table(name = "incident_cube_status")
+public class IncidentCubeStatus {
+
+    @Id
+    @Column(name = "district_id")
+    private Long districtId;
+
+    @Column(name = "zone_id", nullable = false)
+    private String zoneId;
+
+    @Column(name = "rebuilt_at", nullable = false)
+    private OffsetDateTime rebuiltAt;
+
+    protected IncidentCubeStatus() {}
+
+    public IncidentCubeStatus(Long districtId, String zoneId, OffsetDateTime rebuiltAt) {
+        this.districtId = districtId;
+        this.zoneId = zoneId;
+        this.rebuiltAt = rebuiltAt;
+    }
+
+    public Long getDistrictId() { return districtId; }
+
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
+    public OffsetDateTime getRebuiltAt() { return rebuiltAt; }
+    public void setRebuiltAt(OffsetDateTime rebuiltAt) { this.rebuiltAt = rebuiltAt; }
+}
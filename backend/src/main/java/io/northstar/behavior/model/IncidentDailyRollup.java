@@ -0,0 +1,45 @@
+package io.northstar.behavior.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Incident count for one school, day, category and severity. Maintained alongside incident
+ * writes and rebuildable from the incidents table; see IncidentRollupServiceImpl.
+ */
+@Entity
+@Table(
+        name = "incident_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_school_day_cat_sev",
+                columnNames = {"school_id", "rollup_day", "category", "severity"})
+)
+public class IncidentDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "school_id", nullable = false)
+    private Long schoolId;
+
+    @Column(name = "rollup_day", nullable = false) // "day" is reserved in H2
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private String severity;
+
+    @Column(name = "incident_count", nullable = false)
+    private long incidentCount;
+
+    protected IncidentDailyRollup() {}
+
+    public Long getId() { return id; }
+    public Long getSchoolId() { return schoolId; }
+    public LocalDate getDay() { return day; }
+    public String getCategory() { return category; }
+    public String getSeverity() { return severity; }
+    public long getIncidentCount() { return incidentCount; }
+}
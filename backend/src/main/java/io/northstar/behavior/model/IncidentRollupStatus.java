@@ -0,0 +1,39 @@
+package io.northstar.behavior.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Marks a school's daily rollups as built, and the zone its days were cut in.
+ * No row (or a different zone) means the rollups must be rebuilt before they are read.
+ */
+@Entity
+@Table(name = "incident_rollup_status")
+public class IncidentRollupStatus {
+
+    @Id
+    @Column(name = "school_id")
+    private Long schoolId;
+
+    @Column(name = "zone_id", nullable = false)
+    private String zoneId;
+
+    @Column(name = "rebuilt_at", nullable = false)
+    private OffsetDateTime rebuiltAt;
+
+    protected IncidentRollupStatus() {}
+
+    public IncidentRollupStatus(Long schoolId, String zoneId, OffsetDateTime rebuiltAt) {
+        this.schoolId = schoolId;
+        this.zoneId = zoneId;
+        this.rebuiltAt = rebuiltAt;
+    }
+
+    public Long getSchoolId() { return schoolId; }
+
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
+    public OffsetDateTime getRebuiltAt() { return rebuiltAt; }
+    public void setRebuiltAt(OffsetDateTime rebuiltAt) { this.rebuiltAt = rebuiltAt; }
+}
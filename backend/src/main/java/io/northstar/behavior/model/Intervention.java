@@ -9,6 +9,10 @@ import java.time.OffsetDateTime;
         name = "interventions",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_intervention_id_per_district", columnNames = {"district_id", "id"})
+        },
+        indexes = {
+                // per-student date-bounded lookups (student reports)
+                @Index(name = "idx_interventions_student_start", columnList = "student_id, start_date")
         }
 )
 public class Intervention {
@@ -0,0 +1,39 @@
+package io.northstar.behavior.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Message text for one escalation, shared by every admin notification fanned out from it.
+ */
+@Entity
+@Table(name = "notification_messages")
+public class NotificationMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_message_seq")
+    @SequenceGenerator(name = "notification_message_seq", sequenceName = "notification_message_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 2000)
+    private String body;
+
+    @Column(nullable = false)
+    private OffsetDateTime createdAt;
+
+    protected NotificationMessage() {}
+
+    public NotificationMessage(String body) {
+        this.body = body;
+        this.createdAt = OffsetDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
+}
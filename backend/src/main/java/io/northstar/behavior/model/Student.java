@@ -1,6 +1,8 @@
 package io.northstar.behavior.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,9 +14,15 @@ import java.util.List;
                         name = "uk_student_id_per_district",
                         columnNames = {"district_id", "student_id"}  // <- use physical column name
                 )
+        },
+        indexes = {
+                // keyset-paginated roster: order by (last_name, id) within a district
+                @Index(name = "idx_students_district_last_name", columnList = "district_id, last_name, id")
         }
 )
 public class Student {
+    public static final int HISTORY_BATCH = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -27,12 +35,15 @@ public class Student {
 
     @Column(nullable = false) private String grade;
 
+    // Walking histories for many students loads them HISTORY_BATCH owners at a time, not one SELECT each
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("occurredAt DESC")
+    @BatchSize(size = HISTORY_BATCH)
     private List<Incident> incidents = new ArrayList<>();
 
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("startDate DESC")
+    @BatchSize(size = HISTORY_BATCH)
     private List<Intervention> interventions = new ArrayList<>();
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -1,13 +1,61 @@
 package io.northstar.behavior.repository;
 
+import io.northstar.behavior.dto.AdminNotificationDTO;
 import io.northstar.behavior.model.AdminNotification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface AdminNotificationRepository extends JpaRepository<AdminNotification, Long> {
 
-    List<AdminNotification> findByAdminIdAndReadFalseOrderByCreatedAtDesc(Long adminId);
-
     List<AdminNotification> findByAdminIdOrderByCreatedAtDesc(Long adminId);
-}
\ No newline at end of file
+
+    // One escalation per student and category per rule window, however many incidents follow
+    @Query("""
+        select count(n) > 0
+        from AdminNotification n
+        where n.student.id = ?1
+          and lower(n.incident.category) = lower(?2)
+          and n.createdAt >= ?3
+    """)
+    boolean escalatedSince(Long studentId, String category, OffsetDateTime since);
+
+    @Query("""
+        select new io.northstar.behavior.dto.AdminNotificationDTO(
+            n.id, s.id, concat(s.firstName, ' ', s.lastName), i.id, r.tier2Label,
+            coalesce(m.body, n.message), n.createdAt, n.read)
+        from AdminNotification n
+        join n.student s
+        join n.incident i
+        join n.rule r
+        left join n.payload m
+        where n.admin.id = ?1
+          and n.read = false
+        order by n.createdAt desc
+    """)
+    List<AdminNotificationDTO> unreadForAdmin(Long adminId);
+
+    // Stream replay and catch-up, mapped straight to DTOs. Bounded by creation time, not id:
+    // pooled ids are handed out before commit, so a higher id can become visible first.
+    @Query("""
+        select new io.northstar.behavior.dto.AdminNotificationDTO(
+            n.id, s.id, concat(s.firstName, ' ', s.lastName), i.id, r.tier2Label,
+            coalesce(m.body, n.message), n.createdAt, n.read)
+        from AdminNotification n
+        join n.student s
+        join n.incident i
+        join n.rule r
+        left join n.payload m
+        where n.admin.id = ?1
+          and n.read = false
+          and n.createdAt >= ?2
+        order by n.createdAt, n.id
+    """)
+    List<AdminNotificationDTO> unreadSince(Long adminId, OffsetDateTime since);
+
+    @Query("select n.createdAt from AdminNotification n where n.id = ?1 and n.admin.id = ?2")
+    Optional<OffsetDateTime> createdAtOf(Long notificationId, Long adminId);
+}
@@ -0,0 +1,32 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.AdminUnreadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AdminUnreadCounterRepository extends JpaRepository<AdminUnreadCounter, Long> {
+
+    @Query("select c.adminId from AdminUnreadCounter c where c.adminId in ?1")
+    List<Long> findExistingAdminIds(Collection<Long> adminIds);
+
+    // First use for an admin: start from the unread rows already there; a concurrent seed wins harmlessly
+    @Modifying
+    @Query(value = """
+        insert into admin_unread_counters (admin_id, unread_count)
+        select ?1, count(*) from admin_notification n where n.admin_id = ?1 and n.read = false
+        on conflict do nothing
+    """, nativeQuery = true)
+    int seed(Long adminId);
+
+    @Modifying
+    @Query("update AdminUnreadCounter c set c.unreadCount = c.unreadCount + 1 where c.adminId in ?1")
+    int incrementAll(Collection<Long> adminIds);
+
+    @Modifying
+    @Query("update AdminUnreadCounter c set c.unreadCount = c.unreadCount - 1 where c.adminId = ?1 and c.unreadCount > 0")
+    int decrement(Long adminId);
+}
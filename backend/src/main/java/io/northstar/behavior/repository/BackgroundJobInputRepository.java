@@ -0,0 +1,14 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.BackgroundJobInput;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface BackgroundJobInputRepository extends JpaRepository<BackgroundJobInput, Long> {
+
+    // 0 when the job had no input or it was already removed
+    @Modifying
+    @Query("delete from BackgroundJobInput i where i.jobId = ?1")
+    int deleteByJobId(Long jobId);
+}
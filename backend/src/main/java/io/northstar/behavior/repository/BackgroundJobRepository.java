@@ -0,0 +1,86 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.BackgroundJob;
+import io.northstar.behavior.model.BackgroundJob.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BackgroundJobRepository extends JpaRepository<BackgroundJob, Long> {
+
+    Optional<BackgroundJob> findByIdAndDistrictId(Long id, Long districtId);
+
+    List<BackgroundJob> findByDistrictIdOrderByIdDesc(Long districtId, Pageable limit);
+
+    @Query("select j.id from BackgroundJob j where j.status = ?1 order by j.id")
+    List<Long> findIdsByStatus(Status status, Pageable limit);
+
+    // Atomic hand-over QUEUED -> RUNNING; 0 means another worker got there first
+    @Modifying
+    @Query("""
+        update BackgroundJob j
+        set j.status = ?2, j.owner = ?3, j.heartbeatAt = ?4,
+            j.startedAt = coalesce(j.startedAt, ?4), j.attempts = j.attempts + 1
+        where j.id = ?1 and j.status = ?5
+    """)
+    int claim(Long id, Status running, String owner, OffsetDateTime now, Status queued);
+
+    // Progress and checkpoint writes are fenced on the owner: a worker that lost its lease updates nothing
+    @Modifying
+    @Query("""
+        update BackgroundJob j
+        set j.processed = ?3, j.total = ?4, j.heartbeatAt = ?5
+        where j.id = ?1 and j.owner = ?2
+    """)
+    int saveProgress(Long id, String owner, long processed, Long total, OffsetDateTime now);
+
+    @Modifying
+    @Query("""
+        update BackgroundJob j
+        set j.checkpoint = ?3, j.processed = ?4, j.heartbeatAt = ?5
+        where j.id = ?1 and j.owner = ?2
+    """)
+    int saveCheckpoint(Long id, String owner, String checkpoint, long processed, OffsetDateTime now);
+
+    @Query("select j.cancelRequested from BackgroundJob j where j.id = ?1")
+    boolean isCancelRequested(Long id);
+
+    @Modifying
+    @Query("update BackgroundJob j set j.heartbeatAt = ?3 where j.id in ?1 and j.owner = ?2")
+    int touch(Collection<Long> ids, String owner, OffsetDateTime now);
+
+    @Modifying
+    @Query("""
+        update BackgroundJob j
+        set j.status = ?4, j.message = ?5, j.result = ?6, j.finishedAt = ?3, j.owner = null
+        where j.id = ?1 and j.owner = ?2
+    """)
+    int finish(Long id, String owner, OffsetDateTime now, Status status, String message, String result);
+
+    // Leases nobody renewed: the worker is gone, so the job goes back on the queue
+    @Modifying
+    @Query("""
+        update BackgroundJob j
+        set j.status = ?3, j.owner = null
+        where j.status = ?2 and j.heartbeatAt < ?1
+    """)
+    int requeueStale(OffsetDateTime staleBefore, Status running, Status queued);
+
+    @Modifying
+    @Query("update BackgroundJob j set j.cancelRequested = true where j.id = ?1 and j.status in ?2")
+    int requestCancel(Long id, Collection<Status> active);
+
+    @Modifying
+    @Query("""
+        update BackgroundJob j
+        set j.status = ?3, j.cancelRequested = true, j.finishedAt = ?2
+        where j.id = ?1 and j.status = ?4
+    """)
+    int cancelQueued(Long id, OffsetDateTime now, Status cancelled, Status queued);
+}
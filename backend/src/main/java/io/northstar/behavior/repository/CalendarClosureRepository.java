@@ -0,0 +1,14 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.CalendarClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CalendarClosureRepository extends JpaRepository<CalendarClosure, Long> {
+
+    List<CalendarClosure> findByDistrict_DistrictIdOrderByStartDateAsc(Long districtId);
+
+    Optional<CalendarClosure> findByIdAndDistrict_DistrictId(Long id, Long districtId);
+}
@@ -11,6 +11,9 @@ import java.util.Optional;
 
 public interface DistrictRepository extends JpaRepository<District, Long> {
     boolean existsByDistrictName(String districtName);
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select d from District d where d.districtId = :id")
+    Optional<District> findByIdForShare(@Param("id") Long id);
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select d from District d where d.districtId = :id")
     Optional<District> findByIdForUpdate(@Param("id") Long id);
@@ -0,0 +1,49 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByDistrictIdAndIdemKey(Long districtId, String idemKey);
+
+    // Re-claims an expired row, or a claim abandoned before it finished, under a new token;
+    // 0 means it is still live or someone else took it over first
+    @Modifying
+    @Transactional
+    @Query("""
+        update IdempotencyRecord r
+        set r.claimToken = ?3, r.fingerprint = ?4, r.statusCode = null, r.contentType = null, r.body = null,
+            r.claimedAt = ?5, r.expiresAt = ?6
+        where r.id = ?1 and r.claimToken = ?2
+          and (r.expiresAt < ?5 or (r.statusCode is null and r.claimedAt < ?7))
+    """)
+    int takeOver(Long id, String seenToken, String newToken, String fingerprint,
+                 OffsetDateTime now, OffsetDateTime expiresAt, OffsetDateTime staleBefore);
+
+    // 0 means the claim was taken over and the response belongs to someone else
+    @Modifying
+    @Transactional
+    @Query("""
+        update IdempotencyRecord r
+        set r.statusCode = ?3, r.contentType = ?4, r.body = ?5, r.expiresAt = ?6
+        where r.id = ?1 and r.claimToken = ?2
+    """)
+    int complete(Long id, String claimToken, int statusCode, String contentType, String body, OffsetDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.id = ?1 and r.claimToken = ?2")
+    int release(Long id, String claimToken);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.expiresAt < ?1")
+    int deleteExpired(OffsetDateTime now);
+}
@@ -0,0 +1,58 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.IncidentCubeCell;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface IncidentCubeCellRepository extends JpaRepository<IncidentCubeCell, Long> {
+
+    // Cells for a week range; null filters match everything
+    @Query("""
+        select c
+        from IncidentCubeCell c
+        where c.districtId = ?1
+          and c.weekStart between ?2 and ?3
+          and (?4 is null or c.schoolId = ?4)
+          and (?5 is null or c.grade = ?5)
+          and (?6 is null or lower(c.category) = lower(?6))
+          and (?7 is null or lower(c.severity) = lower(?7))
+          and (?8 is null or c.reportedBy = ?8)
+          and c.incidentCount > 0
+    """)
+    List<IncidentCubeCell> slice(Long districtId, LocalDate fromWeek, LocalDate toWeek,
+                                 Long schoolId, String grade, String category, String severity, String reportedBy);
+
+    // Returns 0 when the cell doesn't exist yet
+    @Modifying
+    @Query("""
+        update IncidentCubeCell c
+        set c.incidentCount = c.incidentCount + ?8
+        where c.districtId = ?1 and c.weekStart = ?2 and c.schoolId = ?3 and c.grade = ?4
+          and c.category = ?5 and c.severity = ?6 and c.reportedBy = ?7
+    """)
+    int addToCell(Long districtId, LocalDate weekStart, Long schoolId, String grade,
+                  String category, String severity, String reportedBy, long delta);
+
+    // Returns 0 when a concurrent writer created the cell first
+    @Modifying
+    @Query(value = """
+        insert into incident_cube_cells
+            (district_id, week_start, school_id, grade, category, severity, reported_by, incident_count)
+        values (?1, ?2, ?3, ?4, ?5, ?6, ?7, ?8)
+        on conflict do nothing
+    """, nativeQuery = true)
+    int insertCell(Long districtId, LocalDate weekStart, Long schoolId, String grade,
+                   String category, String severity, String reportedBy, long count);
+
+    @Modifying
+    @Query("delete from IncidentCubeCell c where c.districtId = ?1 and c.incidentCount <= 0")
+    int deleteEmptyCells(Long districtId);
+
+    @Modifying
+    @Query("delete from IncidentCubeCell c where c.districtId = ?1")
+    int deleteByDistrict(Long districtId);
+}
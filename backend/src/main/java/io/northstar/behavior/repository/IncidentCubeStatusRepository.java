@@ -0,0 +1,7 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.IncidentCubeStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IncidentCubeStatusRepository extends JpaRepository<IncidentCubeStatus, Long> {
+}
@@ -0,0 +1,40 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.IncidentDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface IncidentDailyRollupRepository extends JpaRepository<IncidentDailyRollup, Long> {
+
+    List<IncidentDailyRollup> findBySchoolIdAndDayBetween(Long schoolId, LocalDate start, LocalDate end);
+
+    // Returns 0 when the bucket doesn't exist yet
+    @Modifying
+    @Query("""
+        update IncidentDailyRollup r
+        set r.incidentCount = r.incidentCount + ?5
+        where r.schoolId = ?1 and r.day = ?2 and r.category = ?3 and r.severity = ?4
+    """)
+    int addToBucket(Long schoolId, LocalDate day, String category, String severity, long delta);
+
+    // Returns 0 when a concurrent writer created the bucket first
+    @Modifying
+    @Query(value = """
+        insert into incident_daily_rollups (school_id, rollup_day, category, severity, incident_count)
+        values (?1, ?2, ?3, ?4, ?5)
+        on conflict do nothing
+    """, nativeQuery = true)
+    int insertBucket(Long schoolId, LocalDate day, String category, String severity, long count);
+
+    @Modifying
+    @Query("delete from IncidentDailyRollup r where r.schoolId = ?1 and r.incidentCount <= 0")
+    int deleteEmptyBuckets(Long schoolId);
+
+    @Modifying
+    @Query("delete from IncidentDailyRollup r where r.schoolId = ?1")
+    int deleteBySchool(Long schoolId);
+}
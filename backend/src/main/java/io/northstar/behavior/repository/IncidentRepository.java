@@ -1,11 +1,13 @@
 package io.northstar.behavior.repository;
 
+import io.northstar.behavior.dto.ReportIncidentLineDTO;
 import io.northstar.behavior.model.Incident;
 import io.northstar.behavior.model.School;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface IncidentRepository extends JpaRepository<Incident, Long> {
@@ -18,6 +20,95 @@ public interface IncidentRepository extends JpaRepository<Incident, Long> {
             OffsetDateTime start,
             OffsetDateTime end
     );
+    // Same-category incidents for one student since a cutoff; served by idx_incidents_student_occurred
+    @Query("""
+        select count(i)
+        from Incident i
+        where i.studentId = ?1
+          and i.occurredAt >= ?3
+          and lower(i.category) = lower(?2)
+    """)
+    long countSameCategorySince(Long studentId, String category, OffsetDateTime since);
+
+    // ---- summary aggregates: (key, count) tuples grouped in the database ----
+    // Days are local calendar days in ?2, an IANA zone id, returned as (year, month, day).
+    // The parts are extracted rather than cast to date: H2 casts a zoned timestamp to a
+    // date in the session zone, Postgres in the value's own. The range is [?3, ?4).
+
+    @Query(value = """
+        select x.yr, x.mo, x.dy, count(*)
+        from (select extract(year from i.occurred_at at time zone ?2) as yr,
+                     extract(month from i.occurred_at at time zone ?2) as mo,
+                     extract(day from i.occurred_at at time zone ?2) as dy
+              from incidents i
+              where i.school_id = ?1 and i.occurred_at >= ?3 and i.occurred_at < ?4) x
+        group by x.yr, x.mo, x.dy
+    """, nativeQuery = true)
+    List<Object[]> countByDayForSchool(Long schoolId, String zoneId, OffsetDateTime from, OffsetDateTime to);
+
+    @Query("""
+        select i.category, count(i)
+        from Incident i
+        where i.school.schoolId = ?1 and i.occurredAt >= ?2 and i.occurredAt < ?3
+        group by i.category
+    """)
+    List<Object[]> countByCategoryForSchool(Long schoolId, OffsetDateTime from, OffsetDateTime to);
+
+    @Query("""
+        select i.severity, count(i)
+        from Incident i
+        where i.school.schoolId = ?1 and i.occurredAt >= ?2 and i.occurredAt < ?3
+        group by i.severity
+    """)
+    List<Object[]> countBySeverityForSchool(Long schoolId, OffsetDateTime from, OffsetDateTime to);
+
+    // Rollup rebuild input: (year, month, day, category, severity, count) buckets for the whole school
+    @Query(value = """
+        select x.yr, x.mo, x.dy, x.category, x.severity, count(*)
+        from (select extract(year from i.occurred_at at time zone ?2) as yr,
+                     extract(month from i.occurred_at at time zone ?2) as mo,
+                     extract(day from i.occurred_at at time zone ?2) as dy,
+                     i.category, i.severity
+              from incidents i
+              where i.school_id = ?1) x
+        group by x.yr, x.mo, x.dy, x.category, x.severity
+    """, nativeQuery = true)
+    List<Object[]> rollupBucketsForSchool(Long schoolId, String zoneId);
+
+    // District cube rebuild input: per-day cells with the student's grade, folded into weeks by the caller
+    @Query(value = """
+        select x.yr, x.mo, x.dy, x.school_id, x.grade, x.category, x.severity, x.reported_by, count(*)
+        from (select extract(year from i.occurred_at at time zone ?2) as yr,
+                     extract(month from i.occurred_at at time zone ?2) as mo,
+                     extract(day from i.occurred_at at time zone ?2) as dy,
+                     i.school_id, s.grade, i.category, i.severity, i.reported_by
+              from incidents i
+              join students s on s.id = i.student_id
+              where i.district_id = ?1) x
+        group by x.yr, x.mo, x.dy, x.school_id, x.grade, x.category, x.severity, x.reported_by
+    """, nativeQuery = true)
+    List<Object[]> cubeCellsForDistrict(Long districtId, String zoneId);
+
+    // Incident histories for a page of students: (studentId, id, category, severity, occurredAt, districtId)
+    @Query("""
+        select i.studentId, i.id, i.category, i.severity, i.occurredAt, i.district.districtId
+        from Incident i
+        where i.studentId in ?1
+        order by i.occurredAt desc
+    """)
+    List<Object[]> summariesForStudents(Collection<Long> studentIds);
+
+    // Report lines for a batch of students within [from, to). The range is a seek on
+    // idx_incidents_student_occurred, so the cost follows the window, not the length of the history.
+    @Query("""
+        select new io.northstar.behavior.dto.ReportIncidentLineDTO(
+            i.studentId, i.occurredAt, i.category, i.severity, i.reportedBy, i.description)
+        from Incident i
+        where i.studentId in ?1 and i.occurredAt >= ?2 and i.occurredAt < ?3
+        order by i.occurredAt desc
+    """)
+    List<ReportIncidentLineDTO> reportLinesForStudents(Collection<Long> studentIds, OffsetDateTime from, OffsetDateTime to);
+
     // Total cautions (incidents) entered by a teacher
     long countByReportedBy(String reportedBy);
 
@@ -0,0 +1,7 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.IncidentRollupStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IncidentRollupStatusRepository extends JpaRepository<IncidentRollupStatus, Long> {
+}
@@ -1,15 +1,50 @@
 package io.northstar.behavior.repository;
 
+import io.northstar.behavior.dto.ReportInterventionLineDTO;
 import io.northstar.behavior.model.Intervention;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface InterventionRepository extends JpaRepository<Intervention, Long> {
     List<Intervention> findByStudent_IdOrderByStartDateDesc(Long studentId);
     List<Intervention> findByDistrict_DistrictIdOrderByStartDateDesc(Long districtId);
-    boolean existsByStudent_IdAndCreatedAtAfter(Long studentId, OffsetDateTime after);
+
+    // Intervention histories for a page of students:
+    // (studentId, id, tier, strategy, description, assignedBy, startDate, endDate, districtId)
+    @Query("""
+        select iv.student.id, iv.id, iv.tier, iv.strategy, iv.description, iv.assignedBy,
+               iv.startDate, iv.endDate, iv.district.districtId
+        from Intervention iv
+        where iv.student.id in ?1
+        order by iv.startDate desc
+    """)
+    List<Object[]> summariesForStudents(Collection<Long> studentIds);
+
+    // Report lines for a batch of students starting within [from, to]; a seek on
+    // idx_interventions_student_start, like the incident lines
+    @Query("""
+        select new io.northstar.behavior.dto.ReportInterventionLineDTO(
+            iv.student.id, iv.tier, iv.strategy, iv.assignedBy, iv.startDate, iv.endDate)
+        from Intervention iv
+        where iv.student.id in ?1 and iv.startDate between ?2 and ?3
+        order by iv.startDate desc
+    """)
+    List<ReportInterventionLineDTO> reportLinesForStudents(Collection<Long> studentIds, LocalDate from, LocalDate to);
+
+    // Latest intervention createdAt per student at a school: rows of (studentId, createdAt)
+    @Query("""
+        select iv.student.id, max(iv.createdAt)
+        from Intervention iv
+        where iv.student.school.schoolId = ?1
+          and iv.createdAt > ?2
+        group by iv.student.id
+    """)
+    List<Object[]> latestCreatedAtByStudentForSchool(Long schoolId, OffsetDateTime after);
 }
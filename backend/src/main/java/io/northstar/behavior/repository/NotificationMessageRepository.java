@@ -0,0 +1,7 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.NotificationMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NotificationMessageRepository extends JpaRepository<NotificationMessage, Long> {
+}
@@ -1,10 +1,21 @@
 package io.northstar.behavior.repository;
 
 import io.northstar.behavior.model.School;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface SchoolRepository extends JpaRepository<School, Long> {
     List<School> findByDistrict_DistrictId(Long districtId); // << was findByDistrict_Id
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select s from School s where s.schoolId = :id")
+    Optional<School> findByIdForShare(@Param("id") Long id);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from School s where s.schoolId = :id")
+    Optional<School> findByIdForUpdate(@Param("id") Long id);
 }
@@ -1,10 +1,15 @@
 package io.northstar.behavior.repository;
 
+import io.northstar.behavior.dto.StudentRowDTO;
 import io.northstar.behavior.model.Student;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +18,67 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findBySchool_SchoolId(Long schoolId);
     Optional<Student> findByIdAndDistrict_DistrictId(Long id, Long districtId);
     boolean existsByStudentIdAndDistrict_DistrictId(String studentId, Long districtId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Student s where s.id = :id")
+    Optional<Student> findByIdForUpdate(@Param("id") Long id);
 
+    // Set-based duplicate probe for bulk imports: which of these student numbers the district already has
+    @Query("select s.studentId from Student s where s.district.districtId = ?1 and s.studentId in ?2")
+    List<String> findExistingStudentIds(Long districtId, Collection<String> studentIds);
+
+    // ---- roster rows (projection, no histories), keyset-ordered by (lastName, id) ----
+
+    @Query("""
+        select new io.northstar.behavior.dto.StudentRowDTO(
+            s.id, s.firstName, s.lastName, s.studentId, s.grade, s.district.districtId, s.school.schoolId)
+        from Student s
+        where s.district.districtId = ?1
+        order by s.lastName, s.id
+    """)
+    List<StudentRowDTO> rosterFirstPage(Long districtId, Pageable limit);
+
+    @Query("""
+        select new io.northstar.behavior.dto.StudentRowDTO(
+            s.id, s.firstName, s.lastName, s.studentId, s.grade, s.district.districtId, s.school.schoolId)
+        from Student s
+        where s.district.districtId = ?1
+          and (s.lastName > ?2 or (s.lastName = ?2 and s.id > ?3))
+        order by s.lastName, s.id
+    """)
+    List<StudentRowDTO> rosterPageAfter(Long districtId, String lastName, Long id, Pageable limit);
+
+    // The requested students that belong to the district, in one query (batch incident logging)
+    @Query("""
+        select new io.northstar.behavior.dto.StudentRowDTO(
+            s.id, s.firstName, s.lastName, s.studentId, s.grade, s.district.districtId, s.school.schoolId)
+        from Student s
+        where s.district.districtId = ?1 and s.id in ?2
+    """)
+    List<StudentRowDTO> rowsInDistrict(Long districtId, Collection<Long> ids);
+
+    // Students for a batch report: a school, a grade, or a grade within a school (null = any)
+    @Query("""
+        select new io.northstar.behavior.dto.StudentRowDTO(
+            s.id, s.firstName, s.lastName, s.studentId, s.grade, s.district.districtId, s.school.schoolId)
+        from Student s
+        where s.district.districtId = ?1
+          and (?2 is null or s.school.schoolId = ?2)
+          and (?3 is null or s.grade = ?3)
+        order by s.lastName, s.firstName, s.id
+    """)
+    List<StudentRowDTO> reportRoster(Long districtId, Long schoolId, String grade);
+
+    // Everything a student's report depends on besides the date range: the header fields, then
+    // (incident count, last incident id, intervention count, last intervention id). Incidents and
+    // interventions are only ever added or deleted, so those pairs change exactly when the history does.
+    @Query("""
+        select s.district.districtId, s.firstName, s.lastName, s.studentId, s.grade, sc.schoolName,
+               (select count(i) from Incident i where i.studentId = s.id),
+               (select coalesce(max(i.id), 0) from Incident i where i.studentId = s.id),
+               (select count(v) from Intervention v where v.student.id = s.id),
+               (select coalesce(max(v.id), 0) from Intervention v where v.student.id = s.id)
+        from Student s left join s.school sc
+        where s.id = ?1
+    """)
+    List<Object[]> reportVersion(Long studentId);
 }
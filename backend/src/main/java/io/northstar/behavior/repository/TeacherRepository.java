@@ -2,6 +2,7 @@ package io.northstar.behavior.repository;
 
 import io.northstar.behavior.model.Teacher;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,4 +16,40 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     boolean existsByUserName(String userName);
     boolean existsByUserNameAndSchool_SchoolId(String userName, Long schoolId);
     List<Teacher> findByDistrict_DistrictId(Long districtId);
+
+    /*
+     * Caution stats for every teacher in a district in one query: per-teacher totals, plus the
+     * top category and top student picked with row_number() over each teacher's groups.
+     * Row: teacher id, first name, last name, username, total, top category, top category count,
+     * top student id, top student first name, top student last name, top student count.
+     * Ties go to the alphabetically first category and the lowest student id.
+     */
+    @Query(value = """
+        select t.id, t.first_name, t.last_name, t.username,
+               coalesce(tot.total, 0),
+               c.category, coalesce(c.n, 0),
+               s.student_id, st.first_name, st.last_name, coalesce(s.n, 0)
+        from teachers t
+        left join (select i.reported_by, count(*) as total
+                   from incidents i
+                   where i.district_id = ?1
+                   group by i.reported_by) tot
+               on tot.reported_by = t.username
+        left join (select i.reported_by, i.category, count(*) as n,
+                          row_number() over (partition by i.reported_by order by count(*) desc, i.category) as rn
+                   from incidents i
+                   where i.district_id = ?1
+                   group by i.reported_by, i.category) c
+               on c.reported_by = t.username and c.rn = 1
+        left join (select i.reported_by, i.student_id, count(*) as n,
+                          row_number() over (partition by i.reported_by order by count(*) desc, i.student_id) as rn
+                   from incidents i
+                   where i.district_id = ?1
+                   group by i.reported_by, i.student_id) s
+               on s.reported_by = t.username and s.rn = 1
+        left join students st on st.id = s.student_id
+        where t.district_id = ?1
+        order by t.id
+    """, nativeQuery = true)
+    List<Object[]> cautionStatsForDistrict(Long districtId);
 }
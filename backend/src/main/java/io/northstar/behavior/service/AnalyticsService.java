@@ -1,8 +1,11 @@
 package io.northstar.behavior.service;
 
+import io.northstar.behavior.dto.RollupRebuildDTO;
+
 import java.time.LocalDate;
 import java.util.Map;
 
 public interface AnalyticsService {
     Map<String, Object> incidentSummary(Long schoolId, LocalDate start, LocalDate end);
+    RollupRebuildDTO rebuildRollups(Long schoolId);
 }
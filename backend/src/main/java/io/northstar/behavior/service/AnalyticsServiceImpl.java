@@ -1,11 +1,14 @@
 // src/main/java/io/northstar/behavior/service/AnalyticsServiceImpl.java
 package io.northstar.behavior.service;
 
-import io.northstar.behavior.model.Incident;
+import io.northstar.behavior.dto.RollupRebuildDTO;
+import io.northstar.behavior.model.IncidentDailyRollup;
 import io.northstar.behavior.model.School;
+import io.northstar.behavior.repository.IncidentDailyRollupRepository;
 import io.northstar.behavior.repository.IncidentRepository;
 import io.northstar.behavior.repository.SchoolRepository;
 import io.northstar.behavior.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,16 +21,28 @@ import java.util.*;
 @Transactional(readOnly = true)
 public class AnalyticsServiceImpl implements AnalyticsService {
 
-    private final IncidentRepository incidents;
+    private final IncidentDailyRollupRepository rollupRepo;
+    private final IncidentRollupService rollups;
     private final SchoolRepository schools;
-
-    public AnalyticsServiceImpl(IncidentRepository incidents, SchoolRepository schools) {
-        this.incidents = incidents;
+    private final IncidentRepository incidents;
+    private final DistrictDayBoundaries days;
+    private final boolean rollupsEnabled;
+
+    public AnalyticsServiceImpl(IncidentDailyRollupRepository rollupRepo,
+                                IncidentRollupService rollups,
+                                SchoolRepository schools,
+                                IncidentRepository incidents,
+                                DistrictDayBoundaries days,
+                                @Value("${app.analytics.rollups.enabled:true}") boolean rollupsEnabled) {
+        this.rollupRepo = rollupRepo;
+        this.rollups = rollups;
         this.schools = schools;
+        this.incidents = incidents;
+        this.days = days;
+        this.rollupsEnabled = rollupsEnabled;
     }
 
-    @Override
-    public Map<String, Object> incidentSummary(Long schoolId, LocalDate start, LocalDate end) { // <-- renamed
+    private School schoolInTenant(Long schoolId) {
         if (schoolId == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "schoolId is required");
 
         Long districtId = TenantContext.getDistrictId(); // may be null in local tests
@@ -37,25 +52,27 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                 (school.getDistrict() == null || !districtId.equals(school.getDistrict().getDistrictId()))) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "school not in current district");
         }
+        return school;
+    }
 
-        LocalDate s = (start != null) ? start : LocalDate.now().minusDays(30);
-        LocalDate e = (end   != null) ? end   : LocalDate.now();
-
-        ZoneOffset offset = OffsetDateTime.now().getOffset();
-        OffsetDateTime from = s.atStartOfDay().atOffset(offset);
-        OffsetDateTime to   = e.plusDays(1).atStartOfDay().atOffset(offset);
+    @Override
+    public Map<String, Object> incidentSummary(Long schoolId, LocalDate start, LocalDate end) { // <-- renamed
+        Long districtId = schoolInTenant(schoolId).getDistrict().getDistrictId();
 
-        List<Incident> list = incidents.findBySchoolAndOccurredAtBetween(school, from, to);
+        // "Today" is the district's today, not the server's
+        LocalDate today = days.today(districtId);
+        LocalDate s = (start != null) ? start : today.minusDays(30);
+        LocalDate e = (end   != null) ? end   : today;
 
         Map<LocalDate, Integer> byDate = new TreeMap<>();
         Map<String, Integer> byCategory = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
         Map<String, Integer> bySeverity = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        int total;
 
-        for (Incident i : list) {
-            LocalDate d = i.getOccurredAt().toLocalDate();
-            byDate.merge(d, 1, Integer::sum);
-            if (i.getCategory() != null) byCategory.merge(i.getCategory(), 1, Integer::sum);
-            if (i.getSeverity() != null) bySeverity.merge(i.getSeverity(), 1, Integer::sum);
+        if (rollupsEnabled) {
+            total = fromRollups(schoolId, s, e, byDate, byCategory, bySeverity);
+        } else {
+            total = fromAggregates(schoolId, districtId, s, e, byDate, byCategory, bySeverity);
         }
 
         List<Map<String, Object>> byDayArr = new ArrayList<>();
@@ -92,10 +109,62 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         Map<String,Object> out = new LinkedHashMap<>();
         out.put("schoolId", schoolId);
         out.put("range", range);
-        out.put("totalIncidents", list.size());
+        out.put("totalIncidents", total);
         out.put("byDay", byDayArr);
         out.put("byCategory", byCategoryArr);
         out.put("bySeverity", bySeverityArr);
         return out;
     }
+
+    // Served from daily rollups; the first read for a school builds them
+    private int fromRollups(Long schoolId, LocalDate s, LocalDate e,
+                            Map<LocalDate, Integer> byDate,
+                            Map<String, Integer> byCategory,
+                            Map<String, Integer> bySeverity) {
+        if (!rollups.isBuilt(schoolId)) {
+            rollups.rebuild(schoolId);
+        }
+        int total = 0;
+        for (IncidentDailyRollup b : rollupRepo.findBySchoolIdAndDayBetween(schoolId, s, e)) {
+            int n = (int) b.getIncidentCount();
+            if (n <= 0) continue;
+            byDate.merge(b.getDay(), n, Integer::sum);
+            byCategory.merge(b.getCategory(), n, Integer::sum);
+            bySeverity.merge(b.getSeverity(), n, Integer::sum);
+            total += n;
+        }
+        return total;
+    }
+
+    // Straight from the incidents table: three GROUP BY queries, no Incident entities loaded
+    private int fromAggregates(Long schoolId, Long districtId, LocalDate s, LocalDate e,
+                               Map<LocalDate, Integer> byDate,
+                               Map<String, Integer> byCategory,
+                               Map<String, Integer> bySeverity) {
+        ZoneId zone = days.zone(districtId);
+        OffsetDateTime from = days.startOfDay(districtId, s);
+        OffsetDateTime to = days.startOfDay(districtId, e.plusDays(1));
+
+        int total = 0;
+        for (Object[] row : incidents.countByDayForSchool(schoolId, zone.getId(), from, to)) {
+            int n = ((Number) row[3]).intValue();
+            byDate.merge(SqlDates.day(row[0], row[1], row[2]), n, Integer::sum);
+            total += n;
+        }
+        // Grouped case-sensitively in SQL; the maps fold differently-cased spellings together
+        for (Object[] row : incidents.countByCategoryForSchool(schoolId, from, to)) {
+            if (row[0] != null) byCategory.merge((String) row[0], ((Number) row[1]).intValue(), Integer::sum);
+        }
+        for (Object[] row : incidents.countBySeverityForSchool(schoolId, from, to)) {
+            if (row[0] != null) bySeverity.merge((String) row[0], ((Number) row[1]).intValue(), Integer::sum);
+        }
+        return total;
+    }
+
+    @Override
+    @Transactional
+    public RollupRebuildDTO rebuildRollups(Long schoolId) {
+        schoolInTenant(schoolId);
+        return rollups.rebuild(schoolId);
+    }
 }
@@ -0,0 +1,19 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.CubeFilter;
+import io.northstar.behavior.dto.CubeRebuildDTO;
+import io.northstar.behavior.dto.CubeSliceDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DistrictAnalyticsService {
+
+    /**
+     * Incident counts for the district grouped by any of
+     * {@code school, grade, category, severity, teacher, week}, over the weeks touching [from, to].
+     */
+    CubeSliceDTO slice(Long districtId, LocalDate from, LocalDate to, List<String> groupBy, CubeFilter filter);
+
+    CubeRebuildDTO rebuildCube(Long districtId);
+}
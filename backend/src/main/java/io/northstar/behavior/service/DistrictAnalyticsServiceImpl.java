@@ -0,0 +1,154 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.CubeFilter;
+import io.northstar.behavior.dto.CubeRebuildDTO;
+import io.northstar.behavior.dto.CubeRowDTO;
+import io.northstar.behavior.dto.CubeSliceDTO;
+import io.northstar.behavior.model.IncidentCubeCell;
+import io.northstar.behavior.model.School;
+import io.northstar.behavior.repository.DistrictRepository;
+import io.northstar.behavior.repository.IncidentCubeCellRepository;
+import io.northstar.behavior.repository.SchoolRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.*;
+
+@Service
+@Transactional(readOnly = true)
+public class DistrictAnalyticsServiceImpl implements DistrictAnalyticsService {
+
+    static final List<String> DIMENSIONS = List.of("school", "grade", "category", "severity", "teacher", "week");
+
+    private final IncidentCubeCellRepository cellRepo;
+    private final IncidentCubeService cube;
+    private final DistrictRepository districts;
+    private final SchoolRepository schools;
+    private final DistrictDayBoundaries days;
+
+    public DistrictAnalyticsServiceImpl(IncidentCubeCellRepository cellRepo,
+                                        IncidentCubeService cube,
+                                        DistrictRepository districts,
+                                        SchoolRepository schools,
+                                        DistrictDayBoundaries days) {
+        this.cellRepo = cellRepo;
+        this.cube = cube;
+        this.districts = districts;
+        this.schools = schools;
+        this.days = days;
+    }
+
+    @Override
+    public CubeSliceDTO slice(Long districtId, LocalDate from, LocalDate to, List<String> groupBy, CubeFilter filter) {
+        if (!districts.existsById(districtId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "district not found");
+        }
+        List<String> dims = dimensions(groupBy);
+        CubeFilter f = (filter != null) ? filter : CubeFilter.none();
+
+        LocalDate e = (to   != null) ? to   : days.today(districtId);
+        LocalDate s = (from != null) ? from : e.minusWeeks(11);
+        if (s.isAfter(e)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be on or before to");
+        }
+        LocalDate fromWeek = IncidentCubeServiceImpl.weekOf(s);
+        LocalDate toWeek = IncidentCubeServiceImpl.weekOf(e);
+
+        // Built once per district, then kept current by incident writes
+        if (!cube.isBuilt(districtId)) {
+            cube.rebuild(districtId);
+        }
+        List<IncidentCubeCell> cells = cellRepo.slice(districtId, fromWeek, toWeek,
+                f.schoolId(), blankToNull(f.grade()), blankToNull(f.category()),
+                blankToNull(f.severity()), blankToNull(f.reportedBy()));
+
+        Map<Long, String> schoolNames = new HashMap<>();
+        for (School sc : schools.findByDistrict_DistrictId(districtId)) {
+            schoolNames.put(sc.getSchoolId(), sc.getSchoolName());
+        }
+
+        // Roll the cells up to the requested dimensions; category/severity fold case like the school summary
+        Map<List<Object>, CubeRowDTO> rows = new LinkedHashMap<>();
+        long total = 0;
+        for (IncidentCubeCell c : cells) {
+            Long schoolId       = dims.contains("school")   ? c.getSchoolId()   : null;
+            String grade        = dims.contains("grade")    ? c.getGrade()      : null;
+            String category     = dims.contains("category") ? c.getCategory()   : null;
+            String severity     = dims.contains("severity") ? c.getSeverity()   : null;
+            String reportedBy   = dims.contains("teacher")  ? c.getReportedBy() : null;
+            LocalDate weekStart = dims.contains("week")     ? c.getWeekStart()  : null;
+
+            List<Object> key = Arrays.asList(schoolId, grade, lower(category), lower(severity), reportedBy, weekStart);
+            CubeRowDTO prev = rows.get(key);
+            long count = c.getIncidentCount() + ((prev != null) ? prev.count() : 0);
+            rows.put(key, new CubeRowDTO(
+                    schoolId,
+                    (schoolId != null) ? schoolNames.get(schoolId) : null,
+                    grade,
+                    (prev != null) ? prev.category() : category,
+                    (prev != null) ? prev.severity() : severity,
+                    reportedBy,
+                    weekStart,
+                    count));
+            total += c.getIncidentCount();
+        }
+
+        List<CubeRowDTO> out = new ArrayList<>(rows.values());
+        out.sort(rowOrder(dims));
+        return new CubeSliceDTO(districtId, fromWeek, toWeek, days.zone(districtId).getId(), dims, f, total, out);
+    }
+
+    @Override
+    @Transactional
+    public CubeRebuildDTO rebuildCube(Long districtId) {
+        if (!districts.existsById(districtId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "district not found");
+        }
+        return cube.rebuild(districtId);
+    }
+
+    private static List<String> dimensions(List<String> groupBy) {
+        List<String> dims = new ArrayList<>();
+        if (groupBy != null) {
+            for (String raw : groupBy) {
+                if (raw == null || raw.isBlank()) continue;
+                String d = raw.trim().toLowerCase(Locale.ROOT);
+                if (!DIMENSIONS.contains(d)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "unknown dimension: " + raw + " (expected one of " + DIMENSIONS + ")");
+                }
+                if (!dims.contains(d)) dims.add(d);
+            }
+        }
+        if (dims.isEmpty()) dims.add("school");
+        return dims;
+    }
+
+    // Rows come out ordered by the requested dimensions, in the order they were requested
+    private static Comparator<CubeRowDTO> rowOrder(List<String> dims) {
+        Comparator<CubeRowDTO> cmp = (a, b) -> 0;
+        for (String d : dims) {
+            cmp = switch (d) {
+                case "school"   -> cmp.thenComparing(CubeRowDTO::schoolName, Comparator.nullsLast(Comparator.naturalOrder()))
+                                      .thenComparing(CubeRowDTO::schoolId, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "grade"    -> cmp.thenComparing(CubeRowDTO::grade, Comparator.nullsLast(Comparator.naturalOrder()));
+                case "category" -> cmp.thenComparing(CubeRowDTO::category, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                case "severity" -> cmp.thenComparing(CubeRowDTO::severity, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                case "teacher"  -> cmp.thenComparing(CubeRowDTO::reportedBy, Comparator.nullsLast(Comparator.naturalOrder()));
+                default         -> cmp.thenComparing(CubeRowDTO::weekStart, Comparator.nullsLast(Comparator.naturalOrder()));
+            };
+        }
+        return cmp;
+    }
+
+    private static String lower(String s) {
+        return (s != null) ? s.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static String blankToNull(String s) {
+        return (s == null || s.isBlank()) ? null : s.trim();
+    }
+}
@@ -0,0 +1,101 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.model.District;
+import io.northstar.behavior.repository.DistrictRepository;
+import io.northstar.behavior.repository.SchoolRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The one place that decides which calendar day an instant falls on for a district.
+ *
+ * Every district buckets days in its own zone ({@link District#getTimeZone()}, else the server
+ * zone), never in the server's current UTC offset, so the same incident lands on the same day
+ * across DST changes and on every node. Zones are cached per district and evicted after a
+ * district update commits; the TTL only exists so that edits made on other nodes are picked up.
+ * A school never moves district, so school → district lookups are cached for good.
+ */
+@Component
+public class DistrictDayBoundaries {
+
+    private record Entry(ZoneId zone, long loadedAt) {}
+
+    private final DistrictRepository districts;
+    private final SchoolRepository schools;
+    private final Duration ttl;
+    private final Map<Long, Entry> zones = new ConcurrentHashMap<>();
+    private final Map<Long, Long> schoolDistricts = new ConcurrentHashMap<>();
+
+    public DistrictDayBoundaries(DistrictRepository districts,
+                                 SchoolRepository schools,
+                                 @Value("${app.districts.zone-cache-ttl-minutes:10}") long ttlMinutes) {
+        this.districts = districts;
+        this.schools = schools;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    public ZoneId zone(Long districtId) {
+        if (districtId == null) return ZoneId.systemDefault();
+        Entry e = zones.get(districtId);
+        if (e != null && System.currentTimeMillis() - e.loadedAt() <= ttl.toMillis()) {
+            return e.zone();
+        }
+        ZoneId zone = districts.findById(districtId)
+                .map(District::zoneOrDefault)
+                .orElseGet(ZoneId::systemDefault);
+        zones.put(districtId, new Entry(zone, System.currentTimeMillis()));
+        return zone;
+    }
+
+    public ZoneId zoneForSchool(Long schoolId) {
+        return zone(districtOf(schoolId));
+    }
+
+    /** The district's calendar day that {@code instant} falls on. */
+    public LocalDate dayOf(Long districtId, OffsetDateTime instant) {
+        return instant.atZoneSameInstant(zone(districtId)).toLocalDate();
+    }
+
+    public LocalDate today(Long districtId) {
+        return LocalDate.now(zone(districtId));
+    }
+
+    /** First instant of {@code day} in the district; the end of a day is the start of the next. */
+    public OffsetDateTime startOfDay(Long districtId, LocalDate day) {
+        return day.atStartOfDay(zone(districtId)).toOffsetDateTime();
+    }
+
+    /** Drops the cached zone once the current transaction commits, e.g. after a time zone edit. */
+    public void evictAfterCommit(Long districtId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    zones.remove(districtId);
+                }
+            });
+        } else {
+            zones.remove(districtId);
+        }
+    }
+
+    private Long districtOf(Long schoolId) {
+        if (schoolId == null) return null;
+        Long cached = schoolDistricts.get(schoolId);
+        if (cached != null) return cached;
+        Long districtId = schools.findById(schoolId)
+                .map(s -> s.getDistrict().getDistrictId())
+                .orElse(null);
+        if (districtId != null) schoolDistricts.put(schoolId, districtId);
+        return districtId;
+    }
+}
@@ -0,0 +1,10 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.DistrictEscalationAlertDTO;
+
+import java.util.List;
+
+public interface DistrictEscalationService {
+    /** Escalation alerts for every school in the district, ranked across schools. */
+    List<DistrictEscalationAlertDTO> evaluateDistrict(Long districtId);
+}
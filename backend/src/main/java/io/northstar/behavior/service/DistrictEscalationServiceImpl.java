@@ -0,0 +1,108 @@
+package io.northstar.behavior.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.northstar.behavior.dto.DistrictEscalationAlertDTO;
+import io.northstar.behavior.dto.StudentEscalationStatusDTO;
+import io.northstar.behavior.model.School;
+import io.northstar.behavior.repository.DistrictRepository;
+import io.northstar.behavior.repository.SchoolRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Fans a district out into one evaluation per school on the sweep executor.
+ *
+ * Deliberately not transactional: each school is evaluated through the
+ * {@link EscalationEvaluationService} proxy on a worker thread, so it gets its own
+ * short read-only transaction and no connection is held while waiting on the others.
+ */
+@Service
+public class DistrictEscalationServiceImpl implements DistrictEscalationService {
+
+    static final String SCHOOL_TIMER = "northstar.escalation.sweep.school";
+    static final String SWEEP_TIMER = "northstar.escalation.sweep";
+
+    private final DistrictRepository districtRepo;
+    private final SchoolRepository schoolRepo;
+    private final EscalationEvaluationService evaluationService;
+    private final Executor executor;
+    private final MeterRegistry meters;
+
+    public DistrictEscalationServiceImpl(DistrictRepository districtRepo,
+                                         SchoolRepository schoolRepo,
+                                         EscalationEvaluationService evaluationService,
+                                         @Qualifier("escalationSweepExecutor") Executor executor,
+                                         MeterRegistry meters) {
+        this.districtRepo = districtRepo;
+        this.schoolRepo = schoolRepo;
+        this.evaluationService = evaluationService;
+        this.executor = executor;
+        this.meters = meters;
+    }
+
+    @Override
+    public List<DistrictEscalationAlertDTO> evaluateDistrict(Long districtId) {
+        if (!districtRepo.existsById(districtId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "district not found");
+        }
+
+        Timer.Sample sweep = Timer.start(meters);
+        List<School> schools = schoolRepo.findByDistrict_DistrictId(districtId);
+
+        List<CompletableFuture<List<DistrictEscalationAlertDTO>>> futures = new ArrayList<>(schools.size());
+        for (School school : schools) {
+            Long schoolId = school.getSchoolId();
+            String schoolName = school.getSchoolName();
+            futures.add(CompletableFuture.supplyAsync(() -> evaluateSchool(districtId, schoolId, schoolName), executor));
+        }
+
+        List<DistrictEscalationAlertDTO> merged = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<DistrictEscalationAlertDTO>> f : futures) {
+                merged.addAll(f.join());
+            }
+        } catch (CompletionException e) {
+            // One campus failing fails the sweep; a partial list would read as "no alerts" for that school
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        } finally {
+            sweep.stop(meters.timer(SWEEP_TIMER, "district", String.valueOf(districtId)));
+        }
+
+        merged.sort(Comparator.comparingInt(DistrictEscalationAlertDTO::effectiveCautionCount).reversed()
+                .thenComparing(DistrictEscalationAlertDTO::schoolId)
+                .thenComparing(DistrictEscalationAlertDTO::studentId));
+        return merged;
+    }
+
+    private List<DistrictEscalationAlertDTO> evaluateSchool(Long districtId, Long schoolId, String schoolName) {
+        Timer timer = meters.timer(SCHOOL_TIMER,
+                "district", String.valueOf(districtId),
+                "school", String.valueOf(schoolId));
+        List<StudentEscalationStatusDTO> alerts = timer.record(() -> evaluationService.evaluateStudents(schoolId));
+
+        List<DistrictEscalationAlertDTO> out = new ArrayList<>(alerts.size());
+        for (StudentEscalationStatusDTO a : alerts) {
+            out.add(new DistrictEscalationAlertDTO(
+                    schoolId,
+                    schoolName,
+                    a.studentId(),
+                    a.studentName(),
+                    a.effectiveCautionCount(),
+                    a.status()
+            ));
+        }
+        return out;
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,18 +21,36 @@ import static io.northstar.behavior.model.District.slugify;
 public class DistrictServiceImpl implements DistrictService {
 
     private final DistrictRepository repo;
+    private final DistrictDayBoundaries days;
 
-    public DistrictServiceImpl(DistrictRepository repo) {
+    public DistrictServiceImpl(DistrictRepository repo, DistrictDayBoundaries days) {
         this.repo = repo;
+        this.days = days;
     }
 
     private DistrictDTO toDto(District d){
         return new DistrictDTO(
                 d.getDistrictId(),
-                d.getDistrictName()
+                d.getDistrictName(),
+                d.getTimeZone()
         );
     }
 
+    // Region ids only ("America/Chicago"): a fixed offset like "+05:00" or "UTC-6" ignores daylight saving
+    private static String validZone(String zone) {
+        if (zone == null || zone.isBlank()) return null;
+        ZoneId id;
+        try {
+            id = ZoneId.of(zone.trim());
+        } catch (DateTimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown time zone: " + zone);
+        }
+        if (!ZoneId.getAvailableZoneIds().contains(id.getId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "time zone must be a region id: " + zone);
+        }
+        return id.getId();
+    }
+
     private void apply(District d, DistrictDTO dto){
         d.setDistrictName(dto.districtName());
     }
@@ -51,6 +71,7 @@ public class DistrictServiceImpl implements DistrictService {
         District d = new District();
         d.setDistrictName(name);
         d.setSlug(slugify(name));
+        d.setTimeZone(validZone(dto.timeZone()));
 
         District saved = repo.save(d);
         return toDto(saved);
@@ -87,6 +108,10 @@ public class DistrictServiceImpl implements DistrictService {
             }
             d.setDistrictName(name);
         }
+        if (dto.timeZone() != null) {
+            d.setTimeZone(validZone(dto.timeZone()));
+            days.evictAfterCommit(id);
+        }
         return toDto(d);
     }
 
@@ -0,0 +1,35 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.model.EscalationRules;
+
+/**
+ * Immutable copy of the rules that apply to one school: its own row, or the district default.
+ * Safe to share across threads and transactions, unlike the managed entity it was read from.
+ */
+public record EffectiveEscalationRules(
+        Long rulesId,
+        Long districtId,
+        Long schoolId,            // null when this is the district default
+        int tier1WindowDays,
+        int sameCautionDetentionThreshold,
+        int mixedCautionDetentionThreshold,
+        int decayCount,
+        int decayDays,
+        String detentionLabel,
+        String tier2Label
+) {
+    static EffectiveEscalationRules of(EscalationRules e, Long districtId, Long schoolId) {
+        return new EffectiveEscalationRules(
+                e.getId(),
+                districtId,
+                schoolId,
+                e.getTier1WindowDays(),
+                e.getSameCautionDetentionThreshold(),
+                e.getMixedCautionDetentionThreshold(),
+                e.getDecayCount(),
+                e.getDecayDays(),
+                e.getDetentionLabel(),
+                e.getTier2Label()
+        );
+    }
+}
@@ -1,26 +1,25 @@
 package io.northstar.behavior.service;
 
 import io.northstar.behavior.dto.StudentEscalationStatusDTO;
-import io.northstar.behavior.model.EscalationRules;
 import io.northstar.behavior.model.Incident;
 import io.northstar.behavior.model.Student;
-import io.northstar.behavior.repository.EscalationRulesRepository;
 import io.northstar.behavior.repository.IncidentRepository;
 import io.northstar.behavior.repository.InterventionRepository;
 import io.northstar.behavior.repository.SchoolRepository;
 import io.northstar.behavior.repository.StudentRepository;
+import io.northstar.behavior.service.EscalationStateStore.SchoolWindow;
+import io.northstar.behavior.service.EscalationStateStore.StudentWindowSnapshot;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.time.DayOfWeek;
-import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -28,20 +27,26 @@ public class EscalationEvaluationServiceImpl implements EscalationEvaluationServ
 
     private final StudentRepository studentRepo;
     private final IncidentRepository incidentRepo;
-    private final EscalationRulesRepository rulesRepo;
+    private final EscalationRulesCache rulesCache;
     private final SchoolRepository schoolRepo;
     private final InterventionRepository interventionRepo;
+    private final EscalationStateStore stateStore;
+    private final SchoolCalendarService calendar;
 
     public EscalationEvaluationServiceImpl(StudentRepository studentRepo,
                                            IncidentRepository incidentRepo,
-                                           EscalationRulesRepository rulesRepo,
+                                           EscalationRulesCache rulesCache,
                                            SchoolRepository schoolRepo,
-                                           InterventionRepository interventionRepo) {
+                                           InterventionRepository interventionRepo,
+                                           EscalationStateStore stateStore,
+                                           SchoolCalendarService calendar) {
         this.studentRepo = studentRepo;
         this.incidentRepo = incidentRepo;
-        this.rulesRepo = rulesRepo;
+        this.rulesCache = rulesCache;
         this.schoolRepo = schoolRepo;
         this.interventionRepo = interventionRepo;
+        this.stateStore = stateStore;
+        this.calendar = calendar;
     }
 
     @Override
@@ -52,47 +57,44 @@ public class EscalationEvaluationServiceImpl implements EscalationEvaluationServ
         Long districtId = school.getDistrict().getDistrictId();
 
         // Get escalation rules (school-specific or district default)
-        EscalationRules rules = rulesRepo
-                .findByDistrict_DistrictIdAndSchool_SchoolId(districtId, schoolId)
-                .orElseGet(() -> rulesRepo
-                        .findByDistrict_DistrictIdAndSchoolIsNull(districtId)
-                        .orElse(null));
+        EffectiveEscalationRules rules = rulesCache.resolve(districtId, schoolId).orElse(null);
 
         if (rules == null) {
             // No rules configured — nothing to evaluate
             return List.of();
         }
 
-        int windowDays = rules.getTier1WindowDays();
-        int decayDays = rules.getDecayDays();
-        int decayCount = rules.getDecayCount();
-        int cautionThreshold = rules.getSameCautionDetentionThreshold();
-        int escalatedThreshold = rules.getMixedCautionDetentionThreshold();
-
-        OffsetDateTime windowStart = OffsetDateTime.now().minusDays(windowDays);
-
-        // Fetch all incidents in the window for this school
-        List<Incident> windowIncidents = incidentRepo
-                .findBySchool_SchoolIdAndOccurredAtAfterOrderByOccurredAtDesc(schoolId, windowStart);
-
-        // Group by studentId (use the column value directly to avoid lazy-loading Student)
-        Map<Long, List<Incident>> byStudent = windowIncidents.stream()
-                .collect(Collectors.groupingBy(Incident::getStudentId));
-
-        List<Student> students = studentRepo.findBySchool_SchoolId(schoolId);
+        int windowDays = rules.tier1WindowDays();
+        int decayDays = rules.decayDays();
+        int decayCount = rules.decayCount();
+        int cautionThreshold = rules.sameCautionDetentionThreshold();
+        int escalatedThreshold = rules.mixedCautionDetentionThreshold();
+
+        // Running counters are kept up to date by incident events; only students at or over
+        // the lower of the two thresholds come back, so this is O(alerting students), not
+        // O(window incidents). Nothing forces escalated >= caution, so either one can be the floor.
+        int candidateThreshold = Math.min(cautionThreshold, escalatedThreshold);
+        SchoolWindow window = stateStore.window(schoolId, windowDays, candidateThreshold,
+                () -> seedWindow(schoolId, windowDays, candidateThreshold));
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<StudentWindowSnapshot> candidates = window.candidates(now.minusDays(windowDays));
+        Map<Long, String> missingNames = resolveMissingNames(candidates);
+        Map<Long, OffsetDateTime> latestIntervention = candidates.isEmpty()
+                ? Map.of()
+                : latestInterventions(schoolId, now.minusDays(windowDays));
 
         List<StudentEscalationStatusDTO> alerts = new ArrayList<>();
 
-        for (Student s : students) {
-            List<Incident> studentIncidents = byStudent.getOrDefault(s.getId(), List.of());
-            int rawCount = studentIncidents.size();
-            if (rawCount == 0) continue;
+        for (StudentWindowSnapshot c : candidates) {
+            String name = (c.studentName() != null) ? c.studentName() : missingNames.get(c.studentId());
+            if (name == null) continue; // student no longer exists
 
-            // Decay: find last incident, compute full periods since then (weekdays only)
-            OffsetDateTime lastIncident = studentIncidents.get(0).getOccurredAt();
-            long weekdaysSinceLast = countWeekdays(lastIncident.toLocalDate(), OffsetDateTime.now().toLocalDate());
-            long fullDecayPeriods = (decayDays > 0) ? weekdaysSinceLast / decayDays : 0;
-            int effective = Math.max(0, rawCount - (int) (fullDecayPeriods * decayCount));
+            // Decay: full periods since the last incident (instructional days: weekdays minus closures)
+            OffsetDateTime lastIncident = c.lastIncidentAt();
+            long schoolDaysSinceLast = calendar.instructionalDaysBetween(districtId, lastIncident, now);
+            long fullDecayPeriods = (decayDays > 0) ? schoolDaysSinceLast / decayDays : 0;
+            int effective = Math.max(0, c.windowCount() - (int) (fullDecayPeriods * decayCount));
 
             if (effective <= 0) continue;
 
@@ -106,32 +108,65 @@ public class EscalationEvaluationServiceImpl implements EscalationEvaluationServ
             }
 
             // If a discipline/intervention was already issued after the most recent incident, skip
-            if (interventionRepo.existsByStudent_IdAndCreatedAtAfter(s.getId(), lastIncident)) {
+            OffsetDateTime lastIntervention = latestIntervention.get(c.studentId());
+            if (lastIntervention != null && lastIntervention.isAfter(lastIncident)) {
                 continue;
             }
 
             alerts.add(new StudentEscalationStatusDTO(
-                    s.getId(),
-                    s.getFirstName() + " " + s.getLastName(),
+                    c.studentId(),
+                    name,
                     effective,
                     status
             ));
         }
 
+        alerts.sort(Comparator.comparingInt(StudentEscalationStatusDTO::effectiveCautionCount).reversed()
+                .thenComparing(StudentEscalationStatusDTO::studentId));
         return alerts;
     }
 
-    private long countWeekdays(LocalDate from, LocalDate to) {
-        if (!to.isAfter(from)) return 0;
-        long count = 0;
-        LocalDate date = from.plusDays(1); // start counting the day after the incident
-        while (!date.isAfter(to)) {
-            DayOfWeek dow = date.getDayOfWeek();
-            if (dow != DayOfWeek.SATURDAY && dow != DayOfWeek.SUNDAY) {
-                count++;
-            }
-            date = date.plusDays(1);
+    // Builds a school's window from the database: the incidents in the tier-1 window, named from the roster
+    private SchoolWindow seedWindow(Long schoolId, int windowDays, int candidateThreshold) {
+        SchoolWindow window = new SchoolWindow(windowDays, candidateThreshold);
+
+        Map<Long, String> roster = new HashMap<>();
+        for (Student s : studentRepo.findBySchool_SchoolId(schoolId)) {
+            roster.put(s.getId(), s.getFirstName() + " " + s.getLastName());
+        }
+
+        OffsetDateTime windowStart = OffsetDateTime.now().minusDays(windowDays);
+        List<Incident> windowIncidents = incidentRepo
+                .findBySchool_SchoolIdAndOccurredAtAfterOrderByOccurredAtDesc(schoolId, windowStart);
+        for (Incident i : windowIncidents) {
+            String name = roster.get(i.getStudentId());
+            if (name == null) continue; // not on this school's roster
+            window.record(i.getStudentId(), i.getId(), i.getOccurredAt(), name);
+        }
+        return window;
+    }
+
+    // One query for the whole school instead of one existence probe per alerting student.
+    // Interventions older than the window can never postdate an in-window incident.
+    private Map<Long, OffsetDateTime> latestInterventions(Long schoolId, OffsetDateTime windowStart) {
+        Map<Long, OffsetDateTime> out = new HashMap<>();
+        for (Object[] row : interventionRepo.latestCreatedAtByStudentForSchool(schoolId, windowStart)) {
+            out.put(((Number) row[0]).longValue(), (OffsetDateTime) row[1]);
+        }
+        return out;
+    }
+
+    // Students that showed up through events after the window was seeded have no name yet
+    private Map<Long, String> resolveMissingNames(List<StudentWindowSnapshot> candidates) {
+        List<Long> ids = new ArrayList<>();
+        for (StudentWindowSnapshot c : candidates) {
+            if (c.studentName() == null) ids.add(c.studentId());
+        }
+        Map<Long, String> out = new HashMap<>();
+        if (ids.isEmpty()) return out;
+        for (Student s : studentRepo.findAllById(ids)) {
+            out.put(s.getId(), s.getFirstName() + " " + s.getLastName());
         }
-        return count;
+        return out;
     }
 }
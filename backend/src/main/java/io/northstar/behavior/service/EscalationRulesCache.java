@@ -0,0 +1,104 @@
+package io.northstar.behavior.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.northstar.behavior.model.EscalationRules;
+import io.northstar.behavior.repository.EscalationRulesRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolved escalation rules per (districtId, schoolId), with the district-default fallback applied.
+ *
+ * "No rules configured" is cached too, so unconfigured schools don't hit the database on
+ * every incident. Entries are evicted after an upsert commits; the TTL only exists so that
+ * upserts made on other nodes are picked up eventually.
+ */
+@Component
+public class EscalationRulesCache {
+
+    static final String METRIC = "northstar.escalation.rules.cache";
+
+    private record Key(Long districtId, Long schoolId) {}
+
+    private record Entry(Optional<EffectiveEscalationRules> rules, long loadedAt) {}
+
+    private final EscalationRulesRepository repo;
+    private final Duration ttl;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every eviction; a load that raced with an eviction is not stored
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public EscalationRulesCache(EscalationRulesRepository repo,
+                                MeterRegistry meters,
+                                @Value("${app.escalation.rules-cache-ttl-minutes:10}") long ttlMinutes) {
+        this.repo = repo;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.hits = meters.counter(METRIC, "result", "hit");
+        this.misses = meters.counter(METRIC, "result", "miss");
+    }
+
+    /** School rules if present, else the district default, else empty. */
+    public Optional<EffectiveEscalationRules> resolve(Long districtId, Long schoolId) {
+        Key key = new Key(districtId, schoolId);
+        Entry e = entries.get(key);
+        if (e != null && System.currentTimeMillis() - e.loadedAt() <= ttl.toMillis()) {
+            hits.increment();
+            return e.rules();
+        }
+        misses.increment();
+
+        long gen = generation.get();
+        Optional<EffectiveEscalationRules> loaded = load(districtId, schoolId);
+        if (generation.get() == gen) {
+            entries.put(key, new Entry(loaded, System.currentTimeMillis()));
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops cached rules once the current transaction commits. A null schoolId means the
+     * district default changed, which can affect every school in the district.
+     */
+    public void evictAfterCommit(Long districtId, Long schoolId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(districtId, schoolId);
+                }
+            });
+        } else {
+            evict(districtId, schoolId);
+        }
+    }
+
+    void evict(Long districtId, Long schoolId) {
+        generation.incrementAndGet();
+        if (schoolId == null) {
+            entries.keySet().removeIf(k -> Objects.equals(k.districtId(), districtId));
+        } else {
+            entries.remove(new Key(districtId, schoolId));
+        }
+    }
+
+    private Optional<EffectiveEscalationRules> load(Long districtId, Long schoolId) {
+        Optional<EscalationRules> rules = repo.findByDistrict_DistrictIdAndSchool_SchoolId(districtId, schoolId);
+        if (rules.isPresent()) {
+            return Optional.of(EffectiveEscalationRules.of(rules.get(), districtId, schoolId));
+        }
+        return repo.findByDistrict_DistrictIdAndSchoolIsNull(districtId)
+                .map(r -> EffectiveEscalationRules.of(r, districtId, null));
+    }
+}
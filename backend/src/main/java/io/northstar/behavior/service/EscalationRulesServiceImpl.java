@@ -20,14 +20,17 @@ public class EscalationRulesServiceImpl implements EscalationRulesService {
   private final EscalationRulesRepository repo;
   private final DistrictRepository districtRepo;
   private final SchoolRepository schoolRepo;
+  private final EscalationRulesCache rulesCache;
 
   public EscalationRulesServiceImpl(
           EscalationRulesRepository repo,
           DistrictRepository districtRepo,
-          SchoolRepository schoolRepo) {
+          SchoolRepository schoolRepo,
+          EscalationRulesCache rulesCache) {
     this.repo = repo;
     this.districtRepo = districtRepo;
     this.schoolRepo = schoolRepo;
+    this.rulesCache = rulesCache;
   }
 
   private static EscalationRulesDTO defaults(Long districtId, Long schoolId) {
@@ -116,6 +119,7 @@ public class EscalationRulesServiceImpl implements EscalationRulesService {
 
     apply(e, body != null ? body : defaults(districtId, schoolId));
     EscalationRules saved = repo.save(e);
+    rulesCache.evictAfterCommit(districtId, schoolId);
     return toDto(saved);
   }
 }
@@ -0,0 +1,268 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.event.IncidentDeletedEvent;
+import io.northstar.behavior.event.IncidentRecordedEvent;
+import io.northstar.behavior.event.IncidentsRecordedEvent;
+import io.northstar.behavior.event.StudentDeletedEvent;
+import io.northstar.behavior.event.StudentUpdatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Running per-student escalation counters, one window per school.
+ *
+ * A window is seeded from the database the first time a school is evaluated and is then
+ * kept current by incident/student events. Incidents age out lazily when the window is read.
+ * Windows are re-seeded after {@code app.escalation.state-ttl-minutes} so that writes made
+ * on other nodes are picked up, and whenever the school's window length or threshold changes.
+ *
+ * Events that arrive while a seed query runs are buffered and replayed into the new window
+ * before it is published, so an incident committed after the query read but before the
+ * window was installed still counts. Replays are harmless: {@code record} ignores incidents
+ * it already has, and a buffered delete keeps the incident out even if the seed read it.
+ * Seeds for one school run one at a time.
+ */
+@Component
+public class EscalationStateStore {
+
+    private final Map<Long, SchoolWindow> windows = new ConcurrentHashMap<>();
+    private final Map<Long, Seeding> seedings = new ConcurrentHashMap<>();
+    private final Duration ttl;
+
+    public EscalationStateStore(@Value("${app.escalation.state-ttl-minutes:5}") long ttlMinutes) {
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    /** Returns the live window for a school, seeding it when missing, expired or built under other rules. */
+    public SchoolWindow window(Long schoolId, int windowDays, int threshold, Supplier<SchoolWindow> seed) {
+        SchoolWindow current = windows.get(schoolId);
+        if (usable(current, windowDays, threshold)) return current;
+
+        Seeding seeding = seedings.computeIfAbsent(schoolId, id -> new Seeding());
+        synchronized (seeding.seedLock) {
+            current = windows.get(schoolId);
+            if (usable(current, windowDays, threshold)) return current; // seeded while we waited
+
+            seeding.begin();
+            try {
+                SchoolWindow fresh = seed.get();
+                seeding.replayInto(fresh);
+                windows.put(schoolId, fresh);
+                return fresh;
+            } finally {
+                seeding.end();
+            }
+        }
+    }
+
+    private boolean usable(SchoolWindow w, int windowDays, int threshold) {
+        return w != null && w.matches(windowDays, threshold) && !w.isExpired(ttl);
+    }
+
+    public void evict(Long schoolId) {
+        windows.remove(schoolId);
+    }
+
+    // ---------- event listeners ----------
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentRecorded(IncidentRecordedEvent e) {
+        apply(e.schoolId(), null, w -> w.record(e.studentId(), e.incidentId(), e.occurredAt(), null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentsRecorded(IncidentsRecordedEvent e) {
+        e.incidents().forEach(this::onIncidentRecorded);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentDeleted(IncidentDeletedEvent e) {
+        apply(e.schoolId(), e.incidentId(), w -> w.remove(e.studentId(), e.incidentId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentUpdated(StudentUpdatedEvent e) {
+        apply(e.schoolId(), null, w -> w.rename(e.studentId(), e.firstName() + " " + e.lastName()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentDeleted(StudentDeletedEvent e) {
+        apply(e.schoolId(), null, w -> w.dropStudent(e.studentId()));
+    }
+
+    // The seeding is checked before the window: once it stops taking events the new window is
+    // already published, so an event can't fall between the two
+    private void apply(Long schoolId, Long deletedIncidentId, Consumer<SchoolWindow> change) {
+        if (schoolId == null) return;
+        Seeding seeding = seedings.get(schoolId);
+        if (seeding != null) seeding.offer(deletedIncidentId, change);
+        SchoolWindow w = windows.get(schoolId);
+        if (w != null) change.accept(w);
+    }
+
+    /** Collects a school's events while its window is being seeded. */
+    private static final class Seeding {
+        final Object seedLock = new Object();
+        private List<Consumer<SchoolWindow>> buffered; // non-null while the seed query runs
+        private final Set<Long> deleted = new HashSet<>();
+        private SchoolWindow target;                   // replayed, not yet published
+
+        synchronized void begin() {
+            buffered = new ArrayList<>();
+        }
+
+        synchronized void offer(Long deletedIncidentId, Consumer<SchoolWindow> change) {
+            if (deletedIncidentId != null) deleted.add(deletedIncidentId);
+            if (target != null) {
+                change.accept(target);
+                target.dropIncidents(deleted);
+            } else if (buffered != null) {
+                buffered.add(change);
+            }
+        }
+
+        synchronized void replayInto(SchoolWindow w) {
+            for (Consumer<SchoolWindow> change : buffered) change.accept(w);
+            w.dropIncidents(deleted); // a delete buffered before its record must still win
+            buffered = null;
+            target = w;
+        }
+
+        synchronized void end() {
+            buffered = null;
+            target = null;
+            deleted.clear();
+        }
+    }
+
+    // ---------- state ----------
+
+    /** Point-in-time view of one student's window, handed to the evaluator. */
+    public record StudentWindowSnapshot(
+            Long studentId,
+            String studentName,
+            int windowCount,
+            OffsetDateTime lastIncidentAt
+    ) {}
+
+    private record Hit(OffsetDateTime occurredAt, long incidentId) {}
+
+    private static final Comparator<Hit> HIT_ORDER = Comparator
+            .comparing((Hit h) -> h.occurredAt().toInstant())
+            .thenComparingLong(Hit::incidentId);
+
+    private static final class StudentCounter {
+        String name;
+        final TreeSet<Hit> hits = new TreeSet<>(HIT_ORDER);
+        final Map<Long, Hit> byIncident = new HashMap<>();
+
+        void pruneBefore(OffsetDateTime windowStart) {
+            Iterator<Hit> it = hits.iterator();
+            while (it.hasNext()) {
+                Hit h = it.next();
+                if (h.occurredAt().isAfter(windowStart)) break;
+                it.remove();
+                byIncident.remove(h.incidentId());
+            }
+        }
+    }
+
+    /**
+     * All counters for one school. Students whose raw window count reaches the caution
+     * threshold are tracked as candidates, so reads only touch students that can alert.
+     */
+    public static final class SchoolWindow {
+        private final int windowDays;
+        private final int threshold;
+        private final long builtAt = System.currentTimeMillis();
+        private final Map<Long, StudentCounter> students = new HashMap<>();
+        private final Set<Long> candidates = new HashSet<>();
+
+        public SchoolWindow(int windowDays, int threshold) {
+            this.windowDays = windowDays;
+            this.threshold = threshold;
+        }
+
+        boolean matches(int windowDays, int threshold) {
+            return this.windowDays == windowDays && this.threshold == threshold;
+        }
+
+        boolean isExpired(Duration ttl) {
+            return System.currentTimeMillis() - builtAt > ttl.toMillis();
+        }
+
+        public synchronized void record(Long studentId, Long incidentId, OffsetDateTime occurredAt, String name) {
+            if (studentId == null || incidentId == null || occurredAt == null) return;
+            StudentCounter c = students.computeIfAbsent(studentId, id -> new StudentCounter());
+            if (name != null) c.name = name;
+            if (c.byIncident.containsKey(incidentId)) return;
+            Hit h = new Hit(occurredAt, incidentId);
+            c.hits.add(h);
+            c.byIncident.put(incidentId, h);
+            if (c.hits.size() >= threshold) candidates.add(studentId);
+        }
+
+        synchronized void remove(Long studentId, Long incidentId) {
+            StudentCounter c = students.get(studentId);
+            if (c == null) return;
+            Hit h = c.byIncident.remove(incidentId);
+            if (h != null) c.hits.remove(h);
+            if (c.hits.size() < threshold) candidates.remove(studentId);
+            if (c.hits.isEmpty()) students.remove(studentId);
+        }
+
+        synchronized void dropIncidents(Set<Long> incidentIds) {
+            if (incidentIds.isEmpty()) return;
+            for (Long studentId : new ArrayList<>(students.keySet())) {
+                StudentCounter c = students.get(studentId);
+                for (Long incidentId : incidentIds) {
+                    if (c.byIncident.containsKey(incidentId)) remove(studentId, incidentId);
+                }
+            }
+        }
+
+        synchronized void rename(Long studentId, String name) {
+            StudentCounter c = students.get(studentId);
+            if (c != null) c.name = name;
+        }
+
+        synchronized void dropStudent(Long studentId) {
+            students.remove(studentId);
+            candidates.remove(studentId);
+        }
+
+        /** Ages out incidents at or before {@code windowStart} and returns the students still at or over threshold. */
+        public synchronized List<StudentWindowSnapshot> candidates(OffsetDateTime windowStart) {
+            List<StudentWindowSnapshot> out = new ArrayList<>();
+            Iterator<Long> it = candidates.iterator();
+            while (it.hasNext()) {
+                Long studentId = it.next();
+                StudentCounter c = students.get(studentId);
+                if (c != null) c.pruneBefore(windowStart);
+                if (c == null || c.hits.size() < threshold) {
+                    it.remove();
+                    if (c != null && c.hits.isEmpty()) students.remove(studentId);
+                    continue;
+                }
+                out.add(new StudentWindowSnapshot(studentId, c.name, c.hits.size(), c.hits.last().occurredAt()));
+            }
+            return out;
+        }
+    }
+}
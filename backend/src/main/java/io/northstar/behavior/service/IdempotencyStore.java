@@ -0,0 +1,144 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.model.IdempotencyRecord;
+import io.northstar.behavior.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Responses to create requests that carried an {@code Idempotency-Key}, so a retry gets the
+ * original response instead of writing a second incident or intervention.
+ *
+ * {@code idempotency_keys} is the source of truth and serialises requests across nodes (see
+ * {@link IdempotencyRecord}). Completed responses are also held in memory, up to
+ * {@code app.idempotency.max-entries} and never past their expiry, so a replay on the node that
+ * answered first costs no database round trip. Keys live for {@code app.idempotency.ttl-hours}
+ * and are scoped to the district.
+ */
+@Component
+public class IdempotencyStore {
+
+    /** A completed response; {@code fingerprint} identifies the request it answered. */
+    public record Stored(String fingerprint, int status, String contentType, String body, OffsetDateTime expiresAt) {}
+
+    /** The right to run a request: its row and the token that row was claimed under. */
+    public record Claim(Long id, String token) {}
+
+    /** Either a claim to run the request or the response to replay. */
+    public record Begin(Claim claim, Stored replay) {}
+
+    private final IdempotencyRecordRepository records;
+    private final Duration ttl;
+    private final Duration lock;
+
+    // Insertion order is expiry order (one TTL), so the eldest entry is the first to go. Guarded by this.
+    private final LinkedHashMap<String, Stored> recent;
+
+    public IdempotencyStore(IdempotencyRecordRepository records,
+                            @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${app.idempotency.lock-seconds:60}") long lockSeconds,
+                            @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this.records = records;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lock = Duration.ofSeconds(lockSeconds);
+        this.recent = new LinkedHashMap<>(256, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Stored> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Claims {@code key} for a request, or returns the response it already produced.
+     * 409 while another request with the key is in flight; 422 when the key was used for a different request.
+     */
+    public Begin begin(Long districtId, String key, String fingerprint) {
+        String k = districtId + ":" + key;
+        Stored hit = cached(k);
+        if (hit != null) return new Begin(null, matching(hit, fingerprint));
+
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime expiresAt = now.plus(ttl);
+        String token = UUID.randomUUID().toString();
+        try {
+            IdempotencyRecord claimed = records.saveAndFlush(new IdempotencyRecord(districtId, key, fingerprint, token, now, expiresAt));
+            return new Begin(new Claim(claimed.getId(), token), null);
+        } catch (DataIntegrityViolationException taken) {
+            // Someone holds the key: replay it, wait for it, or take over a dead claim
+        }
+
+        IdempotencyRecord r = records.findByDistrictIdAndIdemKey(districtId, key).orElse(null);
+        if (r == null || records.takeOver(r.getId(), r.getClaimToken(), token, fingerprint, now, expiresAt, now.minus(lock)) == 0) {
+            if (r == null || r.getStatusCode() == null) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "a request with this idempotency key is still in progress");
+            }
+            Stored done = new Stored(r.getFingerprint(), r.getStatusCode(), r.getContentType(), r.getBody(), r.getExpiresAt());
+            remember(k, done);
+            return new Begin(null, matching(done, fingerprint));
+        }
+        return new Begin(new Claim(r.getId(), token), null);
+    }
+
+    /**
+     * Records a successful response for replay. Returns false, storing nothing, when the claim
+     * was taken over while the request ran.
+     */
+    public boolean complete(Long districtId, String key, Claim claim, String fingerprint,
+                            int status, String contentType, String body) {
+        OffsetDateTime expiresAt = OffsetDateTime.now().plus(ttl);
+        if (records.complete(claim.id(), claim.token(), status, contentType, body, expiresAt) == 0) return false;
+        remember(districtId + ":" + key, new Stored(fingerprint, status, contentType, body, expiresAt));
+        return true;
+    }
+
+    /** Gives up a claim whose request failed, so a retry runs it again; a taken-over claim is left alone. */
+    public void release(Claim claim) {
+        records.release(claim.id(), claim.token());
+    }
+
+    public synchronized int size() {
+        return recent.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.sweep-ms:600000}", initialDelayString = "${app.idempotency.sweep-ms:600000}")
+    public void sweep() {
+        OffsetDateTime now = OffsetDateTime.now();
+        records.deleteExpired(now);
+        synchronized (this) {
+            recent.values().removeIf(s -> s.expiresAt().isBefore(now));
+        }
+    }
+
+    // ---------- internals ----------
+
+    private synchronized Stored cached(String k) {
+        Stored s = recent.get(k);
+        if (s != null && s.expiresAt().isBefore(OffsetDateTime.now())) {
+            recent.remove(k);
+            return null;
+        }
+        return s;
+    }
+
+    private synchronized void remember(String k, Stored s) {
+        recent.put(k, s);
+    }
+
+    private static Stored matching(Stored s, String fingerprint) {
+        if (!s.fingerprint().equals(fingerprint)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "idempotency key was already used for a different request");
+        }
+        return s;
+    }
+}
@@ -0,0 +1,17 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.CubeRebuildDTO;
+
+import java.time.ZoneId;
+
+public interface IncidentCubeService {
+
+    /** Recomputes a district's weekly cube from the incidents table, in its own transaction. */
+    CubeRebuildDTO rebuild(Long districtId);
+
+    /** True when the district's cube exists and was cut in the district's current zone. */
+    boolean isBuilt(Long districtId);
+
+    /** Zone whose weeks the cube is bucketed by: the district's, else the server's. */
+    ZoneId zone(Long districtId);
+}
@@ -0,0 +1,232 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.CubeRebuildDTO;
+import io.northstar.behavior.event.IncidentDeletedEvent;
+import io.northstar.behavior.event.IncidentRecordedEvent;
+import io.northstar.behavior.event.IncidentsRecordedEvent;
+import io.northstar.behavior.event.StudentDeletedEvent;
+import io.northstar.behavior.event.StudentUpdatedEvent;
+import io.northstar.behavior.model.IncidentCubeStatus;
+import io.northstar.behavior.repository.DistrictRepository;
+import io.northstar.behavior.repository.IncidentCubeCellRepository;
+import io.northstar.behavior.repository.IncidentCubeStatusRepository;
+import io.northstar.behavior.repository.IncidentRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * District incident cube: counts per school, grade, category, severity, teacher and week.
+ *
+ * Kept current the same way as the daily rollups: incident creates and deletes adjust their
+ * cell before the writing transaction commits, and only districts that have been built are
+ * maintained. Cells use the student's current grade, not the grade at the time of the
+ * incident: changing a student's grade, or deleting a student (which cascades to incidents
+ * without events), marks the district for a rebuild instead of moving cells around.
+ *
+ * Writers and rebuilds serialise on the district row, as the rollups do on the school row:
+ * adjustments and invalidations hold a shared lock on it until they commit, and a rebuild
+ * takes it exclusively before reading the incidents.
+ */
+@Service
+@Transactional
+public class IncidentCubeServiceImpl implements IncidentCubeService {
+
+    private record Cell(LocalDate weekStart, Long schoolId, String grade,
+                        String category, String severity, String reportedBy) {}
+
+    private final IncidentCubeCellRepository cells;
+    private final IncidentCubeStatusRepository status;
+    private final IncidentRepository incidents;
+    private final DistrictRepository districts;
+    private final DistrictDayBoundaries days;
+    private final JdbcTemplate jdbc;
+
+    public IncidentCubeServiceImpl(IncidentCubeCellRepository cells,
+                                   IncidentCubeStatusRepository status,
+                                   IncidentRepository incidents,
+                                   DistrictRepository districts,
+                                   DistrictDayBoundaries days,
+                                   JdbcTemplate jdbc) {
+        this.cells = cells;
+        this.status = status;
+        this.incidents = incidents;
+        this.districts = districts;
+        this.days = days;
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public ZoneId zone(Long districtId) {
+        return days.zone(districtId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isBuilt(Long districtId) {
+        String zoneId = zone(districtId).getId();
+        return status.findById(districtId)
+                .map(s -> zoneId.equals(s.getZoneId()))
+                .orElse(false);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public CubeRebuildDTO rebuild(Long districtId) {
+        ZoneId zone = zone(districtId);
+        // Waits for in-flight writers to commit and holds new ones until the status row is saved
+        districts.findByIdForUpdate(districtId);
+        cells.deleteByDistrict(districtId);
+
+        // Grouped per day in the database, folded into weeks here
+        Map<Cell, Long> counts = new HashMap<>();
+        long total = 0;
+        for (Object[] row : incidents.cubeCellsForDistrict(districtId, zone.getId())) {
+            LocalDate week = weekOf(SqlDates.day(row[0], row[1], row[2]));
+            Cell c = new Cell(week, ((Number) row[3]).longValue(),
+                    (String) row[4], (String) row[5], (String) row[6], (String) row[7]);
+            long n = ((Number) row[8]).longValue();
+            counts.merge(c, n, Long::sum);
+            total += n;
+        }
+
+        List<Object[]> batch = new ArrayList<>(counts.size());
+        for (Map.Entry<Cell, Long> e : counts.entrySet()) {
+            Cell c = e.getKey();
+            batch.add(new Object[] { districtId, Date.valueOf(c.weekStart()), c.schoolId(), c.grade(),
+                    c.category(), c.severity(), c.reportedBy(), e.getValue() });
+        }
+        // A concurrent rebuild of the same district inserts the same rows; keep whichever landed first
+        jdbc.batchUpdate("""
+                insert into incident_cube_cells
+                    (district_id, week_start, school_id, grade, category, severity, reported_by, incident_count)
+                values (?, ?, ?, ?, ?, ?, ?, ?)
+                on conflict do nothing
+                """, batch);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        IncidentCubeStatus st = status.findById(districtId)
+                .orElseGet(() -> new IncidentCubeStatus(districtId, zone.getId(), now));
+        st.setZoneId(zone.getId());
+        st.setRebuiltAt(now);
+        status.save(st);
+
+        return new CubeRebuildDTO(districtId, total, counts.size(), zone.getId(), now);
+    }
+
+    // ---------- incremental maintenance ----------
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onIncidentRecorded(IncidentRecordedEvent e) {
+        adjust(e.districtId(), e.schoolId(), e.grade(), e.category(), e.severity(), e.reportedBy(), e.occurredAt(), 1);
+    }
+
+    // A batch create: one lock and status probe per district, then one write per cell
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onIncidentsRecorded(IncidentsRecordedEvent e) {
+        Map<Long, List<IncidentRecordedEvent>> byDistrict = new TreeMap<>();
+        for (IncidentRecordedEvent i : e.incidents()) {
+            if (i.districtId() != null) byDistrict.computeIfAbsent(i.districtId(), id -> new ArrayList<>()).add(i);
+        }
+        for (Map.Entry<Long, List<IncidentRecordedEvent>> district : byDistrict.entrySet()) {
+            Long districtId = district.getKey();
+            if (!lockIfBuilt(districtId)) continue;
+
+            List<IncidentRecordedEvent> batch = district.getValue();
+            if (batch.stream().anyMatch(i -> !placeable(i.schoolId(), i.grade(), i.category(), i.severity(),
+                    i.reportedBy(), i.occurredAt()))) {
+                invalidate(districtId); // can't place one of them; let the next read rebuild
+                continue;
+            }
+
+            Map<Cell, Long> deltas = new LinkedHashMap<>();
+            for (IncidentRecordedEvent i : batch) {
+                Cell c = new Cell(weekOf(days.dayOf(districtId, i.occurredAt())), i.schoolId(), i.grade(),
+                        i.category(), i.severity(), i.reportedBy());
+                deltas.merge(c, 1L, Long::sum);
+            }
+            deltas.forEach((c, n) -> addToCell(districtId, c, n));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onIncidentDeleted(IncidentDeletedEvent e) {
+        if (adjust(e.districtId(), e.schoolId(), e.grade(), e.category(), e.severity(), e.reportedBy(), e.occurredAt(), -1)) {
+            cells.deleteEmptyCells(e.districtId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStudentUpdated(StudentUpdatedEvent e) {
+        if (e.gradeChanged()) invalidate(e.districtId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStudentDeleted(StudentDeletedEvent e) {
+        invalidate(e.districtId());
+    }
+
+    private void invalidate(Long districtId) {
+        if (districtId == null) return;
+        districts.findByIdForShare(districtId);
+        if (status.existsById(districtId)) {
+            status.deleteById(districtId);
+        }
+    }
+
+    private boolean adjust(Long districtId, Long schoolId, String grade, String category, String severity,
+                           String reportedBy, OffsetDateTime occurredAt, long delta) {
+        if (districtId == null) return false;
+        if (!lockIfBuilt(districtId)) return false;
+        if (!placeable(schoolId, grade, category, severity, reportedBy, occurredAt)) {
+            invalidate(districtId); // can't place it; let the next read rebuild
+            return false;
+        }
+
+        LocalDate week = weekOf(days.dayOf(districtId, occurredAt));
+        return addToCell(districtId, new Cell(week, schoolId, grade, category, severity, reportedBy), delta);
+    }
+
+    private boolean lockIfBuilt(Long districtId) {
+        districts.findByIdForShare(districtId); // held to commit; see the class comment
+        return status.existsById(districtId); // not built yet
+    }
+
+    private static boolean placeable(Long schoolId, String grade, String category, String severity,
+                                     String reportedBy, OffsetDateTime occurredAt) {
+        return schoolId != null && grade != null && category != null && severity != null
+                && reportedBy != null && occurredAt != null;
+    }
+
+    private boolean addToCell(Long districtId, Cell c, long delta) {
+        if (cells.addToCell(districtId, c.weekStart(), c.schoolId(), c.grade(), c.category(), c.severity(),
+                c.reportedBy(), delta) > 0) return true;
+        if (delta < 0) return false; // nothing to take away from
+        if (cells.insertCell(districtId, c.weekStart(), c.schoolId(), c.grade(), c.category(), c.severity(),
+                c.reportedBy(), delta) > 0) return true;
+        // Lost the insert race to another writer; its row is there now
+        cells.addToCell(districtId, c.weekStart(), c.schoolId(), c.grade(), c.category(), c.severity(),
+                c.reportedBy(), delta);
+        return true;
+    }
+
+    static LocalDate weekOf(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
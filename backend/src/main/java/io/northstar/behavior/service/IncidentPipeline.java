@@ -0,0 +1,104 @@
+package io.northstar.behavior.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.northstar.behavior.event.IncidentRecordedEvent;
+import io.northstar.behavior.event.IncidentsRecordedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs escalation checks and admin notification fan-out for newly recorded incidents,
+ * off the request thread.
+ *
+ * The incident is handed over only after its transaction commits, so workers never see a
+ * row that might still roll back. The request thread only ever enqueues; when the queue is full
+ * the executor parks the incident for a hand-off thread rather than running it on the request.
+ * Each check runs in its own transaction. Transient database failures such as lock timeouts
+ * and deadlocks are retried with a linear backoff; anything else is logged and dropped.
+ */
+@Component
+public class IncidentPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(IncidentPipeline.class);
+
+    static final String METRIC = "northstar.incidents.pipeline";
+
+    private final NotificationService notifications;
+    private final Executor executor;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final Counter processed;
+    private final Counter retried;
+    private final Counter failed;
+
+    public IncidentPipeline(NotificationService notifications,
+                            @Qualifier("incidentPipelineExecutor") Executor executor,
+                            MeterRegistry meters,
+                            @Value("${app.incidents.pipeline.max-attempts:3}") int maxAttempts,
+                            @Value("${app.incidents.pipeline.backoff-ms:200}") long backoffMillis) {
+        this.notifications = notifications;
+        this.executor = executor;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+        this.processed = meters.counter(METRIC, "outcome", "processed");
+        this.retried = meters.counter(METRIC, "outcome", "retried");
+        this.failed = meters.counter(METRIC, "outcome", "failed");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onIncidentRecorded(IncidentRecordedEvent e) {
+        Long incidentId = e.incidentId();
+        executor.execute(() -> process(incidentId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onIncidentsRecorded(IncidentsRecordedEvent e) {
+        e.incidents().forEach(this::onIncidentRecorded);
+    }
+
+    void process(Long incidentId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                notifications.evaluateEscalationsForIncident(incidentId);
+                processed.increment();
+                return;
+            } catch (TransientDataAccessException ex) {
+                if (attempt >= maxAttempts) {
+                    failed.increment();
+                    log.error("Escalation check for incident {} failed after {} attempts", incidentId, attempt, ex);
+                    return;
+                }
+                retried.increment();
+                log.warn("Escalation check for incident {} failed (attempt {}), retrying: {}", incidentId, attempt, ex.toString());
+                if (!sleep(backoffMillis * attempt)) {
+                    failed.increment();
+                    return;
+                }
+            } catch (RuntimeException ex) {
+                failed.increment();
+                log.error("Escalation check for incident {} failed", incidentId, ex);
+                return;
+            }
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        if (millis <= 0) return true;
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.RollupRebuildDTO;
+
+import java.time.ZoneId;
+
+public interface IncidentRollupService {
+
+    /** Recomputes a school's daily rollups from the incidents table, in its own transaction. */
+    RollupRebuildDTO rebuild(Long schoolId);
+
+    /** True when the school's rollups exist and were cut in the school's current zone. */
+    boolean isBuilt(Long schoolId);
+
+    /** Zone whose calendar days a school's rollups are bucketed by: its district's, else the server's. */
+    ZoneId zone(Long schoolId);
+}
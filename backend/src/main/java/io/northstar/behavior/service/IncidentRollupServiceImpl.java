@@ -0,0 +1,188 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.RollupRebuildDTO;
+import io.northstar.behavior.event.IncidentDeletedEvent;
+import io.northstar.behavior.event.IncidentRecordedEvent;
+import io.northstar.behavior.event.IncidentsRecordedEvent;
+import io.northstar.behavior.event.StudentDeletedEvent;
+import io.northstar.behavior.model.IncidentRollupStatus;
+import io.northstar.behavior.repository.IncidentDailyRollupRepository;
+import io.northstar.behavior.repository.IncidentRepository;
+import io.northstar.behavior.repository.IncidentRollupStatusRepository;
+import io.northstar.behavior.repository.SchoolRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Daily incident rollups per school, day, category and severity.
+ *
+ * Incident creates and deletes adjust their bucket inside the writing transaction
+ * (before commit), so rollups and incidents commit or roll back together. Schools are only
+ * maintained once they have been built; the first summary read, or the rebuild endpoint,
+ * builds them from the incidents table with one GROUP BY. Days are cut in the district's
+ * time zone; changing it makes {@link #isBuilt} false until the next rebuild. Deleting a
+ * student cascades to its incidents without per-incident events, so it marks the school for
+ * a rebuild instead.
+ *
+ * Writers and rebuilds serialise on the school row (the status row doesn't exist before the
+ * first build, so it can't be locked): every adjustment holds a shared lock on it until its
+ * transaction commits, and a rebuild takes it exclusively before reading the incidents. An
+ * incident is therefore either committed before the rebuild reads, or adjusted after the
+ * status row is visible; it can't fall between the two.
+ */
+@Service
+@Transactional
+public class IncidentRollupServiceImpl implements IncidentRollupService {
+
+    private record Bucket(LocalDate day, String category, String severity) {}
+
+    private final IncidentDailyRollupRepository rollups;
+    private final IncidentRollupStatusRepository status;
+    private final IncidentRepository incidents;
+    private final SchoolRepository schools;
+    private final DistrictDayBoundaries days;
+    private final JdbcTemplate jdbc;
+
+    public IncidentRollupServiceImpl(IncidentDailyRollupRepository rollups,
+                                     IncidentRollupStatusRepository status,
+                                     IncidentRepository incidents,
+                                     SchoolRepository schools,
+                                     DistrictDayBoundaries days,
+                                     JdbcTemplate jdbc) {
+        this.rollups = rollups;
+        this.status = status;
+        this.incidents = incidents;
+        this.schools = schools;
+        this.days = days;
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public ZoneId zone(Long schoolId) {
+        return days.zoneForSchool(schoolId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isBuilt(Long schoolId) {
+        String zoneId = zone(schoolId).getId();
+        return status.findById(schoolId)
+                .map(s -> zoneId.equals(s.getZoneId()))
+                .orElse(false);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public RollupRebuildDTO rebuild(Long schoolId) {
+        ZoneId zone = zone(schoolId);
+        // Waits for in-flight writers to commit and holds new ones until the status row is saved
+        schools.findByIdForUpdate(schoolId);
+        rollups.deleteBySchool(schoolId);
+
+        // Grouped in the database; only one row per bucket comes back
+        List<Object[]> buckets = incidents.rollupBucketsForSchool(schoolId, zone.getId());
+        long total = 0;
+        List<Object[]> batch = new ArrayList<>(buckets.size());
+        for (Object[] row : buckets) {
+            long count = ((Number) row[5]).longValue();
+            batch.add(new Object[] { schoolId, Date.valueOf(SqlDates.day(row[0], row[1], row[2])), row[3], row[4], count });
+            total += count;
+        }
+        // A concurrent rebuild of the same school inserts the same rows; keep whichever landed first
+        jdbc.batchUpdate("""
+                insert into incident_daily_rollups (school_id, rollup_day, category, severity, incident_count)
+                values (?, ?, ?, ?, ?)
+                on conflict do nothing
+                """, batch);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        IncidentRollupStatus st = status.findById(schoolId)
+                .orElseGet(() -> new IncidentRollupStatus(schoolId, zone.getId(), now));
+        st.setZoneId(zone.getId());
+        st.setRebuiltAt(now);
+        status.save(st);
+
+        return new RollupRebuildDTO(schoolId, total, batch.size(), zone.getId(), now);
+    }
+
+    // ---------- incremental maintenance ----------
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onIncidentRecorded(IncidentRecordedEvent e) {
+        adjust(e.schoolId(), e.occurredAt(), e.category(), e.severity(), 1);
+    }
+
+    // A batch create: one lock and status probe per school, then one write per bucket
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onIncidentsRecorded(IncidentsRecordedEvent e) {
+        Map<Long, List<IncidentRecordedEvent>> bySchool = new TreeMap<>();
+        for (IncidentRecordedEvent i : e.incidents()) {
+            if (i.schoolId() == null || i.occurredAt() == null || i.category() == null || i.severity() == null) continue;
+            bySchool.computeIfAbsent(i.schoolId(), id -> new ArrayList<>()).add(i);
+        }
+        for (Map.Entry<Long, List<IncidentRecordedEvent>> school : bySchool.entrySet()) {
+            Long schoolId = school.getKey();
+            if (!lockIfBuilt(schoolId)) continue;
+
+            ZoneId zone = zone(schoolId);
+            Map<Bucket, Long> deltas = new LinkedHashMap<>();
+            for (IncidentRecordedEvent i : school.getValue()) {
+                LocalDate day = i.occurredAt().atZoneSameInstant(zone).toLocalDate();
+                deltas.merge(new Bucket(day, i.category(), i.severity()), 1L, Long::sum);
+            }
+            deltas.forEach((b, n) -> addToBucket(schoolId, b.day(), b.category(), b.severity(), n));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onIncidentDeleted(IncidentDeletedEvent e) {
+        if (adjust(e.schoolId(), e.occurredAt(), e.category(), e.severity(), -1)) {
+            rollups.deleteEmptyBuckets(e.schoolId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStudentDeleted(StudentDeletedEvent e) {
+        if (e.schoolId() == null) return;
+        schools.findByIdForShare(e.schoolId());
+        if (status.existsById(e.schoolId())) {
+            status.deleteById(e.schoolId());
+        }
+    }
+
+    private boolean adjust(Long schoolId, OffsetDateTime occurredAt, String category, String severity, long delta) {
+        if (schoolId == null || occurredAt == null || category == null || severity == null) return false;
+        if (!lockIfBuilt(schoolId)) return false;
+
+        LocalDate day = occurredAt.atZoneSameInstant(zone(schoolId)).toLocalDate();
+        return addToBucket(schoolId, day, category, severity, delta);
+    }
+
+    private boolean lockIfBuilt(Long schoolId) {
+        schools.findByIdForShare(schoolId); // held to commit; see the class comment
+        return status.existsById(schoolId); // not built yet; the first build will count it
+    }
+
+    private boolean addToBucket(Long schoolId, LocalDate day, String category, String severity, long delta) {
+        if (rollups.addToBucket(schoolId, day, category, severity, delta) > 0) return true;
+        if (delta < 0) return false; // nothing to take away from
+        if (rollups.insertBucket(schoolId, day, category, severity, delta) > 0) return true;
+        // Lost the insert race to another writer; its row is there now
+        rollups.addToBucket(schoolId, day, category, severity, delta);
+        return true;
+    }
+}
@@ -1,5 +1,6 @@
 package io.northstar.behavior.service;
 
+import io.northstar.behavior.dto.CreateIncidentBatchRequest;
 import io.northstar.behavior.dto.CreateIncidentRequest;
 import io.northstar.behavior.dto.IncidentDTO;
 import io.northstar.behavior.dto.IncidentSummaryDTO;
@@ -10,6 +11,9 @@ import java.util.List;
 
 public interface IncidentService {
     IncidentDTO create(CreateIncidentRequest req);
+
+    // The same incident for many students of the current district, all-or-nothing
+    List<IncidentDTO> createBatch(CreateIncidentBatchRequest req);
     List<IncidentDTO> findAll();
     IncidentDTO findById(Long id);
     List<IncidentSummaryDTO> summaryForStudent(Long studentId);
@@ -1,38 +1,71 @@
 // src/main/java/io/northstar/behavior/service/IncidentServiceImpl.java
 package io.northstar.behavior.service;
 
+import io.northstar.behavior.dto.CreateIncidentBatchRequest;
 import io.northstar.behavior.dto.CreateIncidentRequest;
 import io.northstar.behavior.dto.IncidentDTO;
 import io.northstar.behavior.dto.IncidentSummaryDTO;
+import io.northstar.behavior.dto.StudentRowDTO;
+import io.northstar.behavior.event.IncidentDeletedEvent;
+import io.northstar.behavior.event.IncidentRecordedEvent;
+import io.northstar.behavior.event.IncidentsRecordedEvent;
 import io.northstar.behavior.model.Incident;
 import io.northstar.behavior.model.Student;
 import io.northstar.behavior.model.Teacher;
 import io.northstar.behavior.repository.IncidentRepository;
 import io.northstar.behavior.repository.StudentRepository;
 import io.northstar.behavior.repository.TeacherRepository;
+import io.northstar.behavior.tenant.TenantContext;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class IncidentServiceImpl implements IncidentService {
 
+    // A whole grade at an assembly fits; anything bigger is an import, not a click
+    static final int MAX_BATCH = 500;
+
+    private static final String INSERT_INCIDENT = """
+            insert into incidents (student_id, district_id, school_id, category, description, severity,
+                                   reported_by, occurred_at, created_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
     private final IncidentRepository incidents;
     private final StudentRepository students;
     private final TeacherRepository teachers;
+    private final ApplicationEventPublisher events;
+    private final JdbcTemplate jdbc;
 
     public IncidentServiceImpl(IncidentRepository incidents, StudentRepository students,
-                               TeacherRepository teachers) {
+                               TeacherRepository teachers, ApplicationEventPublisher events,
+                               JdbcTemplate jdbc) {
         this.incidents = incidents;
         this.students = students;
         this.teachers = teachers;
+        this.events = events;
+        this.jdbc = jdbc;
     }
 
     // ---------- Mapping helpers ----------
@@ -89,7 +122,94 @@ public class IncidentServiceImpl implements IncidentService {
         inc.setOccurredAt(req.occurredAt() != null ? req.occurredAt() : OffsetDateTime.now());
         inc.setCreatedAt(OffsetDateTime.now());
 
-        return toDto(incidents.save(inc));
+        Incident saved = incidents.save(inc);
+        events.publishEvent(IncidentRecordedEvent.of(saved));
+        return toDto(saved);
+    }
+
+    /**
+     * Students are resolved and checked against the district in one query, and the rows go in as
+     * one JDBC batch; ids come back through the batch's generated keys (see {@link Incident} on
+     * why they are IDENTITY).
+     */
+    @Override
+    public List<IncidentDTO> createBatch(CreateIncidentBatchRequest req) {
+        Long districtId = TenantContext.getDistrictId();
+        if (districtId == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "district not found in context");
+
+        if (req.studentIds() == null || req.studentIds().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "studentIds is required");
+        }
+        if (isBlank(req.category()) || isBlank(req.description()) || isBlank(req.severity()) || isBlank(req.reportedBy())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "category, description, severity and reportedBy are required");
+        }
+        if (req.description().length() > 1000) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "description is longer than 1000 characters");
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long id : req.studentIds()) {
+            if (id == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "studentIds must not contain null");
+            ids.add(id);
+        }
+        if (ids.size() > MAX_BATCH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "at most " + MAX_BATCH + " students per batch");
+        }
+
+        Map<Long, StudentRowDTO> byId = new HashMap<>();
+        for (StudentRowDTO r : students.rowsInDistrict(districtId, ids)) byId.put(r.id(), r);
+        if (byId.size() != ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !byId.containsKey(id)).toList();
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "students not found in district: " + missing);
+        }
+
+        List<StudentRowDTO> rows = ids.stream().map(byId::get).toList();
+        OffsetDateTime occurredAt = (req.occurredAt() != null) ? req.occurredAt() : OffsetDateTime.now();
+        OffsetDateTime createdAt = OffsetDateTime.now();
+        Timestamp occurred = Timestamp.from(occurredAt.toInstant());
+        Timestamp created = Timestamp.from(createdAt.toInstant());
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(con -> con.prepareStatement(INSERT_INCIDENT, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        StudentRowDTO r = rows.get(i);
+                        ps.setLong(1, r.id());
+                        ps.setLong(2, districtId);
+                        ps.setObject(3, r.schoolId());
+                        ps.setString(4, req.category());
+                        ps.setString(5, req.description());
+                        ps.setString(6, req.severity());
+                        ps.setString(7, req.reportedBy());
+                        ps.setTimestamp(8, occurred);
+                        ps.setTimestamp(9, created);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        List<IncidentDTO> out = new ArrayList<>(rows.size());
+        List<IncidentRecordedEvent> recorded = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            StudentRowDTO r = rows.get(i);
+            long id = ((Number) generated.get(i).values().iterator().next()).longValue();
+            recorded.add(new IncidentRecordedEvent(id, districtId, r.schoolId(), r.id(), r.grade(),
+                    req.category(), req.severity(), req.reportedBy(), occurredAt));
+            out.add(new IncidentDTO(id, r.id(), req.category(), req.description(), req.severity(),
+                    req.reportedBy(), occurredAt, createdAt, districtId));
+        }
+        // One event for the batch: rollup and cube listeners lock once and write one summed delta per key
+        events.publishEvent(new IncidentsRecordedEvent(recorded));
+        return out;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
     }
 
     @Override
@@ -133,7 +253,9 @@ public class IncidentServiceImpl implements IncidentService {
 
     @Override
     public void delete(Long id) {
+        Optional<Incident> existing = incidents.findById(id);
         incidents.deleteById(id);
+        existing.ifPresent(i -> events.publishEvent(IncidentDeletedEvent.of(i)));
     }
 
     // ---------- Student-scoped methods (district-aware) ----------
@@ -182,7 +304,9 @@ public class IncidentServiceImpl implements IncidentService {
         inc.setOccurredAt(req.occurredAt() != null ? req.occurredAt() : OffsetDateTime.now());
         inc.setCreatedAt(OffsetDateTime.now());
 
-        return toDto(incidents.save(inc));
+        Incident saved = incidents.save(inc);
+        events.publishEvent(IncidentRecordedEvent.of(saved));
+        return toDto(saved);
     }
 
     @Override
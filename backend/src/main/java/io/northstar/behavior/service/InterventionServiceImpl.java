@@ -2,6 +2,8 @@ package io.northstar.behavior.service;
 
 import io.northstar.behavior.dto.CreateInterventionRequest;
 import io.northstar.behavior.dto.InterventionSummaryDTO;
+import io.northstar.behavior.event.InterventionDeletedEvent;
+import io.northstar.behavior.event.InterventionRecordedEvent;
 import io.northstar.behavior.model.Intervention;
 import io.northstar.behavior.model.Student;
 import io.northstar.behavior.model.TierChangeEvent;
@@ -10,6 +12,7 @@ import io.northstar.behavior.repository.InterventionRepository;
 import io.northstar.behavior.repository.StudentRepository;
 import io.northstar.behavior.repository.TierChangeEventRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -28,15 +31,18 @@ public class InterventionServiceImpl implements InterventionService {
     private final StudentRepository students;
     private final AdminRepository admins;
     private final TierChangeEventRepository tierChangeEvents;
+    private final ApplicationEventPublisher events;
 
     public InterventionServiceImpl(InterventionRepository interventions,
                                    StudentRepository students,
                                    AdminRepository admins,
-                                   TierChangeEventRepository tierChangeEvents) {
+                                   TierChangeEventRepository tierChangeEvents,
+                                   ApplicationEventPublisher events) {
         this.interventions = interventions;
         this.students = students;
         this.admins = admins;
         this.tierChangeEvents = tierChangeEvents;
+        this.events = events;
     }
 
     private InterventionSummaryDTO toSummary(Intervention iv) {
@@ -90,6 +96,7 @@ public class InterventionServiceImpl implements InterventionService {
         iv.setCreatedAt(req.createdAt() != null ? req.createdAt() : OffsetDateTime.now());
 
         Intervention saved = interventions.save(iv);
+        events.publishEvent(InterventionRecordedEvent.of(saved));
 
         // Auto-create tier change event
         List<Intervention> history = interventions.findByStudent_IdOrderByStartDateDesc(studentId);
@@ -146,6 +153,7 @@ public class InterventionServiceImpl implements InterventionService {
     // Deletes an intervention by id
     @Override
     public void delete(Long id) {
+        interventions.findById(id).ifPresent(iv -> events.publishEvent(InterventionDeletedEvent.of(iv)));
         interventions.deleteById(id);
     }
 }
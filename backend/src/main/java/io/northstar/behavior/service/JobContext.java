@@ -0,0 +1,84 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.model.BackgroundJob;
+import io.northstar.behavior.model.BackgroundJobInput;
+import io.northstar.behavior.repository.BackgroundJobInputRepository;
+import io.northstar.behavior.repository.BackgroundJobRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+
+/**
+ * What a running {@link JobHandler} sees of its job: parameters, uploaded input, the checkpoint
+ * left by an earlier attempt, and calls to report progress and save new checkpoints.
+ *
+ * Progress and checkpoint writes join the caller's transaction when there is one, so a handler
+ * can commit a checkpoint atomically with the work it covers. Both double as cancellation points
+ * and lease renewals: they throw {@link Cancelled} once cancellation was requested, and
+ * {@link Lost} if the lease expired and the job was handed to another worker.
+ */
+public class JobContext {
+
+    /** Cancellation was requested; the job ends as CANCELLED. */
+    public static class Cancelled extends RuntimeException {
+        Cancelled() { super("job cancelled", null, false, false); }
+    }
+
+    /** This worker no longer owns the job; stop without touching it. */
+    public static class Lost extends RuntimeException {
+        Lost() { super("job lease lost", null, false, false); }
+    }
+
+    private final BackgroundJob job;
+    private final String owner;
+    private final BackgroundJobRepository jobs;
+    private final BackgroundJobInputRepository inputs;
+    private final TransactionTemplate tx;
+
+    JobContext(BackgroundJob job, String owner, BackgroundJobRepository jobs,
+               BackgroundJobInputRepository inputs, TransactionTemplate tx) {
+        this.job = job;
+        this.owner = owner;
+        this.jobs = jobs;
+        this.inputs = inputs;
+        this.tx = tx;
+    }
+
+    public Long jobId() { return job.getId(); }
+    public Long districtId() { return job.getDistrictId(); }
+    public String payload() { return job.getPayload(); }
+
+    /** State saved by the last committed {@link #checkpoint(String, long)}, or null on a fresh start. */
+    public String checkpoint() { return job.getCheckpoint(); }
+
+    /** 1 on the first run, higher when resuming after a crash or redeploy. */
+    public int attempt() { return job.getAttempts(); }
+
+    public InputStream openInput() throws IOException {
+        byte[] content = tx.execute(s -> inputs.findById(job.getId()).map(BackgroundJobInput::getContent).orElse(null));
+        if (content == null) throw new IOException("job has no input");
+        return new ByteArrayInputStream(content);
+    }
+
+    public void progress(long processed, Long total) {
+        Integer updated = tx.execute(s -> jobs.saveProgress(job.getId(), owner, processed, total, OffsetDateTime.now()));
+        afterWrite(updated);
+    }
+
+    public void checkpoint(String state, long processed) {
+        Integer updated = tx.execute(s -> jobs.saveCheckpoint(job.getId(), owner, state, processed, OffsetDateTime.now()));
+        afterWrite(updated);
+    }
+
+    public void throwIfCancelled() {
+        if (Boolean.TRUE.equals(tx.execute(s -> jobs.isCancelRequested(job.getId())))) throw new Cancelled();
+    }
+
+    private void afterWrite(Integer updated) {
+        if (updated == null || updated == 0) throw new Lost();
+        throwIfCancelled();
+    }
+}
@@ -0,0 +1,15 @@
+package io.northstar.behavior.service;
+
+/**
+ * One kind of background job. Handlers run on a job worker thread with the job's district in
+ * {@link io.northstar.behavior.tenant.TenantContext}, and may be run again after a crash: they
+ * should pick up from {@link JobContext#checkpoint()} when it is set.
+ */
+public interface JobHandler {
+
+    /** Job type stored on the row, e.g. "student-import". */
+    String type();
+
+    /** Does the work and returns the result as JSON (or null). Throwing fails the job. */
+    String run(JobContext ctx) throws Exception;
+}
@@ -0,0 +1,23 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.JobDTO;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface JobService {
+
+    // Queue a job for the current district; payload is handler-specific JSON
+    JobDTO submit(String type, String payload);
+
+    // Same, with an upload stored alongside the job; handlers read it back with JobContext.openInput()
+    JobDTO submit(String type, String payload, InputStream input);
+
+    JobDTO findById(Long id);
+
+    // Most recent first
+    List<JobDTO> findRecent(int limit);
+
+    // Queued jobs end at once; running jobs stop at their next progress or checkpoint call
+    JobDTO cancel(Long id);
+}
@@ -0,0 +1,278 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.JobDTO;
+import io.northstar.behavior.model.BackgroundJob;
+import io.northstar.behavior.model.BackgroundJob.Status;
+import io.northstar.behavior.model.BackgroundJobInput;
+import io.northstar.behavior.repository.BackgroundJobInputRepository;
+import io.northstar.behavior.repository.BackgroundJobRepository;
+import io.northstar.behavior.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs {@link JobHandler}s on the job worker pool, with the background_jobs table as the queue.
+ *
+ * Jobs are claimed with a conditional update, so several nodes can share one table. A worker
+ * renews its lease on every progress call and on a timer; a lease left to expire means the node
+ * is gone, and the job is requeued and resumes from its last checkpoint. A job that keeps
+ * dying is failed after {@code maxAttempts} claims instead of crash-looping the pool.
+ * Uploads are stored in the database with the job, not on local disk, so any node can claim
+ * a job that reads one, including after the submitting node restarts.
+ */
+@Service
+public class JobServiceImpl implements JobService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobServiceImpl.class);
+    private static final List<Status> ACTIVE = List.of(Status.QUEUED, Status.RUNNING);
+
+    private final BackgroundJobRepository jobs;
+    private final BackgroundJobInputRepository inputs;
+    private final Map<String, JobHandler> handlers = new HashMap<>();
+    private final Executor workers;
+    private final TransactionTemplate tx;
+    private final int threads;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final int maxInputMb;
+
+    // Identifies this process as a job owner; a restarted node is a new owner
+    private final String owner = UUID.randomUUID().toString();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public JobServiceImpl(BackgroundJobRepository jobs,
+                          BackgroundJobInputRepository inputs,
+                          List<JobHandler> handlers,
+                          @Qualifier("jobWorkerExecutor") Executor workers,
+                          PlatformTransactionManager txManager,
+                          @Value("${app.jobs.threads:2}") int threads,
+                          @Value("${app.jobs.lease-seconds:120}") long leaseSeconds,
+                          @Value("${app.jobs.max-attempts:3}") int maxAttempts,
+                          @Value("${app.jobs.max-input-mb:50}") int maxInputMb) {
+        this.jobs = jobs;
+        this.inputs = inputs;
+        for (JobHandler h : handlers) this.handlers.put(h.type(), h);
+        this.workers = workers;
+        this.tx = new TransactionTemplate(txManager);
+        this.threads = threads;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.maxInputMb = maxInputMb;
+    }
+
+    // ---------- API ----------
+
+    @Override
+    public JobDTO submit(String type, String payload) {
+        return enqueue(type, payload, null);
+    }
+
+    @Override
+    public JobDTO submit(String type, String payload, InputStream input) {
+        currentDistrict();
+        requireHandler(type);
+        int max = maxInputMb * 1024 * 1024;
+        byte[] content;
+        try {
+            content = input.readNBytes(max + 1);
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "could not read upload");
+        }
+        if (content.length > max) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "upload is larger than " + maxInputMb + " MB");
+        }
+        return enqueue(type, payload, content);
+    }
+
+    @Override
+    public JobDTO findById(Long id) {
+        return toDto(load(id));
+    }
+
+    @Override
+    public List<JobDTO> findRecent(int limit) {
+        Long districtId = currentDistrict();
+        List<JobDTO> out = new ArrayList<>();
+        for (BackgroundJob j : jobs.findByDistrictIdOrderByIdDesc(districtId, PageRequest.of(0, Math.max(1, Math.min(limit, 200))))) {
+            out.add(toDto(j));
+        }
+        return out;
+    }
+
+    @Override
+    public JobDTO cancel(Long id) {
+        BackgroundJob job = load(id);
+        if (job.getStatus().isTerminal()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "job already finished");
+        }
+        Integer endedNow = tx.execute(s -> jobs.cancelQueued(id, OffsetDateTime.now(), Status.CANCELLED, Status.QUEUED));
+        if (endedNow != null && endedNow > 0) {
+            deleteInput(id);
+        } else {
+            tx.execute(s -> jobs.requestCancel(id, ACTIVE));
+        }
+        return toDto(load(id));
+    }
+
+    // ---------- scheduling ----------
+
+    // A node that restarts picks its own interrupted jobs up again once their leases run out
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        poll();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.poll-ms:5000}", initialDelayString = "${app.jobs.poll-ms:5000}")
+    public void poll() {
+        try {
+            renewLeases();
+            requeueStale();
+            dispatch();
+        } catch (RuntimeException ex) {
+            log.warn("job poll failed: {}", ex.toString());
+        }
+    }
+
+    void renewLeases() {
+        if (inFlight.isEmpty()) return;
+        List<Long> ids = new ArrayList<>(inFlight);
+        tx.execute(s -> jobs.touch(ids, owner, OffsetDateTime.now()));
+    }
+
+    int requeueStale() {
+        Integer n = tx.execute(s -> jobs.requeueStale(OffsetDateTime.now().minus(lease), Status.RUNNING, Status.QUEUED));
+        if (n != null && n > 0) log.info("requeued {} job(s) with expired leases", n);
+        return (n != null) ? n : 0;
+    }
+
+    // Claims as many queued jobs as there are idle workers
+    synchronized void dispatch() {
+        int free = threads - inFlight.size();
+        if (free <= 0) return;
+        for (Long id : jobs.findIdsByStatus(Status.QUEUED, PageRequest.of(0, free))) {
+            Integer claimed = tx.execute(s -> jobs.claim(id, Status.RUNNING, owner, OffsetDateTime.now(), Status.QUEUED));
+            if (claimed == null || claimed == 0) continue;
+            inFlight.add(id);
+            try {
+                workers.execute(() -> run(id));
+            } catch (RuntimeException ex) {
+                inFlight.remove(id);
+                if (finish(id, Status.FAILED, "could not start: " + ex.getMessage(), null)) deleteInput(id);
+            }
+        }
+    }
+
+    private void run(Long id) {
+        boolean ended;
+        try {
+            BackgroundJob job = jobs.findById(id).orElseThrow();
+            JobHandler handler = handlers.get(job.getType());
+            if (handler == null) {
+                ended = finish(id, Status.FAILED, "no handler for job type " + job.getType(), null);
+            } else if (job.getAttempts() > maxAttempts) {
+                ended = finish(id, Status.FAILED, "gave up after " + maxAttempts + " attempts", null);
+            } else {
+                TenantContext.setDistrictId(job.getDistrictId());
+                JobContext ctx = new JobContext(job, owner, jobs, inputs, tx);
+                ctx.throwIfCancelled();
+                String result = handler.run(ctx);
+                ended = finish(id, Status.SUCCEEDED, null, result);
+            }
+        } catch (JobContext.Cancelled ex) {
+            ended = finish(id, Status.CANCELLED, "cancelled", null);
+        } catch (JobContext.Lost ex) {
+            log.info("job {} was taken over by another worker", id);
+            return; // the new owner cleans up
+        } catch (Exception ex) {
+            log.warn("job {} failed", id, ex);
+            String msg = (ex.getMessage() != null) ? ex.getMessage() : ex.getClass().getSimpleName();
+            ended = finish(id, Status.FAILED, msg.length() > 1000 ? msg.substring(0, 1000) : msg, null);
+        } finally {
+            TenantContext.clear();
+            inFlight.remove(id);
+        }
+        // A worker that lost its lease must leave the input to the node now running the job
+        if (ended) deleteInput(id);
+        dispatch();
+    }
+
+    // False when the job was handed to another worker in the meantime
+    private boolean finish(Long id, Status status, String message, String result) {
+        Integer updated = tx.execute(s -> jobs.finish(id, owner, OffsetDateTime.now(), status, message, result));
+        return updated != null && updated > 0;
+    }
+
+    // ---------- helpers ----------
+
+    private JobDTO enqueue(String type, String payload, byte[] input) {
+        Long districtId = currentDistrict();
+        requireHandler(type);
+        // The job and its input commit together: no worker can claim a job whose input is missing
+        BackgroundJob saved = tx.execute(s -> {
+            BackgroundJob j = jobs.save(new BackgroundJob(districtId, type, payload));
+            if (input != null) inputs.save(new BackgroundJobInput(j.getId(), input));
+            return j;
+        });
+        dispatch();
+        return toDto(jobs.findById(saved.getId()).orElse(saved));
+    }
+
+    private void requireHandler(String type) {
+        if (!handlers.containsKey(type)) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown job type");
+    }
+
+    private BackgroundJob load(Long id) {
+        return jobs.findByIdAndDistrictId(id, currentDistrict())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "job not found"));
+    }
+
+    private static Long currentDistrict() {
+        Long districtId = TenantContext.getDistrictId();
+        if (districtId == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "district not found in context");
+        return districtId;
+    }
+
+    private void deleteInput(Long id) {
+        try {
+            tx.execute(s -> inputs.deleteByJobId(id));
+        } catch (RuntimeException ex) {
+            log.warn("could not delete input of job {}: {}", id, ex.toString());
+        }
+    }
+
+    static JobDTO toDto(BackgroundJob j) {
+        return new JobDTO(
+                j.getId(),
+                j.getType(),
+                j.getStatus().name(),
+                j.getProcessed(),
+                j.getTotal(),
+                j.getMessage(),
+                j.isCancelRequested(),
+                j.getAttempts(),
+                j.getCreatedAt(),
+                j.getStartedAt(),
+                j.getFinishedAt(),
+                j.getResult()
+        );
+    }
+}
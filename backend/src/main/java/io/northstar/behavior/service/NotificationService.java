@@ -1,12 +1,23 @@
 package io.northstar.behavior.service;
 
 import io.northstar.behavior.dto.AdminNotificationDTO;
+import io.northstar.behavior.dto.UnreadCountDTO;
 import io.northstar.behavior.model.Incident;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface NotificationService {
     void evaluateEscalationsForIncident(Incident incident);
+    /** Pipeline entry point: reloads the incident; skips it if it was deleted or its school has no rules. */
+    void evaluateEscalationsForIncident(Long incidentId);
     List<AdminNotificationDTO> unreadForAdmin(Long adminId);
+    /** Badge count from the maintained per-admin counter. */
+    UnreadCountDTO unreadCount(Long adminId);
+    /** Unread notifications created at or after {@code since} (all of them when null), oldest first (stream replay). */
+    List<AdminNotificationDTO> unreadSince(Long adminId, OffsetDateTime since);
+    /** When one of the admin's notifications was created; empty when it no longer exists. */
+    Optional<OffsetDateTime> createdAt(Long adminId, Long notificationId);
     void markAsRead(Long adminId, Long notificationId);
 }
\ No newline at end of file
@@ -1,60 +1,83 @@
 package io.northstar.behavior.service;
 
 import io.northstar.behavior.dto.AdminNotificationDTO;
+import io.northstar.behavior.dto.UnreadCountDTO;
+import io.northstar.behavior.event.AdminNotificationsCreatedEvent;
 import io.northstar.behavior.model.*;
 import io.northstar.behavior.repository.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final OffsetDateTime EPOCH = OffsetDateTime.parse("1970-01-01T00:00:00Z");
+
     private final AdminNotificationRepository notifications;
     private final EscalationRulesRepository rules;   // <-- plural
     private final IncidentRepository incidents;
     private final AdminRepository admins;
+    private final EscalationRulesCache rulesCache;
+    private final NotificationMessageRepository messages;
+    private final ApplicationEventPublisher events;
+    private final AdminUnreadCounterRepository unreadCounters;
+    private final StudentRepository students;
 
     public NotificationServiceImpl(AdminNotificationRepository notifications,
                                    EscalationRulesRepository rules,
                                    IncidentRepository incidents,
-                                   AdminRepository admins) {
+                                   AdminRepository admins,
+                                   EscalationRulesCache rulesCache,
+                                   NotificationMessageRepository messages,
+                                   ApplicationEventPublisher events,
+                                   AdminUnreadCounterRepository unreadCounters,
+                                   StudentRepository students) {
         this.notifications = notifications;
         this.rules = rules;
         this.incidents = incidents;
         this.admins = admins;
+        this.rulesCache = rulesCache;
+        this.messages = messages;
+        this.events = events;
+        this.unreadCounters = unreadCounters;
+        this.students = students;
     }
-    private AdminNotificationDTO toDto(AdminNotification n) {
-        String studentName =
-                n.getStudent().getFirstName() + " " + n.getStudent().getLastName();
-
-        String ruleLabel = n.getRule().getTier2Label(); // using your EscalationRules fields
-
-        return new AdminNotificationDTO(
-                n.getId(),
-                n.getStudent().getId(),
-                studentName,
-                n.getIncident().getId(),
-                ruleLabel,
-                n.getMessage(),
-                n.getCreatedAt(),
-                n.isRead()
-        );
-    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<AdminNotificationDTO> unreadForAdmin(Long adminId) {
-        List<AdminNotification> list =
-                notifications.findByAdminIdAndReadFalseOrderByCreatedAtDesc(adminId);
+        // Projection: one query, no Admin/Student/Incident/EscalationRules entities hydrated
+        return notifications.unreadForAdmin(adminId);
+    }
 
-        List<AdminNotificationDTO> dtoList = new ArrayList<>();
-        for (AdminNotification n : list) {
-            dtoList.add(toDto(n));
-        }
-        return dtoList;
+    // Counters are created on the write path (fan-out, mark as read); no row yet means nothing unread to count
+    @Override
+    @Transactional(readOnly = true)
+    public UnreadCountDTO unreadCount(Long adminId) {
+        long unread = unreadCounters.findById(adminId).map(AdminUnreadCounter::getUnreadCount).orElse(0L);
+        return new UnreadCountDTO(adminId, unread);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AdminNotificationDTO> unreadSince(Long adminId, OffsetDateTime since) {
+        return notifications.unreadSince(adminId, (since != null) ? since : EPOCH);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OffsetDateTime> createdAt(Long adminId, Long notificationId) {
+        return notifications.createdAtOf(notificationId, adminId);
     }
 
     @Override
@@ -66,8 +89,28 @@ public class NotificationServiceImpl implements NotificationService {
             throw new IllegalStateException("Notification does not belong to this admin");
         }
 
-        n.setRead(true);
+        if (!n.isRead()) {
+            // Seeded before the row flips, so an admin's first counter still includes this notification
+            unreadCounters.seed(adminId);
+            n.setRead(true);
+            unreadCounters.decrement(adminId);
+        }
     }
+    // Called from the incident pipeline, possibly inside the recording transaction's
+    // after-commit callback: never join that transaction, it has already committed
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void evaluateEscalationsForIncident(Long incidentId) {
+        Incident incident = incidents.findById(incidentId).orElse(null);
+        if (incident == null) return; // deleted before the pipeline got to it
+
+        School school = incident.getStudent().getSchool();
+        if (rulesCache.resolve(school.getDistrict().getDistrictId(), school.getSchoolId()).isEmpty()) {
+            return; // no rules configured, nothing to escalate
+        }
+        evaluateEscalationsForIncident(incident);
+    }
+
     @Override
     public void evaluateEscalationsForIncident(Incident incident) {
         Student student = incident.getStudent();
@@ -77,66 +120,98 @@ public class NotificationServiceImpl implements NotificationService {
         Long districtId = district.getDistrictId();
         Long schoolId   = school.getSchoolId();
 
-        // 1) Try school-specific rules
-        EscalationRules rule = rules
-                .findByDistrict_DistrictIdAndSchool_SchoolId(districtId, schoolId)
-                // 2) If none, fall back to district-wide rules (school is null)
-                .orElseGet(() -> rules
-                        .findByDistrict_DistrictIdAndSchoolIsNull(districtId)
-                        .orElseThrow(() -> new IllegalStateException(
-                                "No escalation rules configured for district " + districtId +
-                                        " (school " + schoolId + " or district default)."
-                        ))
-                );
-
-        int windowDays = rule.getTier1WindowDays();
-        int threshold  = rule.getSameCautionDetentionThreshold();
-
-        if (!thresholdReachedSameCaution(incident, windowDays, threshold)) {
+        // School-specific rules, falling back to the district default (cached)
+        EffectiveEscalationRules rule = rulesCache.resolve(districtId, schoolId)
+                .orElseThrow(() -> new IllegalStateException(
+                        "No escalation rules configured for district " + districtId +
+                                " (school " + schoolId + " or district default)."
+                ));
+
+        int windowDays = rule.tier1WindowDays();
+        int threshold  = rule.sameCautionDetentionThreshold();
+
+        OffsetDateTime cutoff = OffsetDateTime.now().minusDays(windowDays);
+        if (!thresholdReachedSameCaution(incident, cutoff, threshold)) {
             return;
         }
-
         List<Admin> schoolAdmins = admins.findBySchool_SchoolId(schoolId);
-        String message = buildMessage(rule, incident, student);
+        if (schoolAdmins.isEmpty()) {
+            return;
+        }
+
+        // Every incident past the threshold lands here; only the first one in the window notifies.
+        // The student row lock makes concurrent pipeline workers for one student take turns.
+        students.findByIdForUpdate(student.getId());
+        if (notifications.escalatedSince(student.getId(), incident.getCategory(), cutoff)) {
+            return;
+        }
+
+        // One message row shared by every admin, then the fan-out as a single batched insert
+        NotificationMessage payload = messages.save(new NotificationMessage(buildMessage(rule, incident, student)));
+        EscalationRules ruleRef = rules.getReferenceById(rule.rulesId());
+        bumpUnreadCounters(schoolAdmins);
 
+        List<AdminNotification> fanOut = new ArrayList<>(schoolAdmins.size());
         for (Admin admin : schoolAdmins) {
-            AdminNotification n = new AdminNotification(
+            fanOut.add(new AdminNotification(
                     admin,
                     student,
                     incident,
-                    rule,
-                    message
-            );
-            notifications.save(n);
+                    ruleRef,
+                    payload
+            ));
         }
+        notifications.saveAll(fanOut);
+
+        // Pushed to open admin streams once this transaction commits
+        String studentName = student.getFirstName() + " " + student.getLastName();
+        List<AdminNotificationsCreatedEvent.Delivery> deliveries = new ArrayList<>(fanOut.size());
+        for (AdminNotification n : fanOut) {
+            deliveries.add(new AdminNotificationsCreatedEvent.Delivery(
+                    n.getAdmin().getId(),
+                    new AdminNotificationDTO(
+                            n.getId(),
+                            student.getId(),
+                            studentName,
+                            incident.getId(),
+                            rule.tier2Label(),
+                            payload.getBody(),
+                            n.getCreatedAt(),
+                            false
+                    )));
+        }
+        events.publishEvent(new AdminNotificationsCreatedEvent(deliveries));
     }
 
-    private boolean thresholdReachedSameCaution(Incident incident,
-                                                int windowDays,
-                                                int threshold) {
-        OffsetDateTime cutoff = OffsetDateTime.now().minusDays(windowDays);
-        List<Incident> all = incidents.findByStudentIdOrderByOccurredAtDesc(
-                incident.getStudent().getId()
-        );
+    // Runs before the fan-out is flushed, so a first-time seed counts only the admin's older unread rows
+    private void bumpUnreadCounters(List<Admin> recipients) {
+        Set<Long> adminIds = new HashSet<>();
+        for (Admin a : recipients) adminIds.add(a.getId());
 
-        int count = 0;
-        for (Incident i : all) {
-            if (i.getOccurredAt().isBefore(cutoff)) {
-                break;
-            }
-            if (i.getCategory().equalsIgnoreCase(incident.getCategory())) {
-                count++;
-            }
+        Set<Long> missing = new HashSet<>(adminIds);
+        unreadCounters.findExistingAdminIds(adminIds).forEach(missing::remove);
+        for (Long adminId : missing) {
+            unreadCounters.seed(adminId);
         }
+        unreadCounters.incrementAll(adminIds);
+    }
 
+    private boolean thresholdReachedSameCaution(Incident incident,
+                                                OffsetDateTime cutoff,
+                                                int threshold) {
+        long count = incidents.countSameCategorySince(
+                incident.getStudent().getId(),
+                incident.getCategory(),
+                cutoff
+        );
         return count >= threshold;
     }
 
-    private String buildMessage(EscalationRules rule, Incident incident, Student student) {
+    private String buildMessage(EffectiveEscalationRules rule, Incident incident, Student student) {
         return "Student " + student.getFirstName() + " " + student.getLastName() +
-                " has reached the threshold for " + rule.getDetentionLabel() +
-                " (" + rule.getSameCautionDetentionThreshold() + " same caution incidents in "
-                + rule.getTier1WindowDays() + " days). Last incident: " +
+                " has reached the threshold for " + rule.detentionLabel() +
+                " (" + rule.sameCautionDetentionThreshold() + " same caution incidents in "
+                + rule.tier1WindowDays() + " days). Last incident: " +
                 incident.getCategory() + ".";
     }
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.AdminNotificationDTO;
+import io.northstar.behavior.event.AdminNotificationsCreatedEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+
+/**
+ * Open notification streams (SSE), per admin.
+ *
+ * A new stream first gets the admin's unread notifications (on a reconnect, those created from
+ * shortly before its Last-Event-ID on), then live notifications as their transactions commit.
+ * Notification ids are pooled and assigned before commit, so they are not commit-ordered: each
+ * stream de-duplicates by the ids it has sent rather than a high-water mark, and replays are
+ * bounded by creation time with a lookback ({@code app.notifications.stream.lookback-ms}) that
+ * covers transactions still open when a later one committed. A resumed stream may therefore
+ * repeat notifications from that window; clients de-duplicate by event id.
+ *
+ * Live pushes are written on {@code notificationStreamExecutor}, one task per stream, never on the
+ * incident pipeline worker whose commit produced them.
+ *
+ * Live pushes only reach streams held by the node that committed the notification. Every
+ * {@code app.notifications.stream.catch-up-ms} each connected admin's recent unread rows are
+ * re-read from the database, which delivers notifications created on other nodes (and anything
+ * a live push missed) at the cost of one query per connected admin.
+ */
+@Component
+public class NotificationStreamRegistry {
+
+    static final String EVENT_NAME = "notification";
+
+    private final NotificationService notifications;
+    private final Executor sender;
+    private final long timeoutMillis;
+    private final Duration lookback;
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    public NotificationStreamRegistry(NotificationService notifications,
+                                      @Qualifier("notificationStreamExecutor") Executor sender,
+                                      @Value("${app.notifications.stream.timeout-ms:1800000}") long timeoutMillis,
+                                      @Value("${app.notifications.stream.lookback-ms:120000}") long lookbackMillis) {
+        this.notifications = notifications;
+        this.sender = sender;
+        this.timeoutMillis = timeoutMillis;
+        this.lookback = Duration.ofMillis(lookbackMillis);
+    }
+
+    public SseEmitter subscribe(Long adminId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection c = new Connection(emitter, OffsetDateTime.now());
+
+        // Register before replaying so nothing committed in between is missed; the
+        // connection lock holds live deliveries back until the replay has been sent
+        synchronized (c) {
+            Set<Connection> set = connections.computeIfAbsent(adminId, id -> new CopyOnWriteArraySet<>());
+            set.add(c);
+            Runnable remove = () -> set.remove(c);
+            emitter.onCompletion(remove);
+            emitter.onTimeout(remove);
+            emitter.onError(ex -> remove.run());
+
+            // An unknown Last-Event-ID (deleted, another admin's) falls back to the full unread list
+            OffsetDateTime since = null;
+            if (lastEventId != null) {
+                c.markSent(lastEventId);
+                since = notifications.createdAt(adminId, lastEventId).map(t -> t.minus(lookback)).orElse(null);
+            }
+            for (AdminNotificationDTO n : notifications.unreadSince(adminId, since)) {
+                if (!c.deliver(n)) break;
+            }
+        }
+        return emitter;
+    }
+
+    int connectionCount(Long adminId) {
+        Set<Connection> set = connections.get(adminId);
+        return (set != null) ? set.size() : 0;
+    }
+
+    Set<Connection> connections(Long adminId) {
+        return connections.getOrDefault(adminId, Set.of());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(AdminNotificationsCreatedEvent e) {
+        Map<Long, List<AdminNotificationDTO>> byAdmin = new LinkedHashMap<>();
+        for (AdminNotificationsCreatedEvent.Delivery d : e.deliveries()) {
+            byAdmin.computeIfAbsent(d.adminId(), id -> new ArrayList<>()).add(d.notification());
+        }
+        for (Map.Entry<Long, List<AdminNotificationDTO>> entry : byAdmin.entrySet()) {
+            Set<Connection> set = connections.get(entry.getKey());
+            if (set == null) continue;
+            List<AdminNotificationDTO> pending = entry.getValue();
+            for (Connection c : set) {
+                sender.execute(() -> {
+                    for (AdminNotificationDTO n : pending) {
+                        if (!c.deliver(n)) {
+                            set.remove(c);
+                            return;
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    // Picks up notifications committed on other nodes, or out of creation order, since the last pass
+    @Scheduled(fixedDelayString = "${app.notifications.stream.catch-up-ms:15000}",
+               initialDelayString = "${app.notifications.stream.catch-up-ms:15000}")
+    public void catchUp() {
+        for (Map.Entry<Long, Set<Connection>> e : connections.entrySet()) {
+            Set<Connection> set = e.getValue();
+            if (set.isEmpty()) continue;
+            OffsetDateTime started = OffsetDateTime.now();
+            OffsetDateTime since = null;
+            for (Connection c : set) {
+                if (since == null || c.checkedAt().isBefore(since)) since = c.checkedAt();
+            }
+            List<AdminNotificationDTO> recent = notifications.unreadSince(e.getKey(), since.minus(lookback));
+            for (Connection c : set) {
+                for (AdminNotificationDTO n : recent) {
+                    if (!c.deliver(n)) {
+                        set.remove(c);
+                        break;
+                    }
+                }
+                c.checkedAt(started);
+            }
+        }
+    }
+
+    // Keeps idle streams open through proxies and notices clients that went away
+    @Scheduled(fixedDelayString = "${app.notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Set<Connection> set : connections.values()) {
+            for (Connection c : set) {
+                if (!c.ping()) set.remove(c);
+            }
+        }
+    }
+
+    /** One open stream. Never sends the same notification twice, whatever order they arrive in. */
+    static final class Connection {
+        // Enough for every unread notification an admin can get inside one lookback window
+        static final int SENT_MEMORY = 1000;
+
+        final SseEmitter emitter;
+        private final LinkedHashSet<Long> sent = new LinkedHashSet<>();
+        private OffsetDateTime checkedAt;
+
+        Connection(SseEmitter emitter, OffsetDateTime checkedAt) {
+            this.emitter = emitter;
+            this.checkedAt = checkedAt;
+        }
+
+        /** False when the client is gone and the connection should be dropped. */
+        synchronized boolean deliver(AdminNotificationDTO n) {
+            if (n.id() != null && sent.contains(n.id())) return true;
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(n.id()))
+                        .name(EVENT_NAME)
+                        .data(n));
+                markSent(n.id());
+                return true;
+            } catch (IOException | IllegalStateException ex) {
+                emitter.completeWithError(ex);
+                return false;
+            }
+        }
+
+        synchronized boolean ping() {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+                return true;
+            } catch (IOException | IllegalStateException ex) {
+                emitter.completeWithError(ex);
+                return false;
+            }
+        }
+
+        synchronized void markSent(Long id) {
+            if (id == null) return;
+            sent.add(id);
+            if (sent.size() > SENT_MEMORY) sent.remove(sent.iterator().next());
+        }
+
+        synchronized boolean hasSent(Long id) {
+            return sent.contains(id);
+        }
+
+        synchronized OffsetDateTime checkedAt() {
+            return checkedAt;
+        }
+
+        synchronized void checkedAt(OffsetDateTime at) {
+            checkedAt = at;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.CalendarClosureDTO;
+import io.northstar.behavior.dto.CreateCalendarClosureRequest;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface SchoolCalendarService {
+
+    /** Instructional days after {@code from} up to and including {@code to}: weekdays that are not closures. */
+    long instructionalDaysBetween(Long districtId, LocalDate from, LocalDate to);
+
+    /** Same count between two instants, each mapped to its day in the district's zone. */
+    long instructionalDaysBetween(Long districtId, OffsetDateTime from, OffsetDateTime to);
+
+    List<CalendarClosureDTO> listClosures(Long districtId);
+    CalendarClosureDTO addClosure(Long districtId, CreateCalendarClosureRequest req);
+    void deleteClosure(Long districtId, Long closureId);
+}
@@ -0,0 +1,218 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.CalendarClosureDTO;
+import io.northstar.behavior.dto.CreateCalendarClosureRequest;
+import io.northstar.behavior.model.CalendarClosure;
+import io.northstar.behavior.model.District;
+import io.northstar.behavior.repository.CalendarClosureRepository;
+import io.northstar.behavior.repository.DistrictRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * District calendars. Instructional-day counts are answered from a per-district index that is
+ * built once from the closure table and cached, so each count is two array lookups no matter
+ * how far apart the dates are.
+ */
+@Service
+@Transactional
+public class SchoolCalendarServiceImpl implements SchoolCalendarService {
+
+    // Longest single closure we accept; anything longer is almost certainly a typo in the year
+    private static final long MAX_CLOSURE_DAYS = 366;
+
+    private final CalendarClosureRepository closures;
+    private final DistrictRepository districts;
+    private final DistrictDayBoundaries days;
+    private final Duration ttl;
+    private final Map<Long, InstructionalDayIndex> indexes = new ConcurrentHashMap<>();
+
+    public SchoolCalendarServiceImpl(CalendarClosureRepository closures,
+                                     DistrictRepository districts,
+                                     DistrictDayBoundaries days,
+                                     @Value("${app.calendar.index-ttl-minutes:60}") long ttlMinutes) {
+        this.closures = closures;
+        this.districts = districts;
+        this.days = days;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    private static CalendarClosureDTO toDto(CalendarClosure c) {
+        return new CalendarClosureDTO(
+                c.getId(),
+                c.getDistrict().getDistrictId(),
+                c.getStartDate(),
+                c.getEndDate(),
+                c.getLabel()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long instructionalDaysBetween(Long districtId, LocalDate from, LocalDate to) {
+        if (!to.isAfter(from)) return 0;
+        return index(districtId).instructionalDaysBetween(from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long instructionalDaysBetween(Long districtId, OffsetDateTime from, OffsetDateTime to) {
+        return instructionalDaysBetween(districtId, days.dayOf(districtId, from), days.dayOf(districtId, to));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CalendarClosureDTO> listClosures(Long districtId) {
+        return closures.findByDistrict_DistrictIdOrderByStartDateAsc(districtId).stream()
+                .map(SchoolCalendarServiceImpl::toDto)
+                .toList();
+    }
+
+    @Override
+    public CalendarClosureDTO addClosure(Long districtId, CreateCalendarClosureRequest req) {
+        District d = districts.findById(districtId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "district not found"));
+
+        LocalDate start = req.startDate();
+        LocalDate end = (req.endDate() != null) ? req.endDate() : start;
+        if (end.isBefore(start)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "endDate must not be before startDate");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_CLOSURE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "closure longer than a year");
+        }
+
+        CalendarClosure c = new CalendarClosure();
+        c.setDistrict(d);
+        c.setStartDate(start);
+        c.setEndDate(end);
+        c.setLabel(req.label().trim());
+
+        CalendarClosure saved = closures.save(c);
+        evictAfterCommit(districtId);
+        return toDto(saved);
+    }
+
+    @Override
+    public void deleteClosure(Long districtId, Long closureId) {
+        CalendarClosure c = closures.findByIdAndDistrict_DistrictId(closureId, districtId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "closure not found"));
+        closures.delete(c);
+        evictAfterCommit(districtId);
+    }
+
+    // ---------- index cache ----------
+
+    private InstructionalDayIndex index(Long districtId) {
+        InstructionalDayIndex current = indexes.get(districtId);
+        if (current != null && !current.isExpired(ttl)) return current;
+        InstructionalDayIndex fresh = InstructionalDayIndex.build(
+                closures.findByDistrict_DistrictIdOrderByStartDateAsc(districtId));
+        indexes.put(districtId, fresh);
+        return fresh;
+    }
+
+    // Dropping the index before commit would let a concurrent reader rebuild it from the old rows
+    private void evictAfterCommit(Long districtId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexes.remove(districtId);
+                }
+            });
+        } else {
+            indexes.remove(districtId);
+        }
+    }
+
+    /**
+     * Instructional days for one district: weekdays minus closed weekdays.
+     *
+     * Weekdays are counted arithmetically from a fixed Monday, so any date range is covered.
+     * Closed weekdays are held as a prefix-sum array spanning the earliest to the latest closure;
+     * dates outside that span clamp to its ends.
+     */
+    static final class InstructionalDayIndex {
+
+        private static final long MONDAY_EPOCH_DAY = LocalDate.of(1970, 1, 5).toEpochDay();
+
+        private final LocalDate spanStart;
+        private final int[] closedPrefix; // closedPrefix[i] = closed weekdays in [spanStart, spanStart + i)
+        private final long builtAt = System.currentTimeMillis();
+
+        private InstructionalDayIndex(LocalDate spanStart, int[] closedPrefix) {
+            this.spanStart = spanStart;
+            this.closedPrefix = closedPrefix;
+        }
+
+        static InstructionalDayIndex build(List<CalendarClosure> closures) {
+            if (closures.isEmpty()) return new InstructionalDayIndex(null, new int[] { 0 });
+
+            LocalDate start = closures.get(0).getStartDate();
+            LocalDate end = closures.get(0).getEndDate();
+            for (CalendarClosure c : closures) {
+                if (c.getStartDate().isBefore(start)) start = c.getStartDate();
+                if (c.getEndDate().isAfter(end)) end = c.getEndDate();
+            }
+
+            int days = (int) ChronoUnit.DAYS.between(start, end) + 1;
+            boolean[] closed = new boolean[days];
+            for (CalendarClosure c : closures) {
+                int from = (int) ChronoUnit.DAYS.between(start, c.getStartDate());
+                int to = (int) ChronoUnit.DAYS.between(start, c.getEndDate());
+                for (int i = from; i <= to; i++) closed[i] = true; // overlapping closures count once
+            }
+
+            int[] prefix = new int[days + 1];
+            long startEpochDay = start.toEpochDay();
+            for (int i = 0; i < days; i++) {
+                boolean closedWeekday = closed[i] && isWeekday(startEpochDay + i);
+                prefix[i + 1] = prefix[i] + (closedWeekday ? 1 : 0);
+            }
+            return new InstructionalDayIndex(start, prefix);
+        }
+
+        boolean isExpired(Duration ttl) {
+            return System.currentTimeMillis() - builtAt > ttl.toMillis();
+        }
+
+        /** Counts from the day after {@code from} through {@code to}, inclusive. */
+        long instructionalDaysBetween(LocalDate from, LocalDate to) {
+            if (!to.isAfter(from)) return 0;
+            long weekdays = weekdaysThrough(to) - weekdaysThrough(from);
+            long closedDays = closedThrough(to) - closedThrough(from);
+            return weekdays - closedDays;
+        }
+
+        private long closedThrough(LocalDate date) {
+            if (spanStart == null) return 0;
+            long offset = date.toEpochDay() - spanStart.toEpochDay() + 1;
+            int i = (int) Math.max(0, Math.min(offset, closedPrefix.length - 1));
+            return closedPrefix[i];
+        }
+
+        // Weekdays from the reference Monday through date; only differences are meaningful
+        private static long weekdaysThrough(LocalDate date) {
+            long n = date.toEpochDay() - MONDAY_EPOCH_DAY;
+            return Math.floorDiv(n, 7) * 5 + Math.min(Math.floorMod(n, 7) + 1, 5);
+        }
+
+        private static boolean isWeekday(long epochDay) {
+            return Math.floorMod(epochDay - MONDAY_EPOCH_DAY, 7) < 5;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.northstar.behavior.service;
+
+import java.time.LocalDate;
+
+/** Builds the day out of the (year, month, day) columns the native aggregate queries return. */
+final class SqlDates {
+
+    private SqlDates() {}
+
+    static LocalDate day(Object year, Object month, Object day) {
+        return LocalDate.of(((Number) year).intValue(), ((Number) month).intValue(), ((Number) day).intValue());
+    }
+}
@@ -0,0 +1,71 @@
+package io.northstar.behavior.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.northstar.behavior.dto.StudentImportReportDTO;
+import io.northstar.behavior.dto.StudentImportRowDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk roster import as a background job. Payload: {"format": "csv" | "json"}, with the upload
+ * as job input. Each chunk's checkpoint commits with the chunk itself, so a resumed run neither
+ * re-inserts nor loses rows. The result lists only rows that were not created.
+ */
+@Component
+public class StudentImportJobHandler implements JobHandler {
+
+    public static final String TYPE = "student-import";
+
+    private final StudentImportService imports;
+    private final ObjectMapper mapper;
+
+    public StudentImportJobHandler(StudentImportService imports, ObjectMapper mapper) {
+        this.imports = imports;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public String run(JobContext ctx) throws Exception {
+        JsonNode payload = mapper.readTree(ctx.payload() != null ? ctx.payload() : "{}");
+        boolean csv = "csv".equalsIgnoreCase(payload.path("format").asText("json"));
+        StudentImportService.Resume resume = (ctx.checkpoint() != null)
+                ? mapper.readValue(ctx.checkpoint(), StudentImportService.Resume.class)
+                : null;
+
+        StudentImportService.ChunkListener checkpoint = (lastRow, soFar) -> {
+            StudentImportService.Resume state = new StudentImportService.Resume(lastRow, soFar.created(), problems(soFar));
+            try {
+                ctx.checkpoint(mapper.writeValueAsString(state), lastRow);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException(ex);
+            }
+        };
+
+        StudentImportReportDTO report;
+        try (InputStream in = ctx.openInput()) {
+            report = csv
+                    ? imports.importCsv(in, resume, checkpoint)
+                    : imports.importJson(in, resume, checkpoint);
+        }
+        return mapper.writeValueAsString(new StudentImportReportDTO(
+                report.total(), report.created(), report.skipped(), report.failed(), problems(report)));
+    }
+
+    private static List<StudentImportRowDTO> problems(StudentImportReportDTO report) {
+        List<StudentImportRowDTO> out = new ArrayList<>();
+        for (StudentImportRowDTO r : report.rows()) {
+            if (!StudentImportServiceImpl.CREATED.equals(r.status())) out.add(r);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,32 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.StudentImportReportDTO;
+import io.northstar.behavior.dto.StudentImportRowDTO;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface StudentImportService {
+
+    // JSON array of CreateStudentRequest objects, or a BulkStudentsRequest {"students": [...]}
+    StudentImportReportDTO importJson(InputStream body);
+
+    // CSV with a header row naming firstName, lastName, studentId, grade, schoolId (any order)
+    StudentImportReportDTO importCsv(InputStream body);
+
+    // Resumable variants for background jobs: rows up to resume.afterRow() are only replayed for
+    // duplicate detection, and the listener runs inside each chunk's transaction
+    StudentImportReportDTO importJson(InputStream body, Resume resume, ChunkListener listener);
+
+    StudentImportReportDTO importCsv(InputStream body, Resume resume, ChunkListener listener);
+
+    /** Where an earlier run stopped: last committed row, rows it created, and every other row it reported. */
+    record Resume(int afterRow, int created, List<StudentImportRowDTO> reported) {}
+
+    interface ChunkListener {
+        ChunkListener NONE = (lastRow, soFar) -> {};
+
+        // Throwing rolls the chunk back and ends the import
+        void chunkWritten(int lastRow, StudentImportReportDTO soFar);
+    }
+}
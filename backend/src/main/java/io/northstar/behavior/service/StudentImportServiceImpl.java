@@ -0,0 +1,367 @@
+package io.northstar.behavior.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.northstar.behavior.dto.CreateStudentRequest;
+import io.northstar.behavior.dto.StudentImportReportDTO;
+import io.northstar.behavior.dto.StudentImportRowDTO;
+import io.northstar.behavior.model.School;
+import io.northstar.behavior.repository.SchoolRepository;
+import io.northstar.behavior.repository.StudentRepository;
+import io.northstar.behavior.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Bulk roster import, read as a stream so a 30k-row August load never sits in memory as objects.
+ *
+ * Rows are validated as they arrive and written in chunks: one set-based duplicate probe and one
+ * JDBC batch insert per chunk, each chunk in its own transaction. The district's schools are
+ * loaded once per import, so there is no per-row school lookup. A failing chunk is reported row
+ * by row and the import carries on with the next one. Background jobs use the resumable
+ * variants to checkpoint in the same transaction as each chunk.
+ */
+@Service
+public class StudentImportServiceImpl implements StudentImportService {
+
+    static final String CREATED = "CREATED";
+    static final String EXISTS = "EXISTS";
+    static final String DUPLICATE = "DUPLICATE";
+    static final String INVALID = "INVALID";
+    static final String FAILED = "FAILED";
+
+    private static final int MAX_FIELD = 255;
+    private static final List<String> CSV_COLUMNS = List.of("firstName", "lastName", "studentId", "grade", "schoolId");
+
+    private final StudentRepository students;
+    private final SchoolRepository schools;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ObjectMapper mapper;
+    private final int chunkSize;
+
+    public StudentImportServiceImpl(StudentRepository students,
+                                    SchoolRepository schools,
+                                    JdbcTemplate jdbc,
+                                    PlatformTransactionManager txManager,
+                                    ObjectMapper mapper,
+                                    @Value("${app.students.import.chunk-size:500}") int chunkSize) {
+        this.students = students;
+        this.schools = schools;
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.mapper = mapper;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    // ---------- JSON ----------
+
+    @Override
+    public StudentImportReportDTO importJson(InputStream body) {
+        return importJson(body, null, ChunkListener.NONE);
+    }
+
+    @Override
+    public StudentImportReportDTO importCsv(InputStream body) {
+        return importCsv(body, null, ChunkListener.NONE);
+    }
+
+    @Override
+    public StudentImportReportDTO importJson(InputStream body, Resume resume, ChunkListener listener) {
+        Import run = begin(resume, listener);
+        int row = 0;
+        try (JsonParser p = mapper.getFactory().createParser(body)) {
+            JsonToken first = p.nextToken();
+            if (first == JsonToken.START_OBJECT) {
+                // BulkStudentsRequest shape: skip to the "students" array
+                while (p.nextToken() == JsonToken.FIELD_NAME && !"students".equals(p.currentName())) {
+                    p.nextToken();
+                    p.skipChildren();
+                }
+                if (!"students".equals(p.currentName())) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "body must be an array or contain a students array");
+                }
+                first = p.nextToken();
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "body must be an array or contain a students array");
+            }
+
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (p.currentToken() == null) {
+                    run.reject(row + 1, null, INVALID, "unexpected end of input; import stopped here");
+                    break;
+                }
+                JsonNode node = p.readValueAsTree();
+                row++;
+                CreateStudentRequest req;
+                try {
+                    req = mapper.treeToValue(node, CreateStudentRequest.class);
+                } catch (JsonProcessingException | IllegalArgumentException ex) {
+                    run.reject(row, node.path("studentId").asText(null), INVALID, "unreadable row");
+                    continue;
+                }
+                run.accept(row, req);
+            }
+        } catch (JsonProcessingException ex) {
+            if (row == 0) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "malformed json");
+            // Earlier chunks are already committed, so report them rather than failing the whole request
+            run.reject(row + 1, null, INVALID, "malformed json; import stopped here");
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "could not read body");
+        }
+        return run.finish();
+    }
+
+    // ---------- CSV ----------
+
+    @Override
+    public StudentImportReportDTO importCsv(InputStream body, Resume resume, ChunkListener listener) {
+        Import run = begin(resume, listener);
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            List<String> header = readCsvRecord(in);
+            if (header == null) return run.finish();
+
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim();
+                if (i == 0 && name.startsWith("\uFEFF")) name = name.substring(1); // spreadsheet BOM
+                columns.put(name.toLowerCase(Locale.ROOT), i);
+            }
+            for (String c : CSV_COLUMNS) {
+                if (!columns.containsKey(c.toLowerCase(Locale.ROOT))) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "csv header must include " + String.join(", ", CSV_COLUMNS));
+                }
+            }
+
+            int row = 0;
+            List<String> rec;
+            while ((rec = readCsvRecord(in)) != null) {
+                if (rec.size() == 1 && rec.get(0).isBlank()) continue; // blank line
+                row++;
+                String studentId = field(rec, columns, "studentid");
+                String rawSchool = field(rec, columns, "schoolid");
+                Long schoolId;
+                try {
+                    schoolId = (rawSchool == null || rawSchool.isBlank()) ? null : Long.valueOf(rawSchool.trim());
+                } catch (NumberFormatException ex) {
+                    run.reject(row, studentId, INVALID, "schoolId must be a number");
+                    continue;
+                }
+                run.accept(row, new CreateStudentRequest(
+                        field(rec, columns, "firstname"),
+                        field(rec, columns, "lastname"),
+                        studentId,
+                        field(rec, columns, "grade"),
+                        schoolId));
+            }
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "could not read body");
+        }
+        return run.finish();
+    }
+
+    private static String field(List<String> rec, Map<String, Integer> columns, String name) {
+        Integer i = columns.get(name);
+        return (i != null && i < rec.size()) ? rec.get(i) : null;
+    }
+
+    // RFC 4180: comma separated, double-quoted fields may hold commas, quotes ("") and line breaks
+    static List<String> readCsvRecord(BufferedReader in) throws IOException {
+        int c = in.read();
+        if (c == -1) return null;
+
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    int next = in.read();
+                    if (next == '"') {
+                        cur.append('"');
+                    } else {
+                        quoted = false;
+                        if (next == -1) break;
+                        in.reset();
+                    }
+                } else {
+                    cur.append((char) c);
+                }
+            } else if (c == '"' && cur.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                cur.append((char) c);
+            }
+            c = in.read();
+        }
+        out.add(cur.toString());
+        return out;
+    }
+
+    // ---------- shared row pipeline ----------
+
+    private Import begin(Resume resume, ChunkListener listener) {
+        Long districtId = TenantContext.getDistrictId();
+        if (districtId == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "district not found in context");
+
+        Set<Long> districtSchools = new HashSet<>();
+        for (School s : schools.findByDistrict_DistrictId(districtId)) districtSchools.add(s.getSchoolId());
+        return new Import(districtId, districtSchools, resume, listener);
+    }
+
+    // slot: this row's index in the report, filled in when its chunk is written
+    private record Pending(int slot, int row, String firstName, String lastName, String studentId, String grade, Long schoolId) {}
+
+    private final class Import {
+        final Long districtId;
+        final Set<Long> districtSchools;
+        final Set<String> seen = new HashSet<>();
+        final List<Pending> chunk = new ArrayList<>();
+        final List<StudentImportRowDTO> rows = new ArrayList<>();
+        final ChunkListener listener;
+        final int resumeAfter;
+        final int carriedCreated;
+        int lastRead;
+
+        Import(Long districtId, Set<Long> districtSchools, Resume resume, ChunkListener listener) {
+            this.districtId = districtId;
+            this.districtSchools = districtSchools;
+            this.listener = (listener != null) ? listener : ChunkListener.NONE;
+            this.resumeAfter = (resume != null) ? resume.afterRow() : 0;
+            this.carriedCreated = (resume != null) ? resume.created() : 0;
+            if (resume != null && resume.reported() != null) rows.addAll(resume.reported());
+        }
+
+        // Rows at or before resumeAfter were reported by the earlier run
+        void reject(int row, String studentId, String status, String message) {
+            lastRead = Math.max(lastRead, row);
+            if (row <= resumeAfter) return;
+            rows.add(new StudentImportRowDTO(row, studentId, status, message));
+        }
+
+        void accept(int row, CreateStudentRequest req) {
+            lastRead = Math.max(lastRead, row);
+            String first = trim(req.firstName());
+            String last = trim(req.lastName());
+            String studentId = trim(req.studentId());
+            String grade = trim(req.grade());
+
+            if (first == null || last == null || studentId == null || grade == null || req.schoolId() == null) {
+                reject(row, studentId, INVALID, "missing required fields");
+                return;
+            }
+            if (first.length() > MAX_FIELD || last.length() > MAX_FIELD || studentId.length() > MAX_FIELD || grade.length() > MAX_FIELD) {
+                reject(row, studentId, INVALID, "field longer than " + MAX_FIELD + " characters");
+                return;
+            }
+            if (!districtSchools.contains(req.schoolId())) {
+                reject(row, studentId, INVALID, "school not in current district");
+                return;
+            }
+            if (!seen.add(studentId)) {
+                reject(row, studentId, DUPLICATE, "studentId repeated earlier in this import");
+                return;
+            }
+            if (row <= resumeAfter) return; // written by the earlier run; replayed only to fill seen
+
+            chunk.add(new Pending(rows.size(), row, first, last, studentId, grade, req.schoolId()));
+            rows.add(null);
+            if (chunk.size() >= chunkSize) flush();
+        }
+
+        StudentImportReportDTO finish() {
+            flush();
+            return snapshot();
+        }
+
+        private StudentImportReportDTO snapshot() {
+            int created = carriedCreated, skipped = 0, failed = 0;
+            for (StudentImportRowDTO r : rows) {
+                switch (r.status()) {
+                    case CREATED -> created++;
+                    case EXISTS, DUPLICATE -> skipped++;
+                    default -> failed++;
+                }
+            }
+            return new StudentImportReportDTO(carriedCreated + rows.size(), created, skipped, failed, new ArrayList<>(rows));
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) return;
+            List<Pending> batch = new ArrayList<>(chunk);
+            chunk.clear();
+            int through = lastRead;
+            try {
+                tx.executeWithoutResult(status -> {
+                    write(batch);
+                    listener.chunkWritten(through, snapshot());
+                });
+            } catch (DataAccessException ex) {
+                for (Pending p : batch) {
+                    rows.set(p.slot(), new StudentImportRowDTO(p.row(), p.studentId(), FAILED, "chunk rejected by database"));
+                }
+                tx.executeWithoutResult(status -> listener.chunkWritten(through, snapshot()));
+            }
+        }
+
+        private void write(List<Pending> batch) {
+            List<String> ids = new ArrayList<>(batch.size());
+            for (Pending p : batch) ids.add(p.studentId());
+            Set<String> existing = new HashSet<>(students.findExistingStudentIds(districtId, ids));
+
+            List<Pending> fresh = new ArrayList<>(batch.size());
+            List<Object[]> args = new ArrayList<>(batch.size());
+            for (Pending p : batch) {
+                if (existing.contains(p.studentId())) {
+                    rows.set(p.slot(), new StudentImportRowDTO(p.row(), p.studentId(), EXISTS, "student already exists in district"));
+                    continue;
+                }
+                fresh.add(p);
+                args.add(new Object[] { p.firstName(), p.lastName(), p.studentId(), p.grade(), districtId, p.schoolId() });
+            }
+            if (fresh.isEmpty()) return;
+
+            // A concurrent import can win the race for a studentId; on conflict it is reported as EXISTS
+            int[] counts = jdbc.batchUpdate("""
+                    insert into students (first_name, last_name, student_id, grade, district_id, school_id)
+                    values (?, ?, ?, ?, ?, ?)
+                    on conflict do nothing
+                    """, args);
+            for (int i = 0; i < fresh.size(); i++) {
+                Pending p = fresh.get(i);
+                rows.set(p.slot(), (counts[i] == 0)
+                        ? new StudentImportRowDTO(p.row(), p.studentId(), EXISTS, "student already exists in district")
+                        : new StudentImportRowDTO(p.row(), p.studentId(), CREATED, null));
+            }
+        }
+    }
+
+    private static String trim(String s) {
+        if (s == null) return null;
+        String t = s.trim();
+        return t.isEmpty() ? null : t;
+    }
+}
@@ -0,0 +1,332 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.event.IncidentDeletedEvent;
+import io.northstar.behavior.event.IncidentRecordedEvent;
+import io.northstar.behavior.event.IncidentsRecordedEvent;
+import io.northstar.behavior.event.InterventionDeletedEvent;
+import io.northstar.behavior.event.InterventionRecordedEvent;
+import io.northstar.behavior.event.StudentDeletedEvent;
+import io.northstar.behavior.event.StudentUpdatedEvent;
+import io.northstar.behavior.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Finished single-student report PDFs on local disk, addressed by what they were built from.
+ *
+ * A key is the student, the date range, the district day the report is generated on, and a
+ * version of the student's data: header fields plus count and last id of their incidents and
+ * interventions. Versions are held in memory, so a repeat request resolves its key (and ETag)
+ * without touching the database; they are dropped when an incident, intervention or student
+ * event for that student commits, and reloaded after {@code app.reports.cache.version-ttl-minutes}
+ * so writes made on other nodes are picked up. Files are named {@code <studentId>-<hash>.pdf},
+ * evicted least-recently-used once the directory passes {@code app.reports.cache.max-bytes},
+ * and re-indexed on startup.
+ */
+@Component
+public class StudentReportCache {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentReportCache.class);
+
+    /** One cacheable report; {@link #etag()} is stable for as long as the report would render the same. */
+    public record Key(Long studentId, Long districtId, LocalDate from, LocalDate to, String version) {
+        public String hash() {
+            return sha256(studentId + "|" + from + "|" + to + "|" + version);
+        }
+
+        public String etag() {
+            return "\"" + hash() + "\"";
+        }
+    }
+
+    private record Version(Long districtId, String token, long loadedAt) {}
+
+    private record Entry(Long studentId, Path file, long size) {}
+
+    private final StudentRepository students;
+    private final DistrictDayBoundaries days;
+    private final Path dir;
+    private final long maxBytes;
+    private final Duration ttl;
+
+    private final Map<Long, Version> versions = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, so a version read from the database while one raced past is not kept
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Access-ordered: iteration starts at the least recently used file. Guarded by this.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    public StudentReportCache(StudentRepository students,
+                              DistrictDayBoundaries days,
+                              @Value("${app.reports.cache.dir:${java.io.tmpdir}/northstar-report-cache}") String dir,
+                              @Value("${app.reports.cache.max-bytes:268435456}") long maxBytes,
+                              @Value("${app.reports.cache.version-ttl-minutes:5}") long ttlMinutes) throws IOException {
+        this.students = students;
+        this.days = days;
+        this.dir = Path.of(dir);
+        this.maxBytes = maxBytes;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        Files.createDirectories(this.dir);
+        reindex();
+    }
+
+    /** Current key for a student's report; loads the student's version only when it is not cached. */
+    public Key key(Long studentId, Long fallbackDistrictId, LocalDate from, LocalDate to) {
+        Version v = versions.get(studentId);
+        if (v == null || System.currentTimeMillis() - v.loadedAt() > ttl.toMillis()) v = load(studentId);
+        Long districtId = (v.districtId() != null) ? v.districtId() : fallbackDistrictId;
+        // The report prints the day it was generated on, so a new district day is a new document
+        return new Key(studentId, districtId, from, to, v.token() + "|" + days.today(districtId));
+    }
+
+    /** Copies a cached report into {@code out}; false (and nothing written) when it is not cached. */
+    public boolean copyTo(Key key, OutputStream out) throws IOException {
+        Entry e;
+        synchronized (this) {
+            e = entries.get(key.hash());
+        }
+        if (e == null) return false;
+        InputStream in;
+        try {
+            in = Files.newInputStream(e.file());
+        } catch (NoSuchFileException evicted) {
+            return false;
+        }
+        try (in) {
+            in.transferTo(out);
+        }
+        return true;
+    }
+
+    /** Starts writing a report for {@code key}; it joins the cache only when {@link Fill#commit()} is called. */
+    public Fill fill(Key key) throws IOException {
+        return new Fill(key, Files.createTempFile(dir, key.studentId() + "-", ".tmp"));
+    }
+
+    public synchronized long sizeBytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** Drops the student's version and every cached report built from it. */
+    public void invalidate(Long studentId) {
+        if (studentId == null) return;
+        invalidations.incrementAndGet();
+        versions.remove(studentId);
+        List<Path> stale = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry e = it.next();
+                if (studentId.equals(e.studentId())) {
+                    it.remove();
+                    bytes -= e.size();
+                    stale.add(e.file());
+                }
+            }
+        }
+        stale.forEach(StudentReportCache::deleteQuietly);
+    }
+
+    // ---------- event listeners ----------
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentRecorded(IncidentRecordedEvent e) {
+        invalidate(e.studentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentsRecorded(IncidentsRecordedEvent e) {
+        e.incidents().forEach(this::onIncidentRecorded);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentDeleted(IncidentDeletedEvent e) {
+        invalidate(e.studentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterventionRecorded(InterventionRecordedEvent e) {
+        invalidate(e.studentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterventionDeleted(InterventionDeletedEvent e) {
+        invalidate(e.studentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentUpdated(StudentUpdatedEvent e) {
+        invalidate(e.studentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentDeleted(StudentDeletedEvent e) {
+        invalidate(e.studentId());
+    }
+
+    // ---------- internals ----------
+
+    /** A report being written to a temp file in the cache directory. */
+    public final class Fill implements Closeable {
+        private final Key key;
+        private final Path tmp;
+        private final OutputStream file;
+        private boolean committed;
+
+        private Fill(Key key, Path tmp) throws IOException {
+            this.key = key;
+            this.tmp = tmp;
+            this.file = Files.newOutputStream(tmp);
+        }
+
+        /** Everything written goes to {@code out} and to the cache file. */
+        public OutputStream teeTo(OutputStream out) {
+            return new OutputStream() {
+                @Override public void write(int b) throws IOException {
+                    out.write(b);
+                    file.write(b);
+                }
+
+                @Override public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    file.write(b, off, len);
+                }
+
+                @Override public void flush() throws IOException {
+                    out.flush();
+                }
+
+                @Override public void close() throws IOException {
+                    try {
+                        out.close();
+                    } finally {
+                        file.close();
+                    }
+                }
+            };
+        }
+
+        public void commit() throws IOException {
+            file.close();
+            Path target = dir.resolve(key.studentId() + "-" + key.hash() + ".pdf");
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            add(key.hash(), new Entry(key.studentId(), target, Files.size(target)));
+        }
+
+        @Override
+        public void close() {
+            if (committed) return;
+            try {
+                file.close();
+            } catch (IOException ignored) {
+                // the temp file is deleted either way
+            }
+            deleteQuietly(tmp);
+        }
+    }
+
+    private Version load(Long studentId) {
+        long seen = invalidations.get();
+        List<Object[]> rows = students.reportVersion(studentId);
+        if (rows.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "student not found");
+        Object[] r = rows.get(0);
+        StringBuilder token = new StringBuilder();
+        for (int i = 1; i < r.length; i++) token.append(r[i]).append('\u001f');
+        Version v = new Version((Long) r[0], sha256(token.toString()), System.currentTimeMillis());
+        if (invalidations.get() == seen) versions.put(studentId, v);
+        return v;
+    }
+
+    private void add(String hash, Entry e) {
+        List<Path> evicted = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = entries.put(hash, e);
+            if (previous != null) bytes -= previous.size();
+            bytes += e.size();
+            Iterator<Entry> it = entries.values().iterator();
+            while (bytes > maxBytes && it.hasNext()) {
+                Entry oldest = it.next();
+                it.remove();
+                bytes -= oldest.size();
+                if (!oldest.file().equals(e.file())) evicted.add(oldest.file());
+            }
+        }
+        evicted.forEach(StudentReportCache::deleteQuietly);
+    }
+
+    // Rebuilds the index from the directory, oldest first, so reports survive a restart
+    private void reindex() throws IOException {
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            files = s.toList();
+        }
+        List<Path> reports = new ArrayList<>();
+        for (Path p : files) {
+            String name = p.getFileName().toString();
+            if (name.endsWith(".tmp")) deleteQuietly(p);
+            else if (name.endsWith(".pdf") && name.indexOf('-') > 0) reports.add(p);
+        }
+        reports.sort(Comparator.comparing(StudentReportCache::modified));
+        for (Path p : reports) {
+            String name = p.getFileName().toString();
+            try {
+                Long studentId = Long.valueOf(name.substring(0, name.indexOf('-')));
+                String hash = name.substring(name.indexOf('-') + 1, name.length() - ".pdf".length());
+                add(hash, new Entry(studentId, p, Files.size(p)));
+            } catch (NumberFormatException | IOException e) {
+                deleteQuietly(p);
+            }
+        }
+    }
+
+    private static long modified(Path p) {
+        try {
+            return Files.getLastModifiedTime(p).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static void deleteQuietly(Path p) {
+        try {
+            Files.deleteIfExists(p);
+        } catch (IOException e) {
+            log.warn("could not delete cached report {}: {}", p, e.getMessage());
+        }
+    }
+
+    private static String sha256(String s) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(d, 0, 20);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package io.northstar.behavior.service;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessStreamCache;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Lays out the one-student behavior report PDF from already-loaded, already-filtered data.
+ *
+ * Holds no database access, so batch reports can render many students in parallel. Page
+ * geometry, column positions and headers are shared constants; fonts are created once per
+ * render thread and reused for every document that thread renders (PDFBox objects are not
+ * safe to share across threads).
+ *
+ * Each document keeps its page content in a PDFBox stream cache that holds the first
+ * {@code app.reports.pdf.memory-bytes} in heap and spills the rest to a scratch file, so a
+ * student with years of history costs a temp file rather than heap. Rendering straight into
+ * an OutputStream lets the caller send the PDF without ever holding it as a byte array.
+ */
+@Component
+public class StudentReportRenderer {
+
+    public record IncidentLine(LocalDate day, String category, String severity, String reportedBy, String description) {}
+
+    public record InterventionLine(String tier, String strategy, String assignedBy, LocalDate startDate, LocalDate endDate) {}
+
+    public record Report(String studentName,
+                         String studentNumber,
+                         String grade,
+                         String schoolName,
+                         LocalDate from,
+                         LocalDate to,
+                         LocalDate generatedOn,
+                         List<IncidentLine> incidents,
+                         List<InterventionLine> interventions) {}
+
+    private static final float PAGE_H = PDRectangle.LETTER.getHeight();
+    private static final float PAGE_W = PDRectangle.LETTER.getWidth();
+    private static final float MARGIN = 50f;
+    private static final float USABLE_W = PAGE_W - 2 * MARGIN;
+    private static final float BOTTOM_Y = MARGIN + 30;
+
+    private static final float[] INCIDENT_X = {MARGIN + 5, MARGIN + 90, MARGIN + 165, MARGIN + 240, MARGIN + 325};
+    private static final String[] INCIDENT_HEADERS = {"Date", "Category", "Severity", "Reported By", "Description"};
+    private static final float[] INTERVENTION_X = {MARGIN + 5, MARGIN + 60, MARGIN + 185, MARGIN + 300, MARGIN + 375};
+    private static final String[] INTERVENTION_HEADERS = {"Tier", "Strategy", "Assigned By", "Start", "End"};
+
+    private record Fonts(PDFont bold, PDFont regular) {}
+
+    private static final ThreadLocal<Fonts> FONTS = ThreadLocal.withInitial(() -> new Fonts(
+            new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD),
+            new PDType1Font(Standard14Fonts.FontName.HELVETICA)));
+
+    private final RandomAccessStreamCache.StreamCacheCreateFunction scratch;
+
+    public StudentReportRenderer(@Value("${app.reports.pdf.memory-bytes:262144}") long memoryBytes,
+                                 @Value("${app.reports.pdf.scratch-dir:}") String scratchDir) {
+        MemoryUsageSetting setting = MemoryUsageSetting.setupMixed(memoryBytes);
+        if (scratchDir != null && !scratchDir.isBlank()) {
+            File dir = new File(scratchDir);
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IllegalStateException("cannot create PDF scratch directory " + dir);
+            }
+            setting.setTempDir(dir);
+        }
+        this.scratch = setting.streamCache;
+    }
+
+    // For batch entries, which are buffered anyway so they can be zipped in order
+    public byte[] render(Report r) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 * 1024);
+        render(r, out);
+        return out.toByteArray();
+    }
+
+    public void render(Report r, OutputStream out) throws IOException {
+        Fonts fonts = FONTS.get();
+        try (PDDocument doc = new PDDocument(scratch)) {
+            Pages p = new Pages(doc, fonts);
+            try {
+                header(p, r);
+                incidents(p, r.incidents());
+                p.y -= 18;
+                // Page break if not enough room for the interventions heading
+                p.breakIfBelow(BOTTOM_Y + 80);
+                interventions(p, r.interventions());
+            } finally {
+                p.cs.close();
+            }
+            doc.save(out);
+        }
+    }
+
+    private static void header(Pages p, Report r) throws IOException {
+        p.text(p.fonts.bold(), 18, MARGIN, "NorthStar - Student Behavior Report");
+        p.y -= 26;
+
+        p.cs.setLineWidth(0.75f);
+        p.cs.moveTo(MARGIN, p.y);
+        p.cs.lineTo(PAGE_W - MARGIN, p.y);
+        p.cs.stroke();
+        p.y -= 16;
+
+        String schoolName = (r.schoolName() != null) ? safe(r.schoolName()) : "School";
+        String fromStr = (r.from() != null) ? r.from().toString() : "N/A";
+        String toStr = (r.to() != null) ? r.to().toString() : "N/A";
+
+        p.text(p.fonts.regular(), 10, MARGIN, "School: " + schoolName);
+        p.y -= 14;
+        p.text(p.fonts.regular(), 10, MARGIN, "Report Period: " + fromStr + " to " + toStr + "   |   Generated: " + r.generatedOn());
+        p.y -= 28;
+
+        p.text(p.fonts.bold(), 13, MARGIN, "Student Information");
+        p.y -= 18;
+        String[] infoLines = {
+                "Name:        " + safe(r.studentName()),
+                "Student ID:  " + safe(r.studentNumber() != null ? r.studentNumber() : "N/A"),
+                "Grade:       " + safe(r.grade() != null ? r.grade() : "N/A"),
+        };
+        for (String line : infoLines) {
+            p.text(p.fonts.regular(), 10, MARGIN + 10, line);
+            p.y -= 14;
+        }
+        p.y -= 14;
+    }
+
+    private static void incidents(Pages p, List<IncidentLine> incidents) throws IOException {
+        p.text(p.fonts.bold(), 13, MARGIN, "Incidents (" + incidents.size() + ")");
+        p.y -= 18;
+
+        if (incidents.isEmpty()) {
+            p.text(p.fonts.regular(), 10, MARGIN + 10, "No incidents in the selected date range.");
+            p.y -= 14;
+            return;
+        }
+        p.tableHeader(INCIDENT_X, INCIDENT_HEADERS);
+        for (IncidentLine inc : incidents) {
+            p.breakIfBelow(BOTTOM_Y);
+            String desc = safe(inc.description());
+            if (desc.length() > 50) desc = desc.substring(0, 47) + "...";
+            p.row(INCIDENT_X, new String[] {
+                    inc.day() != null ? inc.day().toString() : "",
+                    safe(inc.category()),
+                    safe(inc.severity()),
+                    safe(inc.reportedBy()),
+                    desc
+            });
+        }
+    }
+
+    private static void interventions(Pages p, List<InterventionLine> interventions) throws IOException {
+        p.text(p.fonts.bold(), 13, MARGIN, "Disciplines / Interventions (" + interventions.size() + ")");
+        p.y -= 18;
+
+        if (interventions.isEmpty()) {
+            p.text(p.fonts.regular(), 10, MARGIN + 10, "No disciplines in the selected date range.");
+            p.y -= 14;
+            return;
+        }
+        p.tableHeader(INTERVENTION_X, INTERVENTION_HEADERS);
+        for (InterventionLine iv : interventions) {
+            p.breakIfBelow(BOTTOM_Y);
+            String strategy = safe(iv.strategy());
+            if (strategy.length() > 45) strategy = strategy.substring(0, 42) + "...";
+            p.row(INTERVENTION_X, new String[] {
+                    safe(iv.tier()),
+                    strategy,
+                    safe(iv.assignedBy()),
+                    iv.startDate() != null ? iv.startDate().toString() : "",
+                    iv.endDate() != null ? iv.endDate().toString() : "Ongoing"
+            });
+        }
+    }
+
+    // Current page, content stream and cursor; starts a new page when a row would not fit
+    private static final class Pages {
+        final PDDocument doc;
+        final Fonts fonts;
+        PDPageContentStream cs;
+        float y;
+
+        Pages(PDDocument doc, Fonts fonts) throws IOException {
+            this.doc = doc;
+            this.fonts = fonts;
+            newPage();
+        }
+
+        void newPage() throws IOException {
+            PDPage page = new PDPage(PDRectangle.LETTER);
+            doc.addPage(page);
+            cs = new PDPageContentStream(doc, page);
+            y = PAGE_H - MARGIN;
+        }
+
+        void breakIfBelow(float limit) throws IOException {
+            if (y < limit) {
+                cs.close();
+                newPage();
+            }
+        }
+
+        void text(PDFont font, float size, float x, String s) throws IOException {
+            cs.beginText();
+            cs.setFont(font, size);
+            cs.newLineAtOffset(x, y);
+            cs.showText(s);
+            cs.endText();
+        }
+
+        void tableHeader(float[] cx, String[] headers) throws IOException {
+            cs.setNonStrokingColor(0.9f, 0.9f, 0.9f);
+            cs.addRect(MARGIN, y - 3, USABLE_W, 16);
+            cs.fill();
+            cs.setNonStrokingColor(0f, 0f, 0f);
+            for (int i = 0; i < headers.length; i++) text(fonts.bold(), 9, cx[i], headers[i]);
+            y -= 18;
+        }
+
+        void row(float[] cx, String[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) text(fonts.regular(), 9, cx[i], values[i]);
+            y -= 13;
+        }
+    }
+
+    /** Strip characters outside Latin-1 printable range (PDType1Font limitation). */
+    static String safe(String s) {
+        if (s == null) return "";
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c <= 0xFF) sb.append(c);
+            else if (c == '\t') sb.append(' ');
+        }
+        return sb.toString();
+    }
+}
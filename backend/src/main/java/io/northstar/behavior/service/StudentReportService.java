@@ -0,0 +1,28 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.StudentRowDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface StudentReportService {
+
+    // Which version of one student's report is current (its ETag); resolved up front so a missing
+    // student is a 404 before any bytes go out, and from memory when the student was seen recently
+    StudentReportCache.Key reportKey(Long studentId, Long districtId, LocalDate from, LocalDate to);
+
+    // Serves the PDF from the report cache, or renders it straight into the stream (the HTTP
+    // response) and the cache at once; days are the student's district calendar days
+    void writeReport(StudentReportCache.Key key, OutputStream out) throws IOException;
+
+    /** A validated batch, resolved on the request thread so streaming needs no tenant context. */
+    record Batch(Long districtId, Long schoolId, String grade, LocalDate from, LocalDate to, List<StudentRowDTO> students) {}
+
+    // Students of a school and/or grade in the current district
+    Batch prepareBatch(Long schoolId, String grade, LocalDate from, LocalDate to);
+
+    // Writes one PDF per student into a ZIP, rendering in parallel but in roster order
+    void writeZip(Batch batch, OutputStream out) throws IOException;
+}
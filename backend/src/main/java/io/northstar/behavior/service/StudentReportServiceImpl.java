@@ -0,0 +1,235 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.ReportIncidentLineDTO;
+import io.northstar.behavior.dto.ReportInterventionLineDTO;
+import io.northstar.behavior.dto.StudentRowDTO;
+import io.northstar.behavior.model.School;
+import io.northstar.behavior.model.Student;
+import io.northstar.behavior.repository.IncidentRepository;
+import io.northstar.behavior.repository.InterventionRepository;
+import io.northstar.behavior.repository.SchoolRepository;
+import io.northstar.behavior.repository.StudentRepository;
+import io.northstar.behavior.service.StudentReportRenderer.IncidentLine;
+import io.northstar.behavior.service.StudentReportRenderer.InterventionLine;
+import io.northstar.behavior.service.StudentReportRenderer.Report;
+import io.northstar.behavior.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Student behavior reports, one at a time or as a ZIP for a school or grade.
+ *
+ * Report data comes from projection queries already cut to the report window in the database,
+ * one incident query and one intervention query per chunk of students. Batch PDFs render on the
+ * report pool while the next chunk loads, and are written to the ZIP in roster order, so at most
+ * two chunks of documents are held in memory however large the school. Single-student reports
+ * are served from {@link StudentReportCache} when an identical one was rendered before.
+ */
+@Service
+public class StudentReportServiceImpl implements StudentReportService {
+
+    static final int CHUNK = 100;
+
+    // Open-ended report windows; wide enough for any real incident, and valid in every database
+    private static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 30);
+
+    private final StudentRepository students;
+    private final SchoolRepository schools;
+    private final IncidentRepository incidents;
+    private final InterventionRepository interventions;
+    private final DistrictDayBoundaries days;
+    private final StudentReportRenderer renderer;
+    private final StudentReportCache cache;
+    private final Executor renderPool;
+
+    public StudentReportServiceImpl(StudentRepository students,
+                                    SchoolRepository schools,
+                                    IncidentRepository incidents,
+                                    InterventionRepository interventions,
+                                    DistrictDayBoundaries days,
+                                    StudentReportRenderer renderer,
+                                    StudentReportCache cache,
+                                    @Qualifier("reportRenderExecutor") Executor renderPool) {
+        this.students = students;
+        this.schools = schools;
+        this.incidents = incidents;
+        this.interventions = interventions;
+        this.days = days;
+        this.renderer = renderer;
+        this.cache = cache;
+        this.renderPool = renderPool;
+    }
+
+    @Override
+    public StudentReportCache.Key reportKey(Long studentId, Long districtId, LocalDate from, LocalDate to) {
+        return cache.key(studentId, districtId, from, to);
+    }
+
+    @Override
+    public void writeReport(StudentReportCache.Key key, OutputStream out) throws IOException {
+        if (cache.copyTo(key, out)) return;
+
+        Student student = students.findById(key.studentId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "student not found"));
+        String schoolName = (student.getSchool() != null) ? student.getSchool().getSchoolName() : null;
+        StudentRowDTO row = new StudentRowDTO(student.getId(), student.getFirstName(), student.getLastName(),
+                student.getStudentId(), student.getGrade(), key.districtId(),
+                (student.getSchool() != null) ? student.getSchool().getSchoolId() : null);
+        Report report = load(key.districtId(), List.of(row), Collections.singletonMap(row.schoolId(), schoolName),
+                key.from(), key.to()).get(row.id());
+
+        try (StudentReportCache.Fill fill = cache.fill(key)) {
+            renderer.render(report, fill.teeTo(out));
+            fill.commit();
+        }
+    }
+
+    @Override
+    public Batch prepareBatch(Long schoolId, String grade, LocalDate from, LocalDate to) {
+        Long districtId = TenantContext.getDistrictId();
+        if (districtId == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "district not found in context");
+
+        String g = (grade != null && !grade.isBlank()) ? grade.trim() : null;
+        if (schoolId == null && g == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "schoolId or grade is required");
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "to must not be before from");
+        }
+        if (schoolId != null) {
+            School school = schools.findById(schoolId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "school not found"));
+            if (school.getDistrict() == null || !districtId.equals(school.getDistrict().getDistrictId())) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "school not found");
+            }
+        }
+        return new Batch(districtId, schoolId, g, from, to, students.reportRoster(districtId, schoolId, g));
+    }
+
+    @Override
+    public void writeZip(Batch batch, OutputStream out) throws IOException {
+        Map<Long, String> schoolNames = new HashMap<>();
+        for (School s : schools.findByDistrict_DistrictId(batch.districtId())) schoolNames.put(s.getSchoolId(), s.getSchoolName());
+
+        List<StudentRowDTO> roster = batch.students();
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Set<String> names = new HashSet<>();
+
+        List<CompletableFuture<byte[]>> rendering = List.of();
+        List<StudentRowDTO> renderingRows = List.of();
+        for (int start = 0; start < roster.size(); start += CHUNK) {
+            // Load and submit the next chunk while the previous one is still rendering
+            List<StudentRowDTO> rows = roster.subList(start, Math.min(start + CHUNK, roster.size()));
+            List<CompletableFuture<byte[]>> next = submit(batch, rows, schoolNames);
+
+            write(zip, names, renderingRows, rendering);
+            rendering = next;
+            renderingRows = rows;
+        }
+        write(zip, names, renderingRows, rendering);
+        zip.finish();
+        zip.flush();
+    }
+
+    private List<CompletableFuture<byte[]>> submit(Batch batch, List<StudentRowDTO> rows, Map<Long, String> schoolNames) {
+        if (rows.isEmpty()) return List.of();
+        Map<Long, Report> reports = load(batch.districtId(), rows, schoolNames, batch.from(), batch.to());
+        List<CompletableFuture<byte[]>> out = new ArrayList<>(rows.size());
+        for (StudentRowDTO r : rows) {
+            Report report = reports.get(r.id());
+            out.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return renderer.render(report);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, renderPool));
+        }
+        return out;
+    }
+
+    private static void write(ZipOutputStream zip, Set<String> names,
+                              List<StudentRowDTO> rows, List<CompletableFuture<byte[]>> pdfs) throws IOException {
+        for (int i = 0; i < pdfs.size(); i++) {
+            byte[] pdf;
+            try {
+                pdf = pdfs.get(i).join();
+            } catch (CompletionException e) {
+                pdfs.forEach(f -> f.cancel(true));
+                throw new IOException("PDF generation failed for student " + rows.get(i).id(), e.getCause());
+            }
+            zip.putNextEntry(new ZipEntry(entryName(rows.get(i), names)));
+            zip.write(pdf);
+            zip.closeEntry();
+        }
+    }
+
+    // Lastname_Firstname_StudentNumber.pdf, made unique within the archive
+    static String entryName(StudentRowDTO r, Set<String> taken) {
+        String base = (clean(r.lastName()) + "_" + clean(r.firstName()) + "_" + clean(r.studentId()));
+        String name = base + ".pdf";
+        for (int n = 2; !taken.add(name); n++) name = base + "-" + n + ".pdf";
+        return name;
+    }
+
+    private static String clean(String s) {
+        if (s == null || s.isBlank()) return "unknown";
+        return s.trim().replaceAll("[^A-Za-z0-9.-]+", "-");
+    }
+
+    // Two queries for the whole chunk, both already limited to the report window
+    private Map<Long, Report> load(Long districtId, List<StudentRowDTO> rows, Map<Long, String> schoolNames,
+                                   LocalDate from, LocalDate to) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (StudentRowDTO r : rows) ids.add(r.id());
+
+        LocalDate lo = (from != null) ? from : EARLIEST;
+        LocalDate hi = (to != null) ? to : LATEST;
+        OffsetDateTime fromInstant = days.startOfDay(districtId, lo);
+        OffsetDateTime toInstant = days.startOfDay(districtId, hi.plusDays(1));
+
+        Map<Long, List<IncidentLine>> incidentLines = new HashMap<>();
+        for (ReportIncidentLineDTO i : incidents.reportLinesForStudents(ids, fromInstant, toInstant)) {
+            incidentLines.computeIfAbsent(i.studentId(), k -> new ArrayList<>()).add(new IncidentLine(
+                    (i.occurredAt() != null) ? days.dayOf(districtId, i.occurredAt()) : null,
+                    i.category(), i.severity(), i.reportedBy(), i.description()));
+        }
+        Map<Long, List<InterventionLine>> interventionLines = new HashMap<>();
+        for (ReportInterventionLineDTO iv : interventions.reportLinesForStudents(ids, lo, hi)) {
+            interventionLines.computeIfAbsent(iv.studentId(), k -> new ArrayList<>()).add(new InterventionLine(
+                    iv.tier(), iv.strategy(), iv.assignedBy(), iv.startDate(), iv.endDate()));
+        }
+
+        LocalDate generatedOn = days.today(districtId);
+        Map<Long, Report> out = new HashMap<>();
+        for (StudentRowDTO r : rows) {
+            String first = (r.firstName() != null) ? r.firstName() : "";
+            String last = (r.lastName() != null) ? r.lastName() : "";
+            out.put(r.id(), new Report(
+                    (first + " " + last).trim(),
+                    r.studentId(),
+                    r.grade(),
+                    schoolNames.get(r.schoolId()),
+                    from,
+                    to,
+                    generatedOn,
+                    incidentLines.getOrDefault(r.id(), List.of()),
+                    interventionLines.getOrDefault(r.id(), List.of())));
+        }
+        return out;
+    }
+}
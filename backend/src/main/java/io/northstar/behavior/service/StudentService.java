@@ -2,8 +2,9 @@ package io.northstar.behavior.service;
 
 import io.northstar.behavior.dto.CreateStudentRequest;
 import io.northstar.behavior.dto.StudentDTO;
+import io.northstar.behavior.dto.StudentPageDTO;
+import io.northstar.behavior.dto.StudentRowDTO;
 
-import java.time.LocalDate;
 import java.util.List;
 
 public interface StudentService {
@@ -12,12 +13,14 @@ public interface StudentService {
 
         // Legacy path (kept for now)
         StudentDTO create(StudentDTO dto);
-        byte[] generateReportForStudent(Long studentId,
-                                        Long districtId,
-                                        LocalDate from,
-                                        LocalDate to);
 
         List<StudentDTO> findAll();
+
+        // Keyset page of the roster as slim rows
+        StudentPageDTO<StudentRowDTO> page(String after, Integer limit);
+
+        // The same page with each student's incident and intervention histories
+        StudentPageDTO<StudentDTO> pageWithHistory(String after, Integer limit);
         StudentDTO findById(Long id);
         StudentDTO update(Long id, StudentDTO dto);
         void delete(Long id);
@@ -4,6 +4,10 @@ import io.northstar.behavior.dto.CreateStudentRequest;
 import io.northstar.behavior.dto.IncidentSummaryDTO;
 import io.northstar.behavior.dto.InterventionSummaryDTO;
 import io.northstar.behavior.dto.StudentDTO;
+import io.northstar.behavior.dto.StudentPageDTO;
+import io.northstar.behavior.dto.StudentRowDTO;
+import io.northstar.behavior.event.StudentDeletedEvent;
+import io.northstar.behavior.event.StudentUpdatedEvent;
 import io.northstar.behavior.model.District;
 import io.northstar.behavior.model.Incident;
 import io.northstar.behavior.model.Intervention;
@@ -16,42 +20,50 @@ import io.northstar.behavior.repository.SchoolRepository;
 import io.northstar.behavior.repository.StudentRepository;
 import io.northstar.behavior.tenant.TenantContext;
 import jakarta.transaction.Transactional;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
-import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @Transactional
 public class StudentServiceImpl implements StudentService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    // Keeps IN (...) lists well under driver/database parameter limits
+    private static final int HISTORY_CHUNK = 1000;
+
     private final StudentRepository repo;
     private final DistrictRepository districtRepo;
     private final SchoolRepository schools;
     private final IncidentRepository incidentRepo;
     private final InterventionRepository interventionRepo;
+    private final ApplicationEventPublisher events;
 
     public StudentServiceImpl(StudentRepository repo,
                               DistrictRepository districtRepo,
                               SchoolRepository schools,
                               IncidentRepository incidentRepo,
-                              InterventionRepository interventionRepo) {
+                              InterventionRepository interventionRepo,
+                              ApplicationEventPublisher events) {
         this.repo = repo;
         this.districtRepo = districtRepo;
         this.schools = schools;
         this.incidentRepo = incidentRepo;
         this.interventionRepo = interventionRepo;
+        this.events = events;
     }
 
     // ---------- helpers (keep private; not in interface) ----------
@@ -130,6 +142,81 @@ public class StudentServiceImpl implements StudentService {
         );
     }
 
+    private static StudentRowDTO toRow(Student s) {
+        Long did = (s.getDistrict() != null) ? s.getDistrict().getDistrictId() : null;
+        Long sid = (s.getSchool() != null) ? s.getSchool().getSchoolId() : null;
+        return new StudentRowDTO(s.getId(), s.getFirstName(), s.getLastName(), s.getStudentId(), s.getGrade(), did, sid);
+    }
+
+    private static StudentDTO toDto(StudentRowDTO r,
+                                    List<IncidentSummaryDTO> incidents,
+                                    List<InterventionSummaryDTO> interventions) {
+        return new StudentDTO(
+                (r.id() == null ? 0L : r.id()),
+                r.firstName(),
+                r.lastName(),
+                r.studentId(),
+                r.grade(),
+                incidents,
+                interventions,
+                r.districtId(),
+                r.schoolId()
+        );
+    }
+
+    // Histories for a set of students in two queries (per chunk), instead of two lazy loads per student
+    private List<StudentDTO> withHistories(List<StudentRowDTO> rows) {
+        Map<Long, List<IncidentSummaryDTO>> incidentsByStudent = new HashMap<>();
+        Map<Long, List<InterventionSummaryDTO>> interventionsByStudent = new HashMap<>();
+        Map<Long, String> names = new HashMap<>();
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (StudentRowDTO r : rows) {
+            ids.add(r.id());
+            names.put(r.id(), (((r.firstName() != null) ? r.firstName() : "")
+                    + ((r.lastName() != null) ? " " + r.lastName() : "")).trim());
+        }
+
+        for (int from = 0; from < ids.size(); from += HISTORY_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + HISTORY_CHUNK));
+            for (Object[] row : incidentRepo.summariesForStudents(chunk)) {
+                Long studentId = (Long) row[0];
+                incidentsByStudent.computeIfAbsent(studentId, k -> new ArrayList<>()).add(new IncidentSummaryDTO(
+                        (Long) row[1], (String) row[2], (String) row[3], (OffsetDateTime) row[4], (Long) row[5]));
+            }
+            for (Object[] row : interventionRepo.summariesForStudents(chunk)) {
+                Long studentId = (Long) row[0];
+                interventionsByStudent.computeIfAbsent(studentId, k -> new ArrayList<>()).add(new InterventionSummaryDTO(
+                        (Long) row[1], studentId, names.get(studentId), (String) row[2], (String) row[3],
+                        (String) row[4], (String) row[5], (LocalDate) row[6], (LocalDate) row[7], (Long) row[8]));
+            }
+        }
+
+        List<StudentDTO> out = new ArrayList<>(rows.size());
+        for (StudentRowDTO r : rows) {
+            out.add(toDto(r,
+                    incidentsByStudent.getOrDefault(r.id(), List.of()),
+                    interventionsByStudent.getOrDefault(r.id(), List.of())));
+        }
+        return out;
+    }
+
+    // Opaque keyset cursor: base64url("<id>:<lastName>")
+    static String encodeCursor(StudentRowDTO last) {
+        String raw = last.id() + ":" + last.lastName();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            if (sep <= 0) throw new IllegalArgumentException();
+            return new Object[] { raw.substring(sep + 1), Long.parseLong(raw.substring(0, sep)) };
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor");
+        }
+    }
+
     // ---------- create with schoolId (new path) ----------
     @Override
     public StudentDTO create(CreateStudentRequest req) {
@@ -203,9 +290,41 @@ public class StudentServiceImpl implements StudentService {
         if (districtId == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "district not found in context");
 
         List<Student> list = repo.findByDistrict_DistrictId(districtId);
-        List<StudentDTO> out = new ArrayList<>();
-        for (int i = 0; i < list.size(); i++) out.add(toDto(list.get(i)));
-        return out;
+        List<StudentRowDTO> rows = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) rows.add(toRow(list.get(i)));
+        return withHistories(rows);
+    }
+
+    @Override
+    public StudentPageDTO<StudentDTO> pageWithHistory(String after, Integer limit) {
+        StudentPageDTO<StudentRowDTO> rows = page(after, limit);
+        return new StudentPageDTO<>(withHistories(rows.items()), rows.nextCursor(), rows.limit(), true);
+    }
+
+    @Override
+    public StudentPageDTO<StudentRowDTO> page(String after, Integer limit) {
+        Long districtId = TenantContext.getDistrictId();
+        if (districtId == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "district not found in context");
+
+        int size = (limit != null) ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // One extra row tells us whether there is a next page
+        PageRequest probe = PageRequest.of(0, size + 1);
+        List<StudentRowDTO> rows;
+        if (after == null || after.isBlank()) {
+            rows = repo.rosterFirstPage(districtId, probe);
+        } else {
+            Object[] cursor = decodeCursor(after.trim());
+            rows = repo.rosterPageAfter(districtId, (String) cursor[0], (Long) cursor[1], probe);
+        }
+
+        boolean more = rows.size() > size;
+        if (more) rows = rows.subList(0, size);
+        String next = more ? encodeCursor(rows.get(rows.size() - 1)) : null;
+        return new StudentPageDTO<>(rows, next, size, false);
     }
 
     @Override
@@ -222,10 +341,14 @@ public class StudentServiceImpl implements StudentService {
         Student s = repo.findByIdAndDistrict_DistrictId(id, districtId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "student not found"));
 
+        String previousGrade = s.getGrade();
         if (dto.firstName() != null && !dto.firstName().isBlank()) s.setFirstName(dto.firstName().trim());
         if (dto.lastName() != null && !dto.lastName().isBlank())   s.setLastName(dto.lastName().trim());
         if (dto.grade() != null && !dto.grade().isBlank())         s.setGrade(dto.grade().trim());
 
+        Long sid = (s.getSchool() != null) ? s.getSchool().getSchoolId() : null;
+        boolean gradeChanged = !Objects.equals(previousGrade, s.getGrade());
+        events.publishEvent(new StudentUpdatedEvent(s.getId(), districtId, sid, s.getFirstName(), s.getLastName(), gradeChanged));
         return toDto(s); // managed entity; flushed on commit
     }
 
@@ -235,254 +358,8 @@ public class StudentServiceImpl implements StudentService {
         Student s = repo.findByIdAndDistrict_DistrictId(id, districtId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "student not found"));
         repo.delete(s);
-    }
-    @Override
-    public byte[] generateReportForStudent(Long studentId,
-                                           Long districtId,
-                                           LocalDate from,
-                                           LocalDate to) {
-        Student student = repo.findById(studentId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "student not found"));
-
-        // Filter incidents by date range
-        List<Incident> incidents = incidentRepo.findByStudentIdOrderByOccurredAtDesc(studentId)
-                .stream()
-                .filter(i -> {
-                    LocalDate d = i.getOccurredAt().toLocalDate();
-                    return (from == null || !d.isBefore(from)) && (to == null || !d.isAfter(to));
-                })
-                .toList();
-
-        // Filter interventions by date range
-        List<Intervention> interventions = interventionRepo.findByStudent_IdOrderByStartDateDesc(studentId)
-                .stream()
-                .filter(iv -> {
-                    if (iv.getStartDate() == null) return false;
-                    return (from == null || !iv.getStartDate().isBefore(from))
-                            && (to == null || !iv.getStartDate().isAfter(to));
-                })
-                .toList();
-
-        try (PDDocument doc = new PDDocument()) {
-            PDFont bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
-            PDFont regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
-
-            final float PAGE_H = PDRectangle.LETTER.getHeight();
-            final float PAGE_W = PDRectangle.LETTER.getWidth();
-            final float MARGIN = 50f;
-            final float USABLE_W = PAGE_W - 2 * MARGIN;
-            final float BOTTOM_Y = MARGIN + 30;
-
-            PDPage page = new PDPage(PDRectangle.LETTER);
-            doc.addPage(page);
-            PDPageContentStream cs = new PDPageContentStream(doc, page);
-            float y = PAGE_H - MARGIN;
-
-            // ---- Header ----
-            cs.beginText();
-            cs.setFont(bold, 18);
-            cs.newLineAtOffset(MARGIN, y);
-            cs.showText("NorthStar - Student Behavior Report");
-            cs.endText();
-            y -= 26;
-
-            cs.setLineWidth(0.75f);
-            cs.moveTo(MARGIN, y);
-            cs.lineTo(PAGE_W - MARGIN, y);
-            cs.stroke();
-            y -= 16;
-
-            String schoolName = (student.getSchool() != null && student.getSchool().getSchoolName() != null)
-                    ? safe(student.getSchool().getSchoolName()) : "School";
-            String fromStr = (from != null) ? from.toString() : "N/A";
-            String toStr = (to != null) ? to.toString() : "N/A";
-
-            cs.beginText();
-            cs.setFont(regular, 10);
-            cs.newLineAtOffset(MARGIN, y);
-            cs.showText("School: " + schoolName);
-            cs.endText();
-            y -= 14;
-
-            cs.beginText();
-            cs.setFont(regular, 10);
-            cs.newLineAtOffset(MARGIN, y);
-            cs.showText("Report Period: " + fromStr + " to " + toStr + "   |   Generated: " + LocalDate.now());
-            cs.endText();
-            y -= 28;
-
-            // ---- Student Info ----
-            cs.beginText();
-            cs.setFont(bold, 13);
-            cs.newLineAtOffset(MARGIN, y);
-            cs.showText("Student Information");
-            cs.endText();
-            y -= 18;
-
-            String firstName = student.getFirstName() != null ? student.getFirstName() : "";
-            String lastName  = student.getLastName()  != null ? student.getLastName()  : "";
-            String fullName  = (firstName + " " + lastName).trim();
-            String[] infoLines = {
-                    "Name:        " + safe(fullName),
-                    "Student ID:  " + safe(student.getStudentId() != null ? student.getStudentId() : "N/A"),
-                    "Grade:       " + safe(student.getGrade() != null ? student.getGrade() : "N/A"),
-            };
-            for (String line : infoLines) {
-                cs.beginText();
-                cs.setFont(regular, 10);
-                cs.newLineAtOffset(MARGIN + 10, y);
-                cs.showText(line);
-                cs.endText();
-                y -= 14;
-            }
-            y -= 14;
-
-            // ---- Incidents ----
-            cs.beginText();
-            cs.setFont(bold, 13);
-            cs.newLineAtOffset(MARGIN, y);
-            cs.showText("Incidents (" + incidents.size() + ")");
-            cs.endText();
-            y -= 18;
-
-            if (incidents.isEmpty()) {
-                cs.beginText();
-                cs.setFont(regular, 10);
-                cs.newLineAtOffset(MARGIN + 10, y);
-                cs.showText("No incidents in the selected date range.");
-                cs.endText();
-                y -= 14;
-            } else {
-                float[] cx = {MARGIN + 5, MARGIN + 90, MARGIN + 165, MARGIN + 240, MARGIN + 325};
-                String[] hdrs = {"Date", "Category", "Severity", "Reported By", "Description"};
-
-                cs.setNonStrokingColor(0.9f, 0.9f, 0.9f);
-                cs.addRect(MARGIN, y - 3, USABLE_W, 16);
-                cs.fill();
-                cs.setNonStrokingColor(0f, 0f, 0f);
-                for (int i = 0; i < hdrs.length; i++) {
-                    cs.beginText();
-                    cs.setFont(bold, 9);
-                    cs.newLineAtOffset(cx[i], y);
-                    cs.showText(hdrs[i]);
-                    cs.endText();
-                }
-                y -= 18;
-
-                for (Incident inc : incidents) {
-                    if (y < BOTTOM_Y) {
-                        cs.close();
-                        page = new PDPage(PDRectangle.LETTER);
-                        doc.addPage(page);
-                        cs = new PDPageContentStream(doc, page);
-                        y = PAGE_H - MARGIN;
-                    }
-                    String date  = inc.getOccurredAt() != null ? inc.getOccurredAt().toLocalDate().toString() : "";
-                    String cat   = safe(inc.getCategory());
-                    String sev   = safe(inc.getSeverity());
-                    String by    = safe(inc.getReportedBy());
-                    String desc  = safe(inc.getDescription());
-                    if (desc.length() > 50) desc = desc.substring(0, 47) + "...";
-                    String[] vals = {date, cat, sev, by, desc};
-                    for (int i = 0; i < vals.length; i++) {
-                        cs.beginText();
-                        cs.setFont(regular, 9);
-                        cs.newLineAtOffset(cx[i], y);
-                        cs.showText(vals[i]);
-                        cs.endText();
-                    }
-                    y -= 13;
-                }
-            }
-            y -= 18;
-
-            // Page break if not enough room for the interventions heading
-            if (y < BOTTOM_Y + 80) {
-                cs.close();
-                page = new PDPage(PDRectangle.LETTER);
-                doc.addPage(page);
-                cs = new PDPageContentStream(doc, page);
-                y = PAGE_H - MARGIN;
-            }
-
-            // ---- Disciplines / Interventions ----
-            cs.beginText();
-            cs.setFont(bold, 13);
-            cs.newLineAtOffset(MARGIN, y);
-            cs.showText("Disciplines / Interventions (" + interventions.size() + ")");
-            cs.endText();
-            y -= 18;
-
-            if (interventions.isEmpty()) {
-                cs.beginText();
-                cs.setFont(regular, 10);
-                cs.newLineAtOffset(MARGIN + 10, y);
-                cs.showText("No disciplines in the selected date range.");
-                cs.endText();
-                y -= 14;
-            } else {
-                float[] cx2  = {MARGIN + 5, MARGIN + 60, MARGIN + 185, MARGIN + 300, MARGIN + 375};
-                String[] hdrs2 = {"Tier", "Strategy", "Assigned By", "Start", "End"};
-
-                cs.setNonStrokingColor(0.9f, 0.9f, 0.9f);
-                cs.addRect(MARGIN, y - 3, USABLE_W, 16);
-                cs.fill();
-                cs.setNonStrokingColor(0f, 0f, 0f);
-                for (int i = 0; i < hdrs2.length; i++) {
-                    cs.beginText();
-                    cs.setFont(bold, 9);
-                    cs.newLineAtOffset(cx2[i], y);
-                    cs.showText(hdrs2[i]);
-                    cs.endText();
-                }
-                y -= 18;
-
-                for (Intervention iv : interventions) {
-                    if (y < BOTTOM_Y) {
-                        cs.close();
-                        page = new PDPage(PDRectangle.LETTER);
-                        doc.addPage(page);
-                        cs = new PDPageContentStream(doc, page);
-                        y = PAGE_H - MARGIN;
-                    }
-                    String tier       = safe(iv.getTier());
-                    String strategy   = safe(iv.getStrategy());
-                    if (strategy.length() > 45) strategy = strategy.substring(0, 42) + "...";
-                    String assignedBy = safe(iv.getAssignedBy());
-                    String startDate  = iv.getStartDate() != null ? iv.getStartDate().toString() : "";
-                    String endDate    = iv.getEndDate()   != null ? iv.getEndDate().toString()   : "Ongoing";
-                    String[] vals2 = {tier, strategy, assignedBy, startDate, endDate};
-                    for (int i = 0; i < vals2.length; i++) {
-                        cs.beginText();
-                        cs.setFont(regular, 9);
-                        cs.newLineAtOffset(cx2[i], y);
-                        cs.showText(vals2[i]);
-                        cs.endText();
-                    }
-                    y -= 13;
-                }
-            }
-
-            cs.close();
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            doc.save(baos);
-            return baos.toByteArray();
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
-                    "PDF generation failed: " + e.getMessage());
-        }
-    }
-
-    /** Strip characters outside Latin-1 printable range (PDType1Font limitation). */
-    private static String safe(String s) {
-        if (s == null) return "";
-        StringBuilder sb = new StringBuilder(s.length());
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if (c >= 0x20 && c <= 0xFF) sb.append(c);
-            else if (c == '\t') sb.append(' ');
-        }
-        return sb.toString();
+        Long sid = (s.getSchool() != null) ? s.getSchool().getSchoolId() : null;
+        events.publishEvent(new StudentDeletedEvent(s.getId(), districtId, sid));
     }
 }
 
@@ -302,9 +302,24 @@ public class TeacherServiceImpl implements TeacherService {
         Admin admin = adminRepository.findByUserName(userName)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "admin not found"));
         Long districtId = admin.getDistrict().getDistrictId();
-        List<Teacher> all = repo.findByDistrict_DistrictId(districtId);
-        List<TeacherCautionStatsDTO> out = new ArrayList<>();
-        for (Teacher t : all) out.add(cautionStats(t.getId()));
+
+        // One windowed aggregate for the whole district instead of four queries per teacher
+        List<Object[]> rows = repo.cautionStatsForDistrict(districtId);
+        List<TeacherCautionStatsDTO> out = new ArrayList<>(rows.size());
+        for (Object[] r : rows) {
+            Long topStudentId = (r[7] != null) ? ((Number) r[7]).longValue() : null;
+            out.add(new TeacherCautionStatsDTO(
+                    ((Number) r[0]).longValue(),
+                    r[1] + " " + r[2],
+                    (String) r[3],
+                    ((Number) r[4]).longValue(),
+                    (String) r[5],
+                    ((Number) r[6]).longValue(),
+                    topStudentId,
+                    (topStudentId != null) ? r[8] + " " + r[9] : null,
+                    ((Number) r[10]).longValue()
+            ));
+        }
         return out;
     }
 
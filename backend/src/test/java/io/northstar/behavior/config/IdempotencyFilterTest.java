@@ -0,0 +1,259 @@
+package io.northstar.behavior.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.northstar.behavior.repository.IdempotencyRecordRepository;
+import io.northstar.behavior.service.IdempotencyStore;
+import io.northstar.behavior.tenant.TenantContext;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: the store relies on each statement committing, as it does behind the filter
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("IdempotencyFilter — retried creates run once")
+class IdempotencyFilterTest {
+
+    static final String BODY = """
+            {"studentId": 7, "category": "Disruption", "description": "desc", "severity": "Minor", "reportedBy": "tsmith"}
+            """;
+
+    @Autowired IdempotencyRecordRepository records;
+    @Autowired EntityManagerFactory emf;
+
+    IdempotencyFilter filter;
+    AtomicInteger writes = new AtomicInteger();
+    int nextStatus = 201;
+
+    // Stands in for the controller: counts executions and answers with a fresh id each time
+    FilterChain controller = (rq, rs) -> {
+        String seen = new String(rq.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(BODY, seen);
+        HttpServletResponse http = (HttpServletResponse) rs;
+        http.setStatus(nextStatus);
+        http.setContentType("application/json");
+        http.getWriter().write("{\"id\":" + writes.incrementAndGet() + "}");
+    };
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(store(), new ObjectMapper());
+        TenantContext.setDistrictId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        records.deleteAll();
+    }
+
+    @Test
+    @DisplayName("A retry gets the original response without running the write, from memory and from the table")
+    void replaysFirstResponse() throws Exception {
+        MockHttpServletResponse first = post("/api/incidents", "k-1", BODY);
+        assertEquals(201, first.getStatus());
+        assertEquals("{\"id\":1}", first.getContentAsString());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED));
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        MockHttpServletResponse retry = post("/api/incidents", "k-1", BODY);
+        assertEquals(0, stats.getPrepareStatementCount());
+        assertEquals(201, retry.getStatus());
+        assertEquals("{\"id\":1}", retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED));
+
+        // Another node (or a restart) has an empty memory and answers from idempotency_keys
+        filter = new IdempotencyFilter(store(), new ObjectMapper());
+        MockHttpServletResponse elsewhere = post("/api/incidents", "k-1", BODY);
+        assertEquals("{\"id\":1}", elsewhere.getContentAsString());
+        assertEquals("application/json", elsewhere.getContentType());
+
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    @DisplayName("Keys are per district, and a new key is a new write")
+    void scopedByDistrictAndKey() throws Exception {
+        post("/api/incidents", "k-1", BODY);
+        post("/api/incidents", "k-2", BODY);
+        TenantContext.setDistrictId(2L);
+        post("/api/incidents", "k-1", BODY);
+        assertEquals(3, writes.get());
+    }
+
+    @Test
+    @DisplayName("Reusing a key for another request is 422; a key still in flight is 409")
+    void rejectsMisuse() throws Exception {
+        post("/api/incidents", "k-1", BODY);
+        MockHttpServletResponse other = post("/api/students/7/interventions", "k-1", BODY);
+        assertEquals(422, other.getStatus());
+        assertTrue(other.getContentAsString().contains("different request"));
+
+        store().begin(1L, "k-busy", "some-fingerprint");
+        MockHttpServletResponse busy = post("/api/incidents", "k-busy", BODY);
+        assertEquals(409, busy.getStatus());
+
+        assertEquals(400, post("/api/incidents", " ", BODY).getStatus());
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    @DisplayName("Failed requests are not remembered, so the retry runs for real")
+    void failuresAreRetried() throws Exception {
+        nextStatus = 503;
+        assertEquals(503, post("/api/incidents", "k-1", BODY).getStatus());
+        assertEquals(0, records.count());
+
+        nextStatus = 201;
+        MockHttpServletResponse retry = post("/api/incidents", "k-1", BODY);
+        assertEquals(201, retry.getStatus());
+        assertEquals("{\"id\":2}", retry.getContentAsString());
+        assertEquals(2, writes.get());
+    }
+
+    @Test
+    @DisplayName("Incidents created through a student are covered too")
+    void coversStudentIncidents() throws Exception {
+        MockHttpServletResponse first = post("/api/students/7/incidents", "k-1", BODY);
+        MockHttpServletResponse retry = post("/api/students/7/incidents", "k-1", BODY);
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED));
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    @DisplayName("A slow request whose claim was taken over can neither overwrite nor release the new claim")
+    void takenOverClaimIsFenced() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(records, 24, 0, 100); // claims go stale at once
+        IdempotencyStore.Claim slow = store.begin(1L, "k-1", "fp").claim();
+        Thread.sleep(5);
+        IdempotencyStore.Claim retry = store.begin(1L, "k-1", "fp").claim();
+        assertEquals(slow.id(), retry.id());
+        assertNotEquals(slow.token(), retry.token());
+
+        assertFalse(store.complete(1L, "k-1", slow, "fp", 201, "application/json", "{\"id\":1}"));
+        store.release(slow);
+        assertEquals(1, records.count());
+
+        assertTrue(store.complete(1L, "k-1", retry, "fp", 201, "application/json", "{\"id\":2}"));
+        IdempotencyStore.Stored replay = store().begin(1L, "k-1", "fp").replay();
+        assertEquals("{\"id\":2}", replay.body());
+
+        // Even once the row has expired, a take-over based on a stale read of the token changes nothing
+        OffsetDateTime later = OffsetDateTime.now().plusDays(2);
+        assertEquals(0, records.takeOver(slow.id(), slow.token(), "other", "fp", later, later.plusDays(1), later));
+    }
+
+    @Test
+    @DisplayName("The query string is part of the fingerprint: same key, same body, other query is 422")
+    void queryStringFingerprinted() throws Exception {
+        assertEquals(201, post("/api/incidents", "k-q", BODY).getStatus());
+
+        MockHttpServletRequest req = request("/api/incidents", "k-q", BODY);
+        req.setQueryString("notify=false");
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        filter.doFilter(req, other, controller);
+
+        assertEquals(422, other.getStatus());
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    @DisplayName("A non-blocking reader gets the cached body through its ReadListener")
+    void readListenerGetsCachedBody() throws Exception {
+        ByteArrayOutputStream seen = new ByteArrayOutputStream();
+        AtomicInteger allRead = new AtomicInteger();
+        FilterChain async = (rq, rs) -> {
+            ServletInputStream in = rq.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buf = new byte[16];
+                    while (in.isReady() && !in.isFinished()) {
+                        int n = in.read(buf);
+                        if (n > 0) seen.write(buf, 0, n);
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+            ((HttpServletResponse) rs).setStatus(201);
+        };
+
+        filter.doFilter(request("/api/incidents", "k-async", BODY), new MockHttpServletResponse(), async);
+
+        assertEquals(BODY, seen.toString(StandardCharsets.UTF_8));
+        assertEquals(1, allRead.get());
+    }
+
+    @Test
+    @DisplayName("Requests without the header, or to other endpoints, pass straight through")
+    void passThrough() throws Exception {
+        post("/api/incidents", null, BODY);
+        post("/api/incidents", null, BODY);
+        post("/api/schools", "k-1", BODY);
+        post("/api/schools", "k-1", BODY);
+        assertEquals(4, writes.get());
+        assertEquals(0, records.count());
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private IdempotencyStore store() {
+        return new IdempotencyStore(records, 24, 60, 100);
+    }
+
+    private static MockHttpServletRequest request(String uri, String key, String body) {
+        MockHttpServletRequest req = new MockHttpServletRequest("POST", uri);
+        req.setContentType("application/json");
+        req.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) req.addHeader(IdempotencyFilter.HEADER, key);
+        return req;
+    }
+
+    private MockHttpServletResponse post(String uri, String key, String body) throws Exception {
+        MockHttpServletRequest req = request(uri, key, body);
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        try {
+            filter.doFilter(req, res, controller);
+        } catch (IOException e) {
+            fail(e);
+        }
+        return res;
+    }
+}
@@ -2,6 +2,7 @@ package io.northstar.behavior.controller;
 
 import io.northstar.behavior.dto.BehaviorCategoryDTO;
 import io.northstar.behavior.service.BehaviorCategoryService;
+import io.northstar.behavior.service.IdempotencyStore;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +32,9 @@ class BehaviorCategoryControllerTest {
     @MockBean
     BehaviorCategoryService service;
 
+    @MockBean // required by IdempotencyFilter, which the web slice picks up
+    IdempotencyStore idempotencyStore;
+
     // BehaviorCategoryDTO record: (Long id, String name, String description, String tier, String severity, Long schoolId, Long districtId)
     @Test
     @DisplayName("GET /api/behavior-categories → 200 with list of DTOs")
@@ -2,6 +2,7 @@ package io.northstar.behavior.controller;
 
 import io.northstar.behavior.dto.IncidentDTO;
 import io.northstar.behavior.dto.IncidentSummaryDTO;
+import io.northstar.behavior.service.IdempotencyStore;
 import io.northstar.behavior.service.IncidentService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +18,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,12 +36,44 @@ class IncidentControllerTest {
     @MockBean
     IncidentService service;
 
+    @MockBean // required by IdempotencyFilter, which the web slice picks up
+    IdempotencyStore idempotencyStore;
+
     static final OffsetDateTime TS = OffsetDateTime.parse("2025-03-01T09:00:00Z");
 
     private IncidentDTO dto(long id, long studentId, String category, String severity) {
         return new IncidentDTO(id, studentId, category, "desc", severity, "teacher1", TS, TS, 10L);
     }
 
+    // ---------- POST /api/incidents/batch ----------
+
+    @Test
+    @DisplayName("POST /api/incidents/batch → 201 with one incident per student")
+    void createBatch_returns201() throws Exception {
+        when(service.createBatch(any())).thenReturn(List.of(
+                dto(1L, 10L, "Disruption", "Minor"),
+                dto(2L, 11L, "Disruption", "Minor")
+        ));
+
+        mvc.perform(post("/api/incidents/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "studentIds": [10, 11],
+                                  "category": "Disruption",
+                                  "description": "desc",
+                                  "severity": "Minor",
+                                  "reportedBy": "teacher1",
+                                  "occurredAt": "2025-03-01T09:00:00Z"
+                                }
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].studentId").value(11));
+
+        verify(service).createBatch(argThat(r -> r.studentIds().equals(List.of(10L, 11L)) && TS.isEqual(r.occurredAt())));
+    }
+
     // ---------- GET /api/incidents ----------
 
     @Test
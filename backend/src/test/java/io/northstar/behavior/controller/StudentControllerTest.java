@@ -2,7 +2,15 @@ package io.northstar.behavior.controller;
 
 import io.northstar.behavior.dto.CreateStudentRequest;
 import io.northstar.behavior.dto.StudentDTO;
+import io.northstar.behavior.dto.StudentImportReportDTO;
+import io.northstar.behavior.dto.StudentImportRowDTO;
+import io.northstar.behavior.dto.StudentPageDTO;
+import io.northstar.behavior.dto.StudentRowDTO;
+import io.northstar.behavior.service.IdempotencyStore;
 import io.northstar.behavior.service.IncidentService;
+import io.northstar.behavior.service.StudentImportService;
+import io.northstar.behavior.service.StudentReportCache;
+import io.northstar.behavior.service.StudentReportService;
 import io.northstar.behavior.service.StudentService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,12 +20,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -34,9 +46,18 @@ class StudentControllerTest {
     @MockBean
     StudentService studentService;
 
+    @MockBean // required by IdempotencyFilter, which the web slice picks up
+    IdempotencyStore idempotencyStore;
+
     @MockBean
     IncidentService incidentService;
 
+    @MockBean
+    StudentImportService importService;
+
+    @MockBean
+    StudentReportService reportService;
+
     private StudentDTO dto(long id, String first, String last, String sid, String grade) {
         return new StudentDTO(id, first, last, sid, grade, List.of(), List.of(), 10L, 5L);
     }
@@ -68,6 +89,29 @@ class StudentControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    // ---------- GET /api/students/page ----------
+
+    @Test
+    @DisplayName("GET /api/students/page → slim rows; expand=history → students with histories")
+    void page_slimUnlessExpanded() throws Exception {
+        when(studentService.page(null, 2)).thenReturn(new StudentPageDTO<>(
+                List.of(new StudentRowDTO(1L, "Ada", "Lovelace", "A001", "8", 10L, 5L)), "next", 2, false));
+        when(studentService.pageWithHistory(null, 2)).thenReturn(new StudentPageDTO<>(
+                List.of(dto(1L, "Ada", "Lovelace", "A001", "8")), "next", 2, true));
+
+        mvc.perform(get("/api/students/page").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].firstName").value("Ada"))
+                .andExpect(jsonPath("$.items[0].incidents").doesNotExist())
+                .andExpect(jsonPath("$.expanded").value(false));
+
+        mvc.perform(get("/api/students/page").param("limit", "2").param("expand", "history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].incidents", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.expanded").value(true));
+    }
+
     // ---------- GET /api/students/{id} ----------
 
     @Test
@@ -145,6 +189,67 @@ class StudentControllerTest {
         verify(studentService).delete(1L);
     }
 
+    // ---------- POST /api/students/import ----------
+
+    @Test
+    @DisplayName("POST /api/students/import with text/csv → routed to the CSV importer, report returned")
+    void importCsv_returnsReport() throws Exception {
+        when(importService.importCsv(any())).thenReturn(new StudentImportReportDTO(2, 1, 1, 0, List.of(
+                new StudentImportRowDTO(1, "A001", "CREATED", null),
+                new StudentImportRowDTO(2, "A001", "DUPLICATE", "studentId repeated earlier in this import"))));
+
+        mvc.perform(post("/api/students/import")
+                        .contentType("text/csv")
+                        .content("firstName,lastName,studentId,grade,schoolId\nAda,Lovelace,A001,8,5\nAda,Lovelace,A001,8,5\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rows", hasSize(2)))
+                .andExpect(jsonPath("$.rows[1].status").value("DUPLICATE"));
+
+        verify(importService).importCsv(any());
+    }
+
+    // ---------- GET /api/students/{id}/report ----------
+
+    @Test
+    @DisplayName("GET /api/students/{id}/report → PDF written into the response stream, with its ETag")
+    void report_streamsPdf() throws Exception {
+        StudentReportCache.Key key = new StudentReportCache.Key(1L, 10L, java.time.LocalDate.of(2025, 1, 1), null, "v1");
+        when(reportService.reportKey(eq(1L), eq(10L), any(), any())).thenReturn(key);
+        doAnswer(inv -> {
+            inv.<OutputStream>getArgument(1).write("%PDF-stub".getBytes());
+            return null;
+        }).when(reportService).writeReport(eq(key), any());
+
+        MvcResult started = mvc.perform(get("/api/students/1/report")
+                        .header("X-District-Id", "10")
+                        .param("from", "2025-01-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/pdf"))
+                .andExpect(header().string("ETag", key.etag()))
+                .andExpect(content().string("%PDF-stub"));
+        verify(reportService).reportKey(1L, 10L, java.time.LocalDate.of(2025, 1, 1), null);
+    }
+
+    @Test
+    @DisplayName("GET /api/students/{id}/report with a matching If-None-Match → 304, nothing rendered")
+    void report_notModified() throws Exception {
+        StudentReportCache.Key key = new StudentReportCache.Key(1L, 10L, null, null, "v1");
+        when(reportService.reportKey(eq(1L), eq(10L), any(), any())).thenReturn(key);
+
+        mvc.perform(get("/api/students/1/report")
+                        .header("X-District-Id", "10")
+                        .header("If-None-Match", key.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", key.etag()));
+
+        verify(reportService, never()).writeReport(any(), any());
+    }
+
     // ---------- student-scoped incidents ----------
 
     @Test
@@ -0,0 +1,153 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Admin unread counter and notification projections")
+class AdminUnreadCounterRepositoryTest {
+
+    @Autowired AdminUnreadCounterRepository counters;
+    @Autowired AdminNotificationRepository notifications;
+    @Autowired EntityManager em;
+
+    Admin admin;
+    Student student;
+    Incident incident;
+    EscalationRules rules;
+
+    @BeforeEach
+    void setUp() {
+        District d = new District();
+        d.setDistrictName("Counter USD");
+        em.persist(d);
+
+        School school = new School();
+        school.setSchoolName("Counter High");
+        school.setDistrict(d);
+        em.persist(school);
+
+        admin = new Admin();
+        admin.setFirstName("Ada");
+        admin.setLastName("Admin");
+        admin.setEmail("ada@example.com");
+        admin.setUserName("ada");
+        admin.setPasswordHash("x");
+        admin.setPermissionTag("ADMIN");
+        admin.setDistrict(d);
+        admin.setSchool(school);
+        em.persist(admin);
+
+        student = new Student();
+        student.setFirstName("Maya");
+        student.setLastName("Cole");
+        student.setStudentId("S-1");
+        student.setGrade("9");
+        student.setDistrict(d);
+        student.setSchool(school);
+        em.persist(student);
+
+        incident = new Incident();
+        incident.setStudent(student);
+        incident.setCategory("Disruption");
+        incident.setDescription("talking");
+        incident.setSeverity("Minor");
+        incident.setReportedBy("T. Smith");
+        incident.setOccurredAt(OffsetDateTime.now());
+        incident.setCreatedAt(OffsetDateTime.now());
+        incident.setDistrict(d);
+        incident.setSchool(school);
+        em.persist(incident);
+
+        rules = new EscalationRules();
+        rules.setDistrict(d);
+        rules.setSchool(school);
+        rules.setTier1WindowDays(14);
+        rules.setReviewEveryDays(10);
+        rules.setSameCautionDetentionThreshold(4);
+        rules.setMixedCautionDetentionThreshold(6);
+        rules.setSameCautionTier2Threshold(8);
+        rules.setDetentionLabel("Saturday detention");
+        rules.setDetentionDurationDays(1);
+        rules.setTier2Label("Escalate to Tier 2");
+        rules.setTier2DurationDays(10);
+        rules.setTier1MajorToTier2(1);
+        rules.setTier2NoResponseCount(3);
+        rules.setTier2MajorToTier3(2);
+        rules.setRequireParentContact(true);
+        rules.setRequireAdminApproval(false);
+        rules.setNotifyRoles("Admin");
+        rules.setDecayCount(1);
+        rules.setDecayDays(4);
+        em.persist(rules);
+        em.flush();
+    }
+
+    @Test
+    @DisplayName("Seed counts existing unread rows and is a no-op the second time")
+    void seedIsIdempotent() {
+        notify("one");
+        notify("two");
+        em.flush();
+
+        counters.seed(admin.getId());
+        counters.seed(admin.getId());
+        counters.incrementAll(List.of(admin.getId()));
+        counters.decrement(admin.getId());
+        em.clear();
+
+        assertEquals(2, counters.findById(admin.getId()).orElseThrow().getUnreadCount());
+        assertEquals(List.of(admin.getId()), counters.findExistingAdminIds(List.of(admin.getId(), -1L)));
+    }
+
+    @Test
+    @DisplayName("Decrement never goes below zero")
+    void decrementFloorsAtZero() {
+        counters.seed(admin.getId());
+        counters.decrement(admin.getId());
+        em.clear();
+
+        assertEquals(0, counters.findById(admin.getId()).orElseThrow().getUnreadCount());
+    }
+
+    @Test
+    @DisplayName("Unread projection maps straight to DTOs, with the shared message text")
+    void unreadProjection() {
+        AdminNotification n = notify("threshold reached");
+        em.flush();
+        em.clear();
+
+        var rows = notifications.unreadForAdmin(admin.getId());
+        assertEquals(1, rows.size());
+        assertEquals(n.getId(), rows.get(0).id());
+        assertEquals("Maya Cole", rows.get(0).studentName());
+        assertEquals("Escalate to Tier 2", rows.get(0).ruleName());
+        assertEquals("threshold reached", rows.get(0).message());
+        OffsetDateTime createdAt = notifications.createdAtOf(n.getId(), admin.getId()).orElseThrow();
+        assertEquals(rows, notifications.unreadSince(admin.getId(), createdAt));
+        assertTrue(notifications.unreadSince(admin.getId(), createdAt.plusSeconds(1)).isEmpty());
+        assertTrue(notifications.createdAtOf(n.getId(), -1L).isEmpty());
+    }
+
+    private AdminNotification notify(String text) {
+        NotificationMessage m = new NotificationMessage(text);
+        em.persist(m);
+        AdminNotification n = new AdminNotification(admin, student, incident, rules, m);
+        em.persist(n);
+        return n;
+    }
+}
@@ -0,0 +1,142 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.District;
+import io.northstar.behavior.model.Incident;
+import io.northstar.behavior.model.School;
+import io.northstar.behavior.model.Student;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Same-category threshold check: windowed COUNT vs. the old full-history scan, as one
+ * student's history grows. Opt-in: {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Benchmark — same-category threshold query vs. history size")
+class IncidentThresholdQueryBenchmarkTest {
+
+    static final int[] HISTORY_SIZES = { 100, 1_000, 10_000, 50_000 };
+    static final int RUNS = 40;
+    static final int WINDOW_DAYS = 14;
+
+    @Autowired IncidentRepository incidents;
+    @Autowired DistrictRepository districts;
+    @Autowired SchoolRepository schools;
+    @Autowired StudentRepository students;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired EntityManager em;
+
+    @Test
+    @DisplayName("Windowed count stays flat while the full scan grows with history")
+    void windowedCountIsFlat() {
+        Student s = seedStudent();
+        // A handful of recent incidents; everything else is older history
+        insertIncidents(s, 6, 1);
+
+        long[] countNanos = new long[HISTORY_SIZES.length];
+        long[] scanNanos = new long[HISTORY_SIZES.length];
+        int inserted = 6;
+
+        System.out.printf("%n%10s %14s %14s%n", "history", "count (us)", "scan (us)");
+        for (int n = 0; n < HISTORY_SIZES.length; n++) {
+            insertIncidents(s, HISTORY_SIZES[n] - inserted, 60);
+            inserted = HISTORY_SIZES[n];
+
+            OffsetDateTime cutoff = OffsetDateTime.now().minusDays(WINDOW_DAYS);
+            long expected = fullScan(s.getId(), "Disruption", cutoff);
+            assertEquals(expected, incidents.countSameCategorySince(s.getId(), "disruption", cutoff));
+
+            countNanos[n] = median(() -> incidents.countSameCategorySince(s.getId(), "Disruption", cutoff));
+            scanNanos[n] = median(() -> fullScan(s.getId(), "Disruption", cutoff));
+            System.out.printf("%10d %14d %14d%n", inserted, countNanos[n] / 1_000, scanNanos[n] / 1_000);
+        }
+
+        long smallest = countNanos[0];
+        long largest = countNanos[HISTORY_SIZES.length - 1];
+        assertTrue(largest <= Math.max(smallest * 3, smallest + 2_000_000),
+                "windowed count should not grow with history: " + smallest + "ns → " + largest + "ns");
+        assertTrue(largest < scanNanos[HISTORY_SIZES.length - 1],
+                "windowed count should beat the full scan on a long history");
+    }
+
+    // The pre-change implementation: load the whole history and filter in Java
+    private long fullScan(Long studentId, String category, OffsetDateTime cutoff) {
+        long count = 0;
+        for (Incident i : incidents.findByStudentIdOrderByOccurredAtDesc(studentId)) {
+            if (i.getOccurredAt().isBefore(cutoff)) break;
+            if (i.getCategory().equalsIgnoreCase(category)) count++;
+        }
+        em.clear();
+        return count;
+    }
+
+    private long median(Runnable r) {
+        for (int i = 0; i < 5; i++) r.run(); // warm-up
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long t0 = System.nanoTime();
+            r.run();
+            samples[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    private Student seedStudent() {
+        District d = new District();
+        d.setDistrictName("Bench USD");
+        d = districts.save(d);
+
+        School school = new School();
+        school.setSchoolName("Bench High");
+        school.setDistrict(d);
+        school = schools.save(school);
+
+        Student s = new Student();
+        s.setFirstName("Long");
+        s.setLastName("History");
+        s.setStudentId("BENCH-1");
+        s.setGrade("10");
+        s.setDistrict(d);
+        s.setSchool(school);
+        s = students.save(s);
+        em.flush();
+        return s;
+    }
+
+    // Inserts `count` incidents starting `minDaysAgo` back, one per hour, alternating categories
+    private void insertIncidents(Student s, int count, int minDaysAgo) {
+        OffsetDateTime start = OffsetDateTime.now().minusDays(minDaysAgo);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Timestamp at = Timestamp.from(start.minusHours(i).toInstant());
+            rows.add(new Object[] {
+                    s.getId(), (i % 2 == 0) ? "Disruption" : "Tardy", "bench", "Minor", "Bench Teacher",
+                    at, at, s.getDistrict().getDistrictId(), s.getSchool().getSchoolId()
+            });
+        }
+        jdbc.batchUpdate("""
+                insert into incidents (student_id, category, description, severity, reported_by,
+                                       occurred_at, created_at, district_id, school_id)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+    }
+}
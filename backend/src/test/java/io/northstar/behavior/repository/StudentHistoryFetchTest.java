@@ -0,0 +1,144 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.*;
+import io.northstar.behavior.service.StudentServiceImpl;
+import io.northstar.behavior.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Statement counts for mapping a whole roster must not grow with the number of students
+ * (up to the batch size). Counts come from Hibernate statistics, so a regression back to
+ * one SELECT per collection per student shows up as a count that scales with N.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Student histories — bounded statement count")
+class StudentHistoryFetchTest {
+
+    @Autowired StudentRepository students;
+    @Autowired DistrictRepository districts;
+    @Autowired SchoolRepository schools;
+    @Autowired IncidentRepository incidents;
+    @Autowired InterventionRepository interventions;
+    @Autowired EntityManager em;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Walking lazy histories of a loaded roster costs the same for 3 and 40 students")
+    void lazyWalkIsBatched() {
+        long few = statements(seed(3), districtId -> walk(students.findByDistrict_DistrictId(districtId)));
+        long many = statements(seed(40), districtId -> walk(students.findByDistrict_DistrictId(districtId)));
+
+        assertEquals(few, many);
+        assertEquals(3, many); // students, incidents batch, interventions batch
+    }
+
+    @Test
+    @DisplayName("StudentService.findAll maps the roster with histories in a constant number of statements")
+    void serviceFindAll() {
+        StudentServiceImpl service = new StudentServiceImpl(students, districts, schools, incidents, interventions,
+                mock(ApplicationEventPublisher.class));
+
+        long few = statements(seed(3), districtId -> {
+            TenantContext.setDistrictId(districtId);
+            assertEquals(3, service.findAll().size());
+        });
+        long many = statements(seed(40), districtId -> {
+            TenantContext.setDistrictId(districtId);
+            assertEquals(40, service.findAll().size());
+        });
+
+        assertEquals(few, many);
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private long statements(Long districtId, Consumer<Long> work) {
+        em.flush();
+        em.clear();
+        Statistics stats = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        stats.clear();
+        work.accept(districtId);
+        return stats.getPrepareStatementCount();
+    }
+
+    private void walk(List<Student> roster) {
+        for (Student s : roster) {
+            s.getIncidents().size();
+            s.getInterventions().size();
+        }
+    }
+
+    // A district with n students, each with two incidents and one intervention
+    private Long seed(int n) {
+        District d = new District();
+        d.setDistrictName("Fetch USD " + n);
+        em.persist(d);
+
+        School school = new School();
+        school.setSchoolName("Fetch High " + n);
+        school.setDistrict(d);
+        em.persist(school);
+
+        for (int k = 0; k < n; k++) {
+            Student s = new Student();
+            s.setFirstName("F" + k);
+            s.setLastName("L" + k);
+            s.setStudentId("N" + n + "-" + k);
+            s.setGrade("9");
+            s.setDistrict(d);
+            s.setSchool(school);
+            em.persist(s);
+
+            for (int j = 0; j < 2; j++) {
+                Incident i = new Incident();
+                i.setStudent(s);
+                i.setCategory("Tardy");
+                i.setDescription("fetch");
+                i.setSeverity("Minor");
+                i.setReportedBy("tsmith");
+                i.setOccurredAt(OffsetDateTime.now().minusDays(j));
+                i.setCreatedAt(OffsetDateTime.now());
+                i.setDistrict(d);
+                i.setSchool(school);
+                em.persist(i);
+            }
+
+            Intervention iv = new Intervention();
+            iv.setStudent(s);
+            iv.setTier("Tier 2");
+            iv.setStrategy("Check-in");
+            iv.setDescription("fetch");
+            iv.setAssignedBy("tsmith");
+            iv.setReportedBy("tsmith");
+            iv.setStartDate(LocalDate.now());
+            iv.setCreatedAt(OffsetDateTime.now());
+            iv.setDistrict(d);
+            em.persist(iv);
+        }
+        return d.getDistrictId();
+    }
+}
@@ -0,0 +1,181 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.dto.ReportIncidentLineDTO;
+import io.northstar.behavior.dto.ReportInterventionLineDTO;
+import io.northstar.behavior.model.District;
+import io.northstar.behavior.model.Incident;
+import io.northstar.behavior.model.Intervention;
+import io.northstar.behavior.model.School;
+import io.northstar.behavior.model.Student;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Student report data for one quarter: date-bounded projections vs. the old path that loaded
+ * both full histories as entities and filtered them in Java, as the student's history grows
+ * from one to five school years. Opt-in: {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Benchmark — student report queries vs. history length")
+class StudentReportQueryBenchmarkTest {
+
+    static final int YEARS = 5;
+    static final int INCIDENTS_PER_YEAR = 1_500;    // a heavy but real caseload: ~8 per school day
+    static final int INTERVENTIONS_PER_YEAR = 50;
+    static final int RUNS = 40;
+
+    // The report window: the most recent quarter, which is what counselors print
+    static final LocalDate TODAY = LocalDate.of(2030, 6, 1);
+    static final LocalDate FROM = TODAY.minusDays(90);
+
+    @Autowired IncidentRepository incidents;
+    @Autowired InterventionRepository interventions;
+    @Autowired DistrictRepository districts;
+    @Autowired SchoolRepository schools;
+    @Autowired StudentRepository students;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired EntityManager em;
+
+    @Test
+    @DisplayName("Projection cost stays flat over a 5-year history while the full-history path grows")
+    void projectionIsFlat() {
+        Student s = seedStudent();
+        List<Long> ids = List.of(s.getId());
+        OffsetDateTime from = FROM.atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime to = TODAY.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+
+        long[] projectionNanos = new long[YEARS];
+        long[] fullNanos = new long[YEARS];
+
+        System.out.printf("%n%6s %10s %16s %16s%n", "years", "rows", "projection (us)", "full (us)");
+        for (int y = 0; y < YEARS; y++) {
+            // Year 0 ends today; each further year is older history outside the window
+            insertYear(s, TODAY.minusYears(y));
+
+            int expected = fullPath(s.getId());
+            int actual = incidents.reportLinesForStudents(ids, from, to).size()
+                    + interventions.reportLinesForStudents(ids, FROM, TODAY).size();
+            assertEquals(expected, actual, "both paths must print the same lines");
+
+            projectionNanos[y] = median(() -> {
+                List<ReportIncidentLineDTO> inc = incidents.reportLinesForStudents(ids, from, to);
+                List<ReportInterventionLineDTO> ivs = interventions.reportLinesForStudents(ids, FROM, TODAY);
+                return inc.size() + ivs.size();
+            });
+            fullNanos[y] = median(() -> fullPath(s.getId()));
+            System.out.printf("%6d %10d %16d %16d%n", y + 1, (y + 1) * (INCIDENTS_PER_YEAR + INTERVENTIONS_PER_YEAR),
+                    projectionNanos[y] / 1_000, fullNanos[y] / 1_000);
+        }
+
+        long first = projectionNanos[0];
+        long last = projectionNanos[YEARS - 1];
+        assertTrue(last <= Math.max(first * 3, first + 2_000_000),
+                "projection should not grow with history: " + first + "ns → " + last + "ns");
+        assertTrue(last < fullNanos[YEARS - 1], "projection should beat the full-history path on 5 years");
+    }
+
+    // The pre-change report path: both histories as entities, filtered by date in Java
+    private int fullPath(Long studentId) {
+        List<Incident> inc = incidents.findByStudentIdOrderByOccurredAtDesc(studentId).stream()
+                .filter(i -> {
+                    LocalDate d = i.getOccurredAt().atZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+                    return !d.isBefore(FROM) && !d.isAfter(TODAY);
+                })
+                .toList();
+        List<Intervention> ivs = interventions.findByStudent_IdOrderByStartDateDesc(studentId).stream()
+                .filter(iv -> !iv.getStartDate().isBefore(FROM) && !iv.getStartDate().isAfter(TODAY))
+                .toList();
+        em.clear();
+        return inc.size() + ivs.size();
+    }
+
+    private long median(IntSupplier r) {
+        for (int i = 0; i < 50; i++) r.getAsInt(); // warm-up (JIT and H2 caches)
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long t0 = System.nanoTime();
+            r.getAsInt();
+            samples[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    private Student seedStudent() {
+        District d = new District();
+        d.setDistrictName("Bench USD");
+        d = districts.save(d);
+
+        School school = new School();
+        school.setSchoolName("Bench High");
+        school.setDistrict(d);
+        school = schools.save(school);
+
+        Student s = new Student();
+        s.setFirstName("Five");
+        s.setLastName("Years");
+        s.setStudentId("BENCH-5Y");
+        s.setGrade("12");
+        s.setDistrict(d);
+        s.setSchool(school);
+        s = students.save(s);
+        em.flush();
+        return s;
+    }
+
+    // One school year of history ending on `end`, spread evenly across its 365 days
+    private void insertYear(Student s, LocalDate end) {
+        Long districtId = s.getDistrict().getDistrictId();
+        List<Object[]> incidentRows = new ArrayList<>(INCIDENTS_PER_YEAR);
+        for (int i = 0; i < INCIDENTS_PER_YEAR; i++) {
+            Timestamp at = Timestamp.from(end.minusDays(i * 365L / INCIDENTS_PER_YEAR)
+                    .atTime(9 + i % 7, 15).toInstant(ZoneOffset.UTC));
+            incidentRows.add(new Object[] {
+                    s.getId(), (i % 3 == 0) ? "Disruption" : "Tardy", "bench history " + i, "Minor", "Bench Teacher",
+                    at, at, districtId, s.getSchool().getSchoolId()
+            });
+        }
+        jdbc.batchUpdate("""
+                insert into incidents (student_id, category, description, severity, reported_by,
+                                       occurred_at, created_at, district_id, school_id)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, incidentRows);
+
+        List<Object[]> interventionRows = new ArrayList<>(INTERVENTIONS_PER_YEAR);
+        for (int i = 0; i < INTERVENTIONS_PER_YEAR; i++) {
+            LocalDate start = end.minusDays(i * 365L / INTERVENTIONS_PER_YEAR);
+            interventionRows.add(new Object[] {
+                    s.getId(), districtId, "Tier " + (1 + i % 3), "Check-in/Check-out", "Bench Counselor",
+                    "Bench Counselor", "bench plan " + i, Date.valueOf(start), Date.valueOf(start.plusDays(30)),
+                    Timestamp.from(start.atStartOfDay().toInstant(ZoneOffset.UTC))
+            });
+        }
+        jdbc.batchUpdate("""
+                insert into interventions (student_id, district_id, tier, strategy, assigned_by,
+                                           reported_by, description, start_date, end_date, created_at)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, interventionRows);
+    }
+}
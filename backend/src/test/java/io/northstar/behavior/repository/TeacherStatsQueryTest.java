@@ -0,0 +1,138 @@
+package io.northstar.behavior.repository;
+
+import io.northstar.behavior.model.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Teacher caution stats — one query for the district")
+class TeacherStatsQueryTest {
+
+    @Autowired TeacherRepository teachers;
+    @Autowired IncidentRepository incidents;
+    @Autowired EntityManager em;
+
+    District district;
+    School school;
+    Teacher smith, lee, idle;
+    Student maya, omar;
+
+    @BeforeEach
+    void setUp() {
+        district = new District();
+        district.setDistrictName("Stats USD");
+        em.persist(district);
+
+        school = new School();
+        school.setSchoolName("Stats High");
+        school.setDistrict(district);
+        em.persist(school);
+
+        smith = teacher("Tom", "Smith", "tsmith");
+        lee = teacher("Rae", "Lee", "rlee");
+        idle = teacher("Ida", "Quiet", "iquiet");
+        maya = student("Maya", "Cole", "S-1");
+        omar = student("Omar", "Diaz", "S-2");
+
+        // smith: 3 Disruption, 1 Tardy; maya 3, omar 1
+        incident(maya, "Disruption", "tsmith");
+        incident(maya, "Disruption", "tsmith");
+        incident(maya, "Tardy", "tsmith");
+        incident(omar, "Disruption", "tsmith");
+        // lee: Defiance 2, omar 2
+        incident(omar, "Defiance", "rlee");
+        incident(omar, "Defiance", "rlee");
+        em.flush();
+    }
+
+    @Test
+    @DisplayName("Matches the per-teacher queries for every teacher, including ones with no incidents")
+    void matchesPerTeacherQueries() {
+        List<Object[]> rows = teachers.cautionStatsForDistrict(district.getDistrictId());
+
+        assertEquals(3, rows.size());
+        for (Object[] r : rows) {
+            String userName = (String) r[3];
+            long total = incidents.countByReportedBy(userName);
+            assertEquals(total, ((Number) r[4]).longValue(), userName + " total");
+
+            List<Object[]> cats = incidents.topCategoriesForTeacher(userName);
+            assertEquals(cats.isEmpty() ? null : cats.get(0)[0], r[5], userName + " top category");
+            assertEquals(cats.isEmpty() ? 0L : ((Number) cats.get(0)[1]).longValue(), ((Number) r[6]).longValue());
+
+            List<Object[]> studs = incidents.topStudentsForTeacher(userName);
+            Long expectedStudent = studs.isEmpty() ? null : ((Number) studs.get(0)[0]).longValue();
+            assertEquals(expectedStudent, (r[7] != null) ? ((Number) r[7]).longValue() : null, userName + " top student");
+            assertEquals(studs.isEmpty() ? 0L : ((Number) studs.get(0)[3]).longValue(), ((Number) r[10]).longValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Spot check: names and counts land in the right columns")
+    void spotCheck() {
+        Object[] s = teachers.cautionStatsForDistrict(district.getDistrictId()).stream()
+                .filter(r -> "tsmith".equals(r[3])).findFirst().orElseThrow();
+
+        assertEquals(4L, ((Number) s[4]).longValue());
+        assertEquals("Disruption", s[5]);
+        assertEquals(3L, ((Number) s[6]).longValue());
+        assertEquals(maya.getId(), ((Number) s[7]).longValue());
+        assertEquals("Maya", s[8]);
+        assertEquals("Cole", s[9]);
+        assertEquals(3L, ((Number) s[10]).longValue());
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private Teacher teacher(String first, String last, String userName) {
+        Teacher t = new Teacher();
+        t.setFirstName(first);
+        t.setLastName(last);
+        t.setEmail(userName + "@example.com");
+        t.setUserName(userName);
+        t.setPasswordHash("x");
+        t.setDistrict(district);
+        t.setSchool(school);
+        em.persist(t);
+        return t;
+    }
+
+    private Student student(String first, String last, String number) {
+        Student s = new Student();
+        s.setFirstName(first);
+        s.setLastName(last);
+        s.setStudentId(number);
+        s.setGrade("9");
+        s.setDistrict(district);
+        s.setSchool(school);
+        em.persist(s);
+        return s;
+    }
+
+    private void incident(Student student, String category, String reportedBy) {
+        Incident i = new Incident();
+        i.setStudent(student);
+        i.setCategory(category);
+        i.setDescription("stats");
+        i.setSeverity("Minor");
+        i.setReportedBy(reportedBy);
+        i.setOccurredAt(OffsetDateTime.now());
+        i.setCreatedAt(OffsetDateTime.now());
+        i.setDistrict(district);
+        i.setSchool(school);
+        em.persist(i);
+    }
+}
@@ -0,0 +1,202 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.model.*;
+import io.northstar.behavior.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The SQL GROUP BY path must produce exactly what the old in-memory aggregation over
+ * Incident entities produced, with days cut in the district's zone. Runs without a
+ * wrapping transaction because rollup rebuilds commit on their own.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({IncidentRollupServiceImpl.class, DistrictDayBoundaries.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("AnalyticsService — incident summary aggregation")
+class AnalyticsServiceImplTest {
+
+    private static final ZoneId CHICAGO = ZoneId.of("America/Chicago");
+
+    @Autowired IncidentRollupServiceImpl rollups;
+    @Autowired DistrictDayBoundaries days;
+    @Autowired IncidentDailyRollupRepository rollupRepo;
+    @Autowired IncidentRepository incidents;
+    @Autowired DistrictRepository districts;
+    @Autowired SchoolRepository schools;
+    @Autowired StudentRepository students;
+
+    School school;
+    Student student;
+
+    @BeforeEach
+    void setUp() {
+        District d = new District();
+        d.setDistrictName("Summary USD " + System.nanoTime());
+        d.setTimeZone(CHICAGO.getId());
+        d = districts.save(d);
+
+        School s = new School();
+        s.setSchoolName("Summary High");
+        s.setDistrict(d);
+        school = schools.save(s);
+
+        Student st = new Student();
+        st.setFirstName("Sam");
+        st.setLastName("Ruiz");
+        st.setStudentId("S-1");
+        st.setGrade("10");
+        st.setDistrict(d);
+        st.setSchool(school);
+        student = students.save(st);
+    }
+
+    @Test
+    @DisplayName("GROUP BY aggregates match the in-memory aggregation, including late-evening incidents")
+    void aggregatesMatchJavaAggregation() {
+        LocalDate start = LocalDate.of(2026, 3, 1);
+        LocalDate end = LocalDate.of(2026, 3, 20);
+        seed(start, end);
+
+        Map<String, Object> sql = service(false).incidentSummary(school.getSchoolId(), start, end);
+
+        assertEquals(normalize(javaAggregation(start, end)), normalize(sql));
+        assertTrue((int) sql.get("totalIncidents") > 0);
+    }
+
+    @Test
+    @DisplayName("Rollup-backed summary matches the GROUP BY summary")
+    void rollupsMatchAggregates() {
+        LocalDate start = LocalDate.of(2026, 3, 1);
+        LocalDate end = LocalDate.of(2026, 3, 20);
+        seed(start, end);
+
+        Map<String, Object> sql = service(false).incidentSummary(school.getSchoolId(), start, end);
+        Map<String, Object> rolled = service(true).incidentSummary(school.getSchoolId(), start, end);
+
+        assertEquals(normalize(sql), normalize(rolled));
+    }
+
+    @Test
+    @DisplayName("Days are cut in the district zone, not UTC")
+    void bucketsInDistrictZone() {
+        // 03:30 UTC on the 6th is still the evening of the 5th in Chicago
+        incident(OffsetDateTime.of(2026, 3, 6, 3, 30, 0, 0, ZoneOffset.UTC), "Tardy", "Minor");
+
+        Map<String, Object> sql = service(false).incidentSummary(
+                school.getSchoolId(), LocalDate.of(2026, 3, 5), LocalDate.of(2026, 3, 6));
+
+        List<?> byDay = (List<?>) sql.get("byDay");
+        assertEquals(Map.of("date", "2026-03-05", "count", 1), byDay.get(0));
+        assertEquals(Map.of("date", "2026-03-06", "count", 0), byDay.get(1));
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private AnalyticsServiceImpl service(boolean rollupsEnabled) {
+        return new AnalyticsServiceImpl(rollupRepo, rollups, schools, incidents, days, rollupsEnabled);
+    }
+
+    // Spread across the range and a few days either side, with mixed-case categories and times around midnight
+    private void seed(LocalDate start, LocalDate end) {
+        String[] categories = { "Tardy", "tardy", "Disruption", "Defiance" };
+        String[] severities = { "Minor", "Major", "minor" };
+        OffsetDateTime t = start.minusDays(3).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+        OffsetDateTime stop = end.plusDays(3).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+        int i = 0;
+        while (t.isBefore(stop)) {
+            incident(t, categories[i % categories.length], severities[i % severities.length]);
+            t = t.plusHours(5).plusMinutes(13);
+            i++;
+        }
+        // Exactly on the lower bound, which is inclusive
+        incident(start.atStartOfDay(CHICAGO).toOffsetDateTime(), "Tardy", "Minor");
+    }
+
+    // What the service did before: load the entities, then bucket and count in Java
+    private Map<String, Object> javaAggregation(LocalDate s, LocalDate e) {
+        OffsetDateTime from = s.atStartOfDay(CHICAGO).toOffsetDateTime();
+        OffsetDateTime to = e.plusDays(1).atStartOfDay(CHICAGO).toOffsetDateTime();
+
+        Map<LocalDate, Integer> byDate = new TreeMap<>();
+        Map<String, Integer> byCategory = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, Integer> bySeverity = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        int total = 0;
+        for (Incident i : incidents.findBySchoolAndOccurredAtBetween(school, from, to)) {
+            if (!i.getOccurredAt().isBefore(to)) continue;
+            byDate.merge(i.getOccurredAt().atZoneSameInstant(CHICAGO).toLocalDate(), 1, Integer::sum);
+            if (i.getCategory() != null) byCategory.merge(i.getCategory(), 1, Integer::sum);
+            if (i.getSeverity() != null) bySeverity.merge(i.getSeverity(), 1, Integer::sum);
+            total++;
+        }
+
+        List<Map<String, Object>> byDay = new ArrayList<>();
+        for (LocalDate d = s; !d.isAfter(e); d = d.plusDays(1)) {
+            byDay.add(Map.of("date", d.toString(), "count", byDate.getOrDefault(d, 0)));
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("totalIncidents", total);
+        out.put("byDay", byDay);
+        out.put("byCategory", byCategory);
+        out.put("bySeverity", bySeverity);
+        return out;
+    }
+
+    // Case-insensitive keys keep whichever spelling was seen first, which depends on row order
+    private Map<String, Object> normalize(Map<String, Object> summary) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("totalIncidents", summary.get("totalIncidents"));
+        List<Map<?, ?>> byDay = new ArrayList<>();
+        for (Object row : (List<?>) summary.get("byDay")) byDay.add(new HashMap<>((Map<?, ?>) row));
+        out.put("byDay", byDay);
+        out.put("byCategory", lowerKeys(summary.get("byCategory"), "category"));
+        out.put("bySeverity", lowerKeys(summary.get("bySeverity"), "severity"));
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Integer> lowerKeys(Object value, String keyField) {
+        Map<String, Integer> out = new TreeMap<>();
+        if (value instanceof Map<?, ?> m) {
+            m.forEach((k, v) -> out.put(((String) k).toLowerCase(), (Integer) v));
+        } else {
+            for (Object row : (List<?>) value) {
+                Map<String, Object> r = (Map<String, Object>) row;
+                out.put(((String) r.get(keyField)).toLowerCase(), (Integer) r.get("count"));
+            }
+        }
+        return out;
+    }
+
+    private void incident(OffsetDateTime at, String category, String severity) {
+        Incident i = new Incident();
+        i.setStudent(student);
+        i.setCategory(category);
+        i.setDescription("summary");
+        i.setSeverity(severity);
+        i.setReportedBy("T. Smith");
+        i.setOccurredAt(at);
+        i.setCreatedAt(at);
+        i.setDistrict(school.getDistrict());
+        i.setSchool(school);
+        incidents.save(i);
+    }
+}
@@ -0,0 +1,88 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.model.District;
+import io.northstar.behavior.model.School;
+import io.northstar.behavior.repository.DistrictRepository;
+import io.northstar.behavior.repository.SchoolRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DistrictDayBoundaries — per-district day bucketing")
+class DistrictDayBoundariesTest {
+
+    private static final Long DISTRICT_ID = 7L;
+    private static final Long SCHOOL_ID = 70L;
+
+    DistrictRepository districtRepo;
+    SchoolRepository schoolRepo;
+    DistrictDayBoundaries days;
+    District district;
+
+    @BeforeEach
+    void setUp() {
+        districtRepo = mock(DistrictRepository.class);
+        schoolRepo = mock(SchoolRepository.class);
+        days = new DistrictDayBoundaries(districtRepo, schoolRepo, 10);
+
+        district = new District();
+        district.setDistrictId(DISTRICT_ID);
+        district.setTimeZone("America/New_York");
+        when(districtRepo.findById(DISTRICT_ID)).thenReturn(Optional.of(district));
+
+        School school = new School();
+        school.setDistrict(district);
+        when(schoolRepo.findById(SCHOOL_ID)).thenReturn(Optional.of(school));
+    }
+
+    @Test
+    @DisplayName("Same instant lands on the district's day regardless of the offset it was written with")
+    void dayOfUsesDistrictZone() {
+        OffsetDateTime lateEvening = OffsetDateTime.parse("2026-11-03T03:30:00Z"); // 22:30 on the 2nd in New York
+        assertEquals(LocalDate.of(2026, 11, 2), days.dayOf(DISTRICT_ID, lateEvening));
+        assertEquals(LocalDate.of(2026, 11, 2),
+                days.dayOf(DISTRICT_ID, lateEvening.withOffsetSameInstant(ZoneOffset.ofHours(9))));
+    }
+
+    @Test
+    @DisplayName("Day boundaries follow DST: the fall-back day is 25 hours long")
+    void boundariesFollowDst() {
+        OffsetDateTime start = days.startOfDay(DISTRICT_ID, LocalDate.of(2026, 11, 1));
+        OffsetDateTime end = days.startOfDay(DISTRICT_ID, LocalDate.of(2026, 11, 2));
+        assertEquals(Duration.ofHours(25), Duration.between(start, end));
+        assertEquals(-4, start.getOffset().getTotalSeconds() / 3600);
+        assertEquals(-5, end.getOffset().getTotalSeconds() / 3600);
+    }
+
+    @Test
+    @DisplayName("Zones are cached per district and school, and dropped on eviction")
+    void cachesAndEvicts() {
+        days.zone(DISTRICT_ID);
+        days.zoneForSchool(SCHOOL_ID);
+        days.zoneForSchool(SCHOOL_ID);
+        verify(districtRepo, times(1)).findById(DISTRICT_ID);
+        verify(schoolRepo, times(1)).findById(SCHOOL_ID);
+
+        district.setTimeZone("America/Los_Angeles");
+        days.evictAfterCommit(DISTRICT_ID); // no transaction: evicts now
+        assertEquals(ZoneId.of("America/Los_Angeles"), days.zoneForSchool(SCHOOL_ID));
+    }
+
+    @Test
+    @DisplayName("Districts without a zone fall back to the server zone")
+    void fallsBackToServerZone() {
+        district.setTimeZone(null);
+        assertEquals(ZoneId.systemDefault(), days.zone(DISTRICT_ID));
+        assertEquals(ZoneId.systemDefault(), days.zone(null));
+    }
+}
@@ -0,0 +1,127 @@
+package io.northstar.behavior.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.northstar.behavior.dto.DistrictEscalationAlertDTO;
+import io.northstar.behavior.dto.StudentEscalationStatusDTO;
+import io.northstar.behavior.model.District;
+import io.northstar.behavior.model.School;
+import io.northstar.behavior.repository.DistrictRepository;
+import io.northstar.behavior.repository.SchoolRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DistrictEscalationService — parallel sweep")
+class DistrictEscalationServiceImplTest {
+
+    static final Long DISTRICT_ID = 1L;
+
+    DistrictRepository districtRepo;
+    SchoolRepository schoolRepo;
+    EscalationEvaluationService evaluationService;
+    ExecutorService executor;
+    SimpleMeterRegistry meters;
+    DistrictEscalationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        districtRepo = mock(DistrictRepository.class);
+        schoolRepo = mock(SchoolRepository.class);
+        evaluationService = mock(EscalationEvaluationService.class);
+        executor = Executors.newFixedThreadPool(3);
+        meters = new SimpleMeterRegistry();
+        service = new DistrictEscalationServiceImpl(districtRepo, schoolRepo, evaluationService, executor, meters);
+
+        when(districtRepo.existsById(DISTRICT_ID)).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Merges every school's alerts into one list ranked by effective count")
+    void mergesAndRanks() {
+        when(schoolRepo.findByDistrict_DistrictId(DISTRICT_ID))
+                .thenReturn(List.of(school(10L, "North"), school(20L, "South"), school(30L, "East")));
+        when(evaluationService.evaluateStudents(10L)).thenReturn(List.of(
+                new StudentEscalationStatusDTO(1L, "Ann Lee", 4, "CAUTION")));
+        when(evaluationService.evaluateStudents(20L)).thenReturn(List.of(
+                new StudentEscalationStatusDTO(2L, "Bo Park", 7, "ESCALATED"),
+                new StudentEscalationStatusDTO(3L, "Cy Diaz", 4, "CAUTION")));
+        when(evaluationService.evaluateStudents(30L)).thenReturn(List.of());
+
+        List<DistrictEscalationAlertDTO> result = service.evaluateDistrict(DISTRICT_ID);
+
+        assertEquals(3, result.size());
+        assertEquals(2L, result.get(0).studentId());
+        assertEquals("South", result.get(0).schoolName());
+        // ties broken by school, then student
+        assertEquals(1L, result.get(1).studentId());
+        assertEquals(10L, result.get(1).schoolId());
+        assertEquals(3L, result.get(2).studentId());
+    }
+
+    @Test
+    @DisplayName("Schools are evaluated on the executor, with one timer per school")
+    void runsOnExecutorAndRecordsTimers() {
+        when(schoolRepo.findByDistrict_DistrictId(DISTRICT_ID))
+                .thenReturn(List.of(school(10L, "North"), school(20L, "South")));
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(evaluationService.evaluateStudents(anyLong())).thenAnswer(inv -> {
+            threads.add(Thread.currentThread().getName());
+            return List.of();
+        });
+
+        service.evaluateDistrict(DISTRICT_ID);
+
+        assertFalse(threads.contains(Thread.currentThread().getName()), "work should leave the caller thread");
+        for (String schoolId : List.of("10", "20")) {
+            assertEquals(1, meters.get(DistrictEscalationServiceImpl.SCHOOL_TIMER)
+                    .tag("school", schoolId).timer().count());
+        }
+        assertEquals(1, meters.get(DistrictEscalationServiceImpl.SWEEP_TIMER)
+                .tag("district", "1").timer().count());
+    }
+
+    @Test
+    @DisplayName("A failing school fails the sweep rather than silently dropping its alerts")
+    void schoolFailure_propagates() {
+        when(schoolRepo.findByDistrict_DistrictId(DISTRICT_ID))
+                .thenReturn(List.of(school(10L, "North"), school(20L, "South")));
+        when(evaluationService.evaluateStudents(10L)).thenReturn(List.of());
+        when(evaluationService.evaluateStudents(20L)).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> service.evaluateDistrict(DISTRICT_ID));
+    }
+
+    @Test
+    @DisplayName("Unknown district → 404")
+    void unknownDistrict() {
+        when(districtRepo.existsById(99L)).thenReturn(false);
+        assertThrows(ResponseStatusException.class, () -> service.evaluateDistrict(99L));
+        verifyNoInteractions(evaluationService);
+    }
+
+    private School school(Long id, String name) {
+        District d = new District();
+        d.setDistrictId(DISTRICT_ID);
+        School s = new School();
+        s.setSchoolId(id);
+        s.setSchoolName(name);
+        s.setDistrict(d);
+        return s;
+    }
+}
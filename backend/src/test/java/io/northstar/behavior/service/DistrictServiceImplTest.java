@@ -0,0 +1,70 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.DistrictDTO;
+import io.northstar.behavior.model.District;
+import io.northstar.behavior.repository.DistrictRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DistrictService — time zone validation")
+class DistrictServiceImplTest {
+
+    DistrictRepository repo;
+    DistrictDayBoundaries days;
+    DistrictServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(DistrictRepository.class);
+        days = mock(DistrictDayBoundaries.class);
+        service = new DistrictServiceImpl(repo, days);
+        when(repo.save(any(District.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"America/Chicago", " Europe/London ", "UTC"})
+    @DisplayName("Region ids are accepted and stored trimmed")
+    void regionIdsAccepted(String zone) {
+        DistrictDTO saved = service.create(new DistrictDTO(null, "Lakeside", zone));
+
+        assertEquals(zone.trim(), saved.timeZone());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"+05:00", "Z", "-0600", "UTC+5", "GMT-06:00", "UT+01:00"})
+    @DisplayName("Fixed offsets, bare or prefixed, are rejected")
+    void offsetsRejected(String zone) {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.create(new DistrictDTO(null, "Lakeside", zone)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verify(repo, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("An offset on update is rejected before the district changes or the day cache is evicted")
+    void offsetRejectedOnUpdate() {
+        District d = new District();
+        d.setDistrictId(4L);
+        d.setDistrictName("Lakeside");
+        d.setTimeZone("America/Chicago");
+        when(repo.findById(4L)).thenReturn(Optional.of(d));
+
+        assertThrows(ResponseStatusException.class,
+                () -> service.update(4L, new DistrictDTO(null, null, "UTC-6")));
+
+        assertEquals("America/Chicago", d.getTimeZone());
+        verifyNoInteractions(days);
+    }
+}
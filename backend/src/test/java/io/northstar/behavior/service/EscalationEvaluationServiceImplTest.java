@@ -1,5 +1,6 @@
 package io.northstar.behavior.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.northstar.behavior.dto.StudentEscalationStatusDTO;
 import io.northstar.behavior.model.*;
 import io.northstar.behavior.repository.*;
@@ -35,6 +36,7 @@ class EscalationEvaluationServiceImplTest {
     EscalationRulesRepository rulesRepo;
     SchoolRepository      schoolRepo;
     InterventionRepository interventionRepo;
+    CalendarClosureRepository closureRepo;
 
     EscalationEvaluationServiceImpl service;
 
@@ -45,6 +47,9 @@ class EscalationEvaluationServiceImplTest {
     School         school;
     EscalationRules rules;
 
+    // Rows served by the school-wide latest-intervention query: (studentId, createdAt)
+    List<Object[]> latestInterventions = new ArrayList<>();
+
     @BeforeEach
     void setUp() {
         studentRepo      = mock(StudentRepository.class);
@@ -52,9 +57,14 @@ class EscalationEvaluationServiceImplTest {
         rulesRepo        = mock(EscalationRulesRepository.class);
         schoolRepo       = mock(SchoolRepository.class);
         interventionRepo = mock(InterventionRepository.class);
+        closureRepo      = mock(CalendarClosureRepository.class);
 
         service = new EscalationEvaluationServiceImpl(
-                studentRepo, incidentRepo, rulesRepo, schoolRepo, interventionRepo);
+                studentRepo, incidentRepo, new EscalationRulesCache(rulesRepo, new SimpleMeterRegistry(), 10),
+                schoolRepo, interventionRepo,
+                new EscalationStateStore(5),
+                new SchoolCalendarServiceImpl(closureRepo, mock(DistrictRepository.class),
+                        new DistrictDayBoundaries(mock(DistrictRepository.class), schoolRepo, 10), 60));
 
         district = new District();
         district.setDistrictId(DISTRICT_ID);
@@ -71,8 +81,8 @@ class EscalationEvaluationServiceImplTest {
         when(rulesRepo.findByDistrict_DistrictIdAndSchool_SchoolId(DISTRICT_ID, SCHOOL_ID))
                 .thenReturn(Optional.of(rules));
         // Default: no existing interventions
-        when(interventionRepo.existsByStudent_IdAndCreatedAtAfter(anyLong(), any()))
-                .thenReturn(false);
+        when(interventionRepo.latestCreatedAtByStudentForSchool(eq(SCHOOL_ID), any()))
+                .thenAnswer(inv -> latestInterventions);
     }
 
     // ── 1. No rules → empty ──────────────────────────────────────────────────
@@ -144,6 +154,22 @@ class EscalationEvaluationServiceImplTest {
         assertEquals("ESCALATED", result.get(0).status());
     }
 
+    @Test
+    @DisplayName("Escalated threshold below caution (3 < 4) → 3 incidents still flagged ESCALATED")
+    void escalatedBelowCaution_stillFlagged() {
+        rules = buildRules(14, 4, 4, 1, 3);
+        when(rulesRepo.findByDistrict_DistrictIdAndSchool_SchoolId(DISTRICT_ID, SCHOOL_ID))
+                .thenReturn(Optional.of(rules));
+        Student s = student(5L, "Erin", "Gray");
+        when(studentRepo.findBySchool_SchoolId(SCHOOL_ID)).thenReturn(List.of(s));
+        stubIncidents(incidents(s, 3, daysAgo(1)));
+
+        List<StudentEscalationStatusDTO> result = service.evaluateStudents(SCHOOL_ID);
+
+        assertEquals(1, result.size());
+        assertEquals("ESCALATED", result.get(0).status());
+    }
+
     // ── 6. Already disciplined → skipped ─────────────────────────────────────
 
     @Test
@@ -152,7 +178,7 @@ class EscalationEvaluationServiceImplTest {
         Student s = student(5L, "Eve", "Green");
         when(studentRepo.findBySchool_SchoolId(SCHOOL_ID)).thenReturn(List.of(s));
         stubIncidents(incidents(s, 5, daysAgo(1)));
-        when(interventionRepo.existsByStudent_IdAndCreatedAtAfter(eq(5L), any())).thenReturn(true);
+        interventionAt(5L, OffsetDateTime.now());
 
         assertTrue(service.evaluateStudents(SCHOOL_ID).isEmpty());
     }
@@ -206,6 +232,9 @@ class EscalationEvaluationServiceImplTest {
         Student s = student(8L, "Henry", "Adams");
         when(studentRepo.findBySchool_SchoolId(SCHOOL_ID)).thenReturn(List.of(s));
 
+        // The six incidents span ~16 calendar days, so widen the window to keep them all in it
+        rules.setTier1WindowDays(21);
+
         // 9 weekdays back expressed as calendar days
         stubIncidents(incidents(s, 6, weekdaysBack(9)));
 
@@ -217,6 +246,29 @@ class EscalationEvaluationServiceImplTest {
         assertEquals(4, result.get(0).effectiveCautionCount());
     }
 
+    @Test
+    @DisplayName("District closures (holidays/breaks) do not count toward decay")
+    void closureDaysNotCountedInDecay() {
+        Student s = student(18L, "Nora", "Finch");
+        when(studentRepo.findBySchool_SchoolId(SCHOOL_ID)).thenReturn(List.of(s));
+        rules.setTier1WindowDays(21);
+        stubIncidents(incidents(s, 6, weekdaysBack(9)));
+
+        // A break covering everything since the incidents → no instructional days elapsed
+        CalendarClosure winterBreak = new CalendarClosure();
+        winterBreak.setDistrict(district);
+        winterBreak.setStartDate(LocalDate.now().minusDays(20));
+        winterBreak.setEndDate(LocalDate.now());
+        winterBreak.setLabel("Winter break");
+        when(closureRepo.findByDistrict_DistrictIdOrderByStartDateAsc(DISTRICT_ID)).thenReturn(List.of(winterBreak));
+
+        List<StudentEscalationStatusDTO> result = service.evaluateStudents(SCHOOL_ID);
+
+        assertEquals(1, result.size());
+        assertEquals("ESCALATED", result.get(0).status());
+        assertEquals(6, result.get(0).effectiveCautionCount(), "No decay while school is closed");
+    }
+
     // ── 10. Zero decay when incident is today ────────────────────────────────
 
     @Test
@@ -277,7 +329,7 @@ class EscalationEvaluationServiceImplTest {
 
         // All handled students have an intervention after their last incident
         for (Long hid : handledIds) {
-            when(interventionRepo.existsByStudent_IdAndCreatedAtAfter(eq(hid), any())).thenReturn(true);
+            interventionAt(hid, OffsetDateTime.now());
         }
         // Marcus Reed has NO intervention (default mock is false)
 
@@ -310,7 +362,7 @@ class EscalationEvaluationServiceImplTest {
         all.addAll(incidents(handled,   5, daysAgo(1)));
         stubIncidents(all);
 
-        when(interventionRepo.existsByStudent_IdAndCreatedAtAfter(eq(23L), any())).thenReturn(true);
+        interventionAt(23L, OffsetDateTime.now());
 
         List<StudentEscalationStatusDTO> result = service.evaluateStudents(SCHOOL_ID);
 
@@ -327,6 +379,32 @@ class EscalationEvaluationServiceImplTest {
         assertEquals(7, eResult.effectiveCautionCount());
     }
 
+    // ── 13. Query count does not grow with alerting students ──────────────────
+
+    @Test
+    @DisplayName("60 students over threshold → one intervention query for the whole school, no per-student probes")
+    void manyAlertingStudents_constantQueryCount() {
+        List<Student> students = new ArrayList<>();
+        List<Incident> all = new ArrayList<>();
+        for (long id = 300L; id < 360L; id++) {
+            Student s = student(id, "Student", "N" + id);
+            students.add(s);
+            all.addAll(incidents(s, 5, daysAgo(1)));
+            if (id % 2 == 0) interventionAt(id, OffsetDateTime.now());
+        }
+        when(studentRepo.findBySchool_SchoolId(SCHOOL_ID)).thenReturn(students);
+        stubIncidents(all);
+
+        List<StudentEscalationStatusDTO> result = service.evaluateStudents(SCHOOL_ID);
+
+        assertEquals(30, result.size());
+        verify(interventionRepo, times(1)).latestCreatedAtByStudentForSchool(eq(SCHOOL_ID), any());
+        verify(incidentRepo, times(1))
+                .findBySchool_SchoolIdAndOccurredAtAfterOrderByOccurredAtDesc(eq(SCHOOL_ID), any());
+        verify(studentRepo, times(1)).findBySchool_SchoolId(SCHOOL_ID);
+        verifyNoMoreInteractions(interventionRepo, incidentRepo, studentRepo);
+    }
+
     // ── helpers ───────────────────────────────────────────────────────────────
 
     private Student student(Long id, String first, String last) {
@@ -367,6 +445,10 @@ class EscalationEvaluationServiceImplTest {
         return list;
     }
 
+    private void interventionAt(Long studentId, OffsetDateTime createdAt) {
+        latestInterventions.add(new Object[]{studentId, createdAt});
+    }
+
     private void stubIncidents(List<Incident> list) {
         when(incidentRepo.findBySchool_SchoolIdAndOccurredAtAfterOrderByOccurredAtDesc(
                 eq(SCHOOL_ID), any()))
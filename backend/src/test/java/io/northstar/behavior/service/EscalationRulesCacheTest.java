@@ -0,0 +1,95 @@
+package io.northstar.behavior.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.northstar.behavior.model.EscalationRules;
+import io.northstar.behavior.repository.EscalationRulesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("EscalationRulesCache — resolved rules per school")
+class EscalationRulesCacheTest {
+
+    static final Long DISTRICT_ID = 1L;
+
+    EscalationRulesRepository repo;
+    SimpleMeterRegistry meters;
+    EscalationRulesCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(EscalationRulesRepository.class);
+        meters = new SimpleMeterRegistry();
+        cache = new EscalationRulesCache(repo, meters, 10);
+    }
+
+    @Test
+    @DisplayName("Second read is served from memory and counted as a hit")
+    void cachesResolvedRules() {
+        when(repo.findByDistrict_DistrictIdAndSchool_SchoolId(DISTRICT_ID, 10L)).thenReturn(Optional.of(rules(5L, 14)));
+
+        assertEquals(14, cache.resolve(DISTRICT_ID, 10L).orElseThrow().tier1WindowDays());
+        assertEquals(14, cache.resolve(DISTRICT_ID, 10L).orElseThrow().tier1WindowDays());
+
+        verify(repo, times(1)).findByDistrict_DistrictIdAndSchool_SchoolId(DISTRICT_ID, 10L);
+        assertEquals(1.0, counter("hit"));
+        assertEquals(1.0, counter("miss"));
+    }
+
+    @Test
+    @DisplayName("Falls back to the district default, and caches 'no rules' as well")
+    void fallbackAndNegativeCaching() {
+        when(repo.findByDistrict_DistrictIdAndSchool_SchoolId(DISTRICT_ID, 10L)).thenReturn(Optional.empty());
+        when(repo.findByDistrict_DistrictIdAndSchoolIsNull(DISTRICT_ID)).thenReturn(Optional.of(rules(7L, 21)));
+        when(repo.findByDistrict_DistrictIdAndSchool_SchoolId(2L, 20L)).thenReturn(Optional.empty());
+        when(repo.findByDistrict_DistrictIdAndSchoolIsNull(2L)).thenReturn(Optional.empty());
+
+        EffectiveEscalationRules r = cache.resolve(DISTRICT_ID, 10L).orElseThrow();
+        assertEquals(7L, r.rulesId());
+        assertNull(r.schoolId(), "district default has no school");
+
+        assertTrue(cache.resolve(2L, 20L).isEmpty());
+        assertTrue(cache.resolve(2L, 20L).isEmpty());
+        verify(repo, times(1)).findByDistrict_DistrictIdAndSchoolIsNull(2L);
+    }
+
+    @Test
+    @DisplayName("Eviction drops one school; a district-default eviction drops the whole district")
+    void eviction() {
+        when(repo.findByDistrict_DistrictIdAndSchool_SchoolId(eq(DISTRICT_ID), anyLong())).thenReturn(Optional.of(rules(5L, 14)));
+        cache.resolve(DISTRICT_ID, 10L);
+        cache.resolve(DISTRICT_ID, 11L);
+
+        cache.evictAfterCommit(DISTRICT_ID, 10L); // no transaction → immediate
+        cache.resolve(DISTRICT_ID, 10L);
+        cache.resolve(DISTRICT_ID, 11L);
+        verify(repo, times(2)).findByDistrict_DistrictIdAndSchool_SchoolId(DISTRICT_ID, 10L);
+        verify(repo, times(1)).findByDistrict_DistrictIdAndSchool_SchoolId(DISTRICT_ID, 11L);
+
+        cache.evictAfterCommit(DISTRICT_ID, null);
+        cache.resolve(DISTRICT_ID, 11L);
+        verify(repo, times(2)).findByDistrict_DistrictIdAndSchool_SchoolId(DISTRICT_ID, 11L);
+    }
+
+    private double counter(String result) {
+        return meters.get(EscalationRulesCache.METRIC).tag("result", result).counter().count();
+    }
+
+    private EscalationRules rules(Long id, int windowDays) {
+        EscalationRules r = new EscalationRules();
+        r.setId(id);
+        r.setTier1WindowDays(windowDays);
+        r.setSameCautionDetentionThreshold(4);
+        r.setMixedCautionDetentionThreshold(6);
+        r.setDecayCount(1);
+        r.setDecayDays(4);
+        r.setDetentionLabel("Saturday detention");
+        r.setTier2Label("Escalate to Tier 2");
+        return r;
+    }
+}
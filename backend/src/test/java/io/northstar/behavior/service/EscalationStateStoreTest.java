@@ -0,0 +1,179 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.event.IncidentDeletedEvent;
+import io.northstar.behavior.event.IncidentRecordedEvent;
+import io.northstar.behavior.event.StudentDeletedEvent;
+import io.northstar.behavior.service.EscalationStateStore.SchoolWindow;
+import io.northstar.behavior.service.EscalationStateStore.StudentWindowSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EscalationStateStore — running per-school windows")
+class EscalationStateStoreTest {
+
+    static final Long SCHOOL_ID = 1L;
+    static final OffsetDateTime NOW = OffsetDateTime.parse("2025-03-14T12:00:00Z");
+
+    @Test
+    @DisplayName("Incidents at or before the window start age out when read, and the student leaves the candidates")
+    void agesOut() {
+        SchoolWindow w = new SchoolWindow(14, 3);
+        w.record(7L, 1L, NOW.minusDays(13), "Ana Ruiz");
+        w.record(7L, 2L, NOW.minusDays(5), "Ana Ruiz");
+        w.record(7L, 3L, NOW.minusDays(1), "Ana Ruiz");
+
+        List<StudentWindowSnapshot> now = w.candidates(NOW.minusDays(14));
+        assertEquals(1, now.size());
+        assertEquals(3, now.get(0).windowCount());
+        assertEquals(NOW.minusDays(1), now.get(0).lastIncidentAt());
+
+        // Two days later the oldest incident has left the window
+        assertTrue(w.candidates(NOW.plusDays(2).minusDays(14)).isEmpty());
+
+        // A new incident brings the student back, counted from the two that remain
+        w.record(7L, 4L, NOW.plusDays(2), null);
+        List<StudentWindowSnapshot> later = w.candidates(NOW.plusDays(2).minusDays(14));
+        assertEquals(3, later.get(0).windowCount());
+        assertEquals("Ana Ruiz", later.get(0).studentName());
+    }
+
+    @Test
+    @DisplayName("Events for an unseeded school are ignored; after seeding, a replayed incident is not counted twice")
+    void eventsVersusSeed() {
+        EscalationStateStore store = new EscalationStateStore(5);
+
+        // Committed before anyone evaluated the school: no window yet, the seed will read it from the database
+        store.onIncidentRecorded(recorded(1L, NOW.minusDays(1)));
+
+        SchoolWindow w = store.window(SCHOOL_ID, 14, 2, () -> {
+            SchoolWindow seeded = new SchoolWindow(14, 2);
+            seeded.record(7L, 1L, NOW.minusDays(1), "Ana Ruiz");
+            return seeded;
+        });
+        assertTrue(w.candidates(NOW.minusDays(14)).isEmpty());
+
+        // The same incident arriving again after the seed (event delivered late) is a no-op
+        store.onIncidentRecorded(recorded(1L, NOW.minusDays(1)));
+        assertTrue(w.candidates(NOW.minusDays(14)).isEmpty());
+
+        store.onIncidentRecorded(recorded(2L, NOW));
+        assertEquals(2, w.candidates(NOW.minusDays(14)).get(0).windowCount());
+
+        store.onIncidentDeleted(deleted(2L, NOW));
+        assertTrue(w.candidates(NOW.minusDays(14)).isEmpty());
+
+        store.onIncidentRecorded(recorded(3L, NOW));
+        store.onStudentDeleted(new StudentDeletedEvent(7L, 1L, SCHOOL_ID));
+        assertTrue(w.candidates(NOW.minusDays(14)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A window is reused until its TTL passes or the rules change, then re-seeded")
+    void reseeds() throws InterruptedException {
+        AtomicInteger seeds = new AtomicInteger();
+        Supplier<SchoolWindow> seed = () -> {
+            seeds.incrementAndGet();
+            return new SchoolWindow(14, 3);
+        };
+
+        EscalationStateStore store = new EscalationStateStore(5);
+        SchoolWindow first = store.window(SCHOOL_ID, 14, 3, seed);
+        assertSame(first, store.window(SCHOOL_ID, 14, 3, seed));
+        assertEquals(1, seeds.get());
+
+        assertNotSame(first, store.window(SCHOOL_ID, 14, 4, seed));
+        assertNotSame(first, store.window(SCHOOL_ID, 21, 4, seed));
+        assertEquals(3, seeds.get());
+
+        EscalationStateStore expiring = new EscalationStateStore(0);
+        SchoolWindow stale = expiring.window(SCHOOL_ID, 14, 3, seed);
+        Thread.sleep(5);
+        assertNotSame(stale, expiring.window(SCHOOL_ID, 14, 3, seed));
+        assertEquals(5, seeds.get());
+    }
+
+    @Test
+    @DisplayName("An incident committed while the seed query runs is replayed into the new window")
+    void eventDuringSeed() {
+        EscalationStateStore store = new EscalationStateStore(5);
+
+        SchoolWindow w = store.window(SCHOOL_ID, 14, 2, () -> {
+            SchoolWindow seeded = new SchoolWindow(14, 2);
+            seeded.record(7L, 1L, NOW.minusDays(1), "Ana Ruiz");
+            // Commits after the query read: the seeded rows don't include it
+            store.onIncidentRecorded(recorded(2L, NOW));
+            return seeded;
+        });
+
+        List<StudentWindowSnapshot> candidates = w.candidates(NOW.minusDays(14));
+        assertEquals(1, candidates.size());
+        assertEquals(2, candidates.get(0).windowCount());
+    }
+
+    @Test
+    @DisplayName("A delete during the seed wins over the seeded row and over its own record event arriving late")
+    void deleteDuringSeed() {
+        EscalationStateStore store = new EscalationStateStore(5);
+
+        SchoolWindow w = store.window(SCHOOL_ID, 14, 2, () -> {
+            SchoolWindow seeded = new SchoolWindow(14, 2);
+            seeded.record(7L, 1L, NOW.minusDays(2), "Ana Ruiz");
+            seeded.record(7L, 2L, NOW.minusDays(1), "Ana Ruiz");
+            store.onIncidentDeleted(deleted(2L, NOW.minusDays(1)));   // the seed had already read it
+            store.onIncidentDeleted(deleted(3L, NOW));
+            store.onIncidentRecorded(recorded(3L, NOW));               // delivered after its delete
+            return seeded;
+        });
+
+        assertTrue(w.candidates(NOW.minusDays(14)).isEmpty());
+        store.onIncidentRecorded(recorded(4L, NOW));
+        assertEquals(2, w.candidates(NOW.minusDays(14)).get(0).windowCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent evaluations of one school share a single seed")
+    void concurrentSeedsShareOne() throws Exception {
+        EscalationStateStore store = new EscalationStateStore(5);
+        AtomicInteger seeds = new AtomicInteger();
+        CountDownLatch inSeed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<SchoolWindow> seed = () -> {
+            seeds.incrementAndGet();
+            inSeed.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new SchoolWindow(14, 3);
+        };
+
+        CompletableFuture<SchoolWindow> first = CompletableFuture.supplyAsync(() -> store.window(SCHOOL_ID, 14, 3, seed));
+        assertTrue(inSeed.await(5, TimeUnit.SECONDS));
+        CompletableFuture<SchoolWindow> second = CompletableFuture.supplyAsync(() -> store.window(SCHOOL_ID, 14, 3, seed));
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, seeds.get());
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private static IncidentRecordedEvent recorded(Long incidentId, OffsetDateTime at) {
+        return new IncidentRecordedEvent(incidentId, 1L, SCHOOL_ID, 7L, "9", "Disruption", "Minor", "tsmith", at);
+    }
+
+    private static IncidentDeletedEvent deleted(Long incidentId, OffsetDateTime at) {
+        return new IncidentDeletedEvent(incidentId, 1L, SCHOOL_ID, 7L, "9", "Disruption", "Minor", "tsmith", at);
+    }
+}
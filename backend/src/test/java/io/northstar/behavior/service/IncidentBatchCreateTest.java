@@ -0,0 +1,226 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.CreateIncidentBatchRequest;
+import io.northstar.behavior.dto.IncidentDTO;
+import io.northstar.behavior.event.IncidentsRecordedEvent;
+import io.northstar.behavior.model.*;
+import io.northstar.behavior.repository.*;
+import io.northstar.behavior.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The rollup and cube listeners are the real beans. The test transaction never commits, so
+ * their BEFORE_COMMIT hooks would not fire; the publisher calls them inline instead, inside the
+ * same transaction, and their statements land in the same count.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({IncidentRollupServiceImpl.class, IncidentCubeServiceImpl.class, DistrictDayBoundaries.class})
+@DisplayName("IncidentService.createBatch — one incident for many students")
+class IncidentBatchCreateTest {
+
+    static final OffsetDateTime ASSEMBLY = OffsetDateTime.parse("2025-03-14T10:30:00-05:00");
+
+    @Autowired IncidentRepository incidents;
+    @Autowired StudentRepository students;
+    @Autowired TeacherRepository teachers;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired IncidentRollupServiceImpl rollups;
+    @Autowired IncidentCubeServiceImpl cube;
+    @Autowired IncidentRollupStatusRepository rollupStatus;
+    @Autowired IncidentCubeStatusRepository cubeStatus;
+    @Autowired EntityManager em;
+
+    List<Object> published = new ArrayList<>();
+    IncidentService service;
+    District district;
+    School school;
+    List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ApplicationEventPublisher events = e -> {
+            published.add(e);
+            if (e instanceof IncidentsRecordedEvent batch) {
+                rollups.onIncidentsRecorded(batch);
+                cube.onIncidentsRecorded(batch);
+            }
+        };
+        service = new IncidentServiceImpl(incidents, students, teachers, events, jdbc);
+
+        district = new District();
+        district.setDistrictName("Batch USD");
+        em.persist(district);
+        school = new School();
+        school.setSchoolName("Batch Middle");
+        school.setDistrict(district);
+        em.persist(school);
+        for (int i = 0; i < 30; i++) ids.add(student(district, school, "B-" + i).getId());
+        // Built, so the listeners maintain them (and their zones are cached)
+        OffsetDateTime now = OffsetDateTime.now();
+        rollupStatus.save(new IncidentRollupStatus(school.getSchoolId(), rollups.zone(school.getSchoolId()).getId(), now));
+        cubeStatus.save(new IncidentCubeStatus(district.getDistrictId(), cube.zone(district.getDistrictId()).getId(), now));
+        em.flush();
+        TenantContext.setDistrictId(district.getDistrictId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Thirty students: one student query, ids returned in request order, one event for the batch")
+    void createsAll() {
+        List<Long> requested = new ArrayList<>(ids);
+        Collections.reverse(requested);
+        requested.add(requested.get(0)); // a double click on the same name is one incident
+
+        Statistics stats = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        stats.clear();
+        List<IncidentDTO> created = service.createBatch(request(requested));
+        // The student lookup (the inserts are one JDBC batch), then for the rollup bucket and the
+        // cube cell each: lock, status probe, update that misses, insert
+        assertEquals(1 + 4 + 4, stats.getPrepareStatementCount());
+
+        assertEquals(30, created.size());
+        for (int i = 0; i < 30; i++) assertEquals(requested.get(i), created.get(i).studentId());
+        assertEquals(30, created.stream().map(IncidentDTO::id).distinct().count());
+
+        em.clear();
+        for (IncidentDTO dto : created) {
+            Incident saved = incidents.findById(dto.id()).orElseThrow();
+            assertEquals(dto.studentId(), saved.getStudentId());
+            assertEquals("Disruption", saved.getCategory());
+            assertEquals(school.getSchoolId(), saved.getSchool().getSchoolId());
+            assertEquals(district.getDistrictId(), saved.getDistrict().getDistrictId());
+            assertTrue(ASSEMBLY.isEqual(saved.getOccurredAt()));
+        }
+        assertEquals(1, published.size());
+        assertEquals(30, ((IncidentsRecordedEvent) published.get(0)).incidents().size());
+        assertEquals(30, rollupCount());
+        assertEquals(30, cubeCount());
+    }
+
+    @Test
+    @DisplayName("Listener cost does not grow with the batch: one lock, probe and write per bucket and cell")
+    void listenerCostIsPerKey() {
+        service.createBatch(request(ids.subList(0, 2)));
+        em.flush();
+
+        Statistics stats = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        stats.clear();
+        service.createBatch(request(ids.subList(2, 5)));
+        long few = stats.getPrepareStatementCount();
+        stats.clear();
+        service.createBatch(request(ids.subList(5, 30)));
+        long many = stats.getPrepareStatementCount();
+
+        assertEquals(few, many);
+        assertEquals(1 + 3 + 3, many); // students; lock, probe and update for the bucket and the cell
+        assertEquals(30, rollupCount());
+        assertEquals(30, cubeCount());
+    }
+
+    @Test
+    @DisplayName("Any student outside the district fails the whole batch with 404 and inserts nothing")
+    void foreignStudentRejected() {
+        District other = new District();
+        other.setDistrictName("Other USD");
+        em.persist(other);
+        School otherSchool = new School();
+        otherSchool.setSchoolName("Other Middle");
+        otherSchool.setDistrict(other);
+        em.persist(otherSchool);
+        Long stranger = student(other, otherSchool, "X-1").getId();
+        em.flush();
+
+        List<Long> requested = new ArrayList<>(ids.subList(0, 5));
+        requested.add(stranger);
+        requested.add(987_654L);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> service.createBatch(request(requested)));
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+        assertTrue(e.getReason().contains(String.valueOf(stranger)));
+        assertTrue(e.getReason().contains("987654"));
+        assertEquals(0, jdbc.queryForObject("select count(*) from incidents where district_id = ?",
+                Long.class, district.getDistrictId()));
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Empty, oversized or incomplete requests are 400s")
+    void badRequests() {
+        assertStatus(HttpStatus.BAD_REQUEST, request(List.of()));
+
+        List<Long> tooMany = new ArrayList<>();
+        for (long i = 1; i <= IncidentServiceImpl.MAX_BATCH + 1; i++) tooMany.add(i);
+        assertStatus(HttpStatus.BAD_REQUEST, request(tooMany));
+
+        assertStatus(HttpStatus.BAD_REQUEST,
+                new CreateIncidentBatchRequest(ids, "Disruption", "loud", " ", "tsmith", ASSEMBLY));
+
+        TenantContext.clear();
+        assertStatus(HttpStatus.UNAUTHORIZED, request(ids));
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private long rollupCount() {
+        em.flush();
+        return jdbc.queryForObject("select coalesce(sum(incident_count), 0) from incident_daily_rollups where school_id = ?",
+                Long.class, school.getSchoolId());
+    }
+
+    private long cubeCount() {
+        em.flush();
+        return jdbc.queryForObject("select coalesce(sum(incident_count), 0) from incident_cube_cells where district_id = ?",
+                Long.class, district.getDistrictId());
+    }
+
+    private void assertStatus(HttpStatus expected, CreateIncidentBatchRequest req) {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> service.createBatch(req));
+        assertEquals(expected, e.getStatusCode());
+    }
+
+    private static CreateIncidentBatchRequest request(List<Long> studentIds) {
+        return new CreateIncidentBatchRequest(studentIds, "Disruption", "talking during the assembly",
+                "Minor", "tsmith", ASSEMBLY);
+    }
+
+    private Student student(District d, School sc, String number) {
+        Student s = new Student();
+        s.setFirstName("First" + number);
+        s.setLastName("Last" + number);
+        s.setStudentId(number);
+        s.setGrade("7");
+        s.setDistrict(d);
+        s.setSchool(sc);
+        em.persist(s);
+        return s;
+    }
+}
@@ -0,0 +1,256 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.CubeFilter;
+import io.northstar.behavior.dto.CubeRowDTO;
+import io.northstar.behavior.dto.CubeSliceDTO;
+import io.northstar.behavior.event.IncidentDeletedEvent;
+import io.northstar.behavior.event.IncidentRecordedEvent;
+import io.northstar.behavior.event.StudentUpdatedEvent;
+import io.northstar.behavior.model.*;
+import io.northstar.behavior.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against H2 without a wrapping test transaction: rebuilds use their own
+ * transaction and must see committed incidents. Each test works in a fresh district.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({IncidentCubeServiceImpl.class, DistrictAnalyticsServiceImpl.class, DistrictDayBoundaries.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("IncidentCubeService — district weekly cube")
+class IncidentCubeServiceImplTest {
+
+    private static final ZoneId CHICAGO = ZoneId.of("America/Chicago");
+
+    @Autowired IncidentCubeServiceImpl cube;
+    @Autowired DistrictAnalyticsServiceImpl analytics;
+    @Autowired IncidentCubeCellRepository cells;
+    @Autowired IncidentRepository incidents;
+    @Autowired DistrictRepository districts;
+    @Autowired SchoolRepository schools;
+    @Autowired StudentRepository students;
+    @Autowired PlatformTransactionManager txManager;
+
+    District district;
+    School north, south;
+    Student ninth, tenth;
+
+    @BeforeEach
+    void setUp() {
+        District d = new District();
+        d.setDistrictName("Cube USD " + System.nanoTime());
+        d.setTimeZone(CHICAGO.getId());
+        district = districts.save(d);
+
+        north = school("North High");
+        south = school("South High");
+        ninth = student(north, "N-1", "9");
+        tenth = student(south, "S-1", "10");
+    }
+
+    @Test
+    @DisplayName("Rebuild matches a direct count of the incidents, cell by cell")
+    void rebuildMatchesIncidents() {
+        seed();
+
+        var result = cube.rebuild(district.getDistrictId());
+
+        assertEquals(24, result.incidents());
+        assertTrue(cube.isBuilt(district.getDistrictId()));
+        assertEquals(expectedCells(), actualCells());
+    }
+
+    @Test
+    @DisplayName("Creates and deletes adjust cells once the district is built")
+    void incrementalMaintenance() {
+        cube.rebuild(district.getDistrictId());
+
+        Incident a = incident(ninth, OffsetDateTime.now(), "Disruption", "Minor", "T. Smith");
+        cube.onIncidentRecorded(IncidentRecordedEvent.of(a));
+        Incident b = incident(tenth, OffsetDateTime.now(), "Tardy", "Minor", "R. Lee");
+        cube.onIncidentRecorded(IncidentRecordedEvent.of(b));
+        assertEquals(expectedCells(), actualCells());
+
+        incidents.deleteById(a.getId());
+        cube.onIncidentDeleted(IncidentDeletedEvent.of(a));
+        assertEquals(expectedCells(), actualCells());
+
+        incidents.deleteById(b.getId());
+        cube.onIncidentDeleted(IncidentDeletedEvent.of(b));
+        assertTrue(actualCells().isEmpty(), "empty cells are removed");
+    }
+
+    @Test
+    @DisplayName("A grade change marks the district for rebuild; name-only edits don't")
+    void gradeChangeInvalidates() {
+        cube.rebuild(district.getDistrictId());
+
+        cube.onStudentUpdated(new StudentUpdatedEvent(ninth.getId(), district.getDistrictId(),
+                north.getSchoolId(), "Nia", "Ray", false));
+        assertTrue(cube.isBuilt(district.getDistrictId()));
+
+        cube.onStudentUpdated(new StudentUpdatedEvent(ninth.getId(), district.getDistrictId(),
+                north.getSchoolId(), "Nia", "Ray", true));
+        assertFalse(cube.isBuilt(district.getDistrictId()));
+    }
+
+    @Test
+    @DisplayName("A first build waits for a writer that is still committing, so its incident is counted once")
+    void firstBuildWaitsForWriters() throws Exception {
+        CountDownLatch adjusted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(txManager).executeWithoutResult(tx -> {
+                    Incident a = incident(ninth, OffsetDateTime.now(), "Disruption", "Minor", "T. Smith");
+                    cube.onIncidentRecorded(IncidentRecordedEvent.of(a));
+                    adjusted.countDown();
+                    await(commit);
+                }));
+        assertTrue(adjusted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<?> build = CompletableFuture.supplyAsync(() -> cube.rebuild(district.getDistrictId()));
+        Thread.sleep(300);
+        assertFalse(build.isDone(), "the rebuild waits for the writer's transaction");
+
+        commit.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+        build.get(10, TimeUnit.SECONDS);
+
+        assertTrue(cube.isBuilt(district.getDistrictId()));
+        assertEquals(expectedCells(), actualCells());
+    }
+
+    @Test
+    @DisplayName("Slices group by the requested dimensions and drill down with filters")
+    void sliceAndDrillDown() {
+        seed();
+        LocalDate from = LocalDate.of(2026, 9, 1);
+        LocalDate to = LocalDate.of(2026, 9, 30);
+
+        CubeSliceDTO bySchool = analytics.slice(district.getDistrictId(), from, to, List.of("school"), CubeFilter.none());
+        assertEquals(24, bySchool.total());
+        assertEquals(2, bySchool.rows().size());
+        assertEquals("North High", bySchool.rows().get(0).schoolName());
+        assertEquals(bySchool.total(), bySchool.rows().stream().mapToLong(CubeRowDTO::count).sum());
+
+        // Drill into North: by week and category, weeks starting Monday
+        CubeSliceDTO north = analytics.slice(district.getDistrictId(), from, to, List.of("week", "category"),
+                new CubeFilter(this.north.getSchoolId(), null, null, null, null));
+        assertEquals(bySchool.rows().get(0).count(), north.total());
+        for (CubeRowDTO r : north.rows()) {
+            assertNull(r.schoolId());
+            assertEquals(DayOfWeek.MONDAY, r.weekStart().getDayOfWeek());
+        }
+
+        CubeSliceDTO teacher = analytics.slice(district.getDistrictId(), from, to, List.of("teacher"),
+                new CubeFilter(null, "10", "tardy", null, null));
+        assertEquals(1, teacher.rows().size());
+        assertEquals("R. Lee", teacher.rows().get(0).reportedBy());
+
+        assertThrows(ResponseStatusException.class,
+                () -> analytics.slice(district.getDistrictId(), from, to, List.of("planet"), CubeFilter.none()));
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    // Four weeks of September, two schools, two teachers, times close to midnight
+    private void seed() {
+        OffsetDateTime base = OffsetDateTime.parse("2026-09-01T04:30:00Z");
+        for (int i = 0; i < 12; i++) {
+            incident(ninth, base.plusHours(i * 41), (i % 2 == 0) ? "Disruption" : "Defiance", "Minor", "T. Smith");
+            incident(tenth, base.plusHours(i * 43), "Tardy", (i % 3 == 0) ? "Major" : "Minor", "R. Lee");
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private School school(String name) {
+        School s = new School();
+        s.setSchoolName(name);
+        s.setDistrict(district);
+        return schools.save(s);
+    }
+
+    private Student student(School school, String number, String grade) {
+        Student st = new Student();
+        st.setFirstName("Nia");
+        st.setLastName("Ray");
+        st.setStudentId(number);
+        st.setGrade(grade);
+        st.setDistrict(district);
+        st.setSchool(school);
+        return students.save(st);
+    }
+
+    private Incident incident(Student student, OffsetDateTime at, String category, String severity, String teacher) {
+        Incident i = new Incident();
+        i.setStudent(student);
+        i.setCategory(category);
+        i.setDescription("cube");
+        i.setSeverity(severity);
+        i.setReportedBy(teacher);
+        i.setOccurredAt(at);
+        i.setCreatedAt(at);
+        i.setDistrict(district);
+        i.setSchool(student.getSchool());
+        return incidents.save(i);
+    }
+
+    private Map<String, Long> expectedCells() {
+        Map<String, Long> out = new HashMap<>();
+        for (Student st : List.of(ninth, tenth)) {
+            for (Incident i : incidents.findByStudentIdOrderByOccurredAtDesc(st.getId())) {
+                LocalDate week = IncidentCubeServiceImpl.weekOf(i.getOccurredAt().atZoneSameInstant(CHICAGO).toLocalDate());
+                String key = week + "|" + st.getSchool().getSchoolId() + "|" + st.getGrade() + "|"
+                        + i.getCategory() + "|" + i.getSeverity() + "|" + i.getReportedBy();
+                out.merge(key, 1L, Long::sum);
+            }
+        }
+        return out;
+    }
+
+    private Map<String, Long> actualCells() {
+        Map<String, Long> out = new HashMap<>();
+        List<IncidentCubeCell> rows = cells.slice(district.getDistrictId(),
+                LocalDate.of(2000, 1, 1), LocalDate.of(2100, 1, 1), null, null, null, null, null);
+        for (IncidentCubeCell c : rows) {
+            String key = c.getWeekStart() + "|" + c.getSchoolId() + "|" + c.getGrade() + "|"
+                    + c.getCategory() + "|" + c.getSeverity() + "|" + c.getReportedBy();
+            out.put(key, c.getIncidentCount());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,211 @@
+package io.northstar.behavior.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.northstar.behavior.config.ExecutorConfig;
+import io.northstar.behavior.event.IncidentRecordedEvent;
+import io.northstar.behavior.model.*;
+import io.northstar.behavior.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The incident pipeline on a real, deliberately tiny executor (one worker, one queue slot),
+ * fed from an after-commit callback the way the event listener is. Runs without a wrapping
+ * test transaction so every write really commits; each test works in a fresh school.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({NotificationServiceImpl.class, EscalationRulesCache.class, IncidentPipelineOverflowTest.Meters.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("IncidentPipeline — overflow never runs on the committing thread")
+class IncidentPipelineOverflowTest {
+
+    static final int INCIDENTS = 6;
+
+    @TestConfiguration
+    static class Meters {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired NotificationService notifications;
+    @Autowired AdminNotificationRepository adminNotifications;
+    @Autowired AdminUnreadCounterRepository unreadCounters;
+    @Autowired DistrictRepository districts;
+    @Autowired SchoolRepository schools;
+    @Autowired StudentRepository students;
+    @Autowired AdminRepository admins;
+    @Autowired EscalationRulesRepository rules;
+    @Autowired IncidentRepository incidents;
+    @Autowired PlatformTransactionManager txManager;
+
+    SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    ThreadPoolTaskExecutor pool;
+    List<Admin> schoolAdmins = new ArrayList<>();
+    List<Incident> recorded = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        District d = new District();
+        d.setDistrictName("Pipeline USD");
+        d = districts.save(d);
+        School school = new School();
+        school.setSchoolName("Pipeline Middle");
+        school.setDistrict(d);
+        school = schools.save(school);
+        rules.save(rules(d, school));
+        for (int i = 0; i < 2; i++) schoolAdmins.add(admins.save(admin(d, school, i)));
+
+        Student s = new Student();
+        s.setFirstName("Ana");
+        s.setLastName("Ruiz");
+        s.setStudentId("P-1");
+        s.setGrade("7");
+        s.setDistrict(d);
+        s.setSchool(school);
+        s = students.save(s);
+        // A category each: one student only escalates once per category inside the rule window
+        for (int i = 0; i < INCIDENTS; i++) recorded.add(incidents.save(incident(s, "Disruption " + i)));
+
+        pool = new ExecutorConfig().incidentPipelineExecutor(1, 1, meters);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("A full queue parks the overflow; every notification still commits once the worker catches up")
+    void overflowIsPersisted() throws InterruptedException {
+        IncidentPipeline pipeline = new IncidentPipeline(notifications, pool, meters, 3, 0);
+
+        // Occupy the only worker; the first incident takes the one queue slot, the rest overflow
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pool.execute(() -> {
+            busy.countDown();
+            await(release);
+        });
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+
+        List<String> ranOn = new ArrayList<>();
+        new TransactionTemplate(txManager).executeWithoutResult(status ->
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        for (Incident i : recorded) pipeline.onIncidentRecorded(IncidentRecordedEvent.of(i));
+                        ranOn.add(Thread.currentThread().getName());
+                    }
+                }));
+
+        // The committing thread only enqueued: nothing has been written yet
+        assertEquals(1, ranOn.size());
+        assertEquals(INCIDENTS - 1.0, meters.counter("northstar.incidents.pipeline", "outcome", "deferred").count());
+        for (Admin a : schoolAdmins) assertTrue(adminNotifications.unreadForAdmin(a.getId()).isEmpty());
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (processed() < INCIDENTS && System.currentTimeMillis() < deadline) Thread.sleep(20);
+
+        assertEquals(INCIDENTS, processed());
+        for (Admin a : schoolAdmins) {
+            assertEquals(INCIDENTS, adminNotifications.unreadForAdmin(a.getId()).size());
+            assertEquals(INCIDENTS, unreadCounters.findById(a.getId()).orElseThrow().getUnreadCount());
+        }
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private long processed() {
+        return (long) meters.counter(IncidentPipeline.METRIC, "outcome", "processed").count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Incident incident(Student s, String category) {
+        Incident i = new Incident();
+        i.setStudent(s);
+        i.setCategory(category);
+        i.setDescription("pipeline");
+        i.setSeverity("Minor");
+        i.setReportedBy("tsmith");
+        i.setOccurredAt(OffsetDateTime.now());
+        i.setCreatedAt(OffsetDateTime.now());
+        i.setDistrict(s.getDistrict());
+        i.setSchool(s.getSchool());
+        return i;
+    }
+
+    private static Admin admin(District d, School school, int n) {
+        Admin a = new Admin();
+        a.setFirstName("Admin");
+        a.setLastName("N" + n);
+        a.setEmail("pipeline" + n + "@example.org");
+        a.setUserName("pipeline" + n + "-" + school.getSchoolId());
+        a.setPasswordHash("x");
+        a.setPermissionTag("ADMIN");
+        a.setDistrict(d);
+        a.setSchool(school);
+        return a;
+    }
+
+    // Every incident reaches the threshold, so every one fans out to the school's admins
+    private static EscalationRules rules(District d, School school) {
+        EscalationRules r = new EscalationRules();
+        r.setDistrict(d);
+        r.setSchool(school);
+        r.setTier1WindowDays(14);
+        r.setSameCautionDetentionThreshold(1);
+        r.setMixedCautionDetentionThreshold(2);
+        r.setDecayDays(4);
+        r.setDecayCount(1);
+        r.setReviewEveryDays(7);
+        r.setSameCautionTier2Threshold(8);
+        r.setDetentionLabel("Detention");
+        r.setDetentionDurationDays(1);
+        r.setTier2Label("Tier 2");
+        r.setTier2DurationDays(30);
+        r.setTier1MajorToTier2(1);
+        r.setTier2NoResponseCount(3);
+        r.setTier2MajorToTier3(2);
+        r.setRequireParentContact(false);
+        r.setRequireAdminApproval(false);
+        r.setNotifyRoles("Admin");
+        return r;
+    }
+}
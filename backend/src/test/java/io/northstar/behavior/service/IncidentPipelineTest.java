@@ -0,0 +1,89 @@
+package io.northstar.behavior.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.northstar.behavior.event.IncidentRecordedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("IncidentPipeline — post-commit escalation work")
+class IncidentPipelineTest {
+
+    NotificationService notifications;
+    SimpleMeterRegistry meters;
+    List<Runnable> queued;
+    IncidentPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        notifications = mock(NotificationService.class);
+        meters = new SimpleMeterRegistry();
+        queued = new ArrayList<>();
+        pipeline = new IncidentPipeline(notifications, queued::add, meters, 3, 0);
+    }
+
+    @Test
+    @DisplayName("Listener only enqueues; the escalation check runs on the worker")
+    void listenerEnqueues() {
+        pipeline.onIncidentRecorded(event(42L));
+
+        verifyNoInteractions(notifications);
+        assertEquals(1, queued.size());
+
+        queued.get(0).run();
+        verify(notifications).evaluateEscalationsForIncident(42L);
+        assertEquals(1.0, count("processed"));
+    }
+
+    @Test
+    @DisplayName("Transient failures are retried until they succeed")
+    void transientFailure_retried() {
+        doThrow(new CannotAcquireLockException("lock"))
+                .doNothing()
+                .when(notifications).evaluateEscalationsForIncident(7L);
+
+        pipeline.process(7L);
+
+        verify(notifications, times(2)).evaluateEscalationsForIncident(7L);
+        assertEquals(1.0, count("retried"));
+        assertEquals(1.0, count("processed"));
+    }
+
+    @Test
+    @DisplayName("Gives up after max attempts without throwing")
+    void transientFailure_givesUp() {
+        doThrow(new CannotAcquireLockException("lock")).when(notifications).evaluateEscalationsForIncident(7L);
+
+        assertDoesNotThrow(() -> pipeline.process(7L));
+
+        verify(notifications, times(3)).evaluateEscalationsForIncident(7L);
+        assertEquals(1.0, count("failed"));
+    }
+
+    @Test
+    @DisplayName("Non-transient failures are not retried")
+    void permanentFailure_notRetried() {
+        doThrow(new IllegalStateException("bad data")).when(notifications).evaluateEscalationsForIncident(7L);
+
+        pipeline.process(7L);
+
+        verify(notifications, times(1)).evaluateEscalationsForIncident(7L);
+        assertEquals(1.0, count("failed"));
+    }
+
+    private double count(String outcome) {
+        return meters.get(IncidentPipeline.METRIC).tag("outcome", outcome).counter().count();
+    }
+
+    private IncidentRecordedEvent event(Long incidentId) {
+        return new IncidentRecordedEvent(incidentId, 1L, 1L, 5L, "9", "Disruption", "Minor", "T. Smith", OffsetDateTime.now());
+    }
+}
@@ -0,0 +1,199 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.event.IncidentDeletedEvent;
+import io.northstar.behavior.event.IncidentRecordedEvent;
+import io.northstar.behavior.event.StudentDeletedEvent;
+import io.northstar.behavior.model.*;
+import io.northstar.behavior.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against H2 without a wrapping test transaction: rebuilds use their own
+ * transaction and must see committed incidents. Each test works in a fresh school.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({IncidentRollupServiceImpl.class, DistrictDayBoundaries.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("IncidentRollupService — daily rollups")
+class IncidentRollupServiceImplTest {
+
+    @Autowired IncidentRollupServiceImpl service;
+    @Autowired IncidentDailyRollupRepository rollups;
+    @Autowired IncidentRepository incidents;
+    @Autowired DistrictRepository districts;
+    @Autowired SchoolRepository schools;
+    @Autowired StudentRepository students;
+    @Autowired PlatformTransactionManager txManager;
+
+    School school;
+    Student student;
+    // The incidents each test expects the rollups to count, keyed by id
+    final Map<Long, Incident> live = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        District d = new District();
+        d.setDistrictName("Rollup USD");
+        d = districts.save(d);
+
+        School s = new School();
+        s.setSchoolName("Rollup High");
+        s.setDistrict(d);
+        school = schools.save(s);
+
+        Student st = new Student();
+        st.setFirstName("Ray");
+        st.setLastName("Ng");
+        st.setStudentId("R-1");
+        st.setGrade("11");
+        st.setDistrict(d);
+        st.setSchool(school);
+        student = students.save(st);
+    }
+
+    @Test
+    @DisplayName("Rebuild matches a direct count of the incidents, bucket by bucket")
+    void rebuildMatchesIncidents() {
+        OffsetDateTime base = OffsetDateTime.now().minusDays(10);
+        for (int i = 0; i < 30; i++) {
+            incident(base.plusHours(i * 7), (i % 3 == 0) ? "Tardy" : "Disruption", (i % 4 == 0) ? "Major" : "Minor");
+        }
+
+        var result = service.rebuild(school.getSchoolId());
+
+        assertEquals(30, result.incidents());
+        assertTrue(service.isBuilt(school.getSchoolId()));
+        assertEquals(expectedBuckets(), actualBuckets());
+    }
+
+    @Test
+    @DisplayName("Creates and deletes adjust buckets once the school is built")
+    void incrementalMaintenance() {
+        service.rebuild(school.getSchoolId());
+
+        Incident a = incident(OffsetDateTime.now(), "Disruption", "Minor");
+        service.onIncidentRecorded(IncidentRecordedEvent.of(a));
+        Incident b = incident(OffsetDateTime.now(), "Disruption", "Minor");
+        service.onIncidentRecorded(IncidentRecordedEvent.of(b));
+        assertEquals(expectedBuckets(), actualBuckets());
+
+        incidents.deleteById(a.getId());
+        live.remove(a.getId());
+        service.onIncidentDeleted(IncidentDeletedEvent.of(a));
+        assertEquals(expectedBuckets(), actualBuckets());
+
+        incidents.deleteById(b.getId());
+        live.remove(b.getId());
+        service.onIncidentDeleted(IncidentDeletedEvent.of(b));
+        assertTrue(actualBuckets().isEmpty(), "empty buckets are removed");
+    }
+
+    @Test
+    @DisplayName("Unbuilt schools are left alone; deleting a student marks the school for rebuild")
+    void unbuiltAndInvalidation() {
+        Incident a = incident(OffsetDateTime.now(), "Disruption", "Minor");
+        service.onIncidentRecorded(IncidentRecordedEvent.of(a));
+        assertTrue(actualBuckets().isEmpty());
+        assertFalse(service.isBuilt(school.getSchoolId()));
+
+        service.rebuild(school.getSchoolId());
+        service.onStudentDeleted(new StudentDeletedEvent(student.getId(), null, school.getSchoolId()));
+        assertFalse(service.isBuilt(school.getSchoolId()));
+    }
+
+    @Test
+    @DisplayName("A first build waits for a writer that is still committing, so its incident is counted once")
+    void firstBuildWaitsForWriters() throws Exception {
+        CountDownLatch adjusted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(txManager).executeWithoutResult(tx -> {
+                    Incident a = incident(OffsetDateTime.now(), "Disruption", "Minor");
+                    service.onIncidentRecorded(IncidentRecordedEvent.of(a));
+                    adjusted.countDown();
+                    await(commit);
+                }));
+        assertTrue(adjusted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<?> build = CompletableFuture.supplyAsync(() -> service.rebuild(school.getSchoolId()));
+        Thread.sleep(300);
+        assertFalse(build.isDone(), "the rebuild waits for the writer's transaction");
+
+        commit.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+        build.get(10, TimeUnit.SECONDS);
+
+        assertTrue(service.isBuilt(school.getSchoolId()));
+        assertEquals(expectedBuckets(), actualBuckets());
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private Incident incident(OffsetDateTime at, String category, String severity) {
+        Incident i = new Incident();
+        i.setStudent(student);
+        i.setCategory(category);
+        i.setDescription("rollup");
+        i.setSeverity(severity);
+        i.setReportedBy("T. Smith");
+        i.setOccurredAt(at);
+        i.setCreatedAt(at);
+        i.setDistrict(school.getDistrict());
+        i.setSchool(school);
+        Incident saved = incidents.save(i);
+        live.put(saved.getId(), saved);
+        return saved;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, Long> expectedBuckets() {
+        Map<String, Long> out = new HashMap<>();
+        for (Incident i : live.values()) {
+            LocalDate day = i.getOccurredAt().atZoneSameInstant(service.zone(school.getSchoolId())).toLocalDate();
+            out.merge(day + "|" + i.getCategory() + "|" + i.getSeverity(), 1L, Long::sum);
+        }
+        return out;
+    }
+
+    private Map<String, Long> actualBuckets() {
+        Map<String, Long> out = new HashMap<>();
+        List<IncidentDailyRollup> rows = rollups.findBySchoolIdAndDayBetween(
+                school.getSchoolId(), LocalDate.of(2000, 1, 1), LocalDate.of(2100, 1, 1));
+        for (IncidentDailyRollup r : rows) {
+            out.put(r.getDay() + "|" + r.getCategory() + "|" + r.getSeverity(), r.getIncidentCount());
+        }
+        return out;
+    }
+}
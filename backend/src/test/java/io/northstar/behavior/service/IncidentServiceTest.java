@@ -15,6 +15,8 @@ import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -43,7 +45,8 @@ class IncidentServiceTest {
         incidentRepo = mock(IncidentRepository.class);
         studentRepo  = mock(StudentRepository.class);
         teacherRepo  = mock(TeacherRepository.class);
-        service = new IncidentServiceImpl(incidentRepo, studentRepo, teacherRepo);
+        service = new IncidentServiceImpl(incidentRepo, studentRepo, teacherRepo,
+                mock(ApplicationEventPublisher.class), mock(JdbcTemplate.class));
     }
 
     // ---------- create (top-level) ----------
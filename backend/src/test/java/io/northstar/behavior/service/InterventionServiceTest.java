@@ -14,6 +14,7 @@ import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
@@ -42,7 +43,8 @@ class InterventionServiceTest {
         studentRepo         = mock(StudentRepository.class);
         adminRepo           = mock(AdminRepository.class);
         tierChangeEventRepo = mock(TierChangeEventRepository.class);
-        service = new InterventionServiceImpl(interventionRepo, studentRepo, adminRepo, tierChangeEventRepo);
+        service = new InterventionServiceImpl(interventionRepo, studentRepo, adminRepo, tierChangeEventRepo,
+                mock(ApplicationEventPublisher.class));
     }
 
     // ---------- create ----------
@@ -0,0 +1,250 @@
+package io.northstar.behavior.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.northstar.behavior.dto.JobDTO;
+import io.northstar.behavior.model.BackgroundJob;
+import io.northstar.behavior.model.BackgroundJobInput;
+import io.northstar.behavior.model.District;
+import io.northstar.behavior.model.School;
+import io.northstar.behavior.repository.BackgroundJobInputRepository;
+import io.northstar.behavior.repository.BackgroundJobRepository;
+import io.northstar.behavior.repository.DistrictRepository;
+import io.northstar.behavior.repository.SchoolRepository;
+import io.northstar.behavior.repository.StudentRepository;
+import io.northstar.behavior.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the job service by hand (dispatch, lease expiry) instead of waiting on the scheduler.
+ * Runs without a wrapping transaction: workers commit on their own threads.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("JobService — persistent background jobs")
+class JobServiceImplTest {
+
+    @Autowired BackgroundJobRepository jobRepo;
+    @Autowired BackgroundJobInputRepository inputRepo;
+    @Autowired StudentRepository students;
+    @Autowired SchoolRepository schools;
+    @Autowired DistrictRepository districts;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired PlatformTransactionManager txManager;
+
+    final ObjectMapper mapper = new ObjectMapper();
+    final List<ThreadPoolTaskExecutor> pools = new ArrayList<>();
+    District district;
+    School school;
+
+    @BeforeEach
+    void setUp() {
+        District d = new District();
+        d.setDistrictName("Jobs USD " + System.nanoTime());
+        district = districts.save(d);
+
+        School s = new School();
+        s.setSchoolName("Jobs High");
+        s.setDistrict(district);
+        school = schools.save(s);
+
+        TenantContext.setDistrictId(district.getDistrictId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        pools.forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    @Test
+    @DisplayName("A student import job runs off the caller's thread, reports problem rows, and removes its upload")
+    void importJobRuns() throws Exception {
+        JobServiceImpl service = service(List.of(importHandler(2)), 120);
+
+        StringBuilder csv = new StringBuilder("firstName,lastName,studentId,grade,schoolId\n");
+        for (int i = 1; i <= 5; i++) csv.append("F").append(i).append(",L,JOB-").append(i).append(",9,").append(school.getSchoolId()).append('\n');
+        csv.append("Dup,L,JOB-1,9,").append(school.getSchoolId()).append('\n');
+
+        JobDTO queued = service.submit(StudentImportJobHandler.TYPE, "{\"format\":\"csv\"}",
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        JobDTO done = awaitTerminal(service, queued.id());
+
+        assertEquals("SUCCEEDED", done.status());
+        JsonNode result = mapper.readTree(done.result());
+        assertEquals(5, result.get("created").asInt());
+        assertEquals(1, result.get("rows").size());
+        assertEquals("DUPLICATE", result.get("rows").get(0).get("status").asText());
+        assertEquals(6, done.processed());
+        assertEquals(5, students.findByDistrict_DistrictId(district.getDistrictId()).size());
+        assertFalse(inputRepo.existsById(queued.id()));
+    }
+
+    @Test
+    @DisplayName("A job submitted with input on one node can be run by any other")
+    void inputIsReadableFromAnyNode() throws Exception {
+        JobHandler echo = handler("echo", ctx -> {
+            try (var in = ctx.openInput()) {
+                return mapper.writeValueAsString(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        });
+        // Queued by a node that went away before dispatching it
+        BackgroundJob row = jobRepo.save(new BackgroundJob(district.getDistrictId(), "echo", null));
+        inputRepo.save(new BackgroundJobInput(row.getId(), "a,b\n1,2\n".getBytes(StandardCharsets.UTF_8)));
+
+        JobServiceImpl other = service(List.of(echo), 120);
+        other.dispatch();
+        JobDTO done = awaitTerminal(other, row.getId());
+
+        assertEquals("SUCCEEDED", done.status());
+        assertEquals("a,b\n1,2\n", mapper.readValue(done.result(), String.class));
+        assertFalse(inputRepo.existsById(row.getId()));
+    }
+
+    @Test
+    @DisplayName("Cancelling a running job stops it at its next progress call")
+    void cancelRunning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        JobHandler spinner = handler("spin", ctx -> {
+            started.countDown();
+            for (long i = 0; ; i++) {
+                ctx.progress(i, null);
+                Thread.sleep(10);
+            }
+        });
+        JobServiceImpl service = service(List.of(spinner), 120);
+
+        JobDTO job = service.submit("spin", null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        service.cancel(job.id());
+
+        JobDTO done = awaitTerminal(service, job.id());
+        assertEquals("CANCELLED", done.status());
+        assertTrue(done.cancelRequested());
+    }
+
+    @Test
+    @DisplayName("A queued job can be cancelled before any worker picks it up")
+    void cancelQueued() {
+        JobServiceImpl service = service(List.of(handler("noop", ctx -> "{}")), 120);
+        BackgroundJob row = jobRepo.save(new BackgroundJob(district.getDistrictId(), "noop", null));
+
+        JobDTO cancelled = service.cancel(row.getId());
+
+        assertEquals("CANCELLED", cancelled.status());
+        assertNotNull(cancelled.finishedAt());
+    }
+
+    @Test
+    @DisplayName("A job whose worker stops heartbeating is requeued and resumes from its checkpoint")
+    void resumesFromCheckpointAfterLeaseExpiry() throws Exception {
+        CountDownLatch hung = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> resumedFrom = new AtomicReference<>();
+        AtomicReference<Throwable> firstWorkerOutcome = new AtomicReference<>();
+
+        JobHandler steps = handler("steps", ctx -> {
+            if (ctx.attempt() == 1) {
+                ctx.checkpoint("{\"step\":5}", 5);
+                hung.countDown();
+                release.await(); // the node "dies" here and never heartbeats again
+                try {
+                    ctx.progress(6, 10L);
+                } catch (RuntimeException ex) {
+                    firstWorkerOutcome.set(ex);
+                    throw ex;
+                }
+                return "{\"by\":\"first\"}";
+            }
+            resumedFrom.set(ctx.checkpoint());
+            ctx.progress(10, 10L);
+            return "{\"by\":\"second\"}";
+        });
+
+        JobServiceImpl first = service(List.of(steps), 120);
+        JobDTO job = first.submit("steps", null);
+        assertTrue(hung.await(5, TimeUnit.SECONDS));
+
+        // Another node with a zero lease sees the first worker's heartbeat as expired
+        JobServiceImpl second = service(List.of(steps), 0);
+        Thread.sleep(5);
+        assertEquals(1, second.requeueStale());
+        second.dispatch();
+        JobDTO done = awaitTerminal(second, job.id());
+
+        assertEquals("SUCCEEDED", done.status());
+        assertEquals("{\"step\":5}", resumedFrom.get());
+        assertEquals(2, done.attempts());
+        assertEquals("{\"by\":\"second\"}", done.result());
+
+        // The first worker wakes up, finds it lost the lease, and leaves the job alone
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (firstWorkerOutcome.get() == null && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertInstanceOf(JobContext.Lost.class, firstWorkerOutcome.get());
+        assertEquals("SUCCEEDED", first.findById(job.id()).status());
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private interface Body {
+        String run(JobContext ctx) throws Exception;
+    }
+
+    private static JobHandler handler(String type, Body body) {
+        return new JobHandler() {
+            @Override public String type() { return type; }
+            @Override public String run(JobContext ctx) throws Exception { return body.run(ctx); }
+        };
+    }
+
+    private StudentImportJobHandler importHandler(int chunkSize) {
+        StudentImportServiceImpl imports = new StudentImportServiceImpl(students, schools, jdbc, txManager, mapper, chunkSize);
+        return new StudentImportJobHandler(imports, mapper);
+    }
+
+    private JobServiceImpl service(List<JobHandler> handlers, long leaseSeconds) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(2);
+        pool.setMaxPoolSize(2);
+        pool.setQueueCapacity(2);
+        pool.initialize();
+        pools.add(pool);
+        return new JobServiceImpl(jobRepo, inputRepo, handlers, pool, txManager, 2, leaseSeconds, 3, 1);
+    }
+
+    private JobDTO awaitTerminal(JobServiceImpl service, Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            JobDTO j = service.findById(id);
+            if (BackgroundJob.Status.valueOf(j.status()).isTerminal()) return j;
+            Thread.sleep(20);
+        }
+        fail("job " + id + " did not finish");
+        return null;
+    }
+}
@@ -0,0 +1,228 @@
+package io.northstar.behavior.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.northstar.behavior.event.AdminNotificationsCreatedEvent;
+import io.northstar.behavior.model.*;
+import io.northstar.behavior.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("NotificationService — escalation fan-out")
+class NotificationServiceImplTest {
+
+    static final Long DISTRICT_ID = 1L;
+    static final Long SCHOOL_ID   = 10L;
+
+    AdminNotificationRepository notificationRepo;
+    EscalationRulesRepository rulesRepo;
+    IncidentRepository incidentRepo;
+    AdminRepository adminRepo;
+    NotificationMessageRepository messageRepo;
+    ApplicationEventPublisher events;
+    AdminUnreadCounterRepository counterRepo;
+    StudentRepository studentRepo;
+    NotificationServiceImpl service;
+
+    Student student;
+    Incident incident;
+    EscalationRules rules;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepo = mock(AdminNotificationRepository.class);
+        rulesRepo        = mock(EscalationRulesRepository.class);
+        incidentRepo     = mock(IncidentRepository.class);
+        adminRepo        = mock(AdminRepository.class);
+        messageRepo      = mock(NotificationMessageRepository.class);
+        events           = mock(ApplicationEventPublisher.class);
+        counterRepo      = mock(AdminUnreadCounterRepository.class);
+        studentRepo      = mock(StudentRepository.class);
+
+        service = new NotificationServiceImpl(notificationRepo, rulesRepo, incidentRepo, adminRepo,
+                new EscalationRulesCache(rulesRepo, new SimpleMeterRegistry(), 10), messageRepo, events, counterRepo, studentRepo);
+
+        District district = new District();
+        district.setDistrictId(DISTRICT_ID);
+        School school = new School();
+        school.setSchoolId(SCHOOL_ID);
+        school.setDistrict(district);
+
+        student = new Student();
+        student.setId(5L);
+        student.setFirstName("Maya");
+        student.setLastName("Cole");
+        student.setSchool(school);
+        student.setDistrict(district);
+
+        incident = new Incident();
+        incident.setId(100L);
+        incident.setStudent(student);
+        incident.setCategory("Disruption");
+        incident.setOccurredAt(OffsetDateTime.now());
+
+        rules = new EscalationRules();
+        rules.setId(3L);
+        rules.setTier1WindowDays(14);
+        rules.setSameCautionDetentionThreshold(4);
+        rules.setMixedCautionDetentionThreshold(6);
+        rules.setDecayCount(1);
+        rules.setDecayDays(4);
+        rules.setDetentionLabel("Saturday detention");
+        rules.setTier2Label("Escalate to Tier 2");
+        when(rulesRepo.findByDistrict_DistrictIdAndSchool_SchoolId(DISTRICT_ID, SCHOOL_ID)).thenReturn(Optional.of(rules));
+        when(rulesRepo.getReferenceById(3L)).thenReturn(rules);
+        when(messageRepo.save(any(NotificationMessage.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("Threshold reached → one shared message and one batched insert for all admins")
+    void thresholdReached_fansOutInOneBatch() {
+        when(incidentRepo.countSameCategorySince(eq(5L), eq("Disruption"), any())).thenReturn(4L);
+        when(adminRepo.findBySchool_SchoolId(SCHOOL_ID)).thenReturn(admins(12));
+
+        service.evaluateEscalationsForIncident(incident);
+
+        ArgumentCaptor<NotificationMessage> message = ArgumentCaptor.forClass(NotificationMessage.class);
+        verify(messageRepo, times(1)).save(message.capture());
+        assertTrue(message.getValue().getBody().contains("Maya Cole"));
+
+        ArgumentCaptor<Iterable<AdminNotification>> batch = ArgumentCaptor.captor();
+        verify(notificationRepo, times(1)).saveAll(batch.capture());
+        verify(notificationRepo, never()).save(any());
+
+        List<AdminNotification> saved = new ArrayList<>();
+        batch.getValue().forEach(saved::add);
+        assertEquals(12, saved.size());
+        assertTrue(saved.stream().allMatch(n -> n.getPayload() == message.getValue()), "payload is shared");
+        assertEquals(message.getValue().getBody(), saved.get(0).getMessage());
+
+        ArgumentCaptor<AdminNotificationsCreatedEvent> pushed = ArgumentCaptor.forClass(AdminNotificationsCreatedEvent.class);
+        verify(events).publishEvent(pushed.capture());
+        assertEquals(12, pushed.getValue().deliveries().size());
+        assertEquals("Maya Cole", pushed.getValue().deliveries().get(0).notification().studentName());
+    }
+
+    @Test
+    @DisplayName("Below threshold → nothing written")
+    void belowThreshold_nothingWritten() {
+        when(incidentRepo.countSameCategorySince(eq(5L), eq("Disruption"), any())).thenReturn(3L);
+
+        service.evaluateEscalationsForIncident(incident);
+
+        verifyNoInteractions(messageRepo, notificationRepo, adminRepo, events);
+    }
+
+    @Test
+    @DisplayName("No admins at the school → no orphan message row")
+    void noAdmins_noMessage() {
+        when(incidentRepo.countSameCategorySince(eq(5L), eq("Disruption"), any())).thenReturn(5L);
+        when(adminRepo.findBySchool_SchoolId(SCHOOL_ID)).thenReturn(List.of());
+
+        service.evaluateEscalationsForIncident(incident);
+
+        verifyNoInteractions(messageRepo, notificationRepo);
+    }
+
+    @Test
+    @DisplayName("Already escalated inside the window → later incidents past the threshold notify nobody")
+    void alreadyEscalated_noSecondFanOut() {
+        when(incidentRepo.countSameCategorySince(eq(5L), eq("Disruption"), any())).thenReturn(7L);
+        when(adminRepo.findBySchool_SchoolId(SCHOOL_ID)).thenReturn(admins(12));
+        when(notificationRepo.escalatedSince(eq(5L), eq("Disruption"), any())).thenReturn(true);
+
+        service.evaluateEscalationsForIncident(incident);
+
+        verify(studentRepo).findByIdForUpdate(5L);
+        verify(notificationRepo, never()).saveAll(any());
+        verifyNoInteractions(messageRepo, counterRepo, events);
+    }
+
+    @Test
+    @DisplayName("The dedupe probe uses the same cutoff as the threshold count")
+    void dedupe_usesRuleWindow() {
+        when(incidentRepo.countSameCategorySince(eq(5L), eq("Disruption"), any())).thenReturn(4L);
+        when(adminRepo.findBySchool_SchoolId(SCHOOL_ID)).thenReturn(admins(1));
+
+        service.evaluateEscalationsForIncident(incident);
+
+        ArgumentCaptor<OffsetDateTime> counted = ArgumentCaptor.forClass(OffsetDateTime.class);
+        ArgumentCaptor<OffsetDateTime> probed  = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(incidentRepo).countSameCategorySince(eq(5L), eq("Disruption"), counted.capture());
+        verify(notificationRepo).escalatedSince(eq(5L), eq("Disruption"), probed.capture());
+        assertEquals(counted.getValue(), probed.getValue());
+        verify(notificationRepo).saveAll(any());
+    }
+
+    // ── unread counter ───────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Fan-out seeds missing counters once, then bumps every recipient in one update")
+    void fanOut_bumpsUnreadCounters() {
+        when(incidentRepo.countSameCategorySince(eq(5L), eq("Disruption"), any())).thenReturn(4L);
+        when(adminRepo.findBySchool_SchoolId(SCHOOL_ID)).thenReturn(admins(3));
+        when(counterRepo.findExistingAdminIds(any())).thenReturn(List.of(1L, 2L));
+
+        service.evaluateEscalationsForIncident(incident);
+
+        verify(counterRepo).seed(3L);
+        verify(counterRepo, never()).seed(1L);
+        verify(counterRepo, times(1)).incrementAll(argThat(ids -> ids.size() == 3));
+    }
+
+    @Test
+    @DisplayName("markAsRead decrements only when the notification was unread")
+    void markAsRead_decrementsOnce() {
+        Admin admin = admins(1).get(0);
+        AdminNotification n = new AdminNotification(admin, student, incident, rules, new NotificationMessage("m"));
+        when(notificationRepo.findById(50L)).thenReturn(Optional.of(n));
+
+        service.markAsRead(1L, 50L);
+        service.markAsRead(1L, 50L);
+
+        assertTrue(n.isRead());
+        verify(counterRepo, times(1)).seed(1L);
+        verify(counterRepo, times(1)).decrement(1L);
+    }
+
+    @Test
+    @DisplayName("Unread count is read from the counter; no counter yet is zero, and nothing is written")
+    void unreadCount_fromCounter() {
+        AdminUnreadCounter existing = counter(2L, 7);
+        when(counterRepo.findById(2L)).thenReturn(Optional.of(existing));
+        when(counterRepo.findById(3L)).thenReturn(Optional.empty());
+
+        assertEquals(7, service.unreadCount(2L).unread());
+        assertEquals(0, service.unreadCount(3L).unread());
+        verify(counterRepo, never()).seed(anyLong());
+        verifyNoInteractions(notificationRepo);
+    }
+
+    private AdminUnreadCounter counter(Long adminId, long unread) {
+        AdminUnreadCounter c = mock(AdminUnreadCounter.class);
+        when(c.getAdminId()).thenReturn(adminId);
+        when(c.getUnreadCount()).thenReturn(unread);
+        return c;
+    }
+
+    private List<Admin> admins(int n) {
+        List<Admin> out = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Admin a = new Admin();
+            a.setId((long) i + 1);
+            out.add(a);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,149 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.AdminNotificationDTO;
+import io.northstar.behavior.event.AdminNotificationsCreatedEvent;
+import io.northstar.behavior.event.AdminNotificationsCreatedEvent.Delivery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("NotificationStreamRegistry — SSE push per admin")
+class NotificationStreamRegistryTest {
+
+    NotificationService notifications;
+    List<Runnable> pushes;
+    NotificationStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        notifications = mock(NotificationService.class);
+        pushes = new ArrayList<>();
+        registry = new NotificationStreamRegistry(notifications, pushes::add, 60_000, 120_000);
+    }
+
+    @Test
+    @DisplayName("Fresh connect replays all unread; Last-Event-ID resumes from its creation time minus the lookback")
+    void replayFromLastEventId() {
+        OffsetDateTime sixAt = OffsetDateTime.parse("2025-03-14T10:00:00Z");
+        when(notifications.unreadSince(1L, null)).thenReturn(List.of(dto(5L), dto(6L)));
+        when(notifications.createdAt(2L, 6L)).thenReturn(Optional.of(sixAt));
+        when(notifications.unreadSince(2L, sixAt.minusMinutes(2))).thenReturn(List.of(dto(6L), dto(5L)));
+
+        registry.subscribe(1L, null);
+        registry.subscribe(2L, 6L);
+
+        verify(notifications).unreadSince(1L, null);
+        verify(notifications).unreadSince(2L, sixAt.minusMinutes(2));
+        assertEquals(1, registry.connectionCount(1L));
+
+        // 5 committed after 6 was sent: the resumed stream still gets it
+        assertTrue(registry.connections(2L).iterator().next().hasSent(5L));
+    }
+
+    @Test
+    @DisplayName("Ids are not commit-ordered: a lower id arriving after a higher one is still sent, once")
+    void outOfOrderIdsAreDelivered() {
+        NotificationStreamRegistry.Connection c = new NotificationStreamRegistry.Connection(new SseEmitter(), OffsetDateTime.now());
+
+        assertTrue(c.deliver(dto(102L)));
+        assertTrue(c.deliver(dto(101L)));
+        assertTrue(c.hasSent(101L));
+        assertTrue(c.deliver(dto(101L)));
+        assertTrue(c.deliver(dto(102L)));
+
+        for (long id = 1; id <= NotificationStreamRegistry.Connection.SENT_MEMORY; id++) c.markSent(1_000L + id);
+        assertFalse(c.hasSent(101L), "the sent-id memory is bounded");
+    }
+
+    @Test
+    @DisplayName("Catch-up delivers notifications committed on another node, without repeating live ones")
+    void catchUpFromDatabase() {
+        when(notifications.unreadSince(eq(1L), any())).thenReturn(List.of());
+        registry.subscribe(1L, null);
+        NotificationStreamRegistry.Connection c = registry.connections(1L).iterator().next();
+        OffsetDateTime connectedAt = c.checkedAt();
+
+        registry.onNotificationsCreated(new AdminNotificationsCreatedEvent(List.of(new Delivery(1L, dto(20L)))));
+        runPushes();
+        when(notifications.unreadSince(1L, connectedAt.minusMinutes(2))).thenReturn(List.of(dto(19L), dto(20L)));
+
+        registry.catchUp();
+
+        assertTrue(c.hasSent(19L));
+        assertTrue(c.hasSent(20L));
+        assertTrue(c.checkedAt().isAfter(connectedAt) || c.checkedAt().isEqual(connectedAt));
+        verify(notifications).unreadSince(1L, connectedAt.minusMinutes(2));
+    }
+
+    @Test
+    @DisplayName("Live deliveries only reach the addressed admin's streams")
+    void liveDeliveryIsPerAdmin() {
+        when(notifications.unreadSince(anyLong(), any())).thenReturn(List.of());
+        registry.subscribe(1L, null);
+
+        assertDoesNotThrow(() -> registry.onNotificationsCreated(new AdminNotificationsCreatedEvent(List.of(
+                new Delivery(1L, dto(10L)),
+                new Delivery(2L, dto(11L))))));
+        runPushes();
+
+        assertEquals(1, registry.connectionCount(1L));
+        assertEquals(0, registry.connectionCount(2L));
+    }
+
+    @Test
+    @DisplayName("A stream whose client went away is dropped")
+    void deadConnectionDropped() {
+        when(notifications.unreadSince(anyLong(), any())).thenReturn(List.of());
+        SseEmitter emitter = registry.subscribe(1L, null);
+        emitter.complete();
+
+        registry.onNotificationsCreated(new AdminNotificationsCreatedEvent(List.of(new Delivery(1L, dto(12L)))));
+        runPushes();
+
+        assertEquals(0, registry.connectionCount(1L));
+    }
+
+    @Test
+    @DisplayName("The committing thread only hands pushes off: one task per stream, all sends on the stream pool")
+    void liveDeliveryIsHandedOff() {
+        when(notifications.unreadSince(anyLong(), any())).thenReturn(List.of());
+        registry.subscribe(1L, null);
+        registry.subscribe(1L, null);
+
+        registry.onNotificationsCreated(new AdminNotificationsCreatedEvent(List.of(
+                new Delivery(1L, dto(30L)),
+                new Delivery(1L, dto(31L)))));
+
+        assertEquals(2, pushes.size());
+        for (NotificationStreamRegistry.Connection c : registry.connections(1L)) assertFalse(c.hasSent(30L));
+
+        runPushes();
+        for (NotificationStreamRegistry.Connection c : registry.connections(1L)) {
+            assertTrue(c.hasSent(30L));
+            assertTrue(c.hasSent(31L));
+        }
+    }
+
+    private void runPushes() {
+        List<Runnable> queued = new ArrayList<>(pushes);
+        pushes.clear();
+        queued.forEach(Runnable::run);
+    }
+
+    private AdminNotificationDTO dto(Long id) {
+        return new AdminNotificationDTO(id, 5L, "Maya Cole", 100L, "Escalate to Tier 2",
+                "threshold reached", OffsetDateTime.now(), false);
+    }
+}
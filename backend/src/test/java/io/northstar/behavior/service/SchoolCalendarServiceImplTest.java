@@ -0,0 +1,147 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.CalendarClosureDTO;
+import io.northstar.behavior.dto.CreateCalendarClosureRequest;
+import io.northstar.behavior.model.CalendarClosure;
+import io.northstar.behavior.model.District;
+import io.northstar.behavior.repository.CalendarClosureRepository;
+import io.northstar.behavior.repository.DistrictRepository;
+import io.northstar.behavior.repository.SchoolRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SchoolCalendarService — instructional day index")
+class SchoolCalendarServiceImplTest {
+
+    static final Long DISTRICT_ID = 1L;
+
+    CalendarClosureRepository closureRepo;
+    DistrictRepository districtRepo;
+    SchoolCalendarServiceImpl service;
+    District district;
+    List<CalendarClosure> closures = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        closureRepo = mock(CalendarClosureRepository.class);
+        districtRepo = mock(DistrictRepository.class);
+        service = new SchoolCalendarServiceImpl(closureRepo, districtRepo,
+                new DistrictDayBoundaries(districtRepo, mock(SchoolRepository.class), 10), 60);
+
+        district = new District();
+        district.setDistrictId(DISTRICT_ID);
+        when(districtRepo.findById(DISTRICT_ID)).thenReturn(Optional.of(district));
+        when(closureRepo.findByDistrict_DistrictIdOrderByStartDateAsc(DISTRICT_ID)).thenAnswer(inv -> List.copyOf(closures));
+        when(closureRepo.save(any(CalendarClosure.class))).thenAnswer(inv -> {
+            CalendarClosure c = inv.getArgument(0);
+            c.setId((long) closures.size() + 1);
+            closures.add(c);
+            return c;
+        });
+    }
+
+    // ── weekdays only ────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("No closures → matches a day-by-day weekday walk for every range")
+    void noClosures_matchesWeekdayWalk() {
+        LocalDate base = LocalDate.of(2025, 8, 1);
+        for (int from = 0; from < 30; from++) {
+            for (int len = 0; len < 40; len++) {
+                LocalDate a = base.plusDays(from);
+                LocalDate b = a.plusDays(len);
+                assertEquals(walk(a, b, List.of()), service.instructionalDaysBetween(DISTRICT_ID, a, b),
+                        () -> a + " → " + b);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Friday → next Monday is one instructional day")
+    void fridayToMonday() {
+        LocalDate friday = LocalDate.of(2025, 9, 5);
+        assertEquals(DayOfWeek.FRIDAY, friday.getDayOfWeek());
+        assertEquals(1, service.instructionalDaysBetween(DISTRICT_ID, friday, friday.plusDays(3)));
+    }
+
+    // ── closures ─────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Holidays and breaks are skipped; overlapping closures count once")
+    void closuresSkipped() {
+        closures.add(closure(LocalDate.of(2025, 11, 27), LocalDate.of(2025, 11, 28), "Thanksgiving"));
+        closures.add(closure(LocalDate.of(2025, 12, 22), LocalDate.of(2026, 1, 2), "Winter break"));
+        closures.add(closure(LocalDate.of(2025, 12, 31), LocalDate.of(2026, 1, 1), "New Year"));
+
+        LocalDate base = LocalDate.of(2025, 11, 1);
+        for (int from = 0; from < 70; from += 3) {
+            for (int len = 0; len < 80; len += 2) {
+                LocalDate a = base.plusDays(from);
+                LocalDate b = a.plusDays(len);
+                assertEquals(walk(a, b, closures), service.instructionalDaysBetween(DISTRICT_ID, a, b),
+                        () -> a + " → " + b);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Index is built once and rebuilt after a closure is added")
+    void indexCachedAndEvictedOnChange() {
+        LocalDate mon = LocalDate.of(2025, 10, 6);
+        assertEquals(5, service.instructionalDaysBetween(DISTRICT_ID, mon.minusDays(1), mon.plusDays(4)));
+        assertEquals(5, service.instructionalDaysBetween(DISTRICT_ID, mon.minusDays(1), mon.plusDays(4)));
+        verify(closureRepo, times(1)).findByDistrict_DistrictIdOrderByStartDateAsc(DISTRICT_ID);
+
+        CalendarClosureDTO saved = service.addClosure(DISTRICT_ID,
+                new CreateCalendarClosureRequest(mon.plusDays(2), null, "Teacher in-service"));
+        assertEquals(mon.plusDays(2), saved.endDate());
+
+        assertEquals(4, service.instructionalDaysBetween(DISTRICT_ID, mon.minusDays(1), mon.plusDays(4)));
+        verify(closureRepo, times(2)).findByDistrict_DistrictIdOrderByStartDateAsc(DISTRICT_ID);
+    }
+
+    @Test
+    @DisplayName("End date before start date → 400")
+    void invertedRange_rejected() {
+        assertThrows(ResponseStatusException.class, () -> service.addClosure(DISTRICT_ID,
+                new CreateCalendarClosureRequest(LocalDate.of(2025, 5, 2), LocalDate.of(2025, 5, 1), "Oops")));
+        verify(closureRepo, never()).save(any());
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private CalendarClosure closure(LocalDate start, LocalDate end, String label) {
+        CalendarClosure c = new CalendarClosure();
+        c.setDistrict(district);
+        c.setStartDate(start);
+        c.setEndDate(end);
+        c.setLabel(label);
+        return c;
+    }
+
+    // Reference implementation: the old day-by-day walk, minus closed days
+    private static long walk(LocalDate from, LocalDate to, List<CalendarClosure> closed) {
+        long count = 0;
+        for (LocalDate d = from.plusDays(1); !d.isAfter(to); d = d.plusDays(1)) {
+            DayOfWeek dow = d.getDayOfWeek();
+            if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) continue;
+            LocalDate day = d;
+            boolean isClosed = closed.stream()
+                    .anyMatch(c -> !day.isBefore(c.getStartDate()) && !day.isAfter(c.getEndDate()));
+            if (!isClosed) count++;
+        }
+        return count;
+    }
+}
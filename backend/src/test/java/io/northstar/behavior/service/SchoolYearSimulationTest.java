@@ -1,5 +1,6 @@
 package io.northstar.behavior.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.northstar.behavior.dto.StudentEscalationStatusDTO;
 import io.northstar.behavior.model.*;
 import io.northstar.behavior.repository.*;
@@ -40,6 +41,7 @@ class SchoolYearSimulationTest {
     EscalationRulesRepository rulesRepo;
     SchoolRepository       schoolRepo;
     InterventionRepository interventionRepo;
+    CalendarClosureRepository closureRepo;
 
     EscalationEvaluationServiceImpl service;
 
@@ -50,6 +52,9 @@ class SchoolYearSimulationTest {
     School          school;
     EscalationRules rules;
 
+    // Rows served by the school-wide latest-intervention query: (studentId, createdAt)
+    List<Object[]> latestInterventions = new ArrayList<>();
+
     @BeforeEach
     void setUp() {
         studentRepo      = mock(StudentRepository.class);
@@ -57,9 +62,14 @@ class SchoolYearSimulationTest {
         rulesRepo        = mock(EscalationRulesRepository.class);
         schoolRepo       = mock(SchoolRepository.class);
         interventionRepo = mock(InterventionRepository.class);
+        closureRepo      = mock(CalendarClosureRepository.class);
 
         service = new EscalationEvaluationServiceImpl(
-                studentRepo, incidentRepo, rulesRepo, schoolRepo, interventionRepo);
+                studentRepo, incidentRepo, new EscalationRulesCache(rulesRepo, new SimpleMeterRegistry(), 10),
+                schoolRepo, interventionRepo,
+                new EscalationStateStore(5),
+                new SchoolCalendarServiceImpl(closureRepo, mock(DistrictRepository.class),
+                        new DistrictDayBoundaries(mock(DistrictRepository.class), schoolRepo, 10), 60));
 
         district = new District();
         district.setDistrictId(DISTRICT_ID);
@@ -75,8 +85,9 @@ class SchoolYearSimulationTest {
         when(schoolRepo.findById(SCHOOL_ID)).thenReturn(Optional.of(school));
         when(rulesRepo.findByDistrict_DistrictIdAndSchool_SchoolId(DISTRICT_ID, SCHOOL_ID))
                 .thenReturn(Optional.of(rules));
-        when(interventionRepo.existsByStudent_IdAndCreatedAtAfter(anyLong(), any()))
-                .thenReturn(false);
+        // Default: no existing interventions
+        when(interventionRepo.latestCreatedAtByStudentForSchool(eq(SCHOOL_ID), any()))
+                .thenAnswer(inv -> latestInterventions);
     }
 
     // ─────────────────────────────────────────────────────────────────────────
@@ -129,7 +140,7 @@ class SchoolYearSimulationTest {
     //
     // Student hit CAUTION in February and got an intervention.
     // But since that intervention, 4 more incidents have occurred.
-    // The intervention check uses: existsByStudent_IdAndCreatedAtAfter(id, lastIncident).
+    // The intervention check compares the student's latest intervention with lastIncident.
     // The intervention was BEFORE the most recent incident → not satisfied → should flag.
     // → Should be flagged as CAUTION.
     // ─────────────────────────────────────────────────────────────────────────
@@ -143,8 +154,8 @@ class SchoolYearSimulationTest {
         // 4 recent incidents, most recent yesterday
         stubIncidents(incidents(s, 4, 1, "phartt"));  // Pat Hart reporting
 
-        // Intervention existed but was BEFORE the most recent incident → mock returns false
-        when(interventionRepo.existsByStudent_IdAndCreatedAtAfter(eq(3L), any())).thenReturn(false);
+        // Intervention existed but was BEFORE the most recent incident
+        interventionAt(3L, OffsetDateTime.now().minusDays(2));
 
         List<StudentEscalationStatusDTO> result = service.evaluateStudents(SCHOOL_ID);
 
@@ -187,7 +198,7 @@ class SchoolYearSimulationTest {
         when(studentRepo.findBySchool_SchoolId(SCHOOL_ID)).thenReturn(List.of(s));
         stubIncidents(incidents(s, 5, 2, "jcook"));  // Jenna Cook reporting
 
-        when(interventionRepo.existsByStudent_IdAndCreatedAtAfter(eq(5L), any())).thenReturn(true);
+        interventionAt(5L, OffsetDateTime.now());
 
         assertTrue(service.evaluateStudents(SCHOOL_ID).isEmpty(),
                 "Student with post-incident intervention should not be re-flagged");
@@ -275,8 +286,7 @@ class SchoolYearSimulationTest {
         when(studentRepo.findBySchool_SchoolId(SCHOOL_ID)).thenReturn(List.of(s));
         stubIncidents(incidents(s, 3, 1, "jgeilda"));
 
-        // No intervention covers the latest incidents
-        when(interventionRepo.existsByStudent_IdAndCreatedAtAfter(eq(9L), any())).thenReturn(false);
+        // No intervention covers the latest incidents (default: none recorded)
 
         assertTrue(service.evaluateStudents(SCHOOL_ID).isEmpty(),
                 "3 incidents after last intervention is below caution threshold of 4");
@@ -366,8 +376,7 @@ class SchoolYearSimulationTest {
         // Group A: 5 recent incidents each (above threshold, but interventions cover them)
         for (Student s : groupA) {
             windowIncidents.addAll(incidents(s, 5, 2, "mpricket"));
-            when(interventionRepo.existsByStudent_IdAndCreatedAtAfter(eq(s.getId()), any()))
-                    .thenReturn(true);
+            interventionAt(s.getId(), OffsetDateTime.now());
         }
 
         // Group B: 5 incidents but 8 weekdays clean → effective = 3, below threshold
@@ -452,7 +461,7 @@ class SchoolYearSimulationTest {
     // SCENARIO 13 — Intervention Right Before New Incident Wave
     //
     // Intervention was issued yesterday. But today a new incident was logged.
-    // existsByStudent_IdAndCreatedAtAfter checks: does intervention exist
+    // The latest-intervention check asks: does an intervention exist
     // AFTER the most recent incident? The incident happened AFTER the intervention,
     // so no → student should be flagged again.
     //
@@ -468,8 +477,8 @@ class SchoolYearSimulationTest {
         // Most recent incident is from today — after any old intervention
         stubIncidents(incidents(s, 4, 0, "jgeilda"));
 
-        // Intervention was before the latest incident → returns false
-        when(interventionRepo.existsByStudent_IdAndCreatedAtAfter(eq(70L), any())).thenReturn(false);
+        // Intervention was issued yesterday, before the latest incident
+        interventionAt(70L, OffsetDateTime.now().minusDays(1));
 
         List<StudentEscalationStatusDTO> result = service.evaluateStudents(SCHOOL_ID);
         assertEquals(1, result.size());
@@ -522,6 +531,10 @@ class SchoolYearSimulationTest {
         return inc;
     }
 
+    private void interventionAt(Long studentId, OffsetDateTime createdAt) {
+        latestInterventions.add(new Object[]{studentId, createdAt});
+    }
+
     private void stubIncidents(List<Incident> list) {
         when(incidentRepo.findBySchool_SchoolIdAndOccurredAtAfterOrderByOccurredAtDesc(
                 eq(SCHOOL_ID), any()))
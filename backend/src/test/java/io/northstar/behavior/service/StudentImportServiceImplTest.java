@@ -0,0 +1,213 @@
+package io.northstar.behavior.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.northstar.behavior.dto.StudentImportReportDTO;
+import io.northstar.behavior.dto.StudentImportRowDTO;
+import io.northstar.behavior.model.District;
+import io.northstar.behavior.model.School;
+import io.northstar.behavior.model.Student;
+import io.northstar.behavior.repository.DistrictRepository;
+import io.northstar.behavior.repository.SchoolRepository;
+import io.northstar.behavior.repository.StudentRepository;
+import io.northstar.behavior.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a wrapping transaction: each import chunk commits on its own, as in production.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("StudentImportService — streaming bulk roster import")
+class StudentImportServiceImplTest {
+
+    @Autowired StudentRepository students;
+    @Autowired SchoolRepository schools;
+    @Autowired DistrictRepository districts;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired PlatformTransactionManager txManager;
+
+    District district;
+    School school;
+    School foreignSchool;
+
+    @BeforeEach
+    void setUp() {
+        District d = new District();
+        d.setDistrictName("Import USD " + System.nanoTime());
+        district = districts.save(d);
+
+        School s = new School();
+        s.setSchoolName("Import High");
+        s.setDistrict(district);
+        school = schools.save(s);
+
+        District other = new District();
+        other.setDistrictName("Elsewhere USD " + System.nanoTime());
+        other = districts.save(other);
+        School f = new School();
+        f.setSchoolName("Elsewhere High");
+        f.setDistrict(other);
+        foreignSchool = schools.save(f);
+
+        Student existing = new Student();
+        existing.setFirstName("Old");
+        existing.setLastName("Timer");
+        existing.setStudentId("S-OLD");
+        existing.setGrade("12");
+        existing.setDistrict(district);
+        existing.setSchool(school);
+        students.save(existing);
+
+        TenantContext.setDistrictId(district.getDistrictId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("CSV: rows across several chunks are created; existing, repeated and invalid rows are reported")
+    void csvAcrossChunks() {
+        StringBuilder csv = new StringBuilder("studentId,firstName,lastName,grade,schoolId\r\n");
+        for (int i = 1; i <= 7; i++) csv.append("S-").append(i).append(",First").append(i).append(",Last,9,").append(school.getSchoolId()).append("\r\n");
+        csv.append("S-OLD,Old,Timer,12,").append(school.getSchoolId()).append("\r\n");       // already in district
+        csv.append("S-3,Again,Dup,9,").append(school.getSchoolId()).append("\r\n");          // repeated in file
+        csv.append("S-9,,Blank,9,").append(school.getSchoolId()).append("\r\n");             // missing first name
+        csv.append("S-10,Far,Away,9,").append(foreignSchool.getSchoolId()).append("\r\n");   // other district's school
+        csv.append("S-11,Not,Number,9,abc\r\n");
+        csv.append("S-12,\"O'Brien, Jr.\",\"Say \"\"Hi\"\"\",10,").append(school.getSchoolId()).append("\r\n");
+
+        StudentImportReportDTO report = service(3).importCsv(stream(csv.toString()));
+
+        assertEquals(13, report.total());
+        assertEquals(8, report.created());
+        assertEquals(2, report.skipped());
+        assertEquals(3, report.failed());
+        assertEquals(List.of("CREATED", "CREATED", "CREATED", "CREATED", "CREATED", "CREATED", "CREATED",
+                        "EXISTS", "DUPLICATE", "INVALID", "INVALID", "INVALID", "CREATED"),
+                report.rows().stream().map(StudentImportRowDTO::status).toList());
+        for (int i = 0; i < report.rows().size(); i++) assertEquals(i + 1, report.rows().get(i).row());
+
+        assertEquals(9, students.findByDistrict_DistrictId(district.getDistrictId()).size());
+        Student quoted = students.findByDistrict_DistrictId(district.getDistrictId()).stream()
+                .filter(s -> "S-12".equals(s.getStudentId())).findFirst().orElseThrow();
+        assertEquals("O'Brien, Jr.", quoted.getFirstName());
+        assertEquals("Say \"Hi\"", quoted.getLastName());
+    }
+
+    @Test
+    @DisplayName("JSON: bare arrays and the BulkStudentsRequest shape both import; a second run only reports EXISTS")
+    void jsonShapesAndRerun() {
+        String rows = """
+                [
+                  {"firstName": "Ada", "lastName": "Lovelace", "studentId": "J-1", "grade": "8", "schoolId": %d},
+                  {"firstName": "Alan", "lastName": "Turing", "studentId": "J-2", "grade": "9", "schoolId": "not a number"},
+                  {"firstName": "Grace", "lastName": "Hopper", "studentId": "J-3", "grade": "7", "schoolId": %d}
+                ]
+                """.formatted(school.getSchoolId(), school.getSchoolId());
+
+        StudentImportReportDTO first = service(500).importJson(stream(rows));
+        assertEquals(2, first.created());
+        assertEquals("INVALID", first.rows().get(1).status());
+        assertEquals("J-2", first.rows().get(1).studentId());
+
+        StudentImportReportDTO again = service(500).importJson(stream("{\"students\": " + rows + "}"));
+        assertEquals(0, again.created());
+        assertEquals(2, again.skipped());
+        assertEquals("EXISTS", again.rows().get(0).status());
+    }
+
+    @Test
+    @DisplayName("Structural problems: a CSV without required columns and a non-array JSON body are 400s")
+    void structuralErrors() {
+        ResponseStatusException csv = assertThrows(ResponseStatusException.class,
+                () -> service(500).importCsv(stream("name,grade\nAda,8\n")));
+        assertEquals(HttpStatus.BAD_REQUEST, csv.getStatusCode());
+
+        ResponseStatusException json = assertThrows(ResponseStatusException.class,
+                () -> service(500).importJson(stream("{\"rows\": []}")));
+        assertEquals(HttpStatus.BAD_REQUEST, json.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("JSON cut off mid-stream keeps the chunks already written and says where it stopped")
+    void truncatedJson() {
+        String body = """
+                [{"firstName": "A", "lastName": "B", "studentId": "T-1", "grade": "8", "schoolId": %d},
+                 {"firstName": "C", "lastName": "D", "studentId": "T-2", "grade": "8", "schoolId": %d},
+                 {"firstName": "E", "lastN""".formatted(school.getSchoolId(), school.getSchoolId());
+
+        StudentImportReportDTO report = service(1).importJson(stream(body));
+
+        assertEquals(2, report.created());
+        StudentImportRowDTO last = report.rows().get(report.rows().size() - 1);
+        assertEquals("INVALID", last.status());
+        assertEquals(3, last.row());
+    }
+
+    @Test
+    @DisplayName("Resuming from the last checkpoint after a failed chunk creates every row exactly once")
+    void resumeAfterCrash() {
+        StringBuilder csv = new StringBuilder("firstName,lastName,studentId,grade,schoolId\n");
+        for (int i = 1; i <= 6; i++) csv.append("F").append(i).append(",L,R-").append(i).append(",9,").append(school.getSchoolId()).append('\n');
+        csv.append("Again,L,R-2,9,").append(school.getSchoolId()).append('\n');   // repeats a row from before the crash
+        csv.append("Bad,L,R-8,9,").append(foreignSchool.getSchoolId()).append('\n');
+
+        // Two chunks commit; the third dies inside its transaction, so its rows and checkpoint roll back
+        List<StudentImportService.Resume> checkpoints = new ArrayList<>();
+        RuntimeException crash = new IllegalStateException("node lost");
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> service(2).importCsv(stream(csv.toString()), null,
+                (lastRow, soFar) -> {
+                    if (checkpoints.size() == 2) throw crash;
+                    checkpoints.add(new StudentImportService.Resume(lastRow, soFar.created(), soFar.rows().stream()
+                            .filter(r -> !"CREATED".equals(r.status())).toList()));
+                }));
+        assertSame(crash, thrown);
+        assertEquals(5, students.findByDistrict_DistrictId(district.getDistrictId()).size()); // S-OLD + 4
+
+        StudentImportReportDTO report = service(2).importCsv(stream(csv.toString()), checkpoints.get(1),
+                StudentImportService.ChunkListener.NONE);
+
+        assertEquals(8, report.total());
+        assertEquals(6, report.created());
+        assertEquals(1, report.skipped());
+        assertEquals(1, report.failed());
+        assertEquals(List.of(5, 6, 7, 8), report.rows().stream().map(StudentImportRowDTO::row).toList());
+        assertEquals("DUPLICATE", report.rows().get(2).status());
+        assertEquals(7, students.findByDistrict_DistrictId(district.getDistrictId()).size());
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private StudentImportServiceImpl service(int chunkSize) {
+        return new StudentImportServiceImpl(students, schools, jdbc, txManager, new ObjectMapper(), chunkSize);
+    }
+
+    private static InputStream stream(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,200 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.StudentDTO;
+import io.northstar.behavior.dto.StudentPageDTO;
+import io.northstar.behavior.dto.StudentRowDTO;
+import io.northstar.behavior.model.*;
+import io.northstar.behavior.repository.*;
+import io.northstar.behavior.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("StudentService — keyset roster pages")
+class StudentPagingTest {
+
+    @Autowired StudentRepository students;
+    @Autowired DistrictRepository districts;
+    @Autowired SchoolRepository schools;
+    @Autowired IncidentRepository incidents;
+    @Autowired InterventionRepository interventions;
+    @Autowired EntityManager em;
+
+    StudentService service;
+    District district;
+    School school;
+
+    @BeforeEach
+    void setUp() {
+        service = new StudentServiceImpl(students, districts, schools, incidents, interventions,
+                mock(ApplicationEventPublisher.class));
+
+        district = new District();
+        district.setDistrictName("Paging USD");
+        em.persist(district);
+
+        school = new School();
+        school.setSchoolName("Paging High");
+        school.setDistrict(district);
+        em.persist(school);
+
+        // Repeated last names so the id tiebreak matters across page edges
+        String[] lastNames = { "Diaz", "Adams", "Cole", "Diaz", "Baker", "Cole", "Diaz", "Evans", "Adams", "Cole", "Baker" };
+        for (int i = 0; i < lastNames.length; i++) student("First" + i, lastNames[i]);
+
+        // Another district's students must never show up
+        District other = new District();
+        other.setDistrictName("Other USD");
+        em.persist(other);
+        School otherSchool = new School();
+        otherSchool.setSchoolName("Other High");
+        otherSchool.setDistrict(other);
+        em.persist(otherSchool);
+        Student stranger = new Student();
+        stranger.setFirstName("Not");
+        stranger.setLastName("Mine");
+        stranger.setStudentId("X-1");
+        stranger.setGrade("9");
+        stranger.setDistrict(other);
+        stranger.setSchool(otherSchool);
+        em.persist(stranger);
+
+        em.flush();
+        TenantContext.setDistrictId(district.getDistrictId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Walking the cursors visits every student once, ordered by last name then id")
+    void walksWholeRoster() {
+        List<StudentRowDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            StudentPageDTO<StudentRowDTO> page = service.page(cursor, 3);
+            assertTrue(page.items().size() <= 3);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(4, pages);
+        assertEquals(11, seen.size());
+        assertEquals(11, new HashSet<>(seen.stream().map(StudentRowDTO::id).toList()).size());
+
+        List<StudentRowDTO> sorted = new ArrayList<>(seen);
+        sorted.sort(Comparator.comparing(StudentRowDTO::lastName).thenComparing(StudentRowDTO::id));
+        assertEquals(sorted, seen);
+    }
+
+    @Test
+    @DisplayName("Slim rows carry no histories; expand=history loads them for just the page")
+    void expandLoadsHistories() {
+        Student adams = students.findByDistrict_DistrictId(district.getDistrictId()).stream()
+                .filter(s -> "Adams".equals(s.getLastName()))
+                .min(Comparator.comparing(Student::getId)).orElseThrow();
+        incident(adams);
+        incident(adams);
+        intervention(adams);
+        em.flush();
+
+        StudentPageDTO<StudentRowDTO> slim = service.page(null, 2);
+        assertEquals(adams.getId(), slim.items().get(0).id());
+        assertFalse(slim.expanded());
+
+        StudentPageDTO<StudentDTO> expanded = service.pageWithHistory(null, 2);
+        assertTrue(expanded.expanded());
+        assertEquals(slim.nextCursor(), expanded.nextCursor());
+        StudentDTO first = expanded.items().get(0);
+        assertEquals(adams.getId(), first.id());
+        assertEquals(2, first.incidents().size());
+        assertEquals(1, first.interventions().size());
+        assertEquals(first.firstName() + " Adams", first.interventions().get(0).studentName());
+        assertTrue(expanded.items().get(1).incidents().isEmpty());
+    }
+
+    @Test
+    @DisplayName("findAll still returns every student with histories")
+    void findAllKeepsShape() {
+        List<StudentDTO> all = service.findAll();
+        assertEquals(11, all.size());
+        assertTrue(all.stream().allMatch(s -> s.incidents() != null && s.interventions() != null));
+    }
+
+    @Test
+    @DisplayName("Bad limits and tampered cursors are rejected with 400")
+    void rejectsBadInput() {
+        ResponseStatusException tooBig = assertThrows(ResponseStatusException.class, () -> service.page(null, 500));
+        assertEquals(HttpStatus.BAD_REQUEST, tooBig.getStatusCode());
+
+        ResponseStatusException garbage = assertThrows(ResponseStatusException.class, () -> service.page("%%%", 10));
+        assertEquals(HttpStatus.BAD_REQUEST, garbage.getStatusCode());
+
+        String noId = Base64.getUrlEncoder().withoutPadding().encodeToString("abc:Diaz".getBytes());
+        assertThrows(ResponseStatusException.class, () -> service.page(noId, 10));
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private void student(String first, String last) {
+        Student s = new Student();
+        s.setFirstName(first);
+        s.setLastName(last);
+        s.setStudentId("P-" + first);
+        s.setGrade("9");
+        s.setDistrict(district);
+        s.setSchool(school);
+        em.persist(s);
+    }
+
+    private void incident(Student student) {
+        Incident i = new Incident();
+        i.setStudent(student);
+        i.setCategory("Tardy");
+        i.setDescription("paging");
+        i.setSeverity("Minor");
+        i.setReportedBy("tsmith");
+        i.setOccurredAt(OffsetDateTime.now());
+        i.setCreatedAt(OffsetDateTime.now());
+        i.setDistrict(district);
+        i.setSchool(school);
+        em.persist(i);
+    }
+
+    private void intervention(Student student) {
+        Intervention iv = new Intervention();
+        iv.setStudent(student);
+        iv.setTier("Tier 2");
+        iv.setStrategy("Check-in");
+        iv.setDescription("daily check-in");
+        iv.setAssignedBy("tsmith");
+        iv.setReportedBy("tsmith");
+        iv.setCreatedAt(OffsetDateTime.now());
+        iv.setStartDate(LocalDate.now());
+        iv.setDistrict(district);
+        em.persist(iv);
+    }
+}
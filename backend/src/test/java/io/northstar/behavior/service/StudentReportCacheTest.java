@@ -0,0 +1,220 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.event.IncidentRecordedEvent;
+import io.northstar.behavior.model.*;
+import io.northstar.behavior.repository.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("StudentReportCache — versioned on-disk report cache")
+class StudentReportCacheTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 6, 30);
+
+    @Autowired StudentRepository students;
+    @Autowired DistrictRepository districts;
+    @Autowired SchoolRepository schools;
+    @Autowired IncidentRepository incidents;
+    @Autowired InterventionRepository interventions;
+    @Autowired EntityManager em;
+
+    @TempDir Path dir;
+
+    ExecutorService pool;
+    DistrictDayBoundaries days;
+    District district;
+    School school;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(2);
+        days = new DistrictDayBoundaries(districts, schools, 10);
+
+        district = new District();
+        district.setDistrictName("Cache USD");
+        em.persist(district);
+        school = new School();
+        school.setSchoolName("Cache High");
+        school.setDistrict(district);
+        em.persist(school);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("A repeat request resolves its ETag and serves the same bytes without a single statement")
+    void repeatHitsNoDatabase() throws IOException {
+        StudentReportCache cache = cache(1 << 20);
+        StudentReportService service = service(cache);
+        Student maya = student("Maya", "Cole", "C-1");
+        incident(maya, "Tardy");
+        em.flush();
+
+        StudentReportCache.Key first = service.reportKey(maya.getId(), district.getDistrictId(), FROM, TO);
+        byte[] rendered = write(service, first);
+        assertEquals("%PDF", new String(rendered, 0, 4));
+        assertEquals(1, cache.size());
+
+        Statistics stats = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        em.clear();
+        stats.clear();
+        StudentReportCache.Key again = service.reportKey(maya.getId(), district.getDistrictId(), FROM, TO);
+        byte[] served = write(service, again);
+
+        assertEquals(0, stats.getPrepareStatementCount());
+        assertEquals(first.etag(), again.etag());
+        assertArrayEquals(rendered, served);
+
+        // A different window is a different document
+        assertNotEquals(first.etag(), service.reportKey(maya.getId(), district.getDistrictId(), FROM, TO.plusDays(1)).etag());
+    }
+
+    @Test
+    @DisplayName("A new incident changes the key and drops that student's cached files, not other students'")
+    void newIncidentInvalidates() throws IOException {
+        StudentReportCache cache = cache(1 << 20);
+        StudentReportService service = service(cache);
+        Student maya = student("Maya", "Cole", "C-1");
+        Student omar = student("Omar", "Diaz", "C-2");
+        em.flush();
+
+        StudentReportCache.Key before = service.reportKey(maya.getId(), district.getDistrictId(), FROM, TO);
+        write(service, before);
+        write(service, service.reportKey(omar.getId(), district.getDistrictId(), FROM, TO));
+        assertEquals(2, cache.size());
+
+        Incident added = incident(maya, "Defiance");
+        em.flush();
+        cache.onIncidentRecorded(IncidentRecordedEvent.of(added));
+
+        assertEquals(1, cache.size());
+        StudentReportCache.Key after = service.reportKey(maya.getId(), district.getDistrictId(), FROM, TO);
+        assertNotEquals(before.etag(), after.etag());
+        assertFalse(cache.copyTo(after, new ByteArrayOutputStream()));
+
+        // Even without the event (a write on another node), the reloaded version differs
+        StudentReportCache elsewhere = cache(1 << 20);
+        assertEquals(after.etag(), elsewhere.key(maya.getId(), district.getDistrictId(), FROM, TO).etag());
+    }
+
+    @Test
+    @DisplayName("Past the byte budget the least recently used report is evicted; the index survives a restart")
+    void lruAndReindex() throws IOException {
+        Student a = student("Ann", "Able", "L-1");
+        Student b = student("Ben", "Baker", "L-2");
+        Student c = student("Cy", "Cole", "L-3");
+        em.flush();
+
+        StudentReportCache probe = cache(1 << 20);
+        write(service(probe), probe.key(a.getId(), null, FROM, TO));
+        long one = probe.sizeBytes();
+        probe.invalidate(a.getId());
+
+        // Room for two reports, not three
+        StudentReportCache cache = cache(one * 2 + one / 2);
+        StudentReportService service = service(cache);
+        StudentReportCache.Key ka = cache.key(a.getId(), null, FROM, TO);
+        StudentReportCache.Key kb = cache.key(b.getId(), null, FROM, TO);
+        StudentReportCache.Key kc = cache.key(c.getId(), null, FROM, TO);
+        write(service, ka);
+        write(service, kb);
+        assertTrue(cache.copyTo(ka, new ByteArrayOutputStream())); // a is now the most recently used
+        write(service, kc);
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.copyTo(ka, new ByteArrayOutputStream()));
+        assertFalse(cache.copyTo(kb, new ByteArrayOutputStream()));
+        assertTrue(cache.copyTo(kc, new ByteArrayOutputStream()));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(2, files.count());
+        }
+
+        StudentReportCache restarted = cache(one * 2 + one / 2);
+        assertEquals(2, restarted.size());
+        assertTrue(restarted.copyTo(restarted.key(c.getId(), null, FROM, TO), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @DisplayName("Unknown students are a 404 before anything is written")
+    void unknownStudent() throws IOException {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> cache(1 << 20).key(999_999L, district.getDistrictId(), FROM, TO));
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private StudentReportCache cache(long maxBytes) throws IOException {
+        return new StudentReportCache(students, days, dir.toString(), maxBytes, 5);
+    }
+
+    private StudentReportService service(StudentReportCache cache) {
+        return new StudentReportServiceImpl(students, schools, incidents, interventions, days,
+                new StudentReportRenderer(64 * 1024, ""), cache, pool);
+    }
+
+    private static byte[] write(StudentReportService service, StudentReportCache.Key key) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeReport(key, out);
+        return out.toByteArray();
+    }
+
+    private Student student(String first, String last, String number) {
+        Student s = new Student();
+        s.setFirstName(first);
+        s.setLastName(last);
+        s.setStudentId(number);
+        s.setGrade("9");
+        s.setDistrict(district);
+        s.setSchool(school);
+        em.persist(s);
+        return s;
+    }
+
+    private Incident incident(Student student, String category) {
+        Incident i = new Incident();
+        i.setStudent(student);
+        i.setStudentId(student.getId());
+        i.setCategory(category);
+        i.setDescription("cache");
+        i.setSeverity("Minor");
+        i.setReportedBy("tsmith");
+        i.setOccurredAt(OffsetDateTime.parse("2025-03-03T10:00:00Z"));
+        i.setCreatedAt(OffsetDateTime.now());
+        i.setDistrict(district);
+        i.setSchool(school);
+        em.persist(i);
+        return i;
+    }
+}
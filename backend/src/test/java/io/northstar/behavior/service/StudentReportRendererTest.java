@@ -0,0 +1,63 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.service.StudentReportRenderer.IncidentLine;
+import io.northstar.behavior.service.StudentReportRenderer.InterventionLine;
+import io.northstar.behavior.service.StudentReportRenderer.Report;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StudentReportRenderer — streamed PDF with a scratch-file cache")
+class StudentReportRendererTest {
+
+    @TempDir
+    Path scratch;
+
+    @Test
+    @DisplayName("A long history spills past the heap budget and still streams out as one complete PDF")
+    void longHistoryStreams() throws IOException {
+        // 4 KiB of heap for page content; three thousand incidents are far more than that
+        StudentReportRenderer renderer = new StudentReportRenderer(4 * 1024, scratch.resolve("pdf").toString());
+        List<IncidentLine> incidents = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            incidents.add(new IncidentLine(LocalDate.of(2025, 1, 1).plusDays(i % 300), "Tardy", "Minor", "tsmith", "incident " + i));
+        }
+        Report report = new Report("Ada Lovelace", "A001", "8", "Analytical High",
+                null, null, LocalDate.of(2025, 6, 1), incidents,
+                List.of(new InterventionLine("Tier 2", "Check-in", "tsmith", LocalDate.of(2025, 2, 1), null)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(report, out);
+
+        try (PDDocument doc = Loader.loadPDF(out.toByteArray())) {
+            assertTrue(doc.getNumberOfPages() > 40, "pages: " + doc.getNumberOfPages());
+            String text = new PDFTextStripper().getText(doc);
+            assertTrue(text.contains("Incidents (3000)"));
+            assertTrue(text.contains("incident 2999"));
+            assertTrue(text.contains("Ongoing"));
+        }
+        // Scratch files live only as long as the document
+        try (var left = Files.list(scratch.resolve("pdf"))) {
+            assertEquals(0, left.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Non-Latin-1 characters are dropped instead of failing the render")
+    void safeText() {
+        assertEquals("Zoe  ", StudentReportRenderer.safe("Zoe \t☃"));
+    }
+}
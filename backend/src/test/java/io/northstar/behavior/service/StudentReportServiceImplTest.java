@@ -0,0 +1,233 @@
+package io.northstar.behavior.service;
+
+import io.northstar.behavior.dto.StudentRowDTO;
+import io.northstar.behavior.model.*;
+import io.northstar.behavior.repository.*;
+import io.northstar.behavior.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("StudentReportService — batch ZIP of student PDFs")
+class StudentReportServiceImplTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Chicago");
+
+    @Autowired StudentRepository students;
+    @Autowired DistrictRepository districts;
+    @Autowired SchoolRepository schools;
+    @Autowired IncidentRepository incidents;
+    @Autowired InterventionRepository interventions;
+    @Autowired EntityManager em;
+
+    @TempDir Path cacheDir;
+
+    ExecutorService pool;
+    StudentReportService service;
+    District district;
+    School north, south;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pool = Executors.newFixedThreadPool(4);
+        DistrictDayBoundaries days = new DistrictDayBoundaries(districts, schools, 10);
+        service = new StudentReportServiceImpl(students, schools, incidents, interventions,
+                days, new StudentReportRenderer(64 * 1024, ""),
+                new StudentReportCache(students, days, cacheDir.toString(), 1 << 20, 5), pool);
+
+        district = new District();
+        district.setDistrictName("Report USD");
+        district.setTimeZone(ZONE.getId());
+        em.persist(district);
+        north = school("North High");
+        south = school("South High");
+        em.flush();
+        TenantContext.setDistrictId(district.getDistrictId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("One PDF per student of the school, named and ordered by last name, across several chunks")
+    void zipsEverySchoolStudent() throws IOException {
+        int count = StudentReportServiceImpl.CHUNK + 5;
+        for (int i = 0; i < count; i++) student(north, String.format("First%03d", i), String.format("Last%03d", i), "N-" + i, "9");
+        student(south, "Other", "School", "S-1", "9");
+        em.flush();
+
+        Map<String, byte[]> zip = zip(service.prepareBatch(north.getSchoolId(), null, null, null));
+
+        assertEquals(count, zip.size());
+        List<String> names = new ArrayList<>(zip.keySet());
+        assertEquals("Last000_First000_N-0.pdf", names.get(0));
+        assertEquals(String.format("Last%03d_First%03d_N-%d.pdf", count - 1, count - 1, count - 1), names.get(count - 1));
+        for (byte[] pdf : zip.values()) assertTrue(new String(pdf, 0, 5).startsWith("%PDF"));
+    }
+
+    @Test
+    @DisplayName("Grade filter spans schools; each report holds only that student's history inside the window")
+    void gradeWithDateWindow() throws IOException {
+        Student maya = student(north, "Maya", "Cole", "N-1", "10");
+        Student omar = student(south, "Omar", "Diaz", "S-1", "10");
+        student(north, "Ninth", "Grader", "N-2", "9");
+
+        // 23:30 local on the 31st is still the 31st in the district, though already the 1st in UTC
+        incident(maya, "Disruption", LocalDate.of(2025, 3, 31).atTime(23, 30));
+        incident(maya, "Tardy", LocalDate.of(2025, 4, 1).atTime(0, 30));
+        incident(maya, "Defiance", LocalDate.of(2025, 4, 10).atTime(9, 0));
+        incident(omar, "Elopement", LocalDate.of(2025, 4, 5).atTime(9, 0));
+        intervention(maya, "Check-in", LocalDate.of(2025, 4, 2));
+        intervention(maya, "Parent call", LocalDate.of(2025, 2, 1));
+        em.flush();
+
+        Map<String, byte[]> zip = zip(service.prepareBatch(null, "10", LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 5)));
+
+        assertEquals(List.of("Cole_Maya_N-1.pdf", "Diaz_Omar_S-1.pdf"), new ArrayList<>(zip.keySet()));
+        String mayaText = text(zip.get("Cole_Maya_N-1.pdf"));
+        assertTrue(mayaText.contains("Incidents (1)"), mayaText);
+        assertTrue(mayaText.contains("Tardy"));
+        assertFalse(mayaText.contains("Disruption"));
+        assertFalse(mayaText.contains("Elopement"));
+        assertTrue(mayaText.contains("Disciplines / Interventions (1)"));
+        assertTrue(mayaText.contains("Check-in"));
+        assertTrue(mayaText.contains("North High"));
+
+        String omarText = text(zip.get("Diaz_Omar_S-1.pdf"));
+        assertTrue(omarText.contains("Elopement"));
+        assertTrue(omarText.contains("South High"));
+    }
+
+    @Test
+    @DisplayName("Needs a school or grade; another district's school is not found")
+    void rejectsBadBatches() {
+        ResponseStatusException none = assertThrows(ResponseStatusException.class,
+                () -> service.prepareBatch(null, " ", null, null));
+        assertEquals(HttpStatus.BAD_REQUEST, none.getStatusCode());
+
+        ResponseStatusException backwards = assertThrows(ResponseStatusException.class,
+                () -> service.prepareBatch(north.getSchoolId(), null, LocalDate.of(2025, 5, 1), LocalDate.of(2025, 4, 1)));
+        assertEquals(HttpStatus.BAD_REQUEST, backwards.getStatusCode());
+
+        District other = new District();
+        other.setDistrictName("Other USD");
+        em.persist(other);
+        School theirs = new School();
+        theirs.setSchoolName("Their High");
+        theirs.setDistrict(other);
+        em.persist(theirs);
+        em.flush();
+
+        ResponseStatusException foreign = assertThrows(ResponseStatusException.class,
+                () -> service.prepareBatch(theirs.getSchoolId(), null, null, null));
+        assertEquals(HttpStatus.NOT_FOUND, foreign.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Same-named students get distinct entries")
+    void uniqueEntryNames() {
+        Set<String> taken = new HashSet<>();
+        StudentRowDTO row = new StudentRowDTO(1L, "Ann", "O'Neil", "A/1", "9", 1L, 1L);
+        assertEquals("O-Neil_Ann_A-1.pdf", StudentReportServiceImpl.entryName(row, taken));
+        assertEquals("O-Neil_Ann_A-1-2.pdf", StudentReportServiceImpl.entryName(row, taken));
+    }
+
+    // ── helpers ──────────────────────────────────────────────────────────────
+
+    private Map<String, byte[]> zip(StudentReportService.Batch batch) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeZip(batch, out);
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry e; (e = in.getNextEntry()) != null; ) entries.put(e.getName(), in.readAllBytes());
+        }
+        return entries;
+    }
+
+    private static String text(byte[] pdf) throws IOException {
+        try (PDDocument doc = Loader.loadPDF(pdf)) {
+            return new PDFTextStripper().getText(doc);
+        }
+    }
+
+    private School school(String name) {
+        School s = new School();
+        s.setSchoolName(name);
+        s.setDistrict(district);
+        em.persist(s);
+        return s;
+    }
+
+    private Student student(School school, String first, String last, String number, String grade) {
+        Student s = new Student();
+        s.setFirstName(first);
+        s.setLastName(last);
+        s.setStudentId(number);
+        s.setGrade(grade);
+        s.setDistrict(district);
+        s.setSchool(school);
+        em.persist(s);
+        return s;
+    }
+
+    private void incident(Student student, String category, LocalDateTime local) {
+        Incident i = new Incident();
+        i.setStudent(student);
+        i.setCategory(category);
+        i.setDescription("report");
+        i.setSeverity("Minor");
+        i.setReportedBy("tsmith");
+        i.setOccurredAt(local.atZone(ZONE).toOffsetDateTime());
+        i.setCreatedAt(local.atZone(ZONE).toOffsetDateTime());
+        i.setDistrict(district);
+        i.setSchool(student.getSchool());
+        em.persist(i);
+    }
+
+    private void intervention(Student student, String strategy, LocalDate start) {
+        Intervention iv = new Intervention();
+        iv.setStudent(student);
+        iv.setTier("Tier 2");
+        iv.setStrategy(strategy);
+        iv.setDescription("report");
+        iv.setAssignedBy("tsmith");
+        iv.setReportedBy("tsmith");
+        iv.setCreatedAt(start.atStartOfDay(ZONE).toOffsetDateTime());
+        iv.setStartDate(start);
+        iv.setDistrict(district);
+        em.persist(iv);
+    }
+}
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -48,7 +49,8 @@ class StudentServiceTest {
         schoolRepo       = mock(SchoolRepository.class);
         incidentRepo     = mock(IncidentRepository.class);
         interventionRepo = mock(InterventionRepository.class);
-        service = new StudentServiceImpl(repo, districtRepo, schoolRepo, incidentRepo, interventionRepo);
+        service = new StudentServiceImpl(repo, districtRepo, schoolRepo, incidentRepo, interventionRepo,
+                mock(ApplicationEventPublisher.class));
 
         TenantContext.setDistrictId(DISTRICT_ID);
     }
@@ -41,6 +41,10 @@ const STUDENTS = [
   { id: 3, firstName: "Alan",  lastName: "Turing",   studentId: "T003", grade: "10", schoolId: 5 },
 ];
 
+function page(items, nextCursor = null) {
+  return { items, nextCursor, limit: 100, expanded: false };
+}
+
 function renderPage() {
   return render(
     <MemoryRouter>
@@ -54,7 +58,7 @@ function renderPage() {
 beforeEach(() => {
   vi.clearAllMocks();
   useAuth.mockReturnValue({ activeDistrictId: 10, user: { role: "Admin" } });
-  api.getJSON.mockResolvedValue(STUDENTS);
+  api.getJSON.mockResolvedValue(page(STUDENTS));
 });
 
 // ── tests ──────────────────────────────────────────────────────────────────────
@@ -75,6 +79,33 @@ describe("StudentRosterPage", () => {
     expect(screen.getByRole("link", { name: "Alan Turing" })).toBeInTheDocument();
   });
 
+  it("loads the first roster page from the paged endpoint", async () => {
+    renderPage();
+    await waitFor(() => screen.getByRole("link", { name: "Ada Lovelace" }));
+
+    expect(api.getJSON).toHaveBeenCalledTimes(1);
+    expect(api.getJSON).toHaveBeenCalledWith("/api/students/page?limit=100");
+    expect(screen.queryByRole("button", { name: /load more/i })).not.toBeInTheDocument();
+  });
+
+  it("Load more fetches the next page with the cursor and appends it", async () => {
+    api.getJSON
+      .mockResolvedValueOnce(page(STUDENTS.slice(0, 2), "Hopper:2"))
+      .mockResolvedValueOnce(page(STUDENTS.slice(2)));
+
+    renderPage();
+    await waitFor(() => screen.getByRole("link", { name: "Ada Lovelace" }));
+    expect(screen.getByText(/2 of 2 loaded/i)).toBeInTheDocument();
+
+    await userEvent.click(screen.getByRole("button", { name: /load more/i }));
+
+    await waitFor(() => screen.getByRole("link", { name: "Alan Turing" }));
+    expect(api.getJSON).toHaveBeenLastCalledWith("/api/students/page?limit=100&after=Hopper%3A2");
+    expect(screen.getByRole("link", { name: "Ada Lovelace" })).toBeInTheDocument();
+    expect(screen.getByText(/3 of 3 student/i)).toBeInTheDocument();
+    expect(screen.queryByRole("button", { name: /load more/i })).not.toBeInTheDocument();
+  });
+
   it("shows student count summary", async () => {
     renderPage();
     await waitFor(() => screen.getByRole("link", { name: "Ada Lovelace" }));
@@ -166,11 +197,11 @@ describe("StudentRosterPage", () => {
     api.putJSON.mockResolvedValue({});
     // First load: original list; reload after save: updated list
     api.getJSON
-      .mockResolvedValueOnce(STUDENTS)
-      .mockResolvedValue([
+      .mockResolvedValueOnce(page(STUDENTS))
+      .mockResolvedValue(page([
         ...STUDENTS.slice(1),
         { id: 1, firstName: "Ada", lastName: "Updated", studentId: "A001", grade: "8", schoolId: 5 },
-      ]);
+      ]));
 
     renderPage();
     await waitFor(() => screen.getByRole("link", { name: "Ada Lovelace" }));
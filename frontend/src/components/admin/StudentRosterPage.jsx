@@ -7,24 +7,40 @@ import { Input } from "@/components/ui/input";
 import { useAuth } from "@/state/auth.jsx";
 import { getJSON, putJSON, delJSON } from "@/lib/api.js";
 
+// Roster rows come from the keyset-paged endpoint; histories are not needed here
+const PAGE_SIZE = 100;
+
 export default function StudentRosterPage() {
   const { activeDistrictId, user } = useAuth();
   const canEdit = user?.role === "Admin";
 
   const [students, setStudents] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [err, setErr] = useState("");
   const [search, setSearch] = useState("");
 
   const [editingId, setEditingId] = useState(null);
   const [editForm, setEditForm] = useState({ firstName: "", lastName: "", grade: "" });
 
+  async function fetchPage(after) {
+    const params = new URLSearchParams({ limit: String(PAGE_SIZE) });
+    if (after) params.set("after", after);
+    const data = await getJSON(`/api/students/page?${params}`);
+    return {
+      items: Array.isArray(data?.items) ? data.items : [],
+      nextCursor: data?.nextCursor || null,
+    };
+  }
+
   async function loadStudents() {
     setLoading(true);
     setErr("");
     try {
-      const data = await getJSON("/api/students");
-      setStudents(Array.isArray(data) ? data : []);
+      const page = await fetchPage(null);
+      setStudents(page.items);
+      setNextCursor(page.nextCursor);
     } catch (e) {
       setErr(String(e.message || e));
     } finally {
@@ -32,6 +48,21 @@ export default function StudentRosterPage() {
     }
   }
 
+  async function loadMore() {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    setErr("");
+    try {
+      const page = await fetchPage(nextCursor);
+      setStudents((prev) => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (e) {
+      setErr(String(e.message || e));
+    } finally {
+      setLoadingMore(false);
+    }
+  }
+
   useEffect(() => {
     if (!activeDistrictId) return;
     loadStudents();
@@ -205,8 +236,22 @@ export default function StudentRosterPage() {
             </tbody>
           </table>
           {!loading && (
-            <div className="mt-3 text-xs text-slate-500">
-              {filtered.length} of {students.length} student{students.length !== 1 ? "s" : ""}
+            <div className="mt-3 flex items-center justify-between text-xs text-slate-500">
+              <span>
+                {filtered.length} of {students.length}
+                {nextCursor ? " loaded" : ""} student{students.length !== 1 ? "s" : ""}
+              </span>
+              {nextCursor && (
+                <Button
+                  size="sm"
+                  variant="outline"
+                  className="h-7 text-xs"
+                  onClick={loadMore}
+                  disabled={loadingMore}
+                >
+                  {loadingMore ? "Loading…" : "Load more"}
+                </Button>
+              )}
             </div>
           )}
         </CardContent>